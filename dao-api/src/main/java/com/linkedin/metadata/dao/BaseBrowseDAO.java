@@ -1,9 +1,11 @@
 package com.linkedin.metadata.dao;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.dao.utils.FutureUtils;
 import com.linkedin.metadata.query.BrowseResult;
 import com.linkedin.metadata.query.Filter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -27,6 +29,18 @@ public abstract class BaseBrowseDAO {
   @Nonnull
   public abstract BrowseResult browse(@Nonnull String path, @Nullable Filter requestParams, int from, int size);
 
+  /**
+   * Same as {@link #browse(String, Filter, int, int)}, but doesn't block the calling thread if the implementation
+   * supports it.
+   *
+   * <p>The default implementation browses on the calling thread and returns a completed future.
+   */
+  @Nonnull
+  public CompletableFuture<BrowseResult> browseAsync(@Nonnull String path, @Nullable Filter requestParams, int from,
+      int size) {
+    return FutureUtils.completedFuture(() -> browse(path, requestParams, from, size));
+  }
+
   /**
    * Gets a list of paths for a given urn.
    *
@@ -11,9 +11,11 @@ import com.linkedin.data.schema.validation.ValidationResult;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.backfill.BackfillMode;
+import com.linkedin.metadata.dao.cache.LatestAspectCache;
 import com.linkedin.metadata.dao.equality.DefaultEqualityTester;
 import com.linkedin.metadata.dao.equality.EqualityTester;
 import com.linkedin.metadata.dao.exception.ModelValidationException;
+import com.linkedin.metadata.dao.producer.AspectAuditEvent;
 import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
 import com.linkedin.metadata.dao.retention.IndefiniteRetention;
 import com.linkedin.metadata.dao.retention.Retention;
@@ -27,24 +29,32 @@ import com.linkedin.metadata.query.IndexCriterionArray;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
+import com.linkedin.metadata.query.TotalCountMode;
 import java.sql.Timestamp;
 import java.time.Clock;
 import java.util.Collections;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
@@ -98,6 +108,9 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     ASPECT oldValue;
     ASPECT newValue;
     Class<ASPECT> klass;
+
+    // Largest version of the aspect after the update, LATEST_VERSION if nothing was saved
+    long largestVersion;
   }
 
   /**
@@ -122,12 +135,57 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     }
   }
 
+  /**
+   * Immutable class to hold a write of the latest value of an aspect, computed by
+   * {@link #addMany(Map, AuditStamp, int)} before anything is persisted.
+   *
+   * @param <ASPECT> the type of the aspect being written
+   */
+  @Value
+  static class LatestAspectWrite<URN extends Urn, ASPECT extends RecordTemplate> {
+    URN urn;
+    Class<ASPECT> aspectClass;
+    ASPECT oldValue;
+    AuditStamp oldAuditStamp;
+    ASPECT newValue;
+    AuditStamp newAuditStamp;
+    boolean isSoftDeleted;
+  }
+
+  /**
+   * Immutable class to pair an {@link AspectUpdateLambda} with the URN of the entity it updates.
+   */
+  @Value
+  private static class EntityAspectUpdate<URN extends Urn> {
+    URN urn;
+    AspectUpdateLambda<? extends RecordTemplate> updateLambda;
+  }
+
+  /**
+   * Immutable class to hold a pending retention of an aspect, recorded when retention is deferred.
+   */
+  @Value
+  private static class RetentionMarker {
+    // Largest version of the aspect written since the last sweep
+    long largestVersion;
+
+    // When the first write since the last sweep was made
+    long markedAt;
+
+    @Nonnull
+    RetentionMarker merge(@Nonnull RetentionMarker other) {
+      return new RetentionMarker(Math.max(largestVersion, other.largestVersion), Math.min(markedAt, other.markedAt));
+    }
+  }
+
   private static final String DEFAULT_ID_NAMESPACE = "global";
 
   private static final IndefiniteRetention INDEFINITE_RETENTION = new IndefiniteRetention();
 
   private static final int DEFAULT_MAX_TRANSACTION_RETRY = 3;
 
+  private static final int DEFAULT_BATCH_WRITE_SIZE = 100;
+
   protected final BaseMetadataEventProducer _producer;
   protected final LocalDAOStorageConfig _storageConfig;
 
@@ -142,6 +200,12 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   private final Map<Class<? extends RecordTemplate>, List<BiConsumer<Urn, RecordTemplate>>> _aspectPostUpdateHooksMap =
       new HashMap<>();
 
+  // Maps an aspect class to how long (in milliseconds) its latest value can be served from the latest aspect cache
+  private final Map<Class<? extends RecordTemplate>, Long> _aspectCacheTtlMap = new ConcurrentHashMap<>();
+
+  // Cache of latest aspect values, null if caching is disabled
+  private LatestAspectCache<URN> _latestAspectCache = null;
+
   // Maps an aspect class to the corresponding equality tester
   private final Map<Class<? extends RecordTemplate>, EqualityTester<? extends RecordTemplate>>
       _aspectEqualityTesterMap = new ConcurrentHashMap<>();
@@ -161,6 +225,22 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   // Enable updating multiple aspects within a single transaction
   private boolean _enableAtomicMultipleUpdate = false;
 
+  // Max number of aspect updates committed in a single transaction by batch writes across entities
+  private int _batchWriteSize = DEFAULT_BATCH_WRITE_SIZE;
+
+  // Record pending retention on writes and leave it to sweepRetention, instead of applying it in every write
+  private boolean _deferRetention = false;
+
+  // Maps an aspect class to the pending retention of each entity, recorded while retention is deferred
+  private final Map<Class<? extends RecordTemplate>, Map<URN, RetentionMarker>> _retentionMarkers =
+      new ConcurrentHashMap<>();
+
+  // Makes sure only one sweep runs at a time
+  private final Object _retentionSweepLock = new Object();
+
+  // Write MAEs to an outbox in the write transaction, instead of producing them after the commit
+  private boolean _auditEventOutbox = false;
+
   private Clock _clock = Clock.systemUTC();
 
   /**
@@ -215,6 +295,91 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return _aspectRetentionMap.getOrDefault(aspectClass, INDEFINITE_RETENTION);
   }
 
+  /**
+   * Sets the {@link LatestAspectCache} used to serve reads of latest aspect versions. Only aspects with a cache TTL,
+   * see {@link #setCacheTtl(Class, long)}, are cached. Set to null to disable caching.
+   *
+   * <p>Writes through this DAO invalidate the cached values once the latest version is saved and again once the
+   * transaction commits. Reads that started before the invalidation don't put their value back, see
+   * {@link LatestAspectCache#put(AspectKey, Optional, long, long)}. Reads within a transaction bypass the cache, see
+   * {@link #isInTransaction()}, so values that aren't committed yet are never cached. Writes from other nodes are only
+   * picked up once the cached values expire, so they can be served stale for up to the cache TTL of the aspect.
+   */
+  public void setLatestAspectCache(@Nullable LatestAspectCache<URN> latestAspectCache) {
+    _latestAspectCache = latestAspectCache;
+  }
+
+  /**
+   * Opts an aspect type in to the latest aspect cache.
+   *
+   * @param aspectClass the aspect type to cache
+   * @param ttlMillis how long (in milliseconds) the latest value can be served from cache. Must be positive.
+   */
+  public <ASPECT extends RecordTemplate> void setCacheTtl(@Nonnull Class<ASPECT> aspectClass, long ttlMillis) {
+    checkValidAspect(aspectClass);
+    if (ttlMillis <= 0) {
+      throw new IllegalArgumentException("ttlMillis must be positive");
+    }
+    _aspectCacheTtlMap.put(aspectClass, ttlMillis);
+  }
+
+  /**
+   * Batch retrieves metadata aspects, serving the latest versions of cached aspect types from the
+   * {@link LatestAspectCache} and only loading the rest from storage. Loaded latest versions are then cached.
+   *
+   * @param keys set of keys for the metadata to retrieve
+   * @param loader function that loads the given keys from storage, same contract as {@link #get(Set)}
+   * @return a mapping of given keys to the corresponding metadata aspect
+   */
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> getThroughCache(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
+      @Nonnull Function<Set<AspectKey<URN, ? extends RecordTemplate>>, Map<AspectKey<URN, ? extends RecordTemplate>,
+          Optional<? extends RecordTemplate>>> loader) {
+    final LatestAspectCache<URN> cache = _latestAspectCache;
+    if (cache == null || _aspectCacheTtlMap.isEmpty() || isInTransaction()) {
+      // Reads within a transaction may see its uncommitted writes, which must not be served to other readers
+      return loader.apply(keys);
+    }
+
+    final Set<AspectKey<URN, ? extends RecordTemplate>> cacheableKeys = keys.stream()
+        .filter(key -> key.getVersion() == LATEST_VERSION && _aspectCacheTtlMap.containsKey(key.getAspectClass()))
+        .collect(Collectors.toSet());
+    if (cacheableKeys.isEmpty()) {
+      return loader.apply(keys);
+    }
+
+    final Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> result =
+        new HashMap<>(cache.getAll(cacheableKeys));
+    final Set<AspectKey<URN, ? extends RecordTemplate>> misses = keys.stream()
+        .filter(key -> !result.containsKey(key))
+        .collect(Collectors.toSet());
+    if (misses.isEmpty()) {
+      return result;
+    }
+
+    // Taken before loading, so that values a concurrent write replaces in the meantime aren't cached
+    final long generation = cache.getGeneration();
+    loader.apply(misses).forEach((key, value) -> {
+      result.put(key, value);
+      if (cacheableKeys.contains(key)) {
+        cache.put(key, value, _aspectCacheTtlMap.get(key.getAspectClass()), generation);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Removes the latest value of an aspect from the {@link LatestAspectCache}, if any.
+   */
+  private <ASPECT extends RecordTemplate> void invalidateLatestAspect(@Nonnull URN urn,
+      @Nonnull Class<ASPECT> aspectClass) {
+    final LatestAspectCache<URN> cache = _latestAspectCache;
+    if (cache != null && _aspectCacheTtlMap.containsKey(aspectClass)) {
+      cache.invalidate(new AspectKey<>(aspectClass, urn, LATEST_VERSION));
+    }
+  }
+
   /**
    * Helper function to add pre- and post-update hooks.
    *
@@ -283,6 +448,52 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     _enableAtomicMultipleUpdate = enabled;
   }
 
+  /**
+   * Sets the max number of aspect updates committed in a single transaction by {@link #addMany(Map, AuditStamp, int)}.
+   */
+  public void setBatchWriteSize(int batchWriteSize) {
+    if (batchWriteSize <= 0) {
+      throw new IllegalArgumentException("Batch write size must be positive: " + batchWriteSize);
+    }
+    _batchWriteSize = batchWriteSize;
+  }
+
+  /**
+   * Enables or disables deferred retention.
+   *
+   * <p>When enabled, writes only record that retention is pending for the (urn, aspect) they write once they commit,
+   * and old versions are purged in batches by {@link #sweepRetention(int)}, e.g. from a {@link RetentionSweeper}.
+   * Pending retention is kept in memory, so retention of aspects written before a restart is only applied once they're
+   * written again.
+   */
+  public void enableDeferredRetention(boolean enabled) {
+    _deferRetention = enabled;
+  }
+
+  /**
+   * Enables or disables the audit event outbox.
+   *
+   * <p>When enabled, the MAEs of a write are saved by {@link #saveAuditEvent} in the same transaction as the aspects,
+   * instead of being produced on the request thread after the commit. The DAO implementation is then responsible for
+   * relaying the saved events to the producer, so they're produced at least once even if the node crashes after the
+   * commit. Only supported by DAOs whose {@link #supportsAuditEventOutbox()} returns true.
+   *
+   * @throws UnsupportedOperationException if enabled on a DAO that doesn't support the outbox
+   */
+  public void enableAuditEventOutbox(boolean enabled) {
+    if (enabled && !supportsAuditEventOutbox()) {
+      throw new UnsupportedOperationException(getClass().getName() + " doesn't support the audit event outbox");
+    }
+    _auditEventOutbox = enabled;
+  }
+
+  /**
+   * Returns the number of (urn, aspect) whose retention is pending, see {@link #enableDeferredRetention(boolean)}.
+   */
+  public int getPendingRetentionCount() {
+    return _retentionMarkers.values().stream().mapToInt(Map::size).sum();
+  }
+
   /**
    * Enables or disables model validation before persisting.
    */
@@ -354,14 +565,32 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     final AuditStamp oldAuditStamp = latest.getExtraInfo() == null ? null : latest.getExtraInfo().getAudit();
 
     // Skip saving if there's no actual change
-    if ((oldValue == null && newValue == null) || oldValue != null && newValue != null
-        && equalityTester.equals(oldValue, newValue)) {
-      return new AddResult<>(oldValue, oldValue, aspectClass);
+    if (isUnchanged(oldValue, newValue, equalityTester)) {
+      return new AddResult<>(oldValue, oldValue, aspectClass, LATEST_VERSION);
     }
 
     // Save the newValue as the latest version
     long largestVersion = saveLatest(urn, aspectClass, oldValue, oldAuditStamp, newValue, auditStamp, latest.isSoftDeleted);
 
+    postSaveLatest(urn, aspectClass, newValue, largestVersion);
+
+    return new AddResult<>(oldValue, newValue, aspectClass, largestVersion);
+  }
+
+  private static <ASPECT extends RecordTemplate> boolean isUnchanged(@Nullable ASPECT oldValue,
+      @Nullable ASPECT newValue, @Nonnull EqualityTester<ASPECT> equalityTester) {
+    return (oldValue == null && newValue == null) || oldValue != null && newValue != null
+        && equalityTester.equals(oldValue, newValue);
+  }
+
+  /**
+   * Applies retention and updates local secondary index after the latest value of an aspect is saved.
+   */
+  private <ASPECT extends RecordTemplate> void postSaveLatest(@Nonnull URN urn, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable ASPECT newValue, long largestVersion) {
+    // Drop the cached value so that reads on this node don't keep serving it until it expires
+    invalidateLatestAspect(urn, aspectClass);
+
     // Apply retention policy
     applyRetention(urn, aspectClass, getRetention(aspectClass), largestVersion);
 
@@ -370,8 +599,6 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     if (_enableLocalSecondaryIndex && newValue != null) {
       updateLocalIndex(urn, newValue, largestVersion);
     }
-
-    return new AddResult<>(oldValue, newValue, aspectClass);
   }
 
   /**
@@ -406,12 +633,13 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
           () -> aspectUpdateLambdas.stream().map(x -> aspectUpdateHelper(urn, x, auditStamp)).collect(Collectors.toList()), maxTransactionRetry);
     } else {
       // no atomic multiple updates: run each in its own transaction. This is the same as repeated calls to add
-      results = aspectUpdateLambdas.stream().map(x -> runInTransactionWithRetry(() -> aspectUpdateHelper(urn, x, auditStamp), maxTransactionRetry))
+      results = aspectUpdateLambdas.stream()
+          .map(x -> runInTransactionWithRetry(() -> aspectUpdateHelper(urn, x, auditStamp), x.getAspectClass(), maxTransactionRetry))
           .collect(Collectors.toList());
     }
 
     // send the audit events etc
-    return results.stream().map(x -> unwrapAddResultToUnion(urn, x)).collect(Collectors.toList());
+    return unwrapAddResultsToUnions(Collections.nCopies(results.size(), urn), results);
   }
 
   public List<ASPECT_UNION> addMany(@Nonnull URN urn, @Nonnull List<? extends RecordTemplate> aspectValues, AuditStamp auditStamp) {
@@ -422,8 +650,195 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return addMany(urn, aspectUpdateLambdas, auditStamp, DEFAULT_MAX_TRANSACTION_RETRY);
   }
 
+  /**
+   * Adds new versions of aspects for many entities, e.g. for bulk ingestion.
+   *
+   * <p>This behaves like calling {@link #addMany(Urn, List, AuditStamp, int)} for each entity, i.e. equality checks,
+   * retention, hooks and MetadataAuditEvents are the same, but reads and writes are batched. Updates are split into
+   * chunks of at most {@link #setBatchWriteSize(int)} aspects. Each chunk prefetches the latest value of all its aspects
+   * in one read, then saves all of the changed ones in a single transaction. MetadataAuditEvents and post-update hooks
+   * for a chunk are fired once it's committed, so a failure in a later chunk doesn't roll back earlier ones.</p>
+   *
+   * <p>Updates to the same aspect of the same entity are applied in order, each one seeing the previous one's value.</p>
+   *
+   * @param updates map of entity URN to the list of {@link AspectUpdateLambda} to execute for that entity
+   * @param auditStamp the audit stamp for the operation
+   * @param maxTransactionRetry the maximum number of times to retry each chunk's transaction
+   * @return map of entity URN to the list of updated aspects, each wrapped in an instance of {@link ASPECT_UNION}, in
+   *     the same order as the input
+   */
+  @Nonnull
+  public Map<URN, List<ASPECT_UNION>> addMany(
+      @Nonnull Map<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> updates, @Nonnull AuditStamp auditStamp,
+      int maxTransactionRetry) {
+
+    // first check that all the aspects are valid
+    updates.values()
+        .stream()
+        .flatMap(List::stream)
+        .map(AspectUpdateLambda::getAspectClass)
+        .forEach(this::checkValidAspect);
+
+    final List<EntityAspectUpdate<URN>> entityAspectUpdates = new ArrayList<>();
+    final Map<URN, List<ASPECT_UNION>> results = new LinkedHashMap<>();
+    updates.forEach((urn, aspectUpdateLambdas) -> {
+      aspectUpdateLambdas.forEach(lambda -> entityAspectUpdates.add(new EntityAspectUpdate<>(urn, lambda)));
+      results.put(urn, new ArrayList<>(aspectUpdateLambdas.size()));
+    });
+
+    for (int start = 0; start < entityAspectUpdates.size(); start += _batchWriteSize) {
+      final List<EntityAspectUpdate<URN>> chunk =
+          entityAspectUpdates.subList(start, Math.min(entityAspectUpdates.size(), start + _batchWriteSize));
+      final List<AddResult<? extends RecordTemplate>> chunkResults =
+          runInTransactionWithRetry(() -> batchUpdateHelper(chunk, auditStamp), maxTransactionRetry);
+
+      // send the audit events etc
+      final List<URN> chunkUrns = chunk.stream().map(EntityAspectUpdate::getUrn).collect(Collectors.toList());
+      final List<ASPECT_UNION> chunkUnions = unwrapAddResultsToUnions(chunkUrns, chunkResults);
+      for (int i = 0; i < chunk.size(); i++) {
+        results.get(chunkUrns.get(i)).add(chunkUnions.get(i));
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * Similar to {@link #addMany(Map, AuditStamp, int)} but takes the new values directly and uses the default maximum
+   * transaction retry.
+   */
+  @Nonnull
+  public Map<URN, List<ASPECT_UNION>> addMany(@Nonnull Map<URN, List<? extends RecordTemplate>> aspectValues,
+      @Nonnull AuditStamp auditStamp) {
+    final Map<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> updates = new LinkedHashMap<>();
+    aspectValues.forEach((urn, values) -> updates.put(urn,
+        values.stream().map(AspectUpdateLambda::new).collect(Collectors.toList())));
+
+    return addMany(updates, auditStamp, DEFAULT_MAX_TRANSACTION_RETRY);
+  }
+
+  /**
+   * Runs a chunk of {@link #addMany(Map, AuditStamp, int)} within the current transaction: prefetches the latest values,
+   * applies the update lambdas in memory, then saves all actual changes with {@link #batchSaveLatest(List)}.
+   */
+  @Nonnull
+  private List<AddResult<? extends RecordTemplate>> batchUpdateHelper(@Nonnull List<EntityAspectUpdate<URN>> updates,
+      @Nonnull AuditStamp auditStamp) {
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = new LinkedHashSet<>();
+    updates.forEach(update -> keys.add(latestKey(update.getUrn(), update.getUpdateLambda())));
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> latestEntries =
+        new HashMap<>(batchGetLatest(keys));
+
+    final List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes = new ArrayList<>();
+    final List<AddResult<? extends RecordTemplate>> results = new ArrayList<>(updates.size());
+    // Index in results of each write
+    final List<Integer> writeResultIndexes = new ArrayList<>();
+    for (EntityAspectUpdate<URN> update : updates) {
+      final int writeCount = writes.size();
+      results.add(prepareLatestWrite(update.getUrn(), update.getUpdateLambda(), auditStamp, latestEntries, writes));
+      if (writes.size() > writeCount) {
+        writeResultIndexes.add(results.size() - 1);
+      }
+    }
+
+    if (!writes.isEmpty()) {
+      final List<Long> largestVersions = batchSaveLatest(writes);
+      for (int i = 0; i < writes.size(); i++) {
+        postSaveLatest(writes.get(i), largestVersions.get(i));
+        results.set(writeResultIndexes.get(i), toAddResult(writes.get(i), largestVersions.get(i)));
+      }
+    }
+
+    if (_auditEventOutbox) {
+      for (int i = 0; i < updates.size(); i++) {
+        saveAuditEvents(updates.get(i).getUrn(), results.get(i));
+      }
+    }
+
+    return results;
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> AspectKey<URN, ASPECT> latestKey(@Nonnull URN urn,
+      @Nonnull AspectUpdateLambda<ASPECT> updateLambda) {
+    return new AspectKey<>(updateLambda.getAspectClass(), urn, LATEST_VERSION);
+  }
+
+  /**
+   * Computes the new value of an aspect from the prefetched latest value, and queues a write if it actually changed. The
+   * prefetched value is replaced with the new one so that later updates to the same aspect build on top of it.
+   */
+  @Nonnull
+  private <ASPECT extends RecordTemplate> AddResult<ASPECT> prepareLatestWrite(@Nonnull URN urn,
+      @Nonnull AspectUpdateLambda<ASPECT> updateLambda, @Nonnull AuditStamp auditStamp,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> latestEntries,
+      @Nonnull List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    final Class<ASPECT> aspectClass = updateLambda.getAspectClass();
+    final AspectKey<URN, ASPECT> key = latestKey(urn, updateLambda);
+    final AspectEntry<ASPECT> latest = (AspectEntry<ASPECT>) latestEntries.getOrDefault(key, new AspectEntry<>(null, null));
+    final ASPECT newValue = applyUpdateLambda(urn, latest, updateLambda);
+
+    final ASPECT oldValue = latest.getAspect();
+    if (isUnchanged(oldValue, newValue, getEqualityTester(aspectClass))) {
+      return new AddResult<>(oldValue, oldValue, aspectClass, LATEST_VERSION);
+    }
+
+    final AuditStamp oldAuditStamp = latest.getExtraInfo() == null ? null : latest.getExtraInfo().getAudit();
+    writes.add(new LatestAspectWrite<>(urn, aspectClass, oldValue, oldAuditStamp, newValue, auditStamp,
+        latest.isSoftDeleted()));
+    latestEntries.put(key, new AspectEntry<>(newValue, new ExtraInfo().setAudit(auditStamp)));
+
+    // The version is only known once the batch is saved, see batchUpdateHelper
+    return new AddResult<>(oldValue, newValue, aspectClass, LATEST_VERSION);
+  }
+
+  private <ASPECT extends RecordTemplate> long saveLatest(@Nonnull LatestAspectWrite<URN, ASPECT> write) {
+    return saveLatest(write.getUrn(), write.getAspectClass(), write.getOldValue(), write.getOldAuditStamp(),
+        write.getNewValue(), write.getNewAuditStamp(), write.isSoftDeleted());
+  }
+
+  private <ASPECT extends RecordTemplate> void postSaveLatest(@Nonnull LatestAspectWrite<URN, ASPECT> write,
+      long largestVersion) {
+    postSaveLatest(write.getUrn(), write.getAspectClass(), write.getNewValue(), largestVersion);
+  }
+
+  @Nonnull
+  private static <URN extends Urn, ASPECT extends RecordTemplate> AddResult<ASPECT> toAddResult(
+      @Nonnull LatestAspectWrite<URN, ASPECT> write, long largestVersion) {
+    return new AddResult<>(write.getOldValue(), write.getNewValue(), write.getAspectClass(), largestVersion);
+  }
+
   private <ASPECT extends RecordTemplate> AddResult<ASPECT> aspectUpdateHelper(URN urn, AspectUpdateLambda<ASPECT> updateTuple, AuditStamp auditStamp) {
     AspectEntry<ASPECT> latest = getLatest(urn, updateTuple.getAspectClass());
+    ASPECT newValue = applyUpdateLambda(urn, latest, updateTuple);
+
+    final AddResult<ASPECT> result =
+        addCommon(urn, latest, newValue, updateTuple.getAspectClass(), auditStamp, getEqualityTester(updateTuple.getAspectClass()));
+    if (_auditEventOutbox) {
+      saveAuditEvents(urn, result);
+    }
+    return result;
+  }
+
+  /**
+   * Saves the MAEs of an update to the outbox within the current transaction, see {@link #enableAuditEventOutbox(boolean)}.
+   */
+  private <ASPECT extends RecordTemplate> void saveAuditEvents(@Nonnull URN urn, @Nonnull AddResult<ASPECT> result) {
+    final boolean emitAuditEvent = shouldEmitAuditEvent(result);
+    final boolean emitAspectSpecificAuditEvent = shouldEmitAspectSpecificAuditEvent(result);
+
+    if (emitAuditEvent || emitAspectSpecificAuditEvent) {
+      saveAuditEvent(urn, result.getKlass(), result.getOldValue(), result.getNewValue(), emitAuditEvent,
+          emitAspectSpecificAuditEvent);
+    }
+  }
+
+  /**
+   * Applies an update lambda to the latest value of an aspect, then validates the new value and invokes pre-update hooks.
+   */
+  @Nonnull
+  private <ASPECT extends RecordTemplate> ASPECT applyUpdateLambda(@Nonnull URN urn, @Nonnull AspectEntry<ASPECT> latest,
+      @Nonnull AspectUpdateLambda<ASPECT> updateTuple) {
     Optional<ASPECT> oldValue = Optional.ofNullable(latest.getAspect());
     ASPECT newValue = updateTuple.getUpdateLambda().apply(oldValue);
     if (newValue == null) {
@@ -441,12 +856,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       _aspectPreUpdateHooksMap.get(updateTuple.getAspectClass()).forEach(hook -> hook.accept(urn, newValue));
     }
 
-    return addCommon(urn, latest, newValue, updateTuple.getAspectClass(), auditStamp, getEqualityTester(updateTuple.getAspectClass()));
-  }
-
-  private <ASPECT extends RecordTemplate> ASPECT_UNION unwrapAddResultToUnion(URN urn, AddResult<ASPECT> result) {
-    ASPECT rawResult = unwrapAddResult(urn, result);
-    return ModelUtils.newEntityUnion(_aspectUnionClass, rawResult);
+    return newValue;
   }
 
   private <ASPECT extends RecordTemplate> ASPECT unwrapAddResult(URN urn, AddResult<ASPECT> result) {
@@ -454,24 +864,103 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     final ASPECT oldValue = result.getOldValue();
     final ASPECT newValue = result.getNewValue();
 
-    // Produce MAE after a successful update
-    if (_alwaysEmitAuditEvent || oldValue != newValue) {
+    // Invalidate again now that the update is committed, in case a concurrent read cached the old value in between
+    if (oldValue != newValue) {
+      invalidateLatestAspect(urn, aspectClass);
+    }
+
+    markRetention(urn, result);
+
+    // Produce MAE after a successful update, unless it's left to the outbox
+    if (!_auditEventOutbox && shouldEmitAuditEvent(result)) {
       _producer.produceMetadataAuditEvent(urn, oldValue, newValue);
     }
 
     // TODO: Replace the previous step with the step below, after pipeline is fully migrated to aspect specific events.
     // Produce aspect specific MAE after a successful update
-    if (_emitAspectSpecificAuditEvent) {
-      if (_alwaysEmitAspectSpecificAuditEvent || oldValue != newValue) {
-        _producer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue);
+    if (!_auditEventOutbox && shouldEmitAspectSpecificAuditEvent(result)) {
+      _producer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue);
+    }
+
+    invokePostUpdateHooks(urn, aspectClass, newValue);
+
+    return newValue;
+  }
+
+  /**
+   * Same as {@link #unwrapAddResult(Urn, AddResult)} for a batch of results, wrapping each new value in an instance of
+   * {@code ASPECT_UNION}. The MAEs of the whole batch are produced with the batch methods of the producer, before any
+   * post-update hook is invoked.
+   *
+   * @param urns the URN of the entity of each result
+   * @param results the results of the updates
+   */
+  @Nonnull
+  private List<ASPECT_UNION> unwrapAddResultsToUnions(@Nonnull List<URN> urns,
+      @Nonnull List<AddResult<? extends RecordTemplate>> results) {
+    final List<AspectAuditEvent<URN, ? extends RecordTemplate>> auditEvents = new ArrayList<>();
+    final List<AspectAuditEvent<URN, ? extends RecordTemplate>> aspectSpecificAuditEvents = new ArrayList<>();
+    for (int i = 0; i < results.size(); i++) {
+      final URN urn = urns.get(i);
+      final AddResult<? extends RecordTemplate> result = results.get(i);
+
+      // Invalidate again now that the update is committed, in case a concurrent read cached the old value in between
+      if (result.getOldValue() != result.getNewValue()) {
+        invalidateLatestAspect(urn, result.getKlass());
       }
+
+      markRetention(urn, result);
+
+      if (!_auditEventOutbox && shouldEmitAuditEvent(result)) {
+        auditEvents.add(toAuditEvent(urn, result));
+      }
+      if (!_auditEventOutbox && shouldEmitAspectSpecificAuditEvent(result)) {
+        aspectSpecificAuditEvents.add(toAuditEvent(urn, result));
+      }
+    }
+
+    if (!auditEvents.isEmpty()) {
+      _producer.produceMetadataAuditEvents(auditEvents);
+    }
+    if (!aspectSpecificAuditEvents.isEmpty()) {
+      _producer.produceAspectSpecificMetadataAuditEvents(aspectSpecificAuditEvents);
     }
+
+    final List<ASPECT_UNION> unions = new ArrayList<>(results.size());
+    for (int i = 0; i < results.size(); i++) {
+      unions.add(invokePostUpdateHooksToUnion(urns.get(i), results.get(i)));
+    }
+    return unions;
+  }
+
+  @Nonnull
+  private static <URN extends Urn, ASPECT extends RecordTemplate> AspectAuditEvent<URN, ASPECT> toAuditEvent(
+      @Nonnull URN urn, @Nonnull AddResult<ASPECT> result) {
+    return new AspectAuditEvent<>(urn, result.getOldValue(), result.getNewValue());
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> ASPECT_UNION invokePostUpdateHooksToUnion(@Nonnull URN urn,
+      @Nonnull AddResult<ASPECT> result) {
+    invokePostUpdateHooks(urn, result.getKlass(), result.getNewValue());
+    return ModelUtils.newEntityUnion(_aspectUnionClass, result.getNewValue());
+  }
+
+  private <ASPECT extends RecordTemplate> void invokePostUpdateHooks(@Nonnull URN urn, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable ASPECT newValue) {
     // Invoke post-update hooks if there's any
     if (_aspectPostUpdateHooksMap.containsKey(aspectClass)) {
       _aspectPostUpdateHooksMap.get(aspectClass).forEach(hook -> hook.accept(urn, newValue));
     }
+  }
 
-    return newValue;
+  private boolean shouldEmitAuditEvent(@Nonnull AddResult<? extends RecordTemplate> result) {
+    return _alwaysEmitAuditEvent || result.getOldValue() != result.getNewValue();
+  }
+
+  private boolean shouldEmitAspectSpecificAuditEvent(@Nonnull AddResult<? extends RecordTemplate> result) {
+    return _emitAspectSpecificAuditEvent
+        && (_alwaysEmitAspectSpecificAuditEvent || result.getOldValue() != result.getNewValue());
   }
 
   /**
@@ -515,7 +1004,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     checkValidAspect(updateLambda.getAspectClass());
 
     final AddResult<ASPECT> result = runInTransactionWithRetry(() -> aspectUpdateHelper(urn, updateLambda, auditStamp),
-        maxTransactionRetry);
+        updateLambda.getAspectClass(), maxTransactionRetry);
 
     return unwrapAddResult(urn, result);
   }
@@ -539,11 +1028,14 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
     checkValidAspect(aspectClass);
 
-    runInTransactionWithRetry(() -> {
+    final AddResult<ASPECT> result = runInTransactionWithRetry(() -> {
       final AspectEntry<ASPECT> latest = getLatest(urn, aspectClass);
 
       return addCommon(urn, latest, null, aspectClass, auditStamp, new DefaultEqualityTester<>());
-    }, maxTransactionRetry);
+    }, aspectClass, maxTransactionRetry);
+
+    invalidateLatestAspect(urn, aspectClass);
+    markRetention(urn, result);
 
     // TODO: add support for sending MAE for soft deleted aspects
   }
@@ -581,6 +1073,11 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       return;
     }
 
+    // Left to markRetention once the transaction commits
+    if (_deferRetention) {
+      return;
+    }
+
     if (retention instanceof VersionBasedRetention) {
       applyVersionBasedRetention(aspectClass, urn, (VersionBasedRetention) retention, largestVersion);
       return;
@@ -592,6 +1089,92 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     }
   }
 
+  /**
+   * Records that retention is pending for a committed update, see {@link #enableDeferredRetention(boolean)}. Only called
+   * after the transaction commits, so that a rolled back or retried write never leaves a version that doesn't exist.
+   */
+  private void markRetention(@Nonnull URN urn, @Nonnull AddResult<? extends RecordTemplate> result) {
+    if (!_deferRetention || result.getOldValue() == result.getNewValue()
+        || getRetention(result.getKlass()) instanceof IndefiniteRetention) {
+      return;
+    }
+
+    _retentionMarkers.computeIfAbsent(result.getKlass(), key -> new ConcurrentHashMap<>())
+        .merge(urn, new RetentionMarker(result.getLargestVersion(), _clock.millis()), RetentionMarker::merge);
+  }
+
+  /**
+   * Applies the retention recorded by writes while retention is deferred, see {@link #enableDeferredRetention(boolean)}.
+   *
+   * <p>Pending retention of each aspect type is applied in batches of up to {@code batchSize} entities, one transaction
+   * per batch. Writes made during the sweep are left to the next sweep. If a batch fails, its pending retention is
+   * kept for the next sweep and the exception is rethrown.
+   *
+   * @param batchSize max number of entities whose old versions are purged in a single transaction
+   * @return the number of (urn, aspect) swept, the number of purged rows and how long the oldest swept one was pending
+   */
+  @Nonnull
+  public RetentionSweepResult sweepRetention(int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+
+    synchronized (_retentionSweepLock) {
+      final long sweepTime = _clock.millis();
+      long oldestMarkedAt = sweepTime;
+      int swept = 0;
+      int purged = 0;
+      for (Map.Entry<Class<? extends RecordTemplate>, Map<URN, RetentionMarker>> entry : _retentionMarkers.entrySet()) {
+        final Map<URN, RetentionMarker> markers = entry.getValue();
+        final List<URN> urns = new ArrayList<>(markers.keySet());
+        for (int start = 0; start < urns.size(); start += batchSize) {
+          final Map<URN, RetentionMarker> batch = new HashMap<>();
+          for (URN urn : urns.subList(start, Math.min(start + batchSize, urns.size()))) {
+            final RetentionMarker marker = markers.remove(urn);
+            if (marker != null) {
+              batch.put(urn, marker);
+              oldestMarkedAt = Math.min(oldestMarkedAt, marker.getMarkedAt());
+            }
+          }
+          if (batch.isEmpty()) {
+            continue;
+          }
+
+          try {
+            purged += sweepRetention(entry.getKey(), batch);
+          } catch (RuntimeException e) {
+            batch.forEach((urn, marker) -> markers.merge(urn, marker, RetentionMarker::merge));
+            throw e;
+          }
+          swept += batch.size();
+        }
+      }
+      return new RetentionSweepResult(swept, purged, sweepTime - oldestMarkedAt);
+    }
+  }
+
+  private <ASPECT extends RecordTemplate> int sweepRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Map<URN, RetentionMarker> batch) {
+    final Retention retention = getRetention(aspectClass);
+
+    if (retention instanceof VersionBasedRetention) {
+      final Map<URN, Long> largestVersions = new HashMap<>();
+      batch.forEach((urn, marker) -> largestVersions.put(urn, marker.getLargestVersion()));
+      return runInTransactionWithRetry(
+          () -> applyVersionBasedRetention(aspectClass, largestVersions, (VersionBasedRetention) retention),
+          aspectClass, DEFAULT_MAX_TRANSACTION_RETRY);
+    }
+
+    if (retention instanceof TimeBasedRetention) {
+      return runInTransactionWithRetry(
+          () -> applyTimeBasedRetention(aspectClass, batch.keySet(), (TimeBasedRetention) retention, _clock.millis()),
+          aspectClass, DEFAULT_MAX_TRANSACTION_RETRY);
+    }
+
+    // Retention changed to indefinite since the writes
+    return 0;
+  }
+
   /**
    * Saves the latest aspect.
    *
@@ -608,6 +1191,23 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       @Nonnull Class<ASPECT> aspectClass, @Nullable ASPECT oldEntry, @Nullable AuditStamp oldAuditStamp,
       @Nullable ASPECT newEntry, @Nonnull AuditStamp newAuditStamp, boolean isSoftDeleted);
 
+  /**
+   * Saves the latest values of many aspects, in order, within the current transaction.
+   *
+   * <p>The default implementation calls {@link #saveLatest(Urn, Class, RecordTemplate, AuditStamp, RecordTemplate,
+   * AuditStamp, boolean)} for each write. Implementations can override this to batch round trips, as long as a write
+   * to an aspect that appears earlier in the list is visible to later writes of the same aspect.
+   *
+   * @param writes the writes to apply, as computed from the values returned by {@link #batchGetLatest(Set)}
+   * @return the largest version of each write, in the same order as {@code writes}
+   */
+  @Nonnull
+  protected List<Long> batchSaveLatest(@Nonnull List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    final List<Long> largestVersions = new ArrayList<>(writes.size());
+    writes.forEach(write -> largestVersions.add(saveLatest(write)));
+    return largestVersions;
+  }
+
   /**
    * Saves the new value of an aspect to local secondary index.
    *
@@ -673,6 +1273,22 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   public abstract <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull IndexFilter indexFilter,
       @Nullable IndexSortCriterion indexSortCriterion, int start, int pageSize);
 
+  /**
+   * Similar to {@link #listUrns(IndexFilter, IndexSortCriterion, int, int)} but lets the caller choose how the total
+   * count is computed, as counting all results can cost more than fetching the page itself.
+   *
+   * <p>By default the total count is always exact, whatever the mode is.
+   *
+   * @param totalCountMode {@link TotalCountMode} how the total count should be computed
+   * @return a {@link ListResult} containing a list of urns and other pagination information. Its total count is flagged
+   *        as approximate when it isn't exact
+   */
+  @Nonnull
+  public ListResult<URN> listUrns(@Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
+      int start, int pageSize, @Nonnull TotalCountMode totalCountMode) {
+    return listUrns(indexFilter, indexSortCriterion, start, pageSize);
+  }
+
   /**
    * Similar to {@link #listUrns(IndexFilter, Urn, int)}. This is to get all urns with type URN.
    */
@@ -683,6 +1299,91 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return listUrns(indexFilter, lastUrn, pageSize);
   }
 
+  /**
+   * Returns a page of urns with type URN that come after {@code lastUrn}, ordered lexicographically. This is the page
+   * fetch behind {@link #scanUrns(Class, Urn, int)}, so implementations should avoid anything that gets slower the
+   * further the scan goes, e.g. offsets or total counts.
+   *
+   * <p>By default this is the same as {@link #listUrns(Class, Urn, int)}.
+   *
+   * @param urnClazz the type of urn to list
+   * @param lastUrn last urn of the previous page. For the first page, this should be set as NULL
+   * @param pageSize maximum number of urns to return
+   * @return list of urns after {@code lastUrn}
+   */
+  @Nonnull
+  protected List<URN> listUrnsAfter(@Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    return listUrns(urnClazz, lastUrn, pageSize);
+  }
+
+  /**
+   * Lazily scans all urns with type URN in lexicographical order, starting after {@code lastUrn}.
+   *
+   * <p>Urns are fetched one page at a time with keyset pagination, i.e. each page starts after the last urn of the
+   * previous one, and the next page is only fetched once the current one is consumed. Only one page is held in memory,
+   * and every page costs the same no matter how far the scan is.
+   *
+   * @param urnClazz the type of urn to scan
+   * @param lastUrn urn to start the scan after. To scan from the beginning, this should be set as NULL
+   * @param pageSize number of urns to fetch per page
+   * @return a lazily populated stream of urns
+   */
+  @Nonnull
+  public Stream<URN> scanUrns(@Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    return scanUrnPages(urnClazz, lastUrn, pageSize).flatMap(List::stream);
+  }
+
+  /**
+   * Similar to {@link #scanUrns(Class, Urn, int)} but also retrieves the latest versions of the given aspects for each
+   * urn, one page at a time.
+   *
+   * @param aspectClasses aspect classes whose latest versions need to be retrieved
+   * @return a lazily populated stream of urns along with their latest aspects
+   */
+  @Nonnull
+  public Stream<UrnAspectEntry<URN>> scan(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    checkValidAspects(aspectClasses);
+    return scanUrnPages(urnClazz, lastUrn, pageSize).flatMap(urns -> getUrnAspectEntries(aspectClasses, urns).stream());
+  }
+
+  @Nonnull
+  private Stream<List<URN>> scanUrnPages(@Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+    }
+    final Iterator<List<URN>> pages = new Iterator<List<URN>>() {
+      private URN _lastUrn = lastUrn;
+      private List<URN> _nextPage = null;
+      private boolean _done = false;
+
+      @Override
+      public boolean hasNext() {
+        if (_nextPage == null && !_done) {
+          final List<URN> page = listUrnsAfter(urnClazz, _lastUrn, pageSize);
+          // a short page is the last one, so there's no need to query for an empty page after it
+          _done = page.size() < pageSize;
+          if (!page.isEmpty()) {
+            _nextPage = page;
+            _lastUrn = page.get(page.size() - 1);
+          }
+        }
+        return _nextPage != null;
+      }
+
+      @Override
+      public List<URN> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final List<URN> page = _nextPage;
+        _nextPage = null;
+        return page;
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
   /**
    * Retrieves list of urn aspect entries corresponding to the aspect classes and urns.
    *
@@ -760,8 +1461,19 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   @Nonnull
   public ListResult<UrnAspectEntry<URN>> getAspects(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
       @Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion, int start, int pageSize) {
+    return getAspects(aspectClasses, indexFilter, indexSortCriterion, start, pageSize, TotalCountMode.EXACT);
+  }
 
-    final ListResult<URN> listResult = listUrns(indexFilter, indexSortCriterion, start, pageSize);
+  /**
+   * Similar to {@link #getAspects(Set, IndexFilter, IndexSortCriterion, int, int)} but lets the caller choose how the
+   * total count is computed, see {@link #listUrns(IndexFilter, IndexSortCriterion, int, int, TotalCountMode)}.
+   */
+  @Nonnull
+  public ListResult<UrnAspectEntry<URN>> getAspects(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion, int start, int pageSize,
+      @Nonnull TotalCountMode totalCountMode) {
+
+    final ListResult<URN> listResult = listUrns(indexFilter, indexSortCriterion, start, pageSize, totalCountMode);
     final List<URN> urns = listResult.getValues();
 
     final List<UrnAspectEntry<URN>> urnAspectEntries = getUrnAspectEntries(aspectClasses, urns);
@@ -771,6 +1483,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         .nextStart(listResult.getNextStart())
         .havingMore(listResult.isHavingMore())
         .totalCount(listResult.getTotalCount())
+        .totalCountApproximate(listResult.isTotalCountApproximate())
         .totalPageCount(listResult.getTotalPageCount())
         .pageSize(listResult.getPageSize())
         .build();
@@ -787,6 +1500,22 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   @Nonnull
   protected abstract <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry);
 
+  /**
+   * Same as {@link #runInTransactionWithRetry(Supplier, int)}, for a transaction that writes a single aspect class, so
+   * that implementations can attribute retries and conflicts to it. Ignores the aspect class by default.
+   *
+   * @param block the lambda expression to run
+   * @param aspectClass the aspect class written by the transaction
+   * @param maxTransactionRetry maximum number of transaction retries before throwing an exception
+   * @param <T> type for the result object
+   * @return the result object from a successfully committed transaction
+   */
+  @Nonnull
+  protected <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, @Nonnull Class<? extends RecordTemplate> aspectClass,
+      int maxTransactionRetry) {
+    return runInTransactionWithRetry(block, maxTransactionRetry);
+  }
+
   /**
    * Gets the latest version of a specific aspect type for an entity.
    *
@@ -798,6 +1527,23 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   protected abstract <ASPECT extends RecordTemplate> AspectEntry<ASPECT> getLatest(@Nonnull URN urn,
       @Nonnull Class<ASPECT> aspectClass);
 
+  /**
+   * Batch version of {@link #getLatest(Urn, Class)}, used by {@link #addMany(Map, AuditStamp, int)}.
+   *
+   * <p>The default implementation calls {@link #getLatest(Urn, Class)} for each key. Implementations should override
+   * this to fetch all the keys in as few queries as possible.
+   *
+   * @param keys set of keys to fetch, all with version {@link #LATEST_VERSION}
+   * @return map of each key to its {@link AspectEntry}. Keys without a value may be missing from the map
+   */
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> batchGetLatest(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> result = new HashMap<>();
+    keys.forEach(key -> result.put(key, getLatest(key.getUrn(), key.getAspectClass())));
+    return result;
+  }
+
   /**
    * Gets the next version to use for an entity's specific aspect type.
    *
@@ -863,6 +1609,70 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   protected abstract <ASPECT extends RecordTemplate> void applyTimeBasedRetention(@Nonnull Class<ASPECT> aspectClass,
       @Nonnull URN urn, @Nonnull TimeBasedRetention retention, long currentTime);
 
+  /**
+   * Returns whether the calling thread is within a transaction of this DAO. Reads within a transaction bypass the
+   * {@link LatestAspectCache}. Implementations that let reads join an ongoing transaction must override this.
+   */
+  protected boolean isInTransaction() {
+    return false;
+  }
+
+  /**
+   * Returns whether this DAO can save MAEs to an outbox, see {@link #enableAuditEventOutbox(boolean)}. Implementations
+   * that return true must save the events in {@link #saveAuditEvent}.
+   */
+  protected boolean supportsAuditEventOutbox() {
+    return false;
+  }
+
+  /**
+   * Saves the MAEs of an update to the outbox within the current transaction, see
+   * {@link #enableAuditEventOutbox(boolean)}. Only called if {@link #supportsAuditEventOutbox()} returns true.
+   *
+   * @param urn {@link Urn} of the entity
+   * @param aspectClass the type of the updated aspect
+   * @param oldValue the value prior to the update, or null if there's none
+   * @param newValue the value after the update
+   * @param emitAuditEvent whether to produce a MAE for the update
+   * @param emitAspectSpecificAuditEvent whether to produce an aspect specific MAE for the update
+   */
+  protected abstract <ASPECT extends RecordTemplate> void saveAuditEvent(@Nonnull URN urn,
+      @Nonnull Class<ASPECT> aspectClass, @Nullable ASPECT oldValue, @Nonnull ASPECT newValue, boolean emitAuditEvent,
+      boolean emitAspectSpecificAuditEvent);
+
+  /**
+   * Applies version-based retention against a specific aspect type for a batch of entities, used by
+   * {@link #sweepRetention(int)}. Applies retention to one entity at a time by default, implementations should override
+   * this to purge the whole batch at once.
+   *
+   * @param aspectClass the type of aspect to apply retention to
+   * @param largestVersions maps the {@link Urn} of each entity to the largest version number of the aspect type
+   * @param retention the retention configuration
+   * @return the number of purged rows, or 0 if not known
+   */
+  protected <ASPECT extends RecordTemplate> int applyVersionBasedRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Map<URN, Long> largestVersions, @Nonnull VersionBasedRetention retention) {
+    largestVersions.forEach((urn, largestVersion) -> applyVersionBasedRetention(aspectClass, urn, retention, largestVersion));
+    return 0;
+  }
+
+  /**
+   * Applies time-based retention against a specific aspect type for a batch of entities, used by
+   * {@link #sweepRetention(int)}. Applies retention to one entity at a time by default, implementations should override
+   * this to purge the whole batch at once.
+   *
+   * @param aspectClass the type of aspect to apply retention to
+   * @param urns {@link Urn} of the entities
+   * @param retention the retention configuration
+   * @param currentTime the current timestamp
+   * @return the number of purged rows, or 0 if not known
+   */
+  protected <ASPECT extends RecordTemplate> int applyTimeBasedRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Set<URN> urns, @Nonnull TimeBasedRetention retention, long currentTime) {
+    urns.forEach(urn -> applyTimeBasedRetention(aspectClass, urn, retention, currentTime));
+    return 0;
+  }
+
   /**
    * Emits backfill MAE for the latest version of an aspect and also backfills SCSI (if it exists and is enabled).
    *
@@ -916,9 +1726,19 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     checkValidAspects(aspectClasses);
     final Map<URN, Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>>> urnToAspects =
         get(aspectClasses, urns);
+    final List<AspectAuditEvent<URN, ? extends RecordTemplate>> auditEvents = new ArrayList<>();
     urnToAspects.forEach((urn, aspects) -> {
-      aspects.forEach((aspectClass, aspect) -> aspect.ifPresent(value -> backfill(mode, value, urn)));
+      aspects.forEach((aspectClass, aspect) -> aspect.ifPresent(value -> {
+        backfillLocalIndex(mode, value, urn);
+        auditEvents.add(new AspectAuditEvent<>(urn, value, value));
+      }));
     });
+
+    // Produce the backfill MAEs of all entities at once
+    if (!auditEvents.isEmpty() && (mode == BackfillMode.MAE_ONLY || mode == BackfillMode.BACKFILL_ALL)) {
+      _producer.produceMetadataAuditEvents(auditEvents);
+      _producer.produceAspectSpecificMetadataAuditEvents(auditEvents);
+    }
     return urnToAspects;
   }
 
@@ -945,10 +1765,29 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       @Nonnull BackfillMode mode, @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
       @Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
 
-    final List<URN> urnList = listUrns(urnClazz, lastUrn, pageSize);
+    final List<URN> urnList = listUrnsAfter(urnClazz, lastUrn, pageSize);
     return backfill(mode, aspectClasses, new HashSet(urnList));
   }
 
+  /**
+   * Similar to {@link #backfill(BackfillMode, Set, Class, Urn, int)} but backfills all entities with type URN after
+   * {@code lastUrn}, scanning them one page at a time with {@link #scanUrns(Class, Urn, int)}.
+   *
+   * @param mode backfill mode to scope the backfill process
+   * @param aspectClasses set of aspects to backfill
+   * @param urnClazz the type of urn to backfill
+   * @param lastUrn urn to start the backfill after. To backfill all entities, this should be set as NULL
+   * @param pageSize the number of entities to backfill at a time
+   * @return number of entities backfilled
+   */
+  public long backfillAll(@Nonnull BackfillMode mode, @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    checkValidAspects(aspectClasses);
+    return scanUrnPages(urnClazz, lastUrn, pageSize)
+        .mapToLong(urns -> backfill(mode, aspectClasses, new HashSet<>(urns)).size())
+        .sum();
+  }
+
   /**
    * Emits backfill MAE for an aspect of an entity and/or backfills SCSI depending on the backfill mode.
    *
@@ -959,9 +1798,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
    */
   private <ASPECT extends RecordTemplate> void backfill(@Nonnull BackfillMode mode, @Nonnull ASPECT aspect,
       @Nonnull URN urn) {
-    if (_enableLocalSecondaryIndex && (mode == BackfillMode.SCSI_ONLY || mode == BackfillMode.BACKFILL_ALL)) {
-      updateLocalIndex(urn, aspect, FIRST_VERSION);
-    }
+    backfillLocalIndex(mode, aspect, urn);
 
     if (mode == BackfillMode.MAE_ONLY || mode == BackfillMode.BACKFILL_ALL) {
       _producer.produceMetadataAuditEvent(urn, aspect, aspect);
@@ -969,6 +1806,16 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     }
   }
 
+  /**
+   * Backfills SCSI for an aspect of an entity, if it's enabled and the backfill mode includes it.
+   */
+  private <ASPECT extends RecordTemplate> void backfillLocalIndex(@Nonnull BackfillMode mode, @Nonnull ASPECT aspect,
+      @Nonnull URN urn) {
+    if (_enableLocalSecondaryIndex && (mode == BackfillMode.SCSI_ONLY || mode == BackfillMode.BACKFILL_ALL)) {
+      updateLocalIndex(urn, aspect, FIRST_VERSION);
+    }
+  }
+
   /**
    * Paginates over all available versions of an aspect for an entity. This does not include version of soft deleted aspect(s).
    *
@@ -4,6 +4,7 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.dao.exception.InvalidMetadataType;
+import com.linkedin.metadata.dao.utils.ModelMetadataRegistry;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.validator.AspectValidator;
 import java.util.Collections;
@@ -28,6 +29,7 @@ public abstract class BaseReadDAO<ASPECT_UNION extends UnionTemplate, URN extend
     AspectValidator.validateAspectUnionSchema(aspectUnionClass);
 
     _validMetadataAspects = ModelUtils.getValidAspectTypes(aspectUnionClass);
+    ModelMetadataRegistry.warmUp(aspectUnionClass);
   }
 
   public BaseReadDAO(@Nonnull Set<Class<? extends RecordTemplate>> aspects) {
@@ -3,10 +3,12 @@ package com.linkedin.metadata.dao;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.dao.exception.ModelConversionException;
+import com.linkedin.metadata.dao.utils.FutureUtils;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.Filter;
 import com.linkedin.metadata.query.SortCriterion;
 import com.linkedin.metadata.validator.DocumentValidator;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -69,6 +71,41 @@ public abstract class BaseSearchDAO<DOCUMENT extends RecordTemplate> {
   public abstract AutoCompleteResult autoComplete(@Nonnull String query, @Nullable String field,
       @Nullable Filter requestParams, int limit);
 
+  /**
+   * Same as {@link #search(String, Filter, SortCriterion, int, int)}, but doesn't block the calling thread if the
+   * implementation supports it.
+   *
+   * <p>The default implementation runs the search on the calling thread and returns a completed future.
+   */
+  @Nonnull
+  public CompletableFuture<SearchResult<DOCUMENT>> searchAsync(@Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, int from, int size) {
+    return FutureUtils.completedFuture(() -> search(input, postFilters, sortCriterion, from, size));
+  }
+
+  /**
+   * Same as {@link #filter(Filter, SortCriterion, int, int)}, but doesn't block the calling thread if the
+   * implementation supports it.
+   *
+   * <p>The default implementation runs the query on the calling thread and returns a completed future.
+   */
+  @Nonnull
+  public CompletableFuture<SearchResult<DOCUMENT>> filterAsync(@Nullable Filter filters,
+      @Nullable SortCriterion sortCriterion, int from, int size) {
+    return FutureUtils.completedFuture(() -> filter(filters, sortCriterion, from, size));
+  }
+
+  /**
+   * Same as {@link #autoComplete(String, String, Filter, int)}, but doesn't block the calling thread if the
+   * implementation supports it.
+   *
+   * <p>The default implementation runs the query on the calling thread and returns a completed future.
+   */
+  @Nonnull
+  public CompletableFuture<AutoCompleteResult> autoCompleteAsync(@Nonnull String query, @Nullable String field,
+      @Nullable Filter requestParams, int limit) {
+    return FutureUtils.completedFuture(() -> autoComplete(query, field, requestParams, limit));
+  }
 
   @Nonnull
   protected DOCUMENT newDocument(@Nonnull DataMap dataMap) {
@@ -35,6 +35,9 @@ public class ListResult<T> {
   // Total number of hits
   int totalCount;
 
+  // Whether totalCount (and totalPageCount) is an estimate rather than exact, see TotalCountMode
+  boolean totalCountApproximate;
+
   // Total number of pages
   int totalPageCount;
 
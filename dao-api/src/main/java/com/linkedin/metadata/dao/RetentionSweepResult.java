@@ -0,0 +1,20 @@
+package com.linkedin.metadata.dao;
+
+import lombok.Value;
+
+
+/**
+ * An immutable value class that holds the result of a retention sweep, see {@link BaseLocalDAO#sweepRetention(int)}.
+ */
+@Value
+public class RetentionSweepResult {
+
+  // Number of (urn, aspect) whose pending retention was applied
+  int sweptCount;
+
+  // Number of old versions purged, 0 if the DAO doesn't report it
+  int purgedCount;
+
+  // How long (in milliseconds) the oldest swept (urn, aspect) was pending, 0 if nothing was swept
+  long lagMillis;
+}
@@ -0,0 +1,107 @@
+package com.linkedin.metadata.dao;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Periodically sweeps the pending retention of a {@link BaseLocalDAO} with deferred retention, see
+ * {@link BaseLocalDAO#enableDeferredRetention(boolean)}.
+ *
+ * <p>Sweeps run on a single background thread, one at a time, so the sweeper never takes more than one connection
+ * from the writes. A failed sweep is reported and retried with the next one.
+ */
+@Slf4j
+public class RetentionSweeper {
+
+  /**
+   * Event listening interface to report sweep metrics to some specific metric recording framework.
+   */
+  public interface MetricListener {
+    /**
+     * Event when a sweep completes.
+     *
+     * @param result the number of swept (urn, aspect), purged rows and the sweep lag
+     */
+    default void onSweep(@Nonnull RetentionSweepResult result) {
+    }
+
+    /**
+     * Event when a sweep fails.
+     *
+     * @param exception the failure
+     */
+    default void onSweepFailed(@Nonnull RuntimeException exception) {
+    }
+  }
+
+  private final BaseLocalDAO<?, ?> _localDAO;
+  private final int _batchSize;
+  private final long _intervalMillis;
+  private final ScheduledExecutorService _executor;
+  private final List<MetricListener> _metricListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Constructor for RetentionSweeper.
+   *
+   * @param localDAO the DAO to sweep, with deferred retention enabled
+   * @param batchSize max number of entities whose old versions are purged in a single transaction
+   * @param intervalMillis how long (in milliseconds) to wait between the end of a sweep and the start of the next one
+   */
+  public RetentionSweeper(@Nonnull BaseLocalDAO<?, ?> localDAO, int batchSize, long intervalMillis) {
+    if (batchSize <= 0 || intervalMillis <= 0) {
+      throw new IllegalArgumentException("batchSize and intervalMillis must be positive");
+    }
+
+    _localDAO = localDAO;
+    _batchSize = batchSize;
+    _intervalMillis = intervalMillis;
+    _executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "retention-sweeper");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Adds a {@link MetricListener} to receive metrics of this sweeper.
+   */
+  public void addMetricListener(@Nonnull MetricListener metricListener) {
+    _metricListeners.add(metricListener);
+  }
+
+  /**
+   * Starts sweeping in the background.
+   */
+  public void start() {
+    _executor.scheduleWithFixedDelay(this::sweep, _intervalMillis, _intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops sweeping. A sweep that is already running still completes, and pending retention is kept for the next
+   * {@link BaseLocalDAO#sweepRetention(int)}.
+   */
+  public void shutdown() {
+    _executor.shutdown();
+  }
+
+  /**
+   * Runs a single sweep on the calling thread.
+   */
+  void sweep() {
+    final RetentionSweepResult result;
+    try {
+      result = _localDAO.sweepRetention(_batchSize);
+    } catch (RuntimeException e) {
+      log.error("Retention sweep failed", e);
+      _metricListeners.forEach(listener -> listener.onSweepFailed(e));
+      return;
+    }
+    _metricListeners.forEach(listener -> listener.onSweep(result));
+  }
+}
@@ -0,0 +1,223 @@
+package com.linkedin.metadata.dao.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import lombok.Value;
+
+
+/**
+ * A {@link LatestAspectCache} that keeps up to a fixed number of values in memory, backed by a Caffeine cache. Values
+ * are evicted by Caffeine's size-based policy when the cache is full, and expire after their TTL. Lookups and updates
+ * only lock the keys they touch.
+ *
+ * <p>Values are copied when they're put in and served out of the cache, so callers are free to modify them.
+ *
+ * <p>Invalidating a key keeps the generation of the invalidation for the key, so that values loaded before the
+ * invalidation are not put back afterwards. These markers are kept apart from the values, so they don't take up room,
+ * and expire after the maximum load time. Values whose load took longer than that aren't cached.
+ */
+public class InMemoryLatestAspectCache<URN extends Urn> implements LatestAspectCache<URN> {
+
+  /**
+   * Default maximum time (in milliseconds) between taking a generation and putting the value loaded after it.
+   */
+  public static final long DEFAULT_MAX_LOAD_MILLIS = 60_000;
+
+  /**
+   * Event listening interface to report cache metrics to some specific metric recording framework.
+   */
+  public interface MetricListener {
+    /**
+     * Event when cached values are served.
+     *
+     * @param hitCount how many keys were found in the cache
+     */
+    default void onHits(int hitCount) {
+    }
+
+    /**
+     * Event when keys are looked up but aren't in the cache, or have expired.
+     *
+     * @param missCount how many keys were not found in the cache
+     */
+    default void onMisses(int missCount) {
+    }
+
+    /**
+     * Event when entries are evicted from the cache, either because it's full or because they've expired.
+     *
+     * @param evictionCount how many entries were evicted
+     */
+    default void onEvictions(int evictionCount) {
+    }
+  }
+
+  @Value
+  private static class CacheEntry {
+    Optional<? extends RecordTemplate> value;
+    long expiresAt;
+  }
+
+  private final Clock _clock;
+  private final long _maxLoadMillis;
+  private final List<MetricListener> _metricListeners = new CopyOnWriteArrayList<>();
+
+  private final Cache<AspectKey<URN, ? extends RecordTemplate>, CacheEntry> _entries;
+  // Generation of the last invalidation of each key invalidated within the maximum load time. Only updated while
+  // holding the lock of the key in _entries, so that puts and invalidations of a key are serialized.
+  private final Cache<AspectKey<URN, ? extends RecordTemplate>, Long> _invalidations;
+  // Never behind the clock (in milliseconds), and advanced by every invalidation, so that a load that starts after an
+  // invalidation always takes a larger generation than the invalidation.
+  private final AtomicLong _generation = new AtomicLong();
+
+  public InMemoryLatestAspectCache(int maxSize) {
+    this(maxSize, Clock.systemUTC());
+  }
+
+  public InMemoryLatestAspectCache(int maxSize, @Nonnull Clock clock) {
+    this(maxSize, DEFAULT_MAX_LOAD_MILLIS, clock);
+  }
+
+  /**
+   * Constructor for InMemoryLatestAspectCache.
+   *
+   * @param maxSize maximum number of cached values
+   * @param maxLoadMillis maximum time (in milliseconds) between taking a generation and putting the value loaded after
+   *                      it, longer loads aren't cached. Bounds how long invalidations are remembered.
+   * @param clock clock for the TTL of values and the generations
+   */
+  public InMemoryLatestAspectCache(int maxSize, long maxLoadMillis, @Nonnull Clock clock) {
+    if (maxSize <= 0 || maxLoadMillis <= 0) {
+      throw new IllegalArgumentException("maxSize and maxLoadMillis must be positive");
+    }
+    _clock = clock;
+    _maxLoadMillis = maxLoadMillis;
+
+    final Ticker ticker = () -> TimeUnit.MILLISECONDS.toNanos(clock.millis());
+    _entries = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new Expiry<AspectKey<URN, ? extends RecordTemplate>, CacheEntry>() {
+          @Override
+          public long expireAfterCreate(@Nonnull AspectKey<URN, ? extends RecordTemplate> key,
+              @Nonnull CacheEntry entry, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(entry.getExpiresAt()) - currentTime;
+          }
+
+          @Override
+          public long expireAfterUpdate(@Nonnull AspectKey<URN, ? extends RecordTemplate> key,
+              @Nonnull CacheEntry entry, long currentTime, long currentDuration) {
+            return TimeUnit.MILLISECONDS.toNanos(entry.getExpiresAt()) - currentTime;
+          }
+
+          @Override
+          public long expireAfterRead(@Nonnull AspectKey<URN, ? extends RecordTemplate> key, @Nonnull CacheEntry entry,
+              long currentTime, long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .ticker(ticker)
+        .executor(Runnable::run)
+        .<AspectKey<URN, ? extends RecordTemplate>, CacheEntry>removalListener((key, entry, cause) -> {
+          if (cause.wasEvicted()) {
+            _metricListeners.forEach(listener -> listener.onEvictions(1));
+          }
+        })
+        .build();
+    _invalidations = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMillis(maxLoadMillis))
+        .ticker(ticker)
+        .executor(Runnable::run)
+        .build();
+  }
+
+  /**
+   * Adds a {@link MetricListener} to receive metrics of this cache.
+   */
+  public void addMetricListener(@Nonnull MetricListener metricListener) {
+    _metricListeners.add(metricListener);
+  }
+
+  @Override
+  @Nonnull
+  public Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> getAll(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    final Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> result = new HashMap<>();
+    _entries.getAllPresent(keys)
+        .forEach((key, entry) -> result.put(key, entry.getValue().map(InMemoryLatestAspectCache::copy)));
+
+    final int hitCount = result.size();
+    final int missCount = keys.size() - hitCount;
+    _metricListeners.forEach(listener -> {
+      listener.onHits(hitCount);
+      listener.onMisses(missCount);
+    });
+    return result;
+  }
+
+  @Override
+  public long getGeneration() {
+    final long now = _clock.millis();
+    return _generation.updateAndGet(generation -> Math.max(generation, now));
+  }
+
+  @Override
+  public void put(@Nonnull AspectKey<URN, ? extends RecordTemplate> key,
+      @Nonnull Optional<? extends RecordTemplate> value, long ttlMillis, long generation) {
+    if (ttlMillis <= 0 || getGeneration() - generation >= _maxLoadMillis) {
+      // an invalidation during the load may have been forgotten already
+      return;
+    }
+
+    final CacheEntry entry = new CacheEntry(value.map(InMemoryLatestAspectCache::copy), _clock.millis() + ttlMillis);
+    _entries.asMap().compute(key, (k, current) -> {
+      final Long invalidatedGeneration = _invalidations.getIfPresent(k);
+      if (invalidatedGeneration != null && generation < invalidatedGeneration) {
+        // the value was loaded before the key was last invalidated, and may be the value the write replaced
+        return current;
+      }
+      return entry;
+    });
+  }
+
+  @Override
+  public void invalidate(@Nonnull AspectKey<URN, ? extends RecordTemplate> key) {
+    _entries.asMap().compute(key, (k, current) -> {
+      final long now = _clock.millis();
+      _invalidations.put(k, _generation.updateAndGet(generation -> Math.max(generation + 1, now)));
+      return null;
+    });
+  }
+
+  /**
+   * Returns the number of cached values, after evicting the ones that have expired.
+   */
+  public int size() {
+    _entries.cleanUp();
+    return (int) _entries.estimatedSize();
+  }
+
+  @Nonnull
+  private static RecordTemplate copy(@Nonnull RecordTemplate value) {
+    try {
+      return value.copy();
+    } catch (CloneNotSupportedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.linkedin.metadata.dao.cache;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+
+/**
+ * An interface for caches of the latest version of metadata aspects, keyed by (urn, aspect class).
+ *
+ * <p>Implementations must be thread safe. A cached {@link Optional#empty()} means the aspect is known not to exist.
+ */
+public interface LatestAspectCache<URN extends Urn> {
+
+  /**
+   * Gets the cached values of the given keys.
+   *
+   * @param keys set of keys to look up, all with version {@code LATEST_VERSION}
+   * @return a mapping of the keys that are in the cache to their values. Keys that aren't cached are missing
+   */
+  @Nonnull
+  Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> getAll(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys);
+
+  /**
+   * Returns the current generation of the cache. Every {@link #invalidate(AspectKey)} advances it, so generations taken
+   * after an invalidation are larger than the ones taken before. Take it before loading values from storage and pass it
+   * to {@link #put(AspectKey, Optional, long, long)}.
+   */
+  long getGeneration();
+
+  /**
+   * Caches the latest value of an aspect, unless the aspect was invalidated after {@code generation} was taken. This
+   * keeps a read that started before a write from caching the value the write replaced.
+   *
+   * @param key key of the aspect, with version {@code LATEST_VERSION}
+   * @param value the latest value, or {@link Optional#empty()} if the aspect doesn't exist
+   * @param ttlMillis how long (in milliseconds) the value can be served from cache
+   * @param generation the {@link #getGeneration()} taken before the value was loaded
+   */
+  void put(@Nonnull AspectKey<URN, ? extends RecordTemplate> key, @Nonnull Optional<? extends RecordTemplate> value,
+      long ttlMillis, long generation);
+
+  /**
+   * Removes the cached value of an aspect, if any, and advances the generation of the cache. Values of the aspect
+   * loaded before are no longer put.
+   */
+  void invalidate(@Nonnull AspectKey<URN, ? extends RecordTemplate> key);
+}
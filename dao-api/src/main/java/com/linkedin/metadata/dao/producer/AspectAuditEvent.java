@@ -0,0 +1,30 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * An immutable value class that holds an update of an aspect of an entity, to produce a Metadata Audit Event (MAE) for
+ * with the batch methods of {@link BaseMetadataEventProducer}.
+ *
+ * @param <URN> the entity URN type
+ * @param <ASPECT> the aspect type
+ */
+@Value
+public class AspectAuditEvent<URN extends Urn, ASPECT extends RecordTemplate> {
+
+  @Nonnull
+  URN urn;
+
+  // The value prior to the update, or null if there's none
+  @Nullable
+  ASPECT oldValue;
+
+  // The value after the update
+  @Nonnull
+  ASPECT newValue;
+}
@@ -4,6 +4,7 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.dao.utils.ModelUtils;
+import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -59,4 +60,38 @@ public abstract class BaseMetadataEventProducer<SNAPSHOT extends RecordTemplate,
    */
   public abstract <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull URN urn,
       @Nullable ASPECT oldValue, @Nonnull ASPECT newValue);
+
+  /**
+   * Produces a Metadata Audit Event (MAE) for each of a batch of aspect updates, in order.
+   *
+   * <p>Calls {@link #produceMetadataAuditEvent(Urn, RecordTemplate, RecordTemplate)} for each update by default.
+   * Producers can override this to serialize and send the whole batch at once.
+   *
+   * @param events the aspect updates to produce MAEs for
+   */
+  public void produceMetadataAuditEvents(@Nonnull List<? extends AspectAuditEvent<URN, ? extends RecordTemplate>> events) {
+    events.forEach(this::produceMetadataAuditEvent);
+  }
+
+  /**
+   * Produces an aspect specific Metadata Audit Event (MAE) for each of a batch of aspect updates, in order.
+   *
+   * <p>Calls {@link #produceAspectSpecificMetadataAuditEvent(Urn, RecordTemplate, RecordTemplate)} for each update by
+   * default. Producers can override this to serialize and send the whole batch at once.
+   *
+   * @param events the aspect updates to produce aspect specific MAEs for
+   */
+  public void produceAspectSpecificMetadataAuditEvents(
+      @Nonnull List<? extends AspectAuditEvent<URN, ? extends RecordTemplate>> events) {
+    events.forEach(this::produceAspectSpecificMetadataAuditEvent);
+  }
+
+  private <ASPECT extends RecordTemplate> void produceMetadataAuditEvent(@Nonnull AspectAuditEvent<URN, ASPECT> event) {
+    produceMetadataAuditEvent(event.getUrn(), event.getOldValue(), event.getNewValue());
+  }
+
+  private <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(
+      @Nonnull AspectAuditEvent<URN, ASPECT> event) {
+    produceAspectSpecificMetadataAuditEvent(event.getUrn(), event.getOldValue(), event.getNewValue());
+  }
 }
@@ -0,0 +1,203 @@
+package com.linkedin.metadata.dao.tracking;
+
+import com.linkedin.metadata.dao.tracking.TrackingUtils.ProcessType;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A tracking manager that keeps request counts and latencies in memory, for metrics to be scraped from.
+ *
+ * <p>Every registered process type counts its requests. Start types (e.g. {@link ProcessType#SEARCH_QUERY_START}) also
+ * keep the start time of recent requests in a preallocated table slotted by tracking ID, and their end and fail types
+ * (e.g. {@link ProcessType#SEARCH_QUERY_END}) record the latency since the start of the same request to a
+ * {@link LatencyHistogram}. Tracking a request is lock-free and doesn't allocate. A request whose slot is taken by
+ * another request before it ends isn't recorded, so the table should be larger than the number of requests in flight.
+ *
+ * <p>{@link #trackRequest} takes about 100ns on a single thread, about half of it in {@link System#nanoTime()}. It
+ * hasn't been benchmarked with concurrent writers, so there's no guarantee it stays under 100ns with many threads.
+ */
+public class InMemoryTrackingManager implements BaseTrackingManager {
+
+  private static final int DEFAULT_CAPACITY = 1 << 16;
+
+  // Start times are kept as microseconds in the lower 40 bits of a table entry, so latencies up to ~12 days can be told
+  private static final int TIME_BITS = 40;
+
+  private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+  // Maps an end or fail type to the start type it's paired with
+  private static final Map<ProcessType, ProcessType> START_TYPES = pairStartTypes();
+
+  private static class ProcessState {
+    final LongAdder _count = new LongAdder();
+
+    // Start time of recent requests, only for start types
+    @Nullable
+    final AtomicLongArray _startTimes;
+
+    // Latencies since the start of the request, only for end and fail types
+    @Nullable
+    final LatencyHistogram _latencies;
+
+    ProcessState(@Nullable AtomicLongArray startTimes, @Nullable LatencyHistogram latencies) {
+      _startTimes = startTimes;
+      _latencies = latencies;
+    }
+  }
+
+  private final int _capacity;
+  private final LongSupplier _microClock;
+  private final AtomicReferenceArray<ProcessState> _states = new AtomicReferenceArray<>(ProcessType.values().length);
+
+  public InMemoryTrackingManager() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor for InMemoryTrackingManager.
+   *
+   * @param capacity number of request start times kept per start type, must be a power of two
+   */
+  public InMemoryTrackingManager(int capacity) {
+    this(capacity, () -> System.nanoTime() / 1000);
+  }
+
+  InMemoryTrackingManager(int capacity, @Nonnull LongSupplier microClock) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+    }
+    _capacity = capacity;
+    _microClock = microClock;
+  }
+
+  @Override
+  public void register(@Nonnull ProcessType processType) {
+    if (_states.get(processType.ordinal()) != null) {
+      return;
+    }
+
+    final boolean isStart = START_TYPES.containsValue(processType);
+    final ProcessState state = new ProcessState(isStart ? new AtomicLongArray(_capacity) : null,
+        START_TYPES.containsKey(processType) ? new LatencyHistogram() : null);
+    _states.compareAndSet(processType.ordinal(), null, state);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Requests of process types that aren't registered are ignored.
+   */
+  @Override
+  public void trackRequest(@Nonnull byte[] id, @Nonnull ProcessType processType) {
+    final ProcessState state = _states.get(processType.ordinal());
+    if (state == null) {
+      return;
+    }
+    state._count.increment();
+
+    final long hash = hash(id);
+    final int slot = (int) hash & (_capacity - 1);
+    // the upper 24 bits, never 0 so that empty slots don't match
+    final long fingerprint = (hash >>> TIME_BITS) | 1L;
+
+    if (state._startTimes != null) {
+      state._startTimes.set(slot, fingerprint << TIME_BITS | _microClock.getAsLong() & TIME_MASK);
+      return;
+    }
+
+    if (state._latencies != null) {
+      final ProcessState startState = _states.get(START_TYPES.get(processType).ordinal());
+      if (startState == null) {
+        return;
+      }
+
+      final long entry = startState._startTimes.get(slot);
+      // the start is cleared, so that a request that's tracked as ended twice is only recorded once
+      if (entry >>> TIME_BITS == fingerprint && startState._startTimes.compareAndSet(slot, entry, 0)) {
+        state._latencies.record((_microClock.getAsLong() - entry) & TIME_MASK);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of tracked requests of a process type, or 0 if it isn't registered.
+   */
+  public long getCount(@Nonnull ProcessType processType) {
+    final ProcessState state = _states.get(processType.ordinal());
+    return state == null ? 0 : state._count.sum();
+  }
+
+  /**
+   * Returns the request counts of all registered process types.
+   */
+  @Nonnull
+  public Map<ProcessType, Long> getCounts() {
+    final Map<ProcessType, Long> counts = new EnumMap<>(ProcessType.class);
+    for (ProcessType processType : ProcessType.values()) {
+      final ProcessState state = _states.get(processType.ordinal());
+      if (state != null) {
+        counts.put(processType, state._count.sum());
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the latencies (in microseconds) since the start of requests, of all registered end and fail types whose
+   * start type is registered too.
+   */
+  @Nonnull
+  public Map<ProcessType, LatencyHistogram.Snapshot> getLatencies() {
+    final Map<ProcessType, LatencyHistogram.Snapshot> latencies = new EnumMap<>(ProcessType.class);
+    START_TYPES.forEach((processType, startType) -> {
+      final ProcessState state = _states.get(processType.ordinal());
+      if (state != null && _states.get(startType.ordinal()) != null) {
+        latencies.put(processType, state._latencies.snapshot());
+      }
+    });
+    return latencies;
+  }
+
+  /**
+   * FNV-1a hash of a tracking ID, with the bits mixed so that both the slot and the fingerprint depend on every byte.
+   */
+  private static long hash(@Nonnull byte[] id) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : id) {
+      hash ^= b;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  @Nonnull
+  private static Map<ProcessType, ProcessType> pairStartTypes() {
+    final Map<String, ProcessType> byName = new HashMap<>();
+    for (ProcessType processType : ProcessType.values()) {
+      byName.put(processType.getName(), processType);
+    }
+
+    final Map<ProcessType, ProcessType> startTypes = new EnumMap<>(ProcessType.class);
+    for (ProcessType processType : ProcessType.values()) {
+      final String name = processType.getName();
+      final String prefix = name.substring(0, name.lastIndexOf('.'));
+      final ProcessType startType = byName.get(prefix + ".start");
+      if (startType != null && startType != processType) {
+        startTypes.put(processType, startType);
+      }
+    }
+    return Collections.unmodifiableMap(startTypes);
+  }
+}
@@ -0,0 +1,128 @@
+package com.linkedin.metadata.dao.tracking;
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+
+/**
+ * A concurrent histogram of latencies with log-linear buckets, in the style of HdrHistogram.
+ *
+ * <p>Values below {@link #LINEAR_LIMIT} get a bucket each. Above that, each power of two is split into
+ * {@link #SUB_BUCKETS} buckets, so a recorded value is off by at most 1/{@link #SUB_BUCKETS} of itself. Buckets are
+ * allocated up front, so recording a value doesn't allocate once the counters are warmed up.
+ */
+public class LatencyHistogram {
+
+  static final int SUB_BUCKETS = 16;
+
+  static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+  private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+  // Largest value that can be recorded, larger values are recorded as this one
+  static final long MAX_VALUE = (1L << 40) - 1;
+
+  private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+  private final LongAdder[] _buckets = new LongAdder[BUCKET_COUNT];
+
+  /**
+   * An immutable copy of the bucket counts of a {@link LatencyHistogram}.
+   */
+  public static class Snapshot {
+    private final long[] _counts;
+    private final long _totalCount;
+
+    Snapshot(@Nonnull long[] counts) {
+      _counts = counts;
+      long totalCount = 0;
+      for (long count : counts) {
+        totalCount += count;
+      }
+      _totalCount = totalCount;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     */
+    public long getTotalCount() {
+      return _totalCount;
+    }
+
+    /**
+     * Returns the value that the given percentage of recorded values are at or below, or 0 if nothing is recorded.
+     *
+     * @param percentile percentile between 0 and 100
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+      }
+
+      final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * _totalCount));
+      long seen = 0;
+      for (int i = 0; i < _counts.length; i++) {
+        seen += _counts[i];
+        if (seen >= rank) {
+          return highestValueOf(i);
+        }
+      }
+      return 0;
+    }
+
+    /**
+     * Returns the largest recorded value, up to the precision of the buckets, or 0 if nothing is recorded.
+     */
+    public long getMaxValue() {
+      for (int i = _counts.length - 1; i >= 0; i--) {
+        if (_counts[i] > 0) {
+          return highestValueOf(i);
+        }
+      }
+      return 0;
+    }
+  }
+
+  public LatencyHistogram() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      _buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a value. Negative values are recorded as 0.
+   */
+  public void record(long value) {
+    _buckets[bucketIndex(Math.min(Math.max(value, 0), MAX_VALUE))].increment();
+  }
+
+  /**
+   * Takes a snapshot of the recorded values. Values recorded while the snapshot is taken may or may not be included.
+   */
+  @Nonnull
+  public Snapshot snapshot() {
+    final long[] counts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = _buckets[i].sum();
+    }
+    return new Snapshot(counts);
+  }
+
+  static int bucketIndex(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) value;
+    }
+    // value >> shift is in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+    final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (value >> shift) - SUB_BUCKETS;
+  }
+
+  static long highestValueOf(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    final int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+    final long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,28 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+
+public class FutureUtils {
+
+  private FutureUtils() {
+    // Util class
+  }
+
+  /**
+   * Runs the supplier on the calling thread and returns its result, or the exception it throws, as a completed future.
+   * Used by the default implementations of the async DAO methods.
+   */
+  @Nonnull
+  public static <T> CompletableFuture<T> completedFuture(@Nonnull Supplier<T> supplier) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      future.complete(supplier.get());
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+}
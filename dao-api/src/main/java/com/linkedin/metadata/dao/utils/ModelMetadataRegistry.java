@@ -0,0 +1,172 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import com.linkedin.data.template.DataTemplate;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.data.template.WrappingArrayTemplate;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+
+
+/**
+ * A per-class registry of the reflective metadata needed to build and convert models, i.e. constructors, the array
+ * class of snapshot aspects, union member keys and URN factory methods. Each of them is looked up once per class and
+ * then served from memory.
+ *
+ * <p>Lookups are lazy, but the metadata of an aspect union and its aspects can be loaded upfront with
+ * {@link #warmUp(Class)}.
+ */
+public final class ModelMetadataRegistry {
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+  private static final MethodType URN_FACTORY_TYPE = MethodType.methodType(Object.class, String.class);
+
+  private static final Map<Class<?>, MethodHandle> CONSTRUCTORS = new ConcurrentHashMap<>();
+  private static final Map<Class<? extends RecordTemplate>, Class<? extends WrappingArrayTemplate>> ASPECTS_ARRAY_CLASSES =
+      new ConcurrentHashMap<>();
+  private static final Map<Class<? extends UnionTemplate>, Map<Class<? extends RecordTemplate>, String>> UNION_MEMBER_KEYS =
+      new ConcurrentHashMap<>();
+  private static final Map<Class<?>, MethodHandle> URN_FACTORIES = new ConcurrentHashMap<>();
+
+  // UnionTemplate#selectWrapped is protected, so it's made accessible once and kept as a method handle.
+  private static final MethodHandle SELECT_WRAPPED = getSelectWrapped();
+
+  private ModelMetadataRegistry() {
+    // Util class
+  }
+
+  /**
+   * Loads the metadata of an aspect union and all of its aspects, so that the first requests don't pay for it.
+   *
+   * @param aspectUnionClass the aspect union type
+   */
+  public static <ASPECT_UNION extends UnionTemplate> void warmUp(@Nonnull Class<ASPECT_UNION> aspectUnionClass) {
+    final UnionTemplate union = newInstance(aspectUnionClass);
+    for (Class<? extends RecordTemplate> aspectClass : ModelUtils.getValidAspectTypes(aspectUnionClass)) {
+      getConstructor(aspectClass);
+      getUnionMemberKey(union, aspectClass);
+    }
+  }
+
+  /**
+   * Creates a new instance of a class with its public no-arg constructor.
+   */
+  @Nonnull
+  public static <T> T newInstance(@Nonnull Class<T> clazz) {
+    final MethodHandle constructor = getConstructor(clazz);
+    try {
+      return clazz.cast(constructor.invokeExact());
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new RuntimeException("Failed to create new instance of class " + clazz.getCanonicalName(), e);
+    }
+  }
+
+  /**
+   * Gets the type of the aspects array of a snapshot, i.e. the return type of its getAspects method.
+   */
+  @Nonnull
+  public static Class<? extends WrappingArrayTemplate> getAspectsArrayClass(
+      @Nonnull Class<? extends RecordTemplate> snapshotClass) {
+    return ASPECTS_ARRAY_CLASSES.computeIfAbsent(snapshotClass, clazz -> {
+      try {
+        return clazz.getMethod("getAspects").getReturnType().asSubclass(WrappingArrayTemplate.class);
+      } catch (NoSuchMethodException | ClassCastException e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
+  /**
+   * Gets the key that a record is selected with in a union. This is the alias of the member if it has one, or the
+   * union member key of the record schema otherwise.
+   */
+  @Nonnull
+  public static String getUnionMemberKey(@Nonnull UnionTemplate unionTemplate,
+      @Nonnull Class<? extends RecordTemplate> memberClass) {
+    return UNION_MEMBER_KEYS.computeIfAbsent(unionTemplate.getClass(), clazz -> new ConcurrentHashMap<>())
+        .computeIfAbsent(memberClass, clazz -> {
+          for (UnionDataSchema.Member member : ((UnionDataSchema) unionTemplate.schema()).getMembers()) {
+            if (member.hasAlias() && member.getType()
+                .getDereferencedDataSchema()
+                .getUnionMemberKey()
+                .equals(clazz.getName())) {
+              return member.getAlias();
+            }
+          }
+          return newInstance(clazz).schema().getUnionMemberKey();
+        });
+  }
+
+  /**
+   * Selects a record as the member of a union.
+   */
+  public static void selectWrapped(@Nonnull UnionTemplate unionTemplate, @Nonnull RecordTemplate selectedMember) {
+    final String memberKey = getUnionMemberKey(unionTemplate, selectedMember.getClass());
+    try {
+      SELECT_WRAPPED.invoke(unionTemplate, selectedMember.schema(), selectedMember.getClass(), memberKey,
+          selectedMember);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Creates a URN of the given type from its string representation, using its static createFromString method.
+   *
+   * @throws IllegalArgumentException if the string can't be converted to the URN type
+   */
+  @Nonnull
+  public static <URN> URN createUrn(@Nonnull String urn, @Nonnull Class<URN> urnClass) {
+    final MethodHandle factory = URN_FACTORIES.computeIfAbsent(urnClass, clazz -> {
+      try {
+        return MethodHandles.publicLookup().unreflect(clazz.getMethod("createFromString", String.class))
+            .asType(URN_FACTORY_TYPE);
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        throw new IllegalArgumentException("URN conversion error for " + urn, e);
+      }
+    });
+
+    try {
+      return urnClass.cast(factory.invokeExact(urn));
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalArgumentException("URN conversion error for " + urn, e);
+    }
+  }
+
+  @Nonnull
+  private static MethodHandle getConstructor(@Nonnull Class<?> clazz) {
+    return CONSTRUCTORS.computeIfAbsent(clazz, c -> {
+      try {
+        return MethodHandles.publicLookup().findConstructor(c, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        throw new RuntimeException("Failed to find no-arg constructor of class " + c.getCanonicalName(), e);
+      }
+    });
+  }
+
+  @Nonnull
+  private static MethodHandle getSelectWrapped() {
+    try {
+      final Method selectWrapped =
+          UnionTemplate.class.getDeclaredMethod("selectWrapped", DataSchema.class, Class.class, String.class,
+              DataTemplate.class);
+      selectWrapped.setAccessible(true);
+      return MethodHandles.lookup().unreflect(selectWrapped);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+}
@@ -281,7 +281,7 @@ public class ModelUtils {
 
   @Nonnull
   private static List<RecordTemplate> getAspects(@Nonnull RecordTemplate snapshot) {
-    final Class<? extends WrappingArrayTemplate> clazz = getAspectsArrayClass(snapshot.getClass());
+    final Class<? extends WrappingArrayTemplate> clazz = ModelMetadataRegistry.getAspectsArrayClass(snapshot.getClass());
 
     WrappingArrayTemplate aspectArray = RecordUtils.getRecordTemplateWrappedField(snapshot, "aspects", clazz);
 
@@ -324,29 +324,14 @@ public class ModelUtils {
 
     SnapshotValidator.validateSnapshotSchema(snapshotClass);
 
-    final Class<? extends WrappingArrayTemplate> aspectArrayClass = getAspectsArrayClass(snapshotClass);
+    final Class<? extends WrappingArrayTemplate> aspectArrayClass = ModelMetadataRegistry.getAspectsArrayClass(snapshotClass);
 
-    try {
-      final SNAPSHOT snapshot = snapshotClass.newInstance();
-      RecordUtils.setRecordTemplatePrimitiveField(snapshot, "urn", urn);
-      WrappingArrayTemplate aspectArray = aspectArrayClass.newInstance();
-      aspectArray.addAll(aspects);
-      RecordUtils.setRecordTemplateComplexField(snapshot, "aspects", aspectArray);
-      return snapshot;
-    } catch (InstantiationException | IllegalAccessException e) {
-      throw new RuntimeException(e);
-    }
-  }
-
-  @Nonnull
-  private static <SNAPSHOT extends RecordTemplate> Class<? extends WrappingArrayTemplate> getAspectsArrayClass(
-      @Nonnull Class<SNAPSHOT> snapshotClass) {
-
-    try {
-      return snapshotClass.getMethod("getAspects").getReturnType().asSubclass(WrappingArrayTemplate.class);
-    } catch (NoSuchMethodException | ClassCastException e) {
-      throw new RuntimeException((e));
-    }
+    final SNAPSHOT snapshot = ModelMetadataRegistry.newInstance(snapshotClass);
+    RecordUtils.setRecordTemplatePrimitiveField(snapshot, "urn", urn);
+    WrappingArrayTemplate aspectArray = ModelMetadataRegistry.newInstance(aspectArrayClass);
+    aspectArray.addAll(aspects);
+    RecordUtils.setRecordTemplateComplexField(snapshot, "aspects", aspectArray);
+    return snapshot;
   }
 
   /**
@@ -364,13 +349,9 @@ public class ModelUtils {
 
     AspectValidator.validateAspectUnionSchema(aspectUnionClass);
 
-    try {
-      ASPECT_UNION aspectUnion = aspectUnionClass.newInstance();
-      RecordUtils.setSelectedRecordTemplateInUnion(aspectUnion, aspect);
-      return aspectUnion;
-    } catch (InstantiationException | IllegalAccessException e) {
-      throw new RuntimeException(e);
-    }
+    ASPECT_UNION aspectUnion = ModelMetadataRegistry.newInstance(aspectUnionClass);
+    RecordUtils.setSelectedRecordTemplateInUnion(aspectUnion, aspect);
+    return aspectUnion;
   }
 
   /**
@@ -520,13 +501,9 @@ public class ModelUtils {
 
     RelationshipValidator.validateRelationshipUnionSchema(relationshipUnionClass);
 
-    try {
-      RELATIONSHIP_UNION relationshipUnion = relationshipUnionClass.newInstance();
-      RecordUtils.setSelectedRecordTemplateInUnion(relationshipUnion, relationship);
-      return relationshipUnion;
-    } catch (InstantiationException | IllegalAccessException e) {
-      throw new RuntimeException(e);
-    }
+    RELATIONSHIP_UNION relationshipUnion = ModelMetadataRegistry.newInstance(relationshipUnionClass);
+    RecordUtils.setSelectedRecordTemplateInUnion(relationshipUnion, relationship);
+    return relationshipUnion;
   }
 
   /**
@@ -584,13 +561,9 @@ public class ModelUtils {
 
     EntityValidator.validateEntityUnionSchema(entityUnionClass);
 
-    try {
-      ENTITY_UNION entityUnion = entityUnionClass.newInstance();
-      RecordUtils.setSelectedRecordTemplateInUnion(entityUnion, entity);
-      return entityUnion;
-    } catch (InstantiationException | IllegalAccessException e) {
-      throw new RuntimeException(e);
-    }
+    ENTITY_UNION entityUnion = ModelMetadataRegistry.newInstance(entityUnionClass);
+    RecordUtils.setSelectedRecordTemplateInUnion(entityUnion, entity);
+    return entityUnion;
   }
 
   /**
@@ -16,6 +16,9 @@ import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.dao.exception.ModelConversionException;
 import com.linkedin.metadata.validator.InvalidSchemaException;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -43,12 +46,22 @@ public class RecordUtils {
   private static final Pattern TRAILING_SPACESLASH_PATTERN = Pattern.compile("[/ ]+$");
   private static final Pattern SLASH_PATERN = Pattern.compile("/");
 
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
   /**
    * Using in-memory hash map to store the get/is methods of the schema fields of RecordTemplate and UnionTemplate, respectively.
-   * These maps have RecordTemplate/UnionTemplate class as the key, with the value being another map of field name with the associated get/is methods.
+   * These maps have RecordTemplate/UnionTemplate class as the key, with the value being another map of field name with the associated get/is methods,
+   * compiled into method handles so that no reflective lookup is needed once a class has been seen.
+   */
+  private static final ConcurrentHashMap<Class<? extends RecordTemplate>, Map<String, MethodHandle>> RECORD_METHOD_CACHE = new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<Class<? extends UnionTemplate>, Map<String, MethodHandle>> UNION_METHOD_CACHE = new ConcurrentHashMap<>();
+
+  /**
+   * Parsed {@link PathSpec}s keyed by their string representation. Paths usually come from models and configs, but callers
+   * can pass arbitrary strings, so paths are no longer cached once the cache reaches {@link #MAX_PATH_SPEC_CACHE_SIZE}.
    */
-  private static final ConcurrentHashMap<Class<? extends RecordTemplate>, Map<String, Method>> RECORD_METHOD_CACHE = new ConcurrentHashMap<>();
-  private static final ConcurrentHashMap<Class<? extends UnionTemplate>, Map<String, Method>> UNION_METHOD_CACHE = new ConcurrentHashMap<>();
+  private static final int MAX_PATH_SPEC_CACHE_SIZE = 10_000;
+  private static final ConcurrentHashMap<String, Optional<PathSpec>> PATH_SPEC_CACHE = new ConcurrentHashMap<>();
 
   private RecordUtils() {
     // Util class
@@ -361,22 +374,8 @@ public class RecordUtils {
   @Nonnull
   public static <V extends RecordTemplate> RecordTemplate setSelectedRecordTemplateInUnion(
       @Nonnull UnionTemplate unionTemplate, @Nonnull RecordTemplate selectedMember) {
-    final Method selectWrapped =
-        getProtectedMethod(UnionTemplate.class, "selectWrapped", DataSchema.class, Class.class, String.class,
-            DataTemplate.class);
-
-    final List<UnionDataSchema.Member> members = ((UnionDataSchema) unionTemplate.schema()).getMembers();
-    for (UnionDataSchema.Member m : members) {
-      if (m.hasAlias() && m.getType()
-          .getDereferencedDataSchema()
-          .getUnionMemberKey()
-          .equals(selectedMember.getClass().getName())) {
-        return (V) invokeProtectedMethod(unionTemplate, selectWrapped, selectedMember.schema(),
-            selectedMember.getClass(), m.getAlias(), selectedMember);
-      }
-    }
-    return (V) invokeProtectedMethod(unionTemplate, selectWrapped, selectedMember.schema(), selectedMember.getClass(),
-        selectedMember.schema().getUnionMemberKey(), selectedMember);
+    ModelMetadataRegistry.selectWrapped(unionTemplate, selectedMember);
+    return selectedMember;
   }
 
   @Nonnull
@@ -402,14 +401,24 @@ public class RecordUtils {
   }
 
   @Nonnull
-  private static Map<String, Method> getMethodsFromRecordTemplate(@Nonnull RecordTemplate recordTemplate) {
-    final HashMap<String, Method> methodMap = new HashMap<>();
+  private static MethodHandle toGetterHandle(@Nonnull Method method) {
+    try {
+      return MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException(String.format("Failed to access method [%s], for class [%s]", method.getName(),
+          method.getDeclaringClass().getCanonicalName()), e);
+    }
+  }
+
+  @Nonnull
+  private static Map<String, MethodHandle> getMethodsFromRecordTemplate(@Nonnull RecordTemplate recordTemplate) {
+    final HashMap<String, MethodHandle> methodMap = new HashMap<>();
     for (RecordDataSchema.Field field : recordTemplate.schema().getFields()) {
       final String capitalizedName = capitalizeFirst(field.getName());
       final String getMethodName =
           (field.getType().getType().equals(RecordDataSchema.Type.BOOLEAN) ? "is" : "get") + capitalizedName;
       try {
-        methodMap.put(field.getName(), recordTemplate.getClass().getMethod(getMethodName));
+        methodMap.put(field.getName(), toGetterHandle(recordTemplate.getClass().getMethod(getMethodName)));
       } catch (NoSuchMethodException e) {
         throw new RuntimeException(String.format("Failed to get method [%s], for class [%s], field [%s]",
             getMethodName, recordTemplate.getClass().getCanonicalName(), field.getName()), e);
@@ -419,9 +428,9 @@ public class RecordUtils {
   }
 
   @Nonnull
-  private static Map<String, Method> getMethodsFromUnionTemplate(@Nonnull UnionTemplate unionTemplate) {
+  private static Map<String, MethodHandle> getMethodsFromUnionTemplate(@Nonnull UnionTemplate unionTemplate) {
     final Pattern patternLastPeriod = Pattern.compile("^(.*)\\.");
-    final HashMap<String, Method> methodMap = new HashMap<>();
+    final HashMap<String, MethodHandle> methodMap = new HashMap<>();
     for (UnionDataSchema.Member member : ((UnionDataSchema) unionTemplate.schema()).getMembers()) {
       final String unionMemberKey = member.getUnionMemberKey();
       // com.linkedin.foo => Foo
@@ -429,7 +438,7 @@ public class RecordUtils {
       final String capitalizedName = capitalizeFirst(lastPartOfUnionMemberKey);
       final String getMethodName = "get" + capitalizedName;
       try {
-        methodMap.put(unionMemberKey, unionTemplate.getClass().getMethod(getMethodName));
+        methodMap.put(unionMemberKey, toGetterHandle(unionTemplate.getClass().getMethod(getMethodName)));
       } catch (NoSuchMethodException e) {
         throw new RuntimeException(String.format("Failed to get method [%s], for class [%s], field [%s]",
             getMethodName, unionTemplate.getClass().getCanonicalName(), unionMemberKey), e);
@@ -459,20 +468,26 @@ public class RecordUtils {
   }
 
   private static Object invokeMethodRecord(@Nonnull RecordTemplate record, @Nonnull String fieldName) {
-    RECORD_METHOD_CACHE.putIfAbsent(record.getClass(), getMethodsFromRecordTemplate(record));
+    final MethodHandle getter =
+        RECORD_METHOD_CACHE.computeIfAbsent(record.getClass(), clazz -> getMethodsFromRecordTemplate(record)).get(fieldName);
     try {
-      return RECORD_METHOD_CACHE.get(record.getClass()).get(fieldName).invoke(record);
-    } catch (IllegalAccessException | InvocationTargetException e) {
+      return getter.invokeExact((Object) record);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
       throw new RuntimeException(String.format("Failed to execute method for class [%s], field [%s]",
           record.getClass().getCanonicalName(), fieldName), e);
     }
   }
 
   private static Object invokeMethodUnion(@Nonnull UnionTemplate union, @Nonnull String fieldName) {
-    UNION_METHOD_CACHE.putIfAbsent(union.getClass(), getMethodsFromUnionTemplate(union));
+    final MethodHandle getter =
+        UNION_METHOD_CACHE.computeIfAbsent(union.getClass(), clazz -> getMethodsFromUnionTemplate(union)).get(fieldName);
     try {
-      return UNION_METHOD_CACHE.get(union.getClass()).get(fieldName).invoke(union);
-    } catch (IllegalAccessException | InvocationTargetException e) {
+      return getter.invokeExact((Object) union);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
       throw new RuntimeException(String.format("Failed to execute method for class [%s], field [%s]",
           union.getClass().getCanonicalName(), fieldName), e);
     }
@@ -529,10 +544,17 @@ public class RecordUtils {
    */
   @Nonnull
   public static Optional<Object> getFieldValue(@Nonnull RecordTemplate recordTemplate, @Nonnull String pathSpecAsString) {
-    final String[] pathSpecAsArray = getPathSpecAsArray(pathSpecAsString);
+    Optional<PathSpec> pathSpec = PATH_SPEC_CACHE.get(pathSpecAsString);
+    if (pathSpec == null) {
+      final String[] pathSpecAsArray = getPathSpecAsArray(pathSpecAsString);
+      pathSpec = pathSpecAsArray.length > 0 ? Optional.of(new PathSpec(pathSpecAsArray)) : Optional.empty();
+      if (PATH_SPEC_CACHE.size() < MAX_PATH_SPEC_CACHE_SIZE) {
+        PATH_SPEC_CACHE.putIfAbsent(pathSpecAsString, pathSpec);
+      }
+    }
 
-    if (pathSpecAsArray.length > 0) {
-      return getFieldValue(recordTemplate, new PathSpec(pathSpecAsArray));
+    if (pathSpec.isPresent()) {
+      return getFieldValue(recordTemplate, pathSpec.get());
     }
     return Optional.empty();
   }
@@ -2,6 +2,7 @@ package com.linkedin.metadata.dao;
 
 import com.linkedin.common.AuditStamp;
 import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.producer.AspectAuditEvent;
 import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
 import com.linkedin.metadata.dao.retention.TimeBasedRetention;
 import com.linkedin.metadata.dao.retention.VersionBasedRetention;
@@ -15,8 +16,10 @@ import com.linkedin.testing.EntityAspectUnion;
 import com.linkedin.testing.urn.FooUrn;
 import java.net.URISyntaxException;
 import java.sql.Timestamp;
+import java.time.Clock;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,6 +27,7 @@ import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.mockito.stubbing.OngoingStubbing;
@@ -111,6 +115,12 @@ public class BaseLocalDAOTest {
       return true;
     }
 
+    @Override
+    protected <ASPECT extends RecordTemplate> void saveAuditEvent(FooUrn urn, Class<ASPECT> aspectClass,
+        ASPECT oldValue, ASPECT newValue, boolean emitAuditEvent, boolean emitAspectSpecificAuditEvent) {
+
+    }
+
     @Override
     protected <ASPECT extends RecordTemplate> void applyVersionBasedRetention(Class<ASPECT> aspectClass, FooUrn urn,
         VersionBasedRetention retention, long largestVersion) {
@@ -384,4 +394,178 @@ public class BaseLocalDAOTest {
 
     verify(_mockTransactionRunner, times(2)).run(any());
   }
+
+  @Test
+  public void testAddManyAcrossUrnsUsesOneTransactionPerChunk() throws URISyntaxException {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+
+    _dummyLocalDAO.setBatchWriteSize(2);
+    when(_mockGetLatestFunction.apply(any(), eq(AspectFoo.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectFoo>(null, null));
+    when(_mockGetLatestFunction.apply(any(), eq(AspectBar.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectBar>(null, null));
+
+    Map<FooUrn, List<? extends RecordTemplate>> aspectValues = new LinkedHashMap<>();
+    aspectValues.put(urn1, Arrays.asList(foo, bar));
+    aspectValues.put(urn2, Collections.singletonList(foo));
+    Map<FooUrn, List<EntityAspectUnion>> results = _dummyLocalDAO.addMany(aspectValues, _dummyAuditStamp);
+
+    verify(_mockTransactionRunner, times(2)).run(any());
+    assertEquals(results.get(urn1).size(), 2);
+    assertEquals(results.get(urn1).get(0).getAspectFoo(), foo);
+    assertEquals(results.get(urn1).get(1).getAspectBar(), bar);
+    assertEquals(results.get(urn2).get(0).getAspectFoo(), foo);
+    // one batch of MAEs per chunk
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvents(
+        Arrays.asList(new AspectAuditEvent<>(urn1, null, foo), new AspectAuditEvent<>(urn1, null, bar)));
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvents(
+        Collections.singletonList(new AspectAuditEvent<>(urn2, null, foo)));
+    verifyNoMoreInteractions(_mockEventProducer);
+  }
+
+  @Test
+  public void testAddManyAcrossUrnsSkipsUnchangedAspects() throws URISyntaxException {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectFoo newFoo = new AspectFoo().setValue("newFoo");
+
+    expectGetLatest(urn1, AspectFoo.class, Collections.singletonList(makeAspectEntry(foo, _dummyAuditStamp)));
+    expectGetLatest(urn2, AspectFoo.class, Collections.singletonList(makeAspectEntry(foo, _dummyAuditStamp)));
+
+    Map<FooUrn, List<? extends RecordTemplate>> aspectValues = new LinkedHashMap<>();
+    aspectValues.put(urn1, Collections.singletonList(foo));
+    aspectValues.put(urn2, Arrays.asList(newFoo, foo));
+    _dummyLocalDAO.addMany(aspectValues, _dummyAuditStamp);
+
+    // the second update of urn2 sees the value written by the first one
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvents(
+        Arrays.asList(new AspectAuditEvent<>(urn2, foo, newFoo), new AspectAuditEvent<>(urn2, newFoo, foo)));
+    verifyNoMoreInteractions(_mockEventProducer);
+  }
+
+  @Test
+  public void testAddManyAcrossUrnsProducesAuditEventsInBatches() throws URISyntaxException {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+
+    _dummyLocalDAO.setEmitAspectSpecificAuditEvent(true);
+    when(_mockGetLatestFunction.apply(any(), eq(AspectFoo.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectFoo>(null, null));
+    when(_mockGetLatestFunction.apply(any(), eq(AspectBar.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectBar>(null, null));
+
+    Map<FooUrn, List<? extends RecordTemplate>> aspectValues = new LinkedHashMap<>();
+    aspectValues.put(urn1, Arrays.asList(foo, bar));
+    aspectValues.put(urn2, Collections.singletonList(foo));
+    _dummyLocalDAO.addMany(aspectValues, _dummyAuditStamp);
+
+    List<AspectAuditEvent<FooUrn, ? extends RecordTemplate>> expected =
+        Arrays.asList(new AspectAuditEvent<>(urn1, null, foo), new AspectAuditEvent<>(urn1, null, bar),
+            new AspectAuditEvent<>(urn2, null, foo));
+    verify(_mockEventProducer, times(1)).produceMetadataAuditEvents(expected);
+    verify(_mockEventProducer, times(1)).produceAspectSpecificMetadataAuditEvents(expected);
+    verifyNoMoreInteractions(_mockEventProducer);
+  }
+
+  @Test
+  public void testScanUrnsFetchesPagesLazily() throws URISyntaxException {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    FooUrn urn3 = new FooUrn(3);
+    DummyLocalDAO dao = spy(_dummyLocalDAO);
+    doReturn(Arrays.asList(urn1, urn2)).when(dao).listUrns(FooUrn.class, null, 2);
+    doReturn(Collections.singletonList(urn3)).when(dao).listUrns(FooUrn.class, urn2, 2);
+
+    // only the first page is needed
+    assertEquals(dao.scanUrns(FooUrn.class, null, 2).limit(2).collect(Collectors.toList()), Arrays.asList(urn1, urn2));
+    verify(dao, times(1)).listUrns(FooUrn.class, null, 2);
+    verify(dao, never()).listUrns(FooUrn.class, urn2, 2);
+
+    // the second page is short, so the scan stops without fetching a third page
+    assertEquals(dao.scanUrns(FooUrn.class, null, 2).collect(Collectors.toList()), Arrays.asList(urn1, urn2, urn3));
+    verify(dao, times(1)).listUrns(FooUrn.class, urn2, 2);
+    verify(dao, never()).listUrns(FooUrn.class, urn3, 2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testScanUrnsWithInvalidPageSize() {
+    _dummyLocalDAO.scanUrns(FooUrn.class, null, 0);
+  }
+
+  @Test
+  public void testDeferredRetentionIsAppliedBySweep() throws URISyntaxException {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    FooUrn urn3 = new FooUrn(3);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    Clock mockClock = mock(Clock.class);
+    when(mockClock.millis()).thenReturn(1000L, 1000L, 1200L, 1500L);
+    DummyLocalDAO dao = spy(_dummyLocalDAO);
+    dao.setClock(mockClock);
+    dao.setRetention(AspectFoo.class, new VersionBasedRetention(2));
+    dao.enableDeferredRetention(true);
+    when(_mockGetLatestFunction.apply(any(), eq(AspectFoo.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectFoo>(null, null));
+
+    dao.add(urn1, foo, _dummyAuditStamp);
+    dao.add(urn2, foo, _dummyAuditStamp);
+    dao.add(urn3, foo, _dummyAuditStamp);
+
+    // writes only record the pending retention
+    verify(dao, never()).applyVersionBasedRetention(any(), any(FooUrn.class), any(), anyLong());
+    assertEquals(dao.getPendingRetentionCount(), 3);
+
+    RetentionSweepResult result = dao.sweepRetention(2);
+
+    verify(dao, times(2)).applyVersionBasedRetention(eq(AspectFoo.class), anyMap(), any(VersionBasedRetention.class));
+    verify(dao, times(3)).applyVersionBasedRetention(eq(AspectFoo.class), any(FooUrn.class), any(), eq(0L));
+    assertEquals(result.getSweptCount(), 3);
+    assertEquals(result.getLagMillis(), 500L);
+    assertEquals(dao.getPendingRetentionCount(), 0);
+  }
+
+  @Test
+  public void testFailedSweepKeepsPendingRetention() throws URISyntaxException {
+    FooUrn urn = new FooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    DummyLocalDAO dao = spy(_dummyLocalDAO);
+    dao.setRetention(AspectFoo.class, new VersionBasedRetention(2));
+    dao.enableDeferredRetention(true);
+    when(_mockGetLatestFunction.apply(any(), eq(AspectFoo.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectFoo>(null, null));
+    doThrow(new IllegalStateException()).when(dao)
+        .applyVersionBasedRetention(eq(AspectFoo.class), anyMap(), any(VersionBasedRetention.class));
+
+    dao.add(urn, foo, _dummyAuditStamp);
+
+    expectThrows(IllegalStateException.class, () -> dao.sweepRetention(10));
+    assertEquals(dao.getPendingRetentionCount(), 1);
+  }
+
+  @Test
+  public void testRolledBackWriteDoesNotMarkRetention() {
+    FooUrn urn = new FooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    _dummyLocalDAO.setRetention(AspectFoo.class, new VersionBasedRetention(2));
+    _dummyLocalDAO.enableDeferredRetention(true);
+    when(_mockGetLatestFunction.apply(any(), eq(AspectFoo.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectFoo>(null, null));
+    // the write runs, but the transaction fails to commit
+    doAnswer(invocation -> {
+      ((Supplier<?>) invocation.getArgument(0)).get();
+      throw new IllegalStateException();
+    }).when(_mockTransactionRunner).run(any());
+
+    expectThrows(IllegalStateException.class, () -> _dummyLocalDAO.add(urn, foo, _dummyAuditStamp));
+    assertEquals(_dummyLocalDAO.getPendingRetentionCount(), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSweepRetentionWithInvalidBatchSize() {
+    _dummyLocalDAO.sweepRetention(0);
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testEnableUnsupportedAuditEventOutbox() {
+    _dummyLocalDAO.enableAuditEventOutbox(true);
+  }
 }
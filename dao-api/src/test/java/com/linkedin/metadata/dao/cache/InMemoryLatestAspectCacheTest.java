@@ -0,0 +1,195 @@
+package com.linkedin.metadata.dao.cache;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class InMemoryLatestAspectCacheTest {
+
+  private Clock _mockClock;
+  private InMemoryLatestAspectCache.MetricListener _mockMetricListener;
+  private InMemoryLatestAspectCache<FooUrn> _cache;
+
+  @BeforeMethod
+  public void setup() {
+    _mockClock = mock(Clock.class);
+    when(_mockClock.millis()).thenReturn(1000L);
+    _mockMetricListener = mock(InMemoryLatestAspectCache.MetricListener.class);
+    _cache = new InMemoryLatestAspectCache<>(2, _mockClock);
+    _cache.addMetricListener(_mockMetricListener);
+  }
+
+  @Test
+  public void testHitsAndMisses() {
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    AspectKey<FooUrn, AspectBar> barKey = new AspectKey<>(AspectBar.class, makeFooUrn(1), 0L);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    _cache.put(fooKey, Optional.of(foo), 100, 0);
+    _cache.put(barKey, Optional.empty(), 100, 0);
+
+    Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> result =
+        _cache.getAll(new HashSet<>(Arrays.asList(fooKey, barKey, new AspectKey<>(AspectFoo.class, makeFooUrn(2), 0L))));
+
+    assertEquals(result.size(), 2);
+    assertEquals(result.get(fooKey), Optional.of(foo));
+    assertEquals(result.get(barKey), Optional.empty());
+    verify(_mockMetricListener, times(1)).onHits(2);
+    verify(_mockMetricListener, times(1)).onMisses(1);
+  }
+
+  @Test
+  public void testValuesAreCopied() {
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    _cache.put(fooKey, Optional.of(foo), 100, 0);
+
+    foo.setValue("bar");
+    ((AspectFoo) _cache.getAll(singletonKeys(fooKey)).get(fooKey).get()).setValue("baz");
+
+    assertEquals(_cache.getAll(singletonKeys(fooKey)).get(fooKey), Optional.of(new AspectFoo().setValue("foo")));
+  }
+
+  @Test
+  public void testExpiration() {
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    _cache.put(fooKey, Optional.of(new AspectFoo().setValue("foo")), 100, 0);
+
+    when(_mockClock.millis()).thenReturn(1100L);
+
+    assertTrue(_cache.getAll(singletonKeys(fooKey)).isEmpty());
+    assertEquals(_cache.size(), 0);
+    verify(_mockMetricListener, times(1)).onEvictions(1);
+  }
+
+  @Test
+  public void testSizeBoundedEviction() {
+    AspectKey<FooUrn, AspectFoo> key1 = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    AspectKey<FooUrn, AspectFoo> key2 = new AspectKey<>(AspectFoo.class, makeFooUrn(2), 0L);
+    AspectKey<FooUrn, AspectFoo> key3 = new AspectKey<>(AspectFoo.class, makeFooUrn(3), 0L);
+    _cache.put(key1, Optional.empty(), 100, 0);
+    _cache.put(key2, Optional.empty(), 100, 0);
+    _cache.put(key3, Optional.empty(), 100, 0);
+
+    assertEquals(_cache.size(), 2);
+    assertEquals(_cache.getAll(new HashSet<>(Arrays.asList(key1, key2, key3))).size(), 2);
+    verify(_mockMetricListener, times(1)).onEvictions(1);
+  }
+
+  @Test
+  public void testInvalidate() {
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    _cache.put(fooKey, Optional.empty(), 100, 0);
+
+    _cache.invalidate(fooKey);
+
+    assertTrue(_cache.getAll(singletonKeys(fooKey)).isEmpty());
+  }
+
+  @Test
+  public void testPutLoadedBeforeInvalidationIsSkipped() {
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    long staleGeneration = _cache.getGeneration();
+
+    _cache.invalidate(fooKey);
+    long freshGeneration = _cache.getGeneration();
+    _cache.put(fooKey, Optional.of(new AspectFoo().setValue("old")), 100, staleGeneration);
+    assertTrue(_cache.getAll(singletonKeys(fooKey)).isEmpty());
+
+    // a newer value can't be replaced by one loaded before the invalidation either
+    _cache.put(fooKey, Optional.of(new AspectFoo().setValue("new")), 100, freshGeneration);
+    _cache.put(fooKey, Optional.of(new AspectFoo().setValue("old")), 100, staleGeneration);
+    assertEquals(_cache.getAll(singletonKeys(fooKey)).get(fooKey), Optional.of(new AspectFoo().setValue("new")));
+  }
+
+  @Test
+  public void testInvalidationOnlyAffectsItsKey() {
+    AspectKey<FooUrn, AspectFoo> key1 = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    AspectKey<FooUrn, AspectFoo> key2 = new AspectKey<>(AspectFoo.class, makeFooUrn(2), 0L);
+    AspectKey<FooUrn, AspectFoo> key3 = new AspectKey<>(AspectFoo.class, makeFooUrn(3), 0L);
+    AspectKey<FooUrn, AspectFoo> key4 = new AspectKey<>(AspectFoo.class, makeFooUrn(4), 0L);
+    long staleGeneration = _cache.getGeneration();
+
+    // more invalidations than the cache can hold values, which neither take up room nor block puts of other keys
+    _cache.invalidate(key1);
+    _cache.invalidate(key2);
+    _cache.invalidate(key3);
+    _cache.put(key1, Optional.empty(), 100, staleGeneration);
+    _cache.put(key4, Optional.empty(), 100, staleGeneration);
+    _cache.put(key2, Optional.empty(), 100, _cache.getGeneration());
+
+    assertEquals(_cache.getAll(new HashSet<>(Arrays.asList(key1, key2, key3, key4))).keySet(),
+        new HashSet<>(Arrays.asList(key2, key4)));
+    assertEquals(_cache.size(), 2);
+    verify(_mockMetricListener, never()).onEvictions(anyInt());
+  }
+
+  @Test
+  public void testSlowLoadIsNotCached() {
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    long generation = _cache.getGeneration();
+
+    // the load took as long as invalidations are remembered, so one during the load may have been forgotten
+    when(_mockClock.millis()).thenReturn(1000L + InMemoryLatestAspectCache.DEFAULT_MAX_LOAD_MILLIS);
+    _cache.put(fooKey, Optional.empty(), 100, generation);
+    assertTrue(_cache.getAll(singletonKeys(fooKey)).isEmpty());
+
+    _cache.put(fooKey, Optional.empty(), 100, _cache.getGeneration());
+    assertEquals(_cache.getAll(singletonKeys(fooKey)).get(fooKey), Optional.empty());
+  }
+
+  @Test
+  public void testConcurrentPutsAndInvalidations() throws Exception {
+    InMemoryLatestAspectCache<FooUrn> cache = new InMemoryLatestAspectCache<>(100);
+    List<AspectKey<FooUrn, ? extends RecordTemplate>> keys = IntStream.range(0, 10)
+        .mapToObj(i -> new AspectKey<>(AspectFoo.class, makeFooUrn(i), 0L))
+        .collect(Collectors.toList());
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    // each thread reads a stale value, invalidates the key as a write would, and then tries to cache the stale value
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < 1000; j++) {
+          AspectKey<FooUrn, ? extends RecordTemplate> key = keys.get(j % keys.size());
+          long generation = cache.getGeneration();
+          cache.invalidate(key);
+          cache.put(key, Optional.of(new AspectFoo().setValue("stale")), 60000, generation);
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    assertTrue(cache.getAll(new HashSet<>(keys)).isEmpty());
+  }
+
+  private static Set<AspectKey<FooUrn, ? extends RecordTemplate>> singletonKeys(
+      AspectKey<FooUrn, ? extends RecordTemplate> key) {
+    return new HashSet<>(Arrays.asList(key));
+  }
+}
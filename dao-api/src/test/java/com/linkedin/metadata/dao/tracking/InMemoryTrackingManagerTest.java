@@ -0,0 +1,129 @@
+package com.linkedin.metadata.dao.tracking;
+
+import com.linkedin.metadata.dao.tracking.TrackingUtils.ProcessType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.dao.tracking.TrackingUtils.*;
+import static org.testng.Assert.*;
+
+
+public class InMemoryTrackingManagerTest {
+
+  private AtomicLong _clock;
+  private InMemoryTrackingManager _manager;
+
+  @BeforeMethod
+  public void setup() {
+    _clock = new AtomicLong(1000);
+    _manager = new InMemoryTrackingManager(16, _clock::get);
+  }
+
+  @Test
+  public void testLatencyBetweenStartAndEnd() {
+    byte[] id1 = getRandomTrackingId();
+    byte[] id2 = getRandomTrackingId();
+    _manager.register(ProcessType.SEARCH_QUERY_START);
+    _manager.register(ProcessType.SEARCH_QUERY_END);
+    _manager.register(ProcessType.SEARCH_QUERY_FAIL);
+
+    _manager.trackRequest(id1, ProcessType.SEARCH_QUERY_START);
+    _clock.addAndGet(10);
+    _manager.trackRequest(id2, ProcessType.SEARCH_QUERY_START);
+    _clock.addAndGet(10);
+    _manager.trackRequest(id1, ProcessType.SEARCH_QUERY_END);
+    _manager.trackRequest(id2, ProcessType.SEARCH_QUERY_FAIL);
+
+    LatencyHistogram.Snapshot ended = _manager.getLatencies().get(ProcessType.SEARCH_QUERY_END);
+    assertEquals(ended.getTotalCount(), 1);
+    assertEquals(ended.getMaxValue(), 20);
+    LatencyHistogram.Snapshot failed = _manager.getLatencies().get(ProcessType.SEARCH_QUERY_FAIL);
+    assertEquals(failed.getTotalCount(), 1);
+    assertEquals(failed.getMaxValue(), 10);
+    assertEquals(_manager.getCount(ProcessType.SEARCH_QUERY_START), 2);
+  }
+
+  @Test
+  public void testEndTrackedTwiceIsRecordedOnce() {
+    byte[] id = getRandomTrackingId();
+    _manager.register(ProcessType.PROCESS_START);
+    _manager.register(ProcessType.PROCESS_END);
+
+    _manager.trackRequest(id, ProcessType.PROCESS_START);
+    _manager.trackRequest(id, ProcessType.PROCESS_END);
+    _manager.trackRequest(id, ProcessType.PROCESS_END);
+
+    assertEquals(_manager.getCount(ProcessType.PROCESS_END), 2);
+    assertEquals(_manager.getLatencies().get(ProcessType.PROCESS_END).getTotalCount(), 1);
+  }
+
+  @Test
+  public void testUnregisteredProcessTypeIsIgnored() {
+    byte[] id = getRandomTrackingId();
+    _manager.register(ProcessType.RECEIVE_END);
+
+    _manager.trackRequest(id, ProcessType.RECEIVE_START);
+    _manager.trackRequest(id, ProcessType.RECEIVE_END);
+
+    assertEquals(_manager.getCount(ProcessType.RECEIVE_START), 0);
+    assertEquals(_manager.getCount(ProcessType.RECEIVE_END), 1);
+    assertFalse(_manager.getCounts().containsKey(ProcessType.RECEIVE_START));
+    // no latencies without the start type
+    assertFalse(_manager.getLatencies().containsKey(ProcessType.RECEIVE_END));
+  }
+
+  @Test
+  public void testUnpairedProcessTypeOnlyCounts() {
+    _manager.register(ProcessType.CONVERT_FAIL);
+
+    _manager.trackRequest(getRandomTrackingId(), ProcessType.CONVERT_FAIL);
+
+    assertEquals(_manager.getCount(ProcessType.CONVERT_FAIL), 1);
+    assertTrue(_manager.getLatencies().isEmpty());
+  }
+
+  @Test
+  public void testConcurrentTracking() throws Exception {
+    int threadCount = 16;
+    int requestsPerThread = 10000;
+    InMemoryTrackingManager manager = new InMemoryTrackingManager(1 << 16, _clock::incrementAndGet);
+    manager.register(ProcessType.PROCESS_START);
+    manager.register(ProcessType.PROCESS_END);
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < requestsPerThread; j++) {
+          byte[] id = getRandomTrackingId();
+          manager.trackRequest(id, ProcessType.PROCESS_START);
+          manager.trackRequest(id, ProcessType.PROCESS_END);
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    long total = (long) threadCount * requestsPerThread;
+    assertEquals(manager.getCount(ProcessType.PROCESS_START), total);
+    assertEquals(manager.getCount(ProcessType.PROCESS_END), total);
+    // a request whose slot is taken by a concurrent request isn't recorded, which is rare with 16 requests in flight
+    long recorded = manager.getLatencies().get(ProcessType.PROCESS_END).getTotalCount();
+    assertTrue(recorded <= total);
+    assertTrue(recorded >= total * 0.99);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new InMemoryTrackingManager(100);
+  }
+}
@@ -0,0 +1,86 @@
+package com.linkedin.metadata.dao.tracking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBucketBounds() {
+    for (long value : new long[]{0, 1, 31, 32, 33, 63, 64, 1000, 123456789, LatencyHistogram.MAX_VALUE}) {
+      long highest = LatencyHistogram.highestValueOf(LatencyHistogram.bucketIndex(value));
+      assertTrue(highest >= value);
+      assertTrue(highest - value <= value / LatencyHistogram.SUB_BUCKETS);
+    }
+  }
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertEquals(snapshot.getTotalCount(), 100);
+    assertEquals(snapshot.getValueAtPercentile(10), 10);
+    assertTrue(Math.abs(snapshot.getValueAtPercentile(50) - 50) <= 50 / LatencyHistogram.SUB_BUCKETS);
+    assertTrue(Math.abs(snapshot.getValueAtPercentile(99) - 99) <= 99 / LatencyHistogram.SUB_BUCKETS);
+    assertTrue(snapshot.getMaxValue() >= 100);
+  }
+
+  @Test
+  public void testOutOfRangeValuesAreClamped() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertEquals(snapshot.getValueAtPercentile(50), 0);
+    assertEquals(snapshot.getMaxValue(), LatencyHistogram.MAX_VALUE);
+  }
+
+  @Test
+  public void testEmptySnapshot() {
+    LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+    assertEquals(snapshot.getTotalCount(), 0);
+    assertEquals(snapshot.getValueAtPercentile(99), 0);
+    assertEquals(snapshot.getMaxValue(), 0);
+  }
+
+  @Test
+  public void testConcurrentRecording() throws Exception {
+    int threadCount = 16;
+    int valuesPerThread = 10000;
+    LatencyHistogram histogram = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      futures.add(executor.submit(() -> {
+        for (int j = 1; j <= valuesPerThread; j++) {
+          histogram.record(j);
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(snapshot.getTotalCount(), (long) threadCount * valuesPerThread);
+    assertTrue(snapshot.getMaxValue() >= valuesPerThread);
+  }
+}
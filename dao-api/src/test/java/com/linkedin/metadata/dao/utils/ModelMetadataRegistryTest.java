@@ -0,0 +1,61 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.EntityAspectUnionAlias;
+import com.linkedin.testing.EntityAspectUnionArray;
+import com.linkedin.testing.EntitySnapshot;
+import com.linkedin.testing.urn.FooUrn;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class ModelMetadataRegistryTest {
+
+  @Test
+  public void testNewInstance() {
+    assertEquals(ModelMetadataRegistry.newInstance(AspectFoo.class), new AspectFoo());
+    assertEquals(ModelMetadataRegistry.newInstance(EntityAspectUnionArray.class), new EntityAspectUnionArray());
+  }
+
+  @Test
+  public void testGetAspectsArrayClass() {
+    assertEquals(ModelMetadataRegistry.getAspectsArrayClass(EntitySnapshot.class), EntityAspectUnionArray.class);
+  }
+
+  @Test
+  public void testGetUnionMemberKey() {
+    ModelMetadataRegistry.warmUp(EntityAspectUnion.class);
+
+    assertEquals(ModelMetadataRegistry.getUnionMemberKey(new EntityAspectUnion(), AspectFoo.class),
+        AspectFoo.class.getCanonicalName());
+    assertEquals(ModelMetadataRegistry.getUnionMemberKey(new EntityAspectUnionAlias(), AspectFoo.class), "foo");
+    assertEquals(ModelMetadataRegistry.getUnionMemberKey(new EntityAspectUnionAlias(), AspectBar.class), "bar");
+  }
+
+  @Test
+  public void testSelectWrapped() {
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    EntityAspectUnionAlias union = new EntityAspectUnionAlias();
+
+    ModelMetadataRegistry.selectWrapped(union, foo);
+
+    assertTrue(union.isFoo());
+    assertEquals(union.getFoo(), foo);
+  }
+
+  @Test
+  public void testCreateUrn() {
+    FooUrn urn = makeFooUrn(1);
+
+    assertEquals(ModelMetadataRegistry.createUrn(urn.toString(), FooUrn.class), urn);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testCreateUrnWithInvalidString() {
+    ModelMetadataRegistry.createUrn("urn:li:bar:1", FooUrn.class);
+  }
+}
@@ -269,6 +269,18 @@ public class RecordUtilsTest {
     assertEquals(o6, o1);
   }
 
+  @Test(description = "Test getFieldValue() with the same string path on multiple records")
+  public void testGetFieldValueWithRepeatedStringPath() {
+    final MixedRecord mixedRecord1 = new MixedRecord().setValue("fooVal1");
+    final MixedRecord mixedRecord2 = new MixedRecord().setValue("fooVal2").setFlag(true);
+
+    assertEquals(RecordUtils.getFieldValue(mixedRecord1, " /value/ "), Optional.of("fooVal1"));
+    assertEquals(RecordUtils.getFieldValue(mixedRecord2, " /value/ "), Optional.of("fooVal2"));
+    assertEquals(RecordUtils.getFieldValue(mixedRecord1, "/flag"), Optional.empty());
+    assertEquals(RecordUtils.getFieldValue(mixedRecord2, "/flag"), Optional.of(true));
+    assertEquals(RecordUtils.getFieldValue(mixedRecord1, "/"), Optional.empty());
+  }
+
   @Test(description = "Test getFieldValue() when RecordTemplate has TypeRef field")
   public void testGetFieldValueTypeRef() {
     // case 1: Urn as the TypeRef
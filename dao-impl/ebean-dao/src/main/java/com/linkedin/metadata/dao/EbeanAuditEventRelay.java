@@ -0,0 +1,227 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.producer.AspectAuditEvent;
+import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
+import com.linkedin.metadata.dao.utils.ModelMetadataRegistry;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import io.ebean.EbeanServer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.linkedin.metadata.dao.EbeanMetadataAuditEvent.*;
+
+
+/**
+ * Relays the MAEs saved to the metadata_audit_outbox table, see {@link BaseLocalDAO#enableAuditEventOutbox(boolean)},
+ * to a {@link BaseMetadataEventProducer}.
+ *
+ * <p>Events are read in batches, in the order they were saved, produced with the batch methods of the producer, and
+ * removed from the outbox once they're produced. An event is produced at least once: if producing a batch fails, or the
+ * relay stops after producing a batch but before removing it, the whole batch is produced again by the next relay.
+ * Only one relay should run per outbox.
+ *
+ * <p>An event that can never be produced, e.g. because its aspect class or URN can't be resolved or its value can't be
+ * deserialized, is dead-lettered, i.e. left in the outbox with the reason in its deadLetter column, and skipped by later
+ * relays. The later events of its entity are held in the outbox until the dead-lettered event is removed, so events of an
+ * entity are never produced out of order. Events of other entities are still relayed.
+ *
+ * @param <URN> must be the entity URN type of the events in the outbox
+ */
+@Slf4j
+public class EbeanAuditEventRelay<URN extends Urn> {
+
+  // Length of the deadLetter column
+  private static final int MAX_DEAD_LETTER_LENGTH = 1000;
+
+  /**
+   * Event listening interface to report relay metrics to some specific metric recording framework.
+   */
+  public interface MetricListener {
+    /**
+     * Event when a batch of events is relayed.
+     *
+     * @param eventCount number of relayed events
+     * @param lagMs how long (in milliseconds) the oldest relayed event was in the outbox
+     */
+    default void onRelayed(int eventCount, long lagMs) {
+    }
+
+    /**
+     * Event when producing an event fails.
+     *
+     * @param exception the failure
+     */
+    default void onRelayFailed(@Nonnull RuntimeException exception) {
+    }
+
+    /**
+     * Event when an event that can never be produced is dead-lettered.
+     *
+     * @param eventId id of the event in the outbox
+     * @param exception why the event can't be produced
+     */
+    default void onDeadLettered(long eventId, @Nonnull RuntimeException exception) {
+    }
+  }
+
+  private final EbeanServer _server;
+  private final BaseMetadataEventProducer<?, ?, URN> _producer;
+  private final Class<URN> _urnClass;
+  private final int _batchSize;
+  private final ScheduledExecutorService _executor;
+  private final List<MetricListener> _metricListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Constructor for EbeanAuditEventRelay.
+   *
+   * @param server {@link EbeanServer} of the outbox, i.e. the one used by the {@link EbeanLocalDAO}
+   * @param producer {@link BaseMetadataEventProducer} to produce the events with
+   * @param urnClass class of the entity URN of the events
+   * @param batchSize max number of events read from the outbox at a time
+   */
+  public EbeanAuditEventRelay(@Nonnull EbeanServer server, @Nonnull BaseMetadataEventProducer<?, ?, URN> producer,
+      @Nonnull Class<URN> urnClass, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+
+    _server = server;
+    _producer = producer;
+    _urnClass = urnClass;
+    _batchSize = batchSize;
+    _executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "audit-event-relay");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Adds a {@link MetricListener} to receive metrics of this relay.
+   */
+  public void addMetricListener(@Nonnull MetricListener metricListener) {
+    _metricListeners.add(metricListener);
+  }
+
+  /**
+   * Starts relaying in the background. Each run relays batches until the outbox is empty or producing fails.
+   *
+   * @param intervalMillis how long (in milliseconds) to wait between the end of a run and the start of the next one
+   */
+  public void start(long intervalMillis) {
+    if (intervalMillis <= 0) {
+      throw new IllegalArgumentException("Interval must be positive: " + intervalMillis);
+    }
+    _executor.scheduleWithFixedDelay(this::relayAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops relaying. A batch that is being relayed still completes.
+   */
+  public void shutdown() {
+    _executor.shutdown();
+  }
+
+  /**
+   * Relays a single batch of events on the calling thread.
+   *
+   * @return the number of events read from the outbox, i.e. the relayed, dead-lettered and held events
+   * @throws RuntimeException if producing the batch fails, in which case none of its events are removed
+   */
+  public int relay() {
+    final List<EbeanMetadataAuditEvent> events = _server.find(EbeanMetadataAuditEvent.class)
+        .where()
+        .isNull(DEAD_LETTER_COLUMN)
+        .raw(String.format("%s NOT IN (SELECT %s FROM metadata_audit_outbox WHERE %s IS NOT NULL)", URN_COLUMN, URN_COLUMN,
+            DEAD_LETTER_COLUMN))
+        .orderBy()
+        .asc(ID_COLUMN)
+        .setMaxRows(_batchSize)
+        .findList();
+    if (events.isEmpty()) {
+      return 0;
+    }
+
+    final List<Long> relayed = new ArrayList<>(events.size());
+    final List<AspectAuditEvent<URN, RecordTemplate>> auditEvents = new ArrayList<>(events.size());
+    final List<AspectAuditEvent<URN, RecordTemplate>> aspectSpecificAuditEvents = new ArrayList<>(events.size());
+    // Entities with a dead-lettered event in this batch, whose later events are held
+    final Set<String> deadLetteredUrns = new HashSet<>();
+    for (EbeanMetadataAuditEvent event : events) {
+      if (deadLetteredUrns.contains(event.getUrn())) {
+        continue;
+      }
+
+      final AspectAuditEvent<URN, RecordTemplate> decoded;
+      try {
+        decoded = decode(event);
+      } catch (RuntimeException e) {
+        deadLetter(event, e);
+        deadLetteredUrns.add(event.getUrn());
+        continue;
+      }
+
+      if (event.isEmitAuditEvent()) {
+        auditEvents.add(decoded);
+      }
+      if (event.isEmitAspectSpecificAuditEvent()) {
+        aspectSpecificAuditEvents.add(decoded);
+      }
+      relayed.add(event.getId());
+    }
+
+    if (!auditEvents.isEmpty()) {
+      _producer.produceMetadataAuditEvents(auditEvents);
+    }
+    if (!aspectSpecificAuditEvents.isEmpty()) {
+      _producer.produceAspectSpecificMetadataAuditEvents(aspectSpecificAuditEvents);
+    }
+    if (!relayed.isEmpty()) {
+      _server.find(EbeanMetadataAuditEvent.class).where().in(ID_COLUMN, relayed).delete();
+    }
+
+    final long lagMs = System.currentTimeMillis() - events.get(0).getCreatedOn().getTime();
+    _metricListeners.forEach(listener -> listener.onRelayed(relayed.size(), lagMs));
+    return events.size();
+  }
+
+  private void relayAll() {
+    try {
+      while (relay() == _batchSize) {
+        // the outbox may have more events
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to relay audit events", e);
+      _metricListeners.forEach(listener -> listener.onRelayFailed(e));
+    }
+  }
+
+  @Nonnull
+  private AspectAuditEvent<URN, RecordTemplate> decode(@Nonnull EbeanMetadataAuditEvent event) {
+    final URN urn = ModelMetadataRegistry.createUrn(event.getUrn(), _urnClass);
+    final Class<? extends RecordTemplate> aspectClass = ModelUtils.getAspectClass(event.getAspect());
+    final RecordTemplate oldValue =
+        event.getOldValue() == null ? null : RecordUtils.toRecordTemplate(aspectClass, event.getOldValue());
+    final RecordTemplate newValue = RecordUtils.toRecordTemplate(aspectClass, event.getNewValue());
+    return new AspectAuditEvent<>(urn, oldValue, newValue);
+  }
+
+  private void deadLetter(@Nonnull EbeanMetadataAuditEvent event, @Nonnull RuntimeException exception) {
+    log.error("Dead-lettering audit event " + event.getId() + " that can't be produced", exception);
+    final String reason = String.valueOf(exception);
+    event.setDeadLetter(reason.length() > MAX_DEAD_LETTER_LENGTH ? reason.substring(0, MAX_DEAD_LETTER_LENGTH) : reason);
+    _server.update(event);
+    _metricListeners.forEach(listener -> listener.onDeadLettered(event.getId(), exception));
+  }
+}
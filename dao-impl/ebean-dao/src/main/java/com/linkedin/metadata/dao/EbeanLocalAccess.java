@@ -1,5 +1,7 @@
 package com.linkedin.metadata.dao;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
@@ -17,6 +19,7 @@ import com.linkedin.metadata.dao.utils.SQLStatementUtils;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
+import com.linkedin.metadata.query.TotalCountMode;
 import io.ebean.EbeanServer;
 import io.ebean.SqlQuery;
 import io.ebean.SqlRow;
@@ -24,12 +27,14 @@ import io.ebean.SqlUpdate;
 import io.ebean.annotation.Transactional;
 import io.ebean.config.ServerConfig;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -57,6 +62,13 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   private static final int DEFAULT_PAGE_SIZE = 1000;
   private static final String ASPECT_JSON_PLACEHOLDER = "__PLACEHOLDER__";
   private static final String DEFAULT_ACTOR = "urn:li:principal:UNKNOWN";
+  private static final int DEFAULT_TOTAL_COUNT_CAP = 10000;
+  private static final long DEFAULT_TOTAL_COUNT_CACHE_TTL_MS = 60_000;
+  private static final int TOTAL_COUNT_CACHE_SIZE = 1000;
+
+  private int _totalCountCap = DEFAULT_TOTAL_COUNT_CAP;
+  // Exact total counts of filters, keyed on the count statement and its parameters
+  private Cache<SQLStatementUtils.ParameterizedSql, Integer> _totalCountCache = createTotalCountCache(DEFAULT_TOTAL_COUNT_CACHE_TTL_MS);
 
   public EbeanLocalAccess(EbeanServer server, ServerConfig serverConfig, @Nonnull Class<URN> urnClass, UrnPathExtractor<URN> urnPathExtractor) {
     _server = server;
@@ -71,6 +83,22 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     _urnPathExtractor = urnPathExtractor;
   }
 
+  @Override
+  public void setTotalCountCap(int totalCountCap) {
+    if (totalCountCap <= 0) {
+      throw new IllegalArgumentException("Total count cap must be positive: " + totalCountCap);
+    }
+    _totalCountCap = totalCountCap;
+  }
+
+  @Override
+  public void setTotalCountCacheTtl(long ttlMillis) {
+    if (ttlMillis <= 0) {
+      throw new IllegalArgumentException("Total count cache TTL must be positive: " + ttlMillis);
+    }
+    _totalCountCache = createTotalCountCache(ttlMillis);
+  }
+
   @Override
   @Transactional
   public <ASPECT extends RecordTemplate> int add(@Nonnull URN urn, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
@@ -135,11 +163,9 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
 
   /**
    * Construct and execute a SQL statement as follows.
-   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn = 'urn:1' AND JSON_EXTRACT(aspect1, '$.gma_deleted') IS NULL
-   * UNION ALL
-   * SELECT urn, aspect2, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn = 'urn:1' AND JSON_EXTRACT(aspect2, '$.gma_deleted') IS NULL
-   * UNION ALL
-   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn = 'urn:2' AND JSON_EXTRACT(aspect1, '$.gma_deleted') IS NULL
+   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn IN (?, ?) AND JSON_EXTRACT(aspect1, '$.gma_deleted') IS NULL
+   * SELECT urn, aspect2, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn IN (?) AND JSON_EXTRACT(aspect2, '$.gma_deleted') IS NULL
+   * with one statement per aspect class, and the urns bound as parameters.
    * @param aspectKeys a List of keys (urn, aspect pairings) to query for
    * @param keysCount number of keys to query
    * @param position position of the key to start from
@@ -157,12 +183,12 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     }
 
     // each statement is for a single aspect class
-    List<String> selectStatements = keysToQueryMap.entrySet().stream()
+    List<SQLStatementUtils.ParameterizedSql> selectStatements = keysToQueryMap.entrySet().stream()
         .map(entry -> SQLStatementUtils.createAspectReadSql(entry.getKey(), entry.getValue()))
         .collect(Collectors.toList());
 
     // consolidate/join the results
-    List<SqlRow> sqlRows = selectStatements.stream().flatMap(sql -> _server.createSqlQuery(sql).findList().stream()).collect(Collectors.toList());
+    List<SqlRow> sqlRows = selectStatements.stream().flatMap(sql -> createSqlQuery(sql).findList().stream()).collect(Collectors.toList());
     return EBeanDAOUtils.readSqlRows(sqlRows);
   }
 
@@ -188,10 +214,58 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     return toListResult(values, sqlRows, start, pageSize);
   }
 
+  @Override
+  public ListResult<URN> listUrns(@Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
+      int start, int pageSize, @Nonnull TotalCountMode totalCountMode) {
+    if (totalCountMode == TotalCountMode.EXACT) {
+      return listUrns(indexFilter, indexSortCriterion, start, pageSize);
+    }
+
+    final String tableName = SQLSchemaUtils.getTableName(_entityType);
+    // fetch one extra row to find out if there's a next page without counting
+    final List<SqlRow> sqlRows = createFilterSqlQuery(SQLStatementUtils.createFilterSqlWithoutCount(tableName, indexFilter),
+        indexFilter, indexSortCriterion, null, start, pageSize + 1).findList();
+    final boolean havingMore = sqlRows.size() > pageSize;
+    final List<URN> values = sqlRows.stream()
+        .limit(pageSize)
+        .map(sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass))
+        .collect(Collectors.toList());
+
+    int totalCount;
+    boolean totalCountApproximate;
+    if (totalCountMode == TotalCountMode.CAPPED) {
+      totalCount = countFilterResults(SQLStatementUtils.createFilterCountSql(tableName, indexFilter, _totalCountCap));
+      totalCountApproximate = totalCount >= _totalCountCap;
+    } else if (totalCountMode == TotalCountMode.CACHED) {
+      final SQLStatementUtils.ParameterizedSql countSql = SQLStatementUtils.createFilterCountSql(tableName, indexFilter, null);
+      final Integer cachedCount = _totalCountCache.getIfPresent(countSql);
+      totalCountApproximate = cachedCount != null;
+      totalCount = cachedCount != null ? cachedCount : countFilterResults(countSql);
+      if (cachedCount == null) {
+        _totalCountCache.put(countSql, totalCount);
+      }
+    } else {
+      totalCount = start + values.size();
+      totalCountApproximate = havingMore || (values.isEmpty() && start > 0);
+    }
+
+    // a capped or cached count can be behind the rows that were just fetched
+    if (!values.isEmpty()) {
+      totalCount = Math.max(totalCount, start + values.size());
+    }
+    return toListResult(values, totalCount, totalCountApproximate, havingMore, start, pageSize);
+  }
+
+  @Nonnull
+  @Override
+  public List<URN> listUrnsAfter(@Nullable URN lastUrn, int pageSize) {
+    final SqlQuery sqlQuery = createSqlQuery(SQLStatementUtils.createUrnScanSql(_entityType, lastUrn, pageSize));
+    return sqlQuery.findList().stream().map(sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass)).collect(Collectors.toList());
+  }
+
   @Override
   public boolean exists(@Nonnull URN urn) {
-    final String existSql = SQLStatementUtils.createExistSql(urn);
-    final SqlQuery sqlQuery = _server.createSqlQuery(existSql);
+    final SqlQuery sqlQuery = createSqlQuery(SQLStatementUtils.createExistSql(urn));
     return sqlQuery.findList().size() > 0;
   }
 
@@ -199,13 +273,12 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   @Override
   public <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass, int start,
       int pageSize) {
-    final String browseSql = SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, start, pageSize);
-    final SqlQuery sqlQuery = _server.createSqlQuery(browseSql);
+    final SqlQuery sqlQuery = createSqlQuery(SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, start, pageSize));
 
     final List<SqlRow> sqlRows = sqlQuery.findList();
     if (sqlRows.size() == 0) {
-      final List<SqlRow> totalCountResults = _server.createSqlQuery(
-          SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, 0, DEFAULT_PAGE_SIZE)).findList();
+      final List<SqlRow> totalCountResults =
+          createSqlQuery(SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, 0, DEFAULT_PAGE_SIZE)).findList();
       final int actualTotalCount = totalCountResults.isEmpty() ? 0 : totalCountResults.get(0).getInteger("_total_count");
       return toListResult(actualTotalCount, start, pageSize);
     }
@@ -230,8 +303,7 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     }
 
     // now run the actual GROUP BY query
-    final String groupBySql = SQLStatementUtils.createGroupBySql(tableName, indexFilter, indexGroupByCriterion);
-    final SqlQuery sqlQuery = _server.createSqlQuery(groupBySql);
+    final SqlQuery sqlQuery = createSqlQuery(SQLStatementUtils.createGroupBySql(tableName, indexFilter, indexGroupByCriterion));
     final List<SqlRow> sqlRows = sqlQuery.findList();
     Map<String, Long> resultMap = new HashMap<>();
     for (SqlRow sqlRow : sqlRows) {
@@ -257,13 +329,24 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
    */
   private SqlQuery createFilterSqlQuery(@Nonnull IndexFilter indexFilter,
       @Nullable IndexSortCriterion indexSortCriterion, @Nullable URN lastUrn, int offset, int pageSize) {
+    final String tableName = SQLSchemaUtils.getTableName(_entityType);
+    return createFilterSqlQuery(SQLStatementUtils.createFilterSql(tableName, indexFilter, indexSortCriterion), indexFilter,
+        indexSortCriterion, lastUrn, offset, pageSize);
+  }
+
+  /**
+   * Similar to {@link #createFilterSqlQuery(IndexFilter, IndexSortCriterion, Urn, int, int)} but starts from the given
+   * filter statement, which must select from the entity table with the same filter.
+   */
+  private SqlQuery createFilterSqlQuery(@Nonnull SQLStatementUtils.ParameterizedSql baseFilterSql, @Nonnull IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable URN lastUrn, int offset, int pageSize) {
     if (indexFilter.hasCriteria() && indexFilter.getCriteria().isEmpty()) {
       throw new UnsupportedOperationException("Empty Index Filter is not supported by EbeanLocalDAO");
     }
 
-    final String tableName = SQLSchemaUtils.getTableName(_entityType);
+    final List<Object> parameters = new ArrayList<>(baseFilterSql.getParameters());
     StringBuilder filterSql = new StringBuilder();
-    filterSql.append(SQLStatementUtils.createFilterSql(tableName, indexFilter, indexSortCriterion));
+    filterSql.append(baseFilterSql.getSql());
 
     // append last urn where condition
     if (lastUrn != null) {
@@ -271,9 +354,8 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       // that we add a WHERE if it wasn't added already.
       final boolean filterOnlyOnUrns = indexFilter.getCriteria().stream().allMatch(criteria -> isUrn(criteria.getAspect()));
       filterSql.append(filterOnlyOnUrns ? " WHERE " : " AND ");
-      filterSql.append("urn > '");
-      filterSql.append(lastUrn);
-      filterSql.append("'");
+      filterSql.append("urn > ?");
+      parameters.add(lastUrn.toString());
     }
 
     if (indexSortCriterion != null) {
@@ -281,9 +363,39 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       filterSql.append(parseSortCriteria(indexSortCriterion));
     }
 
-    filterSql.append(String.format(" LIMIT %d", Math.max(pageSize, 0)));
-    filterSql.append(String.format(" OFFSET %d", Math.max(offset, 0)));
-    return _server.createSqlQuery(filterSql.toString());
+    filterSql.append(" LIMIT ? OFFSET ?");
+    parameters.add(Math.max(pageSize, 0));
+    parameters.add(Math.max(offset, 0));
+    return createSqlQuery(new SQLStatementUtils.ParameterizedSql(filterSql.toString(), parameters));
+  }
+
+  /**
+   * Run a filter count statement from {@link SQLStatementUtils#createFilterCountSql(String, IndexFilter, Integer)}.
+   */
+  private int countFilterResults(@Nonnull SQLStatementUtils.ParameterizedSql countSql) {
+    final SqlRow sqlRow = createSqlQuery(countSql).findOne();
+    return sqlRow == null ? 0 : sqlRow.getInteger("_total_count");
+  }
+
+  @Nonnull
+  private static Cache<SQLStatementUtils.ParameterizedSql, Integer> createTotalCountCache(long ttlMillis) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(TOTAL_COUNT_CACHE_SIZE)
+        .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * Create a {@link SqlQuery} from a parameterized statement, binding its positional parameters.
+   */
+  @Nonnull
+  private SqlQuery createSqlQuery(@Nonnull SQLStatementUtils.ParameterizedSql parameterizedSql) {
+    final SqlQuery sqlQuery = _server.createSqlQuery(parameterizedSql.getSql());
+    final List<Object> parameters = parameterizedSql.getParameters();
+    for (int i = 0; i < parameters.size(); i++) {
+      sqlQuery.setParameter(i + 1, parameters.get(i));
+    }
+    return sqlQuery;
   }
 
 
@@ -329,6 +441,36 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
         .build();
   }
 
+  /**
+   * Convert values into {@link ListResult}, when the total count isn't part of the query result. This version of
+   * toListResult is used by the total count modes other than {@link TotalCountMode#EXACT}.
+   * @param values a list of query response result
+   * @param totalCount total count, or an estimate of it
+   * @param totalCountApproximate whether the total count is an estimate
+   * @param havingMore whether there's a next page
+   * @param start starting position
+   * @param pageSize number of rows in a page
+   * @param <T> type of query response
+   * @return {@link ListResult} which contains paging metadata information
+   */
+  @Nonnull
+  protected <T> ListResult<T> toListResult(@Nonnull List<T> values, int totalCount, boolean totalCountApproximate,
+      boolean havingMore, int start, int pageSize) {
+    if (pageSize == 0) {
+      pageSize = DEFAULT_PAGE_SIZE;
+    }
+    return ListResult.<T>builder()
+        .values(values)
+        .metadata(null)
+        .nextStart(havingMore ? start + values.size() : ListResult.INVALID_NEXT_START)
+        .havingMore(havingMore)
+        .totalCount(totalCount)
+        .totalCountApproximate(totalCountApproximate)
+        .totalPageCount(ceilDiv(totalCount, pageSize))
+        .pageSize(pageSize)
+        .build();
+  }
+
   /**
    * Convert sqlRows into {@link ListResult}.
    * @param values a list of query response result
@@ -403,6 +545,16 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     _localRelationshipBuilderRegistry = localRelationshipBuilderRegistry;
   }
 
+  @Override
+  public void setLocalRelationshipInsertBatchSize(int insertBatchSize) {
+    _localRelationshipWriterDAO.setInsertBatchSize(insertBatchSize);
+  }
+
+  @Override
+  public void setLocalRelationshipDiffMode(boolean diffMode) {
+    _localRelationshipWriterDAO.setDiffMode(diffMode);
+  }
+
   @Nonnull
   private SchemaEvolutionManager createSchemaEvolutionManager(@Nonnull ServerConfig serverConfig) {
     SchemaEvolutionManager.Config config = new SchemaEvolutionManager.Config(
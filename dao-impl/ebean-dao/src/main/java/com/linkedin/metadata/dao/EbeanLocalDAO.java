@@ -1,6 +1,9 @@
 package com.linkedin.metadata.dao;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.schema.DataSchema;
@@ -32,26 +35,39 @@ import com.linkedin.metadata.query.IndexSortCriterion;
 import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.ListResultMetadata;
 import com.linkedin.metadata.query.SortOrder;
+import com.linkedin.metadata.query.TotalCountMode;
 import io.ebean.DuplicateKeyException;
 import io.ebean.EbeanServer;
 import io.ebean.ExpressionList;
 import io.ebean.PagedList;
 import io.ebean.Query;
+import io.ebean.SqlQuery;
 import io.ebean.SqlUpdate;
 import io.ebean.Transaction;
 import io.ebean.config.ServerConfig;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -77,11 +93,28 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     extends BaseLocalDAO<ASPECT_UNION, URN> {
 
   private static final int INDEX_QUERY_TIMEOUT_IN_SEC = 10;
+  private static final int BATCH_GET_EXECUTOR_SHUTDOWN_IN_SEC = 1;
+  // Maximum number of (urn, aspect) pairs in the OR chain of one query for the largest versions of a batch save
+  static final int LARGEST_VERSIONS_QUERY_KEYS = 500;
+  // Updates a latest row only if it's still the one that was read, see updateWithOptimisticLocking
+  private static final String OPTIMISTIC_LOCKING_UPDATE_QUERY = "UPDATE metadata_aspect "
+      + "SET urn = :urn, aspect = :aspect, version = :version, metadata = :metadata, createdOn = :createdOn, createdBy = :createdBy "
+      + "WHERE urn = :urn and aspect = :aspect and version = :version and createdOn = :oldTimestamp";
 
   protected final EbeanServer _server;
   protected final Class<URN> _urnClass;
 
   private int _queryKeysCount = 0; // 0 means no pagination on keys
+  private ExecutorService _batchGetExecutor = null; // null means paginated sub queries run sequentially
+  private boolean _ownsBatchGetExecutor = false; // whether _batchGetExecutor was created by setBatchGetParallelism
+  private final List<MetricListener> _metricListeners = new CopyOnWriteArrayList<>();
+  private TransactionRetryPolicy _transactionRetryPolicy = TransactionRetryPolicy.IMMEDIATE;
+  // Transaction conflicts and retries per aspect class, RecordTemplate.class for transactions without a single aspect class
+  private final Map<Class<? extends RecordTemplate>, LongAdder> _transactionConflicts = new ConcurrentHashMap<>();
+  private final Map<Class<? extends RecordTemplate>, LongAdder> _transactionRetries = new ConcurrentHashMap<>();
+  private int _idBlockSize = 1;
+  private final Map<String, IdBlock> _idBlocks = new ConcurrentHashMap<>();
+  private final Map<String, Object> _idBlockLocks = new ConcurrentHashMap<>();
   private IEbeanLocalAccess<URN> _localAccess;
   private UrnPathExtractor<URN> _urnPathExtractor;
   private SchemaConfig _schemaConfig = SchemaConfig.OLD_SCHEMA_ONLY;
@@ -92,12 +125,88 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     DUAL_SCHEMA // Write to both the old and new tables and perform a comparison between values when reading
   }
 
+  /**
+   * Event listening interface to report lower level metrics of {@link EbeanLocalDAO} to some specific metric recording
+   * framework. All callbacks default to no-ops, so implementations only need to override the events they care about.
+   */
+  public interface MetricListener {
+    /**
+     * Event when a single paginated sub query of a batch get completes.
+     *
+     * @param keysCount how many keys were queried in this sub query
+     * @param resultCount how many rows were returned by this sub query
+     * @param queryTimeMs how long the sub query took, excluding any time spent waiting for an executor thread
+     * @param parallel whether the sub query was fanned out to the batch get executor
+     */
+    default void onBatchGetPage(int keysCount, int resultCount, long queryTimeMs, boolean parallel) {
+    }
+
+    /**
+     * Event when a block of IDs is reserved by {@link #newNumericId(String, int)}.
+     *
+     * @param namespace namespace of the IDs
+     * @param blockSize how many IDs were reserved
+     * @param reservationTimeMs how long the reservation took, including retries
+     * @param retries how many times the reservation was retried because of a conflict with another reservation
+     */
+    default void onIdBlockReserved(@Nonnull String namespace, int blockSize, long reservationTimeMs, int retries) {
+    }
+
+    /**
+     * Event when a transaction fails because of a conflict with another write, i.e. a {@link RollbackException},
+     * {@link DuplicateKeyException} or {@link OptimisticLockException}.
+     *
+     * @param aspectClass the aspect class written by the transaction, or null if it doesn't write a single aspect class
+     * @param attempt which attempt of the transaction failed, starting from 1
+     * @param backoffMs how long the transaction waits before it's retried, or -1 if it isn't retried
+     */
+    default void onTransactionConflict(@Nullable Class<? extends RecordTemplate> aspectClass, int attempt, long backoffMs) {
+    }
+  }
+
+  /**
+   * A block of IDs reserved by {@link #newNumericId(String, int)}. IDs are handed out from {@code next} up to and
+   * including {@code end}.
+   */
+  @Value
+  private static class IdBlock {
+    AtomicLong next;
+    long end;
+
+    IdBlock(long first, long end) {
+      this.next = new AtomicLong(first);
+      this.end = end;
+    }
+  }
+
+  /**
+   * The indexed value of a local secondary index row, used to diff the old and new rows of an aspect.
+   */
+  @Value
+  private static class LocalIndexValue {
+    String path;
+    Long longVal;
+    Double doubleVal;
+    String stringVal;
+  }
+
   @Value
   static class GMAIndexPair {
     public String valueType;
     public Object value;
   }
 
+  /**
+   * Normalized (lower-cased urn, aspect, version) key used to match batch get results with the requested keys. URNs are
+   * matched ignoring case, since the database compares them ignoring case too.
+   */
+  @Value
+  static class AspectLookupKey {
+    String urn;
+    String aspect;
+    long version;
+  }
+
   private static final Map<Condition, String> CONDITION_STRING_MAP =
       Collections.unmodifiableMap(new HashMap<Condition, String>() {
         {
@@ -255,6 +364,31 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     _urnPathExtractor = urnPathExtractor;
   }
 
+  /**
+   * Sets the number of rows after which {@link TotalCountMode#CAPPED} stops counting. Only urns listed from the new
+   * schema are counted with a total count mode, so this can only be set with {@link SchemaConfig#NEW_SCHEMA_ONLY}.
+   */
+  public void setTotalCountCap(int totalCountCap) {
+    checkTotalCountModesSupported();
+    _localAccess.setTotalCountCap(totalCountCap);
+  }
+
+  /**
+   * Sets how long total counts of {@link TotalCountMode#CACHED} are reused for. Only urns listed from the new schema
+   * are counted with a total count mode, so this can only be set with {@link SchemaConfig#NEW_SCHEMA_ONLY}.
+   */
+  public void setTotalCountCacheTtl(long ttlMillis) {
+    checkTotalCountModesSupported();
+    _localAccess.setTotalCountCacheTtl(ttlMillis);
+  }
+
+  private void checkTotalCountModesSupported() {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY) {
+      throw new UnsupportedOperationException(
+          "Total count modes are only supported in NEW_SCHEMA_ONLY mode, urns are listed from the old schema in " + _schemaConfig);
+    }
+  }
+
   /**
    * Return the {@link EbeanServer} server instance used for customized queries.
    */
@@ -273,6 +407,24 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   @Nonnull
   @Override
   protected <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry) {
+    return runInTransaction(block, null, maxTransactionRetry);
+  }
+
+  @Nonnull
+  @Override
+  protected <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, @Nonnull Class<? extends RecordTemplate> aspectClass,
+      int maxTransactionRetry) {
+    return runInTransaction(block, aspectClass, maxTransactionRetry);
+  }
+
+  /**
+   * Runs a block in a transaction, and retries it on conflicts with other writes after the backoff of the
+   * {@link TransactionRetryPolicy}, until it commits, the retries run out or the policy gives up.
+   */
+  @Nonnull
+  private <T> T runInTransaction(@Nonnull Supplier<T> block, @Nullable Class<? extends RecordTemplate> aspectClass,
+      int maxTransactionRetry) {
+    final long start = System.nanoTime();
     int retryCount = 0;
     Exception lastException;
 
@@ -286,15 +438,40 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       } catch (RollbackException | DuplicateKeyException | OptimisticLockException exception) {
         lastException = exception;
       }
+
+      final long backoffMs = retryCount < maxTransactionRetry
+          ? _transactionRetryPolicy.getBackoffMillis(retryCount + 1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+          : -1;
+      recordTransactionConflict(aspectClass, retryCount + 1, backoffMs);
+      if (backoffMs < 0) {
+        break;
+      }
+      if (backoffMs > 0) {
+        try {
+          Thread.sleep(backoffMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RetryLimitReached("Interrupted while waiting to retry after " + retryCount + " retries", lastException);
+        }
+      }
     } while (++retryCount <= maxTransactionRetry);
 
     if (lastException != null) {
-      throw new RetryLimitReached("Failed to add after " + maxTransactionRetry + " retries", lastException);
+      throw new RetryLimitReached("Failed to add after " + retryCount + " retries", lastException);
     }
 
     return result;
   }
 
+  private void recordTransactionConflict(@Nullable Class<? extends RecordTemplate> aspectClass, int attempt, long backoffMs) {
+    final Class<? extends RecordTemplate> key = aspectClass == null ? RecordTemplate.class : aspectClass;
+    _transactionConflicts.computeIfAbsent(key, k -> new LongAdder()).increment();
+    if (backoffMs >= 0) {
+      _transactionRetries.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+    _metricListeners.forEach(listener -> listener.onTransactionConflict(aspectClass, attempt, backoffMs));
+  }
+
   @Override
   protected <ASPECT extends RecordTemplate> long saveLatest(@Nonnull URN urn, @Nonnull Class<ASPECT> aspectClass,
       @Nullable ASPECT oldValue, @Nullable AuditStamp oldAuditStamp, @Nullable ASPECT newValue,
@@ -372,7 +549,34 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   protected <ASPECT extends RecordTemplate> AspectEntry<ASPECT> getLatest(@Nonnull URN urn,
       @Nonnull Class<ASPECT> aspectClass) {
     final PrimaryKey key = new PrimaryKey(urn.toString(), ModelUtils.getAspectName(aspectClass), 0L);
-    EbeanMetadataAspect latest = _server.find(EbeanMetadataAspect.class, key);
+    return toAspectEntry(aspectClass, _server.find(EbeanMetadataAspect.class, key));
+  }
+
+  @Override
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> batchGetLatest(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    if (keys.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    // Always read from the old schema, same as getLatest(), since it's the source of truth for optimistic locking
+    final List<AspectKey<URN, ? extends RecordTemplate>> keyList = new ArrayList<>(keys);
+    final int keysCount = _queryKeysCount == 0 ? keyList.size() : _queryKeysCount;
+    final List<EbeanMetadataAspect> records = new ArrayList<>();
+    for (int position = 0; position < keyList.size(); position += keysCount) {
+      records.addAll(batchGetUnion(keyList, keysCount, position));
+    }
+    final Map<AspectLookupKey, EbeanMetadataAspect> recordIndex = indexRecords(records);
+
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectEntry<? extends RecordTemplate>> result = new HashMap<>();
+    keyList.forEach(key -> result.put(key, toAspectEntry(key.getAspectClass(), recordIndex.get(toLookupKey(key)))));
+    return result;
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> AspectEntry<ASPECT> toAspectEntry(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable EbeanMetadataAspect latest) {
     if (latest == null) {
       return new AspectEntry<>(null, null);
     }
@@ -385,6 +589,136 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return new AspectEntry<>(RecordUtils.toRecordTemplate(aspectClass, latest.getMetadata()), extraInfo);
   }
 
+  /**
+   * Batch version of {@link #saveLatest(Urn, Class, RecordTemplate, AuditStamp, RecordTemplate, AuditStamp, boolean)}.
+   *
+   * <p>Next versions are read for all aspects in a few queries and then assigned in memory. All new rows, i.e. historical
+   * versions and first versions of latest rows, are written with a single JDBC batch insert. Latest rows that already
+   * exist are then updated with a single JDBC batch update, whose row count of each update is checked for optimistic
+   * locking. The new schema is written after the old schema, in the same transaction: the one of
+   * {@link #addMany(Map, AuditStamp, int)}, or a new one if there's none.
+   */
+  @Override
+  @Nonnull
+  protected List<Long> batchSaveLatest(@Nonnull List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    final Supplier<List<Long>> save = () -> {
+      final Map<AspectLookupKey, Long> largestVersions = getLargestVersions(writes);
+      final List<Long> result = new ArrayList<>(writes.size());
+      final List<EbeanMetadataAspect> inserts = new ArrayList<>();
+      final List<LatestAspectWrite<URN, ? extends RecordTemplate>> updates = new ArrayList<>();
+
+      for (LatestAspectWrite<URN, ? extends RecordTemplate> write : writes) {
+        final AspectLookupKey key = toLatestLookupKey(write.getUrn(), write.getAspectClass());
+        if ((write.isSoftDeleted() || write.getOldValue() != null) && write.getOldAuditStamp() != null) {
+          // Move latest version to historical version by inserting a new record, then update latest version
+          final long largestVersion = largestVersions.getOrDefault(key, LATEST_VERSION) + 1L;
+          largestVersions.put(key, largestVersion);
+          inserts.add(buildMetadataAspectBean(write.getUrn(), write.getOldValue(), write.getAspectClass(),
+              write.getOldAuditStamp(), largestVersion));
+          updates.add(write);
+          result.add(largestVersion);
+        } else {
+          largestVersions.putIfAbsent(key, LATEST_VERSION);
+          inserts.add(buildMetadataAspectBean(write.getUrn(), write.getNewValue(), write.getAspectClass(),
+              write.getNewAuditStamp(), LATEST_VERSION));
+          result.add(LATEST_VERSION);
+        }
+      }
+
+      _server.insertAll(inserts);
+      batchUpdateLatestWithOptimisticLocking(updates);
+      if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY || _schemaConfig == SchemaConfig.DUAL_SCHEMA) {
+        writes.forEach(write -> addToLocalAccess(write));
+      }
+      return result;
+    };
+
+    // a conflict within the transaction of addMany is left to its retries
+    return isInTransaction() ? save.get() : runInTransactionWithRetry(save, 0);
+  }
+
+  /**
+   * Reads the largest existing version of every (urn, aspect) in {@code writes} with GROUP BY queries of up to
+   * {@link #LARGEST_VERSIONS_QUERY_KEYS} keys each.
+   */
+  @Nonnull
+  private Map<AspectLookupKey, Long> getLargestVersions(
+      @Nonnull List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    // The URNs are bound as they are, since the urn column may be compared case-sensitively. Only the keys of the
+    // result are lower-cased.
+    final Set<AspectLookupKey> keySet = new LinkedHashSet<>();
+    writes.stream()
+        .filter(write -> (write.isSoftDeleted() || write.getOldValue() != null) && write.getOldAuditStamp() != null)
+        .forEach(write -> keySet.add(new AspectLookupKey(write.getUrn().toString(),
+            ModelUtils.getAspectName(write.getAspectClass()), LATEST_VERSION)));
+    final List<AspectLookupKey> keys = new ArrayList<>(keySet);
+
+    final Map<AspectLookupKey, Long> largestVersions = new HashMap<>();
+    for (int position = 0; position < keys.size(); position += LARGEST_VERSIONS_QUERY_KEYS) {
+      final List<AspectLookupKey> chunk =
+          keys.subList(position, Math.min(keys.size(), position + LARGEST_VERSIONS_QUERY_KEYS));
+
+      final StringBuilder sb = new StringBuilder(String.format("SELECT urn, aspect, MAX(version) AS version FROM %s WHERE ",
+          EbeanMetadataAspect.class.getAnnotation(Table.class).name()));
+      final List<Object> params = new ArrayList<>();
+      for (AspectLookupKey key : chunk) {
+        if (!params.isEmpty()) {
+          sb.append(" OR ");
+        }
+        sb.append("(urn = ? AND aspect = ?)");
+        params.add(key.getUrn());
+        params.add(key.getAspect());
+      }
+      sb.append(" GROUP BY urn, aspect");
+
+      final SqlQuery query = _server.createSqlQuery(sb.toString());
+      for (int i = 1; i <= params.size(); i++) {
+        query.setParameter(i, params.get(i - 1));
+      }
+      query.findList().forEach(row -> largestVersions.merge(
+          new AspectLookupKey(row.getString("urn").toLowerCase(Locale.ROOT), row.getString("aspect"), LATEST_VERSION),
+          row.getLong("version"), Math::max));
+    }
+    return largestVersions;
+  }
+
+  @Nonnull
+  private static AspectLookupKey toLatestLookupKey(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    return new AspectLookupKey(urn.toString().toLowerCase(Locale.ROOT), ModelUtils.getAspectName(aspectClass),
+        LATEST_VERSION);
+  }
+
+  private <ASPECT extends RecordTemplate> void addToLocalAccess(@Nonnull LatestAspectWrite<URN, ASPECT> write) {
+    _localAccess.add(write.getUrn(), write.getNewValue(), write.getAspectClass(), write.getNewAuditStamp());
+  }
+
+  /**
+   * Updates the latest rows of the writes with one JDBC batch, in the order of the writes, and throws
+   * {@link OptimisticLockException} if any of them didn't update exactly one row. Needs a JDBC driver that reports the
+   * row count of each statement of a batch, which MySQL does unless rewriteBatchedStatements is enabled.
+   */
+  private void batchUpdateLatestWithOptimisticLocking(@Nonnull List<LatestAspectWrite<URN, ? extends RecordTemplate>> writes) {
+    if (writes.isEmpty()) {
+      return;
+    }
+
+    final SqlUpdate update = _server.createSqlUpdate(OPTIMISTIC_LOCKING_UPDATE_QUERY);
+    for (LatestAspectWrite<URN, ? extends RecordTemplate> write : writes) {
+      setOptimisticLockingUpdateParameters(update,
+          buildMetadataAspectBean(write.getUrn(), write.getNewValue(), write.getAspectClass(), write.getNewAuditStamp(),
+              LATEST_VERSION), new Timestamp(write.getOldAuditStamp().getTime()));
+      update.addBatch();
+    }
+
+    final int[] numsOfUpdatedRows = update.executeBatch();
+    for (int i = 0; i < numsOfUpdatedRows.length; i++) {
+      if (numsOfUpdatedRows[i] != 1) {
+        throw new OptimisticLockException(String.format("%d rows updated during batch save query of %s %s",
+            numsOfUpdatedRows[i], writes.get(i).getUrn(), ModelUtils.getAspectName(writes.get(i).getAspectClass())));
+      }
+    }
+  }
+
   @Nonnull
   private <ASPECT extends RecordTemplate> EbeanMetadataAspect buildMetadataAspectBean(@Nonnull URN urn,
       @Nullable RecordTemplate value, @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp, long version) {
@@ -425,18 +759,8 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     //      by disregarding any user change.
     // Ideally, another column for the sake of optimistic locking would be preferred but that means a change to
     // metadata_aspect schema and we don't take this route here to keep this change backward compatible.
-    final String updateQuery = "UPDATE metadata_aspect "
-        + "SET urn = :urn, aspect = :aspect, version = :version, metadata = :metadata, createdOn = :createdOn, createdBy = :createdBy "
-        + "WHERE urn = :urn and aspect = :aspect and version = :version and createdOn = :oldTimestamp";
-
-    final SqlUpdate update = _server.createSqlUpdate(updateQuery);
-    update.setParameter("urn", aspect.getKey().getUrn());
-    update.setParameter("aspect", aspect.getKey().getAspect());
-    update.setParameter("version", aspect.getKey().getVersion());
-    update.setParameter("metadata", aspect.getMetadata());
-    update.setParameter("createdOn", aspect.getCreatedOn());
-    update.setParameter("createdBy", aspect.getCreatedBy());
-    update.setParameter("oldTimestamp", oldTimestamp);
+    final SqlUpdate update = _server.createSqlUpdate(OPTIMISTIC_LOCKING_UPDATE_QUERY);
+    setOptimisticLockingUpdateParameters(update, aspect, oldTimestamp);
 
     int numOfUpdatedRows;
     if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY || _schemaConfig == SchemaConfig.DUAL_SCHEMA) {
@@ -456,6 +780,17 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
   }
 
+  private static void setOptimisticLockingUpdateParameters(@Nonnull SqlUpdate update, @Nonnull EbeanMetadataAspect aspect,
+      @Nonnull Timestamp oldTimestamp) {
+    update.setParameter("urn", aspect.getKey().getUrn());
+    update.setParameter("aspect", aspect.getKey().getAspect());
+    update.setParameter("version", aspect.getKey().getVersion());
+    update.setParameter("metadata", aspect.getMetadata());
+    update.setParameter("createdOn", aspect.getCreatedOn());
+    update.setParameter("createdBy", aspect.getCreatedBy());
+    update.setParameter("oldTimestamp", oldTimestamp);
+  }
+
   @Override
   protected <ASPECT extends RecordTemplate> void insert(@Nonnull URN urn, @Nullable RecordTemplate value,
       @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp, long version) {
@@ -478,18 +813,16 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     _server.insert(aspect);
   }
 
-  protected void saveRecordsToLocalIndex(@Nonnull URN urn, @Nonnull String aspect, @Nonnull String path,
+  protected long saveSingleRecordToLocalIndex(@Nonnull URN urn, @Nonnull String aspect, @Nonnull String path,
       @Nonnull Object value) {
-    if (value instanceof List) {
-      for (Object obj : (List<?>) value) {
-        saveSingleRecordToLocalIndex(urn, aspect, path, obj);
-      }
-    } else {
-      saveSingleRecordToLocalIndex(urn, aspect, path, value);
-    }
+
+    final EbeanMetadataIndex record = buildLocalIndexRecord(urn, aspect, path, value);
+    _server.insert(record);
+    return record.getId();
   }
 
-  protected long saveSingleRecordToLocalIndex(@Nonnull URN urn, @Nonnull String aspect, @Nonnull String path,
+  @Nonnull
+  private EbeanMetadataIndex buildLocalIndexRecord(@Nonnull URN urn, @Nonnull String aspect, @Nonnull String path,
       @Nonnull Object value) {
 
     final EbeanMetadataIndex record = new EbeanMetadataIndex().setUrn(urn.toString()).setAspect(aspect).setPath(path);
@@ -500,9 +833,22 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     } else {
       record.setStringVal(value.toString());
     }
+    return record;
+  }
 
-    _server.insert(record);
-    return record.getId();
+  /**
+   * Same as {@link #buildLocalIndexRecord(Urn, String, String, Object)} but builds one record per element if the value
+   * is a list.
+   */
+  private void buildLocalIndexRecords(@Nonnull URN urn, @Nonnull String aspect, @Nonnull String path,
+      @Nonnull Object value, @Nonnull List<EbeanMetadataIndex> outputRecords) {
+    if (value instanceof List) {
+      for (Object obj : (List<?>) value) {
+        outputRecords.add(buildLocalIndexRecord(urn, aspect, path, obj));
+      }
+    } else {
+      outputRecords.add(buildLocalIndexRecord(urn, aspect, path, value));
+    }
   }
 
   @Nonnull
@@ -516,7 +862,9 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
 
     final Map<String, Object> pathValueMap = _urnPathExtractor.extractPaths(urn);
-    pathValueMap.forEach((path, value) -> saveSingleRecordToLocalIndex(urn, _urnClass.getCanonicalName(), path, value));
+    final List<EbeanMetadataIndex> records = new ArrayList<>(pathValueMap.size());
+    pathValueMap.forEach((path, value) -> records.add(buildLocalIndexRecord(urn, _urnClass.getCanonicalName(), path, value)));
+    _server.insertAll(records);
   }
 
   private <ASPECT extends RecordTemplate> void updateAspectInLocalIndex(@Nonnull URN urn, @Nonnull ASPECT newValue) {
@@ -525,23 +873,56 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
         || _storageConfig.getAspectStorageConfigMap().get(newValue.getClass()) == null) {
       return;
     }
-    // step1: remove all rows from the index table corresponding to <urn, aspect> pair
-    _server.find(EbeanMetadataIndex.class)
-        .where()
-        .eq(URN_COLUMN, urn.toString())
-        .eq(ASPECT_COLUMN, ModelUtils.getAspectName(newValue.getClass()))
-        .delete();
-
-    // step2: add fields of the aspect that need to be indexed
+    // step1: build the rows for the fields of the aspect that need to be indexed
     final Map<String, LocalDAOStorageConfig.PathStorageConfig> pathStorageConfigMap =
         _storageConfig.getAspectStorageConfigMap().get(newValue.getClass()).getPathStorageConfigMap();
 
+    final List<EbeanMetadataIndex> newRecords = new ArrayList<>();
     pathStorageConfigMap.keySet()
         .stream()
         .filter(path -> pathStorageConfigMap.get(path).isStrongConsistentSecondaryIndex())
         .collect(Collectors.toMap(Function.identity(), path -> RecordUtils.getFieldValue(newValue, path)))
         .forEach((k, v) -> v.ifPresent(
-            value -> saveRecordsToLocalIndex(urn, newValue.getClass().getCanonicalName(), k, value)));
+            value -> buildLocalIndexRecords(urn, newValue.getClass().getCanonicalName(), k, value, newRecords)));
+
+    // step2: diff against the rows currently in the index table for the <urn, aspect> pair
+    final List<EbeanMetadataIndex> oldRecords = _server.find(EbeanMetadataIndex.class)
+        .where()
+        .eq(URN_COLUMN, urn.toString())
+        .eq(ASPECT_COLUMN, ModelUtils.getAspectName(newValue.getClass()))
+        .findList();
+
+    // step3: only delete the rows that are gone and insert the ones that are new, with a single statement each
+    final Map<LocalIndexValue, List<EbeanMetadataIndex>> unmatchedOldRecords = new HashMap<>();
+    oldRecords.forEach(
+        record -> unmatchedOldRecords.computeIfAbsent(toLocalIndexValue(record), key -> new ArrayList<>()).add(record));
+
+    final List<EbeanMetadataIndex> inserts = new ArrayList<>();
+    for (EbeanMetadataIndex record : newRecords) {
+      final List<EbeanMetadataIndex> matches = unmatchedOldRecords.get(toLocalIndexValue(record));
+      if (matches == null || matches.isEmpty()) {
+        inserts.add(record);
+      } else {
+        matches.remove(matches.size() - 1);
+      }
+    }
+
+    final List<Long> deletes = unmatchedOldRecords.values()
+        .stream()
+        .flatMap(List::stream)
+        .map(EbeanMetadataIndex::getId)
+        .collect(Collectors.toList());
+    if (!deletes.isEmpty()) {
+      _server.find(EbeanMetadataIndex.class).where().idIn(deletes).delete();
+    }
+    if (!inserts.isEmpty()) {
+      _server.insertAll(inserts);
+    }
+  }
+
+  @Nonnull
+  private static LocalIndexValue toLocalIndexValue(@Nonnull EbeanMetadataIndex record) {
+    return new LocalIndexValue(record.getPath(), record.getLongVal(), record.getDoubleVal(), record.getStringVal());
   }
 
   @Override
@@ -584,6 +965,76 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
         .delete();
   }
 
+  @Override
+  protected <ASPECT extends RecordTemplate> int applyVersionBasedRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Map<URN, Long> largestVersions, @Nonnull VersionBasedRetention retention) {
+    if (largestVersions.isEmpty()) {
+      return 0;
+    }
+
+    // A single DELETE for the batch, as each entity has its own version to purge up to
+    final StringBuilder sb = new StringBuilder(String.format("DELETE FROM %s WHERE aspect = ? AND version <> ? AND (",
+        EbeanMetadataAspect.class.getAnnotation(Table.class).name()));
+    final List<Object> params = new ArrayList<>();
+    params.add(ModelUtils.getAspectName(aspectClass));
+    params.add(LATEST_VERSION);
+    largestVersions.forEach((urn, largestVersion) -> {
+      if (params.size() > 2) {
+        sb.append(" OR ");
+      }
+      sb.append("(urn = ? AND version <= ?)");
+      params.add(urn.toString());
+      params.add(largestVersion - retention.getMaxVersionsToRetain() + 1);
+    });
+    sb.append(")");
+
+    final SqlUpdate update = _server.createSqlUpdate(sb.toString());
+    for (int i = 1; i <= params.size(); i++) {
+      update.setParameter(i, params.get(i - 1));
+    }
+    return update.execute();
+  }
+
+  @Override
+  protected <ASPECT extends RecordTemplate> int applyTimeBasedRetention(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull Set<URN> urns, @Nonnull TimeBasedRetention retention, long currentTime) {
+    if (urns.isEmpty()) {
+      return 0;
+    }
+
+    return _server.find(EbeanMetadataAspect.class)
+        .where()
+        .in(URN_COLUMN, urns.stream().map(Urn::toString).collect(Collectors.toList()))
+        .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
+        .lt(CREATED_ON_COLUMN, new Timestamp(currentTime - retention.getMaxAgeToRetain()))
+        .delete();
+  }
+
+  @Override
+  protected boolean supportsAuditEventOutbox() {
+    return true;
+  }
+
+  @Override
+  protected boolean isInTransaction() {
+    return _server.currentTransaction() != null;
+  }
+
+  /**
+   * Saves the MAEs of an update to the metadata_audit_outbox table, to be relayed by an {@link EbeanAuditEventRelay}.
+   */
+  @Override
+  protected <ASPECT extends RecordTemplate> void saveAuditEvent(@Nonnull URN urn, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable ASPECT oldValue, @Nonnull ASPECT newValue, boolean emitAuditEvent, boolean emitAspectSpecificAuditEvent) {
+    _server.insert(new EbeanMetadataAuditEvent().setUrn(urn.toString())
+        .setAspect(ModelUtils.getAspectName(aspectClass))
+        .setOldValue(oldValue == null ? null : RecordUtils.toJsonString(oldValue))
+        .setNewValue(RecordUtils.toJsonString(newValue))
+        .setEmitAuditEvent(emitAuditEvent)
+        .setEmitAspectSpecificAuditEvent(emitAspectSpecificAuditEvent)
+        .setCreatedOn(new Timestamp(System.currentTimeMillis())));
+  }
+
   @Override
   @Nonnull
   public Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> get(
@@ -592,6 +1043,12 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       return Collections.emptyMap();
     }
 
+    return getThroughCache(keys, this::getFromStorage);
+  }
+
+  @Nonnull
+  private Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> getFromStorage(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
     final List<EbeanMetadataAspect> records;
 
     if (_queryKeysCount == 0) {
@@ -600,12 +1057,10 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       records = batchGet(keys, _queryKeysCount);
     }
 
-    // TODO: Improve this O(n^2) search
+    final Map<AspectLookupKey, EbeanMetadataAspect> recordIndex = indexRecords(records);
 
     return keys.stream()
-        .collect(Collectors.toMap(Function.identity(), key -> records.stream()
-            .filter(record -> matchKeys(key, record.getKey()))
-            .findFirst()
+        .collect(Collectors.toMap(Function.identity(), key -> Optional.ofNullable(recordIndex.get(toLookupKey(key)))
             .flatMap(record -> toRecordTemplate(key.getAspectClass(), record))));
   }
 
@@ -618,19 +1073,20 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
 
     final List<EbeanMetadataAspect> records = batchGet(keys, keys.size());
+    final Map<AspectLookupKey, EbeanMetadataAspect> recordIndex = indexRecords(records);
 
     final Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> result =
         new HashMap<>();
-    keys.forEach(key -> records.stream()
-        .filter(record -> matchKeys(key, record.getKey()))
-        .findFirst()
-        .map(record -> {
-          final Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) key.getAspectClass();
-          final Optional<AspectWithExtraInfo<RecordTemplate>> aspectWithExtraInfo = toRecordTemplateWithExtraInfo(aspectClass, record);
-          aspectWithExtraInfo.ifPresent(
-              recordTemplateAspectWithExtraInfo -> result.put(key, recordTemplateAspectWithExtraInfo));
-          return null;
-        }));
+    keys.forEach(key -> {
+      final EbeanMetadataAspect record = recordIndex.get(toLookupKey(key));
+      if (record == null) {
+        return;
+      }
+      final Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) key.getAspectClass();
+      final Optional<AspectWithExtraInfo<RecordTemplate>> aspectWithExtraInfo = toRecordTemplateWithExtraInfo(aspectClass, record);
+      aspectWithExtraInfo.ifPresent(
+          recordTemplateAspectWithExtraInfo -> result.put(key, recordTemplateAspectWithExtraInfo));
+    });
     return result;
   }
 
@@ -674,6 +1130,80 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     _queryKeysCount = keysCount;
   }
 
+  /**
+   * Runs the paginated sub queries of a batch get (see {@link #setQueryKeysCount(int)}) in parallel, on a fixed pool
+   * of {@code parallelism} daemon threads.
+   *
+   * <p>Every in-flight sub query holds its own connection from the Ebean connection pool, so the parallelism should stay
+   * well below the pool's max connections. Sub queries still run sequentially on the calling thread when a transaction
+   * is in scope, since other threads can't see the transaction's uncommitted changes.
+   *
+   * <p>A pool created by a previous call is shut down, after the sub queries already running on it complete.
+   *
+   * @param parallelism max number of sub queries to run concurrently. 0 or 1 disables parallel execution (default)
+   */
+  public void setBatchGetParallelism(int parallelism) {
+    if (parallelism < 0) {
+      throw new IllegalArgumentException("Batch get parallelism must be non-negative: " + parallelism);
+    }
+    replaceBatchGetExecutor(parallelism <= 1 ? null : MoreExecutors.getExitingExecutorService(
+        (ThreadPoolExecutor) Executors.newFixedThreadPool(parallelism,
+            new ThreadFactoryBuilder().setNameFormat("ebean-batch-get-%d").setDaemon(true).build()),
+        BATCH_GET_EXECUTOR_SHUTDOWN_IN_SEC, TimeUnit.SECONDS), parallelism > 1);
+  }
+
+  /**
+   * Similar to {@link #setBatchGetParallelism(int)} but uses an executor owned by the caller, e.g. to share one bounded
+   * pool between several DAOs on the same Ebean server. Set to null to run sub queries sequentially. The executor is
+   * never shut down by the DAO.
+   */
+  public void setBatchGetExecutor(@Nullable ExecutorService executor) {
+    replaceBatchGetExecutor(executor, false);
+  }
+
+  private synchronized void replaceBatchGetExecutor(@Nullable ExecutorService executor, boolean owned) {
+    final ExecutorService previous = _ownsBatchGetExecutor ? _batchGetExecutor : null;
+    _batchGetExecutor = executor;
+    _ownsBatchGetExecutor = owned;
+    if (previous != null) {
+      previous.shutdown();
+    }
+  }
+
+  /**
+   * Sets the {@link TransactionRetryPolicy} of transactions that conflict with other writes. By default, they're retried
+   * right away.
+   */
+  public void setTransactionRetryPolicy(@Nonnull TransactionRetryPolicy transactionRetryPolicy) {
+    _transactionRetryPolicy = transactionRetryPolicy;
+  }
+
+  /**
+   * Returns how many transactions writing an aspect class failed because of a conflict with another write, including
+   * the ones that were retried. Pass {@link RecordTemplate} to get the transactions that don't write a single aspect
+   * class, e.g. atomic multiple updates.
+   */
+  public long getTransactionConflictCount(@Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final LongAdder counter = _transactionConflicts.get(aspectClass);
+    return counter == null ? 0 : counter.sum();
+  }
+
+  /**
+   * Returns how many times transactions writing an aspect class were retried after a conflict, see
+   * {@link #getTransactionConflictCount(Class)}.
+   */
+  public long getTransactionRetryCount(@Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final LongAdder counter = _transactionRetries.get(aspectClass);
+    return counter == null ? 0 : counter.sum();
+  }
+
+  /**
+   * Adds a {@link MetricListener} to receive lower level metrics of this DAO.
+   */
+  public void addMetricListener(@Nonnull MetricListener metricListener) {
+    _metricListeners.add(metricListener);
+  }
+
   /**
    * Set a local relationship builder registry.
    */
@@ -682,8 +1212,28 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   }
 
   /**
-   * BatchGet that allows pagination on keys to avoid large queries.
-   * TODO: can further improve by running the sub queries in parallel
+   * Sets the maximum number of local relationships inserted by one statement, rounded down to a power of two.
+   * Only applies to the new schema.
+   */
+  public void setLocalRelationshipInsertBatchSize(int insertBatchSize) {
+    if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY) {
+      _localAccess.setLocalRelationshipInsertBatchSize(insertBatchSize);
+    }
+  }
+
+  /**
+   * Sets whether local relationships replaced by a new aspect value are diffed with the new relationships, so only the
+   * changed ones are deleted and inserted. Only applies to the new schema.
+   */
+  public void setLocalRelationshipDiffMode(boolean diffMode) {
+    if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY) {
+      _localAccess.setLocalRelationshipDiffMode(diffMode);
+    }
+  }
+
+  /**
+   * BatchGet that allows pagination on keys to avoid large queries. The sub queries run in parallel if a batch get
+   * executor is configured and there's no transaction in scope, see {@link #setBatchGetParallelism(int)}.
    *
    * @param keys a set of keys with urn, aspect and version
    * @param keysCount the max number of keys for each sub query
@@ -694,16 +1244,64 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
     int position = 0;
     final int totalPageCount = QueryUtils.getTotalPageCount(keys.size(), keysCount);
+    final List<AspectKey<URN, ? extends RecordTemplate>> keyList = new ArrayList<>(keys);
 
-    List<EbeanMetadataAspect> finalResult = batchGetHelper(new ArrayList<>(keys), keysCount, position);
+    if (_batchGetExecutor != null && totalPageCount > 1 && _server.currentTransaction() == null) {
+      return batchGetInParallel(keyList, keysCount, totalPageCount);
+    }
+
+    final List<EbeanMetadataAspect> finalResult = new ArrayList<>(timedBatchGetHelper(keyList, keysCount, position, false));
     while (QueryUtils.hasMore(position, keysCount, totalPageCount)) {
       position += keysCount;
-      final List<EbeanMetadataAspect> oneStatementResult = batchGetHelper(new ArrayList<>(keys), keysCount, position);
+      final List<EbeanMetadataAspect> oneStatementResult = timedBatchGetHelper(keyList, keysCount, position, false);
       finalResult.addAll(oneStatementResult);
     }
     return finalResult;
   }
 
+  /**
+   * Submits every page of a batch get to the batch get executor and merges the results in page order.
+   */
+  @Nonnull
+  private List<EbeanMetadataAspect> batchGetInParallel(@Nonnull List<AspectKey<URN, ? extends RecordTemplate>> keys,
+      int keysCount, int totalPageCount) {
+
+    final List<Future<List<EbeanMetadataAspect>>> pages = new ArrayList<>(totalPageCount);
+    for (int page = 0; page < totalPageCount; page++) {
+      final int position = page * keysCount;
+      pages.add(_batchGetExecutor.submit(() -> timedBatchGetHelper(keys, keysCount, position, true)));
+    }
+
+    final List<EbeanMetadataAspect> finalResult = new ArrayList<>();
+    try {
+      for (Future<List<EbeanMetadataAspect>> page : pages) {
+        finalResult.addAll(page.get());
+      }
+    } catch (InterruptedException e) {
+      pages.forEach(page -> page.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for batch get sub queries", e);
+    } catch (ExecutionException e) {
+      pages.forEach(page -> page.cancel(true));
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+    return finalResult;
+  }
+
+  @Nonnull
+  private List<EbeanMetadataAspect> timedBatchGetHelper(@Nonnull List<AspectKey<URN, ? extends RecordTemplate>> keys,
+      int keysCount, int position, boolean parallel) {
+    final long start = System.nanoTime();
+    final List<EbeanMetadataAspect> result = batchGetHelper(keys, keysCount, position);
+    if (!_metricListeners.isEmpty()) {
+      final long queryTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      final int pageKeysCount = Math.min(keys.size(), position + keysCount) - position;
+      _metricListeners.forEach(listener -> listener.onBatchGetPage(pageKeysCount, result.size(), queryTimeMs, parallel));
+    }
+    return result;
+  }
+
   /**
    * Builds a single SELECT statement for batch get, which selects one entity, and then can be UNION'd with other SELECT
    * statements.
@@ -802,13 +1400,36 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   }
 
   /**
-   * Checks if an {@link AspectKey} and a {@link PrimaryKey} for Ebean are equivalent.
+   * Builds a hash index over the rows returned by a batch get, so that each requested key can be resolved in constant
+   * time. If several rows map to the same normalized key, the first one wins, same as a linear scan would.
    *
-   * @param aspectKey Urn needs to do a ignore case match
+   * @param records rows returned from the old or new schema tables
+   * @return map from normalized (urn, aspect, version) to the corresponding row
    */
-  boolean matchKeys(@Nonnull AspectKey<URN, ? extends RecordTemplate> aspectKey, @Nonnull PrimaryKey pk) {
-    return aspectKey.getUrn().toString().equalsIgnoreCase(pk.getUrn()) && aspectKey.getVersion() == pk.getVersion()
-        && ModelUtils.getAspectName(aspectKey.getAspectClass()).equals(pk.getAspect());
+  @Nonnull
+  static Map<AspectLookupKey, EbeanMetadataAspect> indexRecords(@Nonnull List<EbeanMetadataAspect> records) {
+    final Map<AspectLookupKey, EbeanMetadataAspect> recordIndex = new HashMap<>((int) (records.size() / 0.75f) + 1);
+    for (EbeanMetadataAspect record : records) {
+      recordIndex.putIfAbsent(toLookupKey(record.getKey()), record);
+    }
+    return recordIndex;
+  }
+
+  /**
+   * Normalizes an {@link AspectKey} into the key used by {@link #indexRecords(List)}.
+   */
+  @Nonnull
+  static AspectLookupKey toLookupKey(@Nonnull AspectKey<?, ? extends RecordTemplate> aspectKey) {
+    return new AspectLookupKey(aspectKey.getUrn().toString().toLowerCase(Locale.ROOT),
+        ModelUtils.getAspectName(aspectKey.getAspectClass()), aspectKey.getVersion());
+  }
+
+  /**
+   * Normalizes an Ebean {@link PrimaryKey} into the key used by {@link #indexRecords(List)}.
+   */
+  @Nonnull
+  static AspectLookupKey toLookupKey(@Nonnull PrimaryKey pk) {
+    return new AspectLookupKey(pk.getUrn().toLowerCase(Locale.ROOT), pk.getAspect(), pk.getVersion());
   }
 
   @Override
@@ -936,12 +1557,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
   @Nonnull
   URN getUrn(@Nonnull String urn) {
-    try {
-      final Method getUrn = _urnClass.getMethod("createFromString", String.class);
-      return _urnClass.cast(getUrn.invoke(null, urn));
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-      throw new IllegalArgumentException("URN conversion error for " + urn, e);
-    }
+    return EBeanDAOUtils.getUrn(urn, _urnClass);
   }
 
   @Nonnull
@@ -1018,22 +1634,80 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return listResultMetadata;
   }
 
+  /**
+   * Sets how many IDs {@link #newNumericId(String, int)} reserves per transaction.
+   *
+   * <p>With a block size larger than 1, each transaction reserves a block of IDs by inserting the block's last ID, and
+   * the IDs of the block are then handed out from memory. IDs are still unique across hosts, but they're no longer
+   * handed out in order across hosts, and IDs left in a block are skipped when the process restarts.
+   *
+   * @param idBlockSize number of IDs reserved per transaction. 1 means one transaction per ID (default)
+   */
+  public void setIdBlockSize(int idBlockSize) {
+    if (idBlockSize <= 0) {
+      throw new IllegalArgumentException("ID block size must be positive: " + idBlockSize);
+    }
+    _idBlockSize = idBlockSize;
+  }
+
   @Override
   public long newNumericId(@Nonnull String namespace, int maxTransactionRetry) {
-    return runInTransactionWithRetry(() -> {
-      final Optional<EbeanMetadataId> result = _server.find(EbeanMetadataId.class)
+    final int blockSize = _idBlockSize;
+    if (blockSize == 1) {
+      return reserveIdBlock(namespace, 1, maxTransactionRetry).getEnd();
+    }
+
+    while (true) {
+      final IdBlock block = _idBlocks.get(namespace);
+      if (block != null) {
+        final long id = block.getNext().getAndIncrement();
+        if (id <= block.getEnd()) {
+          return id;
+        }
+      }
+
+      // The block is used up, only one thread per namespace reserves the next one while the others wait for it
+      synchronized (_idBlockLocks.computeIfAbsent(namespace, key -> new Object())) {
+        if (_idBlocks.get(namespace) == block) {
+          _idBlocks.put(namespace, reserveIdBlock(namespace, blockSize, maxTransactionRetry));
+        }
+      }
+    }
+  }
+
+  /**
+   * Reserves the next {@code blockSize} IDs of a namespace by inserting the last one.
+   *
+   * <p>For blocks larger than 1, the current largest ID is read with a locking read, so concurrent reservations on other
+   * hosts wait for this one to commit instead of reading the same largest ID. Single IDs keep the plain read and rely on
+   * the unique constraint on (namespace, id) and the transaction retry, which also catches any overlap with a block.
+   */
+  @Nonnull
+  private IdBlock reserveIdBlock(@Nonnull String namespace, int blockSize, int maxTransactionRetry) {
+    final long start = System.nanoTime();
+    final AtomicInteger attempts = new AtomicInteger();
+    final long end = runInTransactionWithRetry(() -> {
+      attempts.incrementAndGet();
+      final Query<EbeanMetadataId> query = _server.find(EbeanMetadataId.class)
           .where()
           .eq(EbeanMetadataId.NAMESPACE_COLUMN, namespace)
           .orderBy()
           .desc(EbeanMetadataId.ID_COLUMN)
-          .setMaxRows(1)
-          .findOneOrEmpty();
+          .setMaxRows(1);
+      final Optional<EbeanMetadataId> result = (blockSize > 1 ? query.forUpdate() : query).findOneOrEmpty();
 
       EbeanMetadataId id = result.orElse(new EbeanMetadataId(namespace, 0));
-      id.setId(id.getId() + 1);
+      id.setId(id.getId() + blockSize);
       _server.insert(id);
       return id;
     }, maxTransactionRetry).getId();
+
+    if (!_metricListeners.isEmpty()) {
+      final long reservationTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      final int retries = attempts.get() - 1;
+      _metricListeners.forEach(listener -> listener.onIdBlockReserved(namespace, blockSize, reservationTimeMs, retries));
+    }
+    return new IdBlock(end - blockSize + 1, end);
   }
 
   @Nonnull
@@ -1304,6 +1978,33 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return urnsOld;
   }
 
+  /**
+   * Only the new schema supports total count modes other than {@link TotalCountMode#EXACT}. Otherwise this is the same
+   * as {@link #listUrns(IndexFilter, IndexSortCriterion, int, int)}.
+   */
+  @Override
+  @Nonnull
+  public ListResult<URN> listUrns(@Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
+      int start, int pageSize, @Nonnull TotalCountMode totalCountMode) {
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      return _localAccess.listUrns(indexFilter, indexSortCriterion, start, pageSize, totalCountMode);
+    }
+    return listUrns(indexFilter, indexSortCriterion, start, pageSize);
+  }
+
+  /**
+   * In the new schema, urns are listed straight from the entity table by seeking on its primary key. Otherwise they're
+   * listed from the local secondary index, which also seeks on urn.
+   */
+  @Override
+  @Nonnull
+  protected List<URN> listUrnsAfter(@Nonnull Class<URN> urnClazz, @Nullable URN lastUrn, int pageSize) {
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      return _localAccess.listUrnsAfter(lastUrn, pageSize);
+    }
+    return super.listUrnsAfter(urnClazz, lastUrn, pageSize);
+  }
+
   /**
    *  Similar to {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)} but returns a list result with pagination
    *  information.
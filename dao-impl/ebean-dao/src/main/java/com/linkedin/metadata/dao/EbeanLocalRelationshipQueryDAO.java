@@ -42,6 +42,14 @@ public class EbeanLocalRelationshipQueryDAO {
     _sqlGenerator = new MultiHopsTraversalSqlGenerator(SUPPORTED_CONDITIONS);
   }
 
+  /**
+   * Sets the maximum number of entities on each hop of a multi-hops traversal, see
+   * {@link MultiHopsTraversalSqlGenerator#setMaxFrontierSize(int)}.
+   */
+  public void setMaxFrontierSize(int maxFrontierSize) {
+    _sqlGenerator.setMaxFrontierSize(maxFrontierSize);
+  }
+
   static final Map<Condition, String> SUPPORTED_CONDITIONS =
       Collections.unmodifiableMap(new HashMap<Condition, String>() {
         {
@@ -108,12 +116,18 @@ public class EbeanLocalRelationshipQueryDAO {
     return results;
   }
 
+  /**
+   * Not supported. The criteria of {@link Filter} and {@link RelationshipFilter} name graph fields, which don't map to
+   * the aspect columns of the local entity and relationship tables. Traverse over several hops with
+   * {@link #findEntities(Class, LocalRelationshipFilter, Class, LocalRelationshipFilter, Class, LocalRelationshipFilter, int, int, int, int)}
+   * instead.
+   */
   @Nonnull
   public <SRC_ENTITY extends RecordTemplate, RELATIONSHIP extends RecordTemplate, INTER_ENTITY extends RecordTemplate> List<RecordTemplate> findEntities(
       @Nullable Class<SRC_ENTITY> sourceEntityClass, @Nonnull Filter sourceEntityFilter,
       @Nonnull List<Triplet<Class<RELATIONSHIP>, RelationshipFilter, Class<INTER_ENTITY>>> traversePaths, int offset,
       int count) {
-    throw new UnsupportedOperationException("Multi-hops traversal by traversePaths is not supported yet.");
+    throw new UnsupportedOperationException("Multi-hops traversal by traversePaths is not supported, use minHops and maxHops instead.");
   }
 
   /**
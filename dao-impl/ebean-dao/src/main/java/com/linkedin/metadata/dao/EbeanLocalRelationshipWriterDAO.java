@@ -1,5 +1,6 @@
 package com.linkedin.metadata.dao;
 
+import com.google.common.collect.Lists;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder;
@@ -10,10 +11,16 @@ import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
 import com.linkedin.metadata.dao.utils.SQLStatementUtils;
 import com.linkedin.metadata.validator.RelationshipValidator;
 import io.ebean.EbeanServer;
+import io.ebean.SqlQuery;
+import io.ebean.SqlRow;
 import io.ebean.SqlUpdate;
 import io.ebean.annotation.Transactional;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,7 +31,12 @@ import static com.linkedin.metadata.dao.utils.ModelUtils.*;
 
 public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
   private static final String DEFAULT_ACTOR = "urn:li:principal:UNKNOWN";
+  private static final int DEFAULT_INSERT_BATCH_SIZE = 512;
+  // Maximum number of ids bound to one DELETE statement of the diff mode, well below the bind parameter limits of drivers
+  private static final int DELETE_BATCH_SIZE = 1000;
   private final EbeanServer _server;
+  private int _insertBatchSize = DEFAULT_INSERT_BATCH_SIZE;
+  private boolean _diffMode = false;
 
   // Common column names shared by all local relationship tables.
   private static class CommonColumnName {
@@ -35,12 +47,37 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     private static final String METADATA = "metadata";
     private static final String LAST_MODIFIED_ON = "lastmodifiedon";
     private static final String LAST_MODIFIED_BY = "lastmodifiedby";
+    private static final String ID = "id";
+    private static final String IDS = "ids";
   }
 
   public EbeanLocalRelationshipWriterDAO(EbeanServer server) {
     _server = server;
   }
 
+  /**
+   * Sets the maximum number of relationships inserted by one multi-row INSERT statement. Each statement inserts a power
+   * of two rows, so a size that isn't a power of two is rounded down to one, e.g. 500 inserts at most 256 rows at a time.
+   */
+  public void setInsertBatchSize(int insertBatchSize) {
+    if (insertBatchSize <= 0) {
+      throw new IllegalArgumentException("Insert batch size must be positive: " + insertBatchSize);
+    }
+    _insertBatchSize = insertBatchSize;
+  }
+
+  /**
+   * Sets whether to diff the new relationships with the existing ones that the {@link RemovalOption} replaces.
+   *
+   * <p>In diff mode, only the existing relationships that aren't among the new ones are deleted, and only the new
+   * relationships that don't exist yet are inserted, instead of deleting all the existing ones and inserting all the new
+   * ones. Relationships that are kept also keep their last modified time. Has no effect with
+   * {@link RemovalOption#REMOVE_NONE}, as nothing is replaced.
+   */
+  public void setDiffMode(boolean diffMode) {
+    _diffMode = diffMode;
+  }
+
   /**
    * Process the local relationship updates with transaction guarantee.
    * @param relationshipUpdates Updates to local relationship tables.
@@ -94,25 +131,48 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
 
     RELATIONSHIP firstRelationship = relationshipGroup.get(0);
     RelationshipValidator.validateRelationshipSchema(firstRelationship.getClass());
+    final String tableName = SQLSchemaUtils.getRelationshipTableName(firstRelationship);
+
+    List<RELATIONSHIP> newRelationships = relationshipGroup;
+    if (_diffMode && removalOption != RemovalOption.REMOVE_NONE) {
+      newRelationships = processRemovalOptionWithDiff(tableName, relationshipGroup, removalOption);
+    } else {
+      // Process remove option to delete some local relationships if nedded before adding new relationships.
+      processRemovalOption(tableName, firstRelationship, removalOption);
+    }
 
-    // Process remove option to delete some local relationships if nedded before adding new relationships.
-    processRemovalOption(SQLSchemaUtils.getRelationshipTableName(firstRelationship), firstRelationship, removalOption);
-
-    long now = Instant.now().toEpochMilli();
-
-    for (RELATIONSHIP relationship : relationshipGroup) {
-      Urn source = getSourceUrnFromRelationship(relationship);
-      Urn destination = getDestinationUrnFromRelationship(relationship);
+    insertRelationships(tableName, newRelationships);
+  }
 
-      _server.createSqlUpdate(SQLStatementUtils.insertLocalRelationshipSQL(SQLSchemaUtils.getRelationshipTableName(relationship)))
-          .setParameter(CommonColumnName.METADATA, RecordUtils.toJsonString(relationship))
-          .setParameter(CommonColumnName.SOURCE_TYPE, source.getEntityType())
-          .setParameter(CommonColumnName.DESTINATION_TYPE, destination.getEntityType())
-          .setParameter(CommonColumnName.SOURCE, source.toString())
-          .setParameter(CommonColumnName.DESTINATION, destination.toString())
-          .setParameter(CommonColumnName.LAST_MODIFIED_ON, new Timestamp(now))
-          .setParameter(CommonColumnName.LAST_MODIFIED_BY, DEFAULT_ACTOR)
-          .execute();
+  /**
+   * Inserts the relationships with multi-row INSERT statements of at most {@link #setInsertBatchSize(int)} rows each.
+   * Each statement inserts a power of two rows, so that only a few statement texts are cached per table.
+   */
+  @ParametersAreNonnullByDefault
+  private <RELATIONSHIP extends RecordTemplate> void insertRelationships(String tableName, List<RELATIONSHIP> relationships) {
+    final Timestamp now = new Timestamp(Instant.now().toEpochMilli());
+
+    int from = 0;
+    while (from < relationships.size()) {
+      final int rowCount = Integer.highestOneBit(Math.min(relationships.size() - from, _insertBatchSize));
+      final List<RELATIONSHIP> batch = relationships.subList(from, from + rowCount);
+      from += rowCount;
+
+      final SqlUpdate insertSQL = _server.createSqlUpdate(SQLStatementUtils.insertLocalRelationshipsSQL(tableName, rowCount));
+      int position = 0;
+      for (RELATIONSHIP relationship : batch) {
+        final Urn source = getSourceUrnFromRelationship(relationship);
+        final Urn destination = getDestinationUrnFromRelationship(relationship);
+
+        insertSQL.setParameter(++position, RecordUtils.toJsonString(relationship))
+            .setParameter(++position, source.toString())
+            .setParameter(++position, destination.toString())
+            .setParameter(++position, source.getEntityType())
+            .setParameter(++position, destination.getEntityType())
+            .setParameter(++position, now)
+            .setParameter(++position, DEFAULT_ACTOR);
+      }
+      insertSQL.execute();
     }
   }
 
@@ -125,18 +185,64 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     }
 
     SqlUpdate deletionSQL = _server.createSqlUpdate(SQLStatementUtils.deleteLocaRelationshipSQL(tableName, removalOption));
-    Urn source = getSourceUrnFromRelationship(relationship);
-    Urn destination = getDestinationUrnFromRelationship(relationship);
-
-    if (removalOption == RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE_TO_DESTINATION) {
-      deletionSQL.setParameter(CommonColumnName.DESTINATION, destination.toString());
-      deletionSQL.setParameter(CommonColumnName.SOURCE, source.toString());
-    } else if (removalOption == RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE) {
-      deletionSQL.setParameter(CommonColumnName.SOURCE, source.toString());
-    } else if (removalOption == RemovalOption.REMOVE_ALL_EDGES_TO_DESTINATION) {
-      deletionSQL.setParameter(CommonColumnName.DESTINATION, destination.toString());
-    }
+    getRemovalParameters(relationship, removalOption).forEach(deletionSQL::setParameter);
 
     deletionSQL.execute();
   }
+
+  /**
+   * Diffs the new relationships with the existing ones that the removal option replaces, deletes the existing ones that
+   * aren't among the new ones, and returns the new ones that don't exist yet, which are left to be inserted. Both sides
+   * are compared as multisets, so duplicate relationships are kept as many times as they're given.
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  private <RELATIONSHIP extends RecordTemplate> List<RELATIONSHIP> processRemovalOptionWithDiff(String tableName,
+      List<RELATIONSHIP> relationships, RemovalOption removalOption) {
+    @SuppressWarnings("unchecked")
+    final Class<RELATIONSHIP> relationshipClass = (Class<RELATIONSHIP>) relationships.get(0).getClass();
+
+    final SqlQuery selectionSQL = _server.createSqlQuery(SQLStatementUtils.selectLocalRelationshipSQL(tableName, removalOption));
+    getRemovalParameters(relationships.get(0), removalOption).forEach(selectionSQL::setParameter);
+
+    // ids of the existing rows of each relationship
+    final Map<RELATIONSHIP, Deque<Long>> existingIds = new HashMap<>();
+    for (SqlRow row : selectionSQL.findList()) {
+      final RELATIONSHIP existing = RecordUtils.toRecordTemplate(relationshipClass, row.getString(CommonColumnName.METADATA));
+      existingIds.computeIfAbsent(existing, r -> new ArrayDeque<>()).add(row.getLong(CommonColumnName.ID));
+    }
+
+    final List<RELATIONSHIP> newRelationships = new ArrayList<>();
+    for (RELATIONSHIP relationship : relationships) {
+      final Deque<Long> ids = existingIds.get(relationship);
+      if (ids == null || ids.poll() == null) {
+        newRelationships.add(relationship);
+      }
+    }
+
+    final List<Long> staleIds = existingIds.values().stream().flatMap(Deque::stream).collect(Collectors.toList());
+    for (List<Long> batch : Lists.partition(staleIds, DELETE_BATCH_SIZE)) {
+      _server.createSqlUpdate(SQLStatementUtils.deleteLocalRelationshipsByIdSQL(tableName))
+          .setParameter(CommonColumnName.IDS, batch)
+          .execute();
+    }
+
+    return newRelationships;
+  }
+
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  private <RELATIONSHIP extends RecordTemplate> Map<String, Object> getRemovalParameters(RELATIONSHIP relationship,
+      RemovalOption removalOption) {
+    final Map<String, Object> parameters = new HashMap<>();
+    if (removalOption == RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE_TO_DESTINATION
+        || removalOption == RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE) {
+      parameters.put(CommonColumnName.SOURCE, getSourceUrnFromRelationship(relationship).toString());
+    }
+    if (removalOption == RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE_TO_DESTINATION
+        || removalOption == RemovalOption.REMOVE_ALL_EDGES_TO_DESTINATION) {
+      parameters.put(CommonColumnName.DESTINATION, getDestinationUrnFromRelationship(relationship).toString());
+    }
+    return parameters;
+  }
 }
@@ -0,0 +1,77 @@
+package com.linkedin.metadata.dao;
+
+import io.ebean.Model;
+import java.sql.Timestamp;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+
+/**
+ * Schema definition for the outbox of metadata audit events, written in the same transaction as the aspects and relayed
+ * to the producer by {@link EbeanAuditEventRelay}.
+ */
+@Getter
+@Setter
+@Entity
+@Accessors(chain = true)
+@Table(name = "metadata_audit_outbox")
+public class EbeanMetadataAuditEvent extends Model {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String ID_COLUMN = "id";
+  public static final String URN_COLUMN = "urn";
+  public static final String ASPECT_COLUMN = "aspect";
+  public static final String OLD_VALUE_COLUMN = "oldValue";
+  public static final String NEW_VALUE_COLUMN = "newValue";
+  public static final String EMIT_AUDIT_EVENT_COLUMN = "emitAuditEvent";
+  public static final String EMIT_ASPECT_SPECIFIC_AUDIT_EVENT_COLUMN = "emitAspectSpecificAuditEvent";
+  public static final String CREATED_ON_COLUMN = "createdOn";
+  public static final String DEAD_LETTER_COLUMN = "deadLetter";
+
+  // Increases in insertion order, which is the order events are relayed in
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = ID_COLUMN)
+  protected long id;
+
+  @NonNull
+  @Column(name = URN_COLUMN, length = 500, nullable = false)
+  protected String urn;
+
+  @NonNull
+  @Column(name = ASPECT_COLUMN, length = 200, nullable = false)
+  protected String aspect;
+
+  @Lob
+  @Column(name = OLD_VALUE_COLUMN)
+  protected String oldValue;
+
+  @NonNull
+  @Lob
+  @Column(name = NEW_VALUE_COLUMN, nullable = false)
+  protected String newValue;
+
+  @Column(name = EMIT_AUDIT_EVENT_COLUMN, nullable = false)
+  protected boolean emitAuditEvent;
+
+  @Column(name = EMIT_ASPECT_SPECIFIC_AUDIT_EVENT_COLUMN, nullable = false)
+  protected boolean emitAspectSpecificAuditEvent;
+
+  @NonNull
+  @Column(name = CREATED_ON_COLUMN, nullable = false)
+  protected Timestamp createdOn;
+
+  // Why the event can never be produced, set instead of removing the event so that it can be inspected and fixed
+  @Column(name = DEAD_LETTER_COLUMN, length = 1000)
+  protected String deadLetter;
+}
@@ -0,0 +1,43 @@
+package com.linkedin.metadata.dao;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * A {@link TransactionRetryPolicy} with exponential backoff, full jitter and a deadline.
+ *
+ * <p>Before retry n, it waits a random time between 0 and min(maxBackoffMillis, baseBackoffMillis * 2^(n-1)), so writers
+ * that conflicted with each other spread their retries out instead of colliding again. It gives up once the call would
+ * run past the deadline by waiting.
+ */
+public class ExponentialBackoffRetryPolicy implements TransactionRetryPolicy {
+
+  private final long _baseBackoffMillis;
+  private final long _maxBackoffMillis;
+  private final long _deadlineMillis;
+
+  /**
+   * Constructor for ExponentialBackoffRetryPolicy.
+   *
+   * @param baseBackoffMillis upper bound of the wait before the first retry, in milliseconds
+   * @param maxBackoffMillis upper bound of the wait before any retry, in milliseconds
+   * @param deadlineMillis how long (in milliseconds) a call can take in total before it stops retrying
+   */
+  public ExponentialBackoffRetryPolicy(long baseBackoffMillis, long maxBackoffMillis, long deadlineMillis) {
+    if (baseBackoffMillis <= 0 || maxBackoffMillis < baseBackoffMillis || deadlineMillis <= 0) {
+      throw new IllegalArgumentException(
+          "baseBackoffMillis and deadlineMillis must be positive, and maxBackoffMillis at least baseBackoffMillis");
+    }
+    _baseBackoffMillis = baseBackoffMillis;
+    _maxBackoffMillis = maxBackoffMillis;
+    _deadlineMillis = deadlineMillis;
+  }
+
+  @Override
+  public long getBackoffMillis(int retry, long elapsedMillis) {
+    // cap the shift so the backoff can't overflow, it's bounded by maxBackoffMillis long before that anyway
+    final long ceiling = Math.min(_maxBackoffMillis, _baseBackoffMillis << Math.min(retry - 1, 30));
+    final long backoffMillis = ThreadLocalRandom.current().nextLong(ceiling + 1);
+    return elapsedMillis + backoffMillis > _deadlineMillis ? -1 : backoffMillis;
+  }
+}
@@ -8,6 +8,7 @@ import com.linkedin.metadata.dao.scsi.UrnPathExtractor;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
+import com.linkedin.metadata.query.TotalCountMode;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
@@ -20,6 +21,16 @@ public interface IEbeanLocalAccess<URN extends Urn> {
 
   void setUrnPathExtractor(@Nonnull UrnPathExtractor<URN> urnPathExtractor);
 
+  /**
+   * Sets the number of rows after which {@link TotalCountMode#CAPPED} stops counting.
+   */
+  void setTotalCountCap(int totalCountCap);
+
+  /**
+   * Sets how long total counts of {@link TotalCountMode#CACHED} are reused for. This clears the cached counts.
+   */
+  void setTotalCountCacheTtl(long ttlMillis);
+
   /**
    * Upsert aspect into entity table.
    * @param urn entity urn
@@ -67,6 +78,17 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   List<URN> listUrns(@Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
       @Nullable URN lastUrn, int pageSize);
 
+  /**
+   * Returns a page of urns in the entity table that come after {@code lastUrn}, ordered lexicographically. The page is
+   * fetched by seeking on urn, without an offset or a total count.
+   *
+   * @param lastUrn last urn of the previous page. For the first page, this should be set as NULL
+   * @param pageSize maximum number of urns to return
+   * @return list of urns after {@code lastUrn}
+   */
+  @Nonnull
+  List<URN> listUrnsAfter(@Nullable URN lastUrn, int pageSize);
+
   /**
    * Similar to {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)} but returns a list result with pagination
    * information.
@@ -77,6 +99,17 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   ListResult<URN> listUrns(@Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
       int start, int pageSize);
 
+  /**
+   * Similar to {@link #listUrns(IndexFilter, IndexSortCriterion, int, int)} but computes the total count according to
+   * the given {@link TotalCountMode}. Except for {@link TotalCountMode#EXACT}, the page is fetched without a total count
+   * subquery.
+   *
+   * @param totalCountMode how the total count should be computed
+   * @return a {@link ListResult} containing a list of urns and other pagination information
+   */
+  ListResult<URN> listUrns(@Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
+      int start, int pageSize, @Nonnull TotalCountMode totalCountMode);
+
 
   /**
    * Returns a boolean representing if an Urn has any Aspects associated with it (i.e. if it exists in the DB).
@@ -114,4 +147,16 @@ public interface IEbeanLocalAccess<URN extends Urn> {
    *                                         Can be set to null to turn off local relationship ingestion.
    */
   void setLocalRelationshipBuilderRegistry(@Nullable LocalRelationshipBuilderRegistry localRelationshipBuilderRegistry);
+
+  /**
+   * Sets the maximum number of local relationships inserted by one statement, rounded down to a power of two, see
+   * {@link EbeanLocalRelationshipWriterDAO#setInsertBatchSize(int)}.
+   */
+  void setLocalRelationshipInsertBatchSize(int insertBatchSize);
+
+  /**
+   * Sets whether replaced local relationships are diffed with the new ones instead of being deleted and re-inserted, see
+   * {@link EbeanLocalRelationshipWriterDAO#setDiffMode(boolean)}.
+   */
+  void setLocalRelationshipDiffMode(boolean diffMode);
 }
@@ -0,0 +1,24 @@
+package com.linkedin.metadata.dao;
+
+/**
+ * Decides how long {@link EbeanLocalDAO} waits before retrying a transaction that failed because of a conflict with
+ * another write, see {@link EbeanLocalDAO#setTransactionRetryPolicy(TransactionRetryPolicy)}.
+ */
+@FunctionalInterface
+public interface TransactionRetryPolicy {
+
+  /**
+   * Retries right away, without any delay between attempts.
+   */
+  TransactionRetryPolicy IMMEDIATE = (retry, elapsedMillis) -> 0;
+
+  /**
+   * Gets how long to wait before retrying a transaction. The number of retries is still limited by the maximum
+   * transaction retry of the call.
+   *
+   * @param retry the number of the retry about to happen, starting from 1
+   * @param elapsedMillis how long (in milliseconds) the call has taken so far, including all the failed attempts
+   * @return how long (in milliseconds) to wait before the retry, or a negative value to give up without retrying
+   */
+  long getBackoffMillis(int retry, long elapsedMillis);
+}
@@ -6,8 +6,6 @@ import com.linkedin.metadata.dao.ListResult;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.aspect.SoftDeletedAspect;
 import io.ebean.SqlRow;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,12 +44,7 @@ public class EBeanDAOUtils {
    */
   @Nonnull
   public static <URN> URN getUrn(@Nonnull String urn, @Nonnull Class<URN> urnClass) {
-    try {
-      final Method getUrn = urnClass.getMethod("createFromString", String.class);
-      return urnClass.cast(getUrn.invoke(null, urn));
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-      throw new IllegalArgumentException("URN conversion error for " + urn, e);
-    }
+    return ModelMetadataRegistry.createUrn(urn, urnClass);
   }
 
   /**
@@ -3,9 +3,12 @@ package com.linkedin.metadata.dao.utils;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.RelationshipDirection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.javatuples.Pair;
 
@@ -14,14 +17,30 @@ import org.javatuples.Pair;
  * Multi-hops traversal on graph backed by local relationship tables.
  */
 public class MultiHopsTraversalSqlGenerator {
+  private static final int DEFAULT_MAX_FRONTIER_SIZE = 10000;
   private static Map<Condition, String> _supportedConditions;
+  private int _maxFrontierSize = DEFAULT_MAX_FRONTIER_SIZE;
 
   public MultiHopsTraversalSqlGenerator(Map<Condition, String> supportedConditions) {
     _supportedConditions = Collections.unmodifiableMap(supportedConditions);
   }
 
+  /**
+   * Sets the maximum number of entities on each hop of a multi-hops traversal, including the entities it starts from.
+   * Entities beyond this number (in urn order) are dropped from the hop, which bounds how wide the traversal can fan out.
+   */
+  public void setMaxFrontierSize(int maxFrontierSize) {
+    if (maxFrontierSize <= 0) {
+      throw new IllegalArgumentException("Max frontier size must be positive: " + maxFrontierSize);
+    }
+    _maxFrontierSize = maxFrontierSize;
+  }
+
   /**
    * Construct a SQL query which finds entities by traversing the graph based on the given filters.
+   *
+   * <p>One-hop traversal is a join of the relationship table with the entity tables. Traversal over more hops is a single
+   * statement with a CTE per hop, see {@link #multiHopsUrnsSql}.
    */
   @Nonnull
   @ParametersAreNonnullByDefault
@@ -29,13 +48,8 @@ public class MultiHopsTraversalSqlGenerator {
       String srcEntityTable, String destEntityTable, LocalRelationshipFilter relationshipFilter, LocalRelationshipFilter srcFilter,
       LocalRelationshipFilter destFilter) {
 
-    /*
-     * For now, only one-hop traversal is supported because multi-hops traversal using SQL is expensive
-     * and implementation is error-prone. Application side can also perform multi-hops traversal with one-hop traversal.
-     * We might consider to support multi-hop traversal in the future if strong use case appears.
-     */
-    if (minHop != 1 || maxHop != 1) {
-      throw new UnsupportedOperationException("Only one-hop traversal is supported.");
+    if (minHop < 1 || maxHop < minHop) {
+      throw new IllegalArgumentException(String.format("Invalid hops range [%d, %d].", minHop, maxHop));
     }
 
     if (relationshipFilter.getDirection() == RelationshipDirection.UNDIRECTED && !srcEntityTable.equals(destEntityTable)) {
@@ -44,6 +58,11 @@ public class MultiHopsTraversalSqlGenerator {
 
     final String entityTable = relationshipFilter.getDirection() == RelationshipDirection.INCOMING ? srcEntityTable : destEntityTable;
 
+    if (maxHop > 1) {
+      return multiHopsTraversalSql(minHop, maxHop, count, offset, relationshipTable, srcEntityTable, destEntityTable,
+          relationshipFilter, srcFilter, destFilter);
+    }
+
     // If relationship direction is directed.
     if (relationshipFilter.getDirection() == RelationshipDirection.INCOMING
         || relationshipFilter.getDirection() == RelationshipDirection.OUTGOING) {
@@ -57,6 +76,105 @@ public class MultiHopsTraversalSqlGenerator {
     return findEntitiesUndirected(entityTable, relationshipTable, urnSql, destFilter);
   }
 
+  /**
+   * Construct a SQL query which finds entities between minHop and maxHop hops away, with maxHop greater than one.
+   *
+   * <p>The traversal starts from the source entities for OUTGOING and UNDIRECTED relationships, and from the destination
+   * entities for INCOMING relationships. The entities at the other end are filtered and paginated like for one hop.
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  private String multiHopsTraversalSql(int minHop, int maxHop, int count, int offset, String relationshipTable,
+      String srcEntityTable, String destEntityTable, LocalRelationshipFilter relationshipFilter, LocalRelationshipFilter srcFilter,
+      LocalRelationshipFilter destFilter) {
+    final RelationshipDirection direction = relationshipFilter.getDirection();
+    final boolean incoming = direction == RelationshipDirection.INCOMING;
+
+    final String startTable = incoming ? destEntityTable : srcEntityTable;
+    final LocalRelationshipFilter startFilter = incoming ? destFilter : srcFilter;
+    final String entityTable = incoming ? srcEntityTable : destEntityTable;
+    final LocalRelationshipFilter entityFilter = incoming ? srcFilter : destFilter;
+
+    final String urnSql = multiHopsUrnsSql(minHop, maxHop, relationshipTable, startTable, relationshipFilter, startFilter);
+
+    StringBuilder sqlBuilder = new StringBuilder(urnSql)
+        .append(String.format(" SELECT * FROM %s et WHERE et.urn IN (SELECT urn FROM traversal)", entityTable));
+
+    String whereClause = SQLStatementUtils.whereClause(_supportedConditions, new Pair<>(entityFilter, "et"));
+    if (whereClause != null) {
+      sqlBuilder.append(" AND (").append(whereClause).append(")");
+    }
+
+    return sqlBuilder.append(String.format(" ORDER BY et.urn LIMIT %d OFFSET %d", count, offset)).toString();
+  }
+
+  /**
+   * Construct a chain of CTEs with the urns reached on each hop from the start entities, and a CTE named traversal with
+   * the urns reached in minHop to maxHop hops. For example, for two hops over an OUTGOING relationship:
+   *
+   * <p>WITH hop0 (urn) AS (SELECT st.urn FROM start_entity_table st WHERE start filters ORDER BY st.urn LIMIT max_frontier_size),
+   * hop1 (urn) AS (SELECT DISTINCT rt.destination AS urn FROM relationship_table rt INNER JOIN hop0 h ON rt.source=h.urn
+   *   WHERE relationship filters ORDER BY urn LIMIT max_frontier_size),
+   * hop2 (urn) AS (... INNER JOIN hop1 h ...),
+   * traversal (urn) AS (SELECT urn FROM hop1 UNION SELECT urn FROM hop2)
+   *
+   * <p>Each hop keeps an urn once and at most max_frontier_size urns, so cycles and diamonds in the graph can't multiply
+   * the rows of the next hop, and no hop can fan out past the cap. A recursive CTE can't cap its hops this way, as MySQL
+   * and MariaDB don't allow LIMIT in the recursive member. UNDIRECTED relationships take both the source to destination
+   * and the destination to source step on each hop.
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  private String multiHopsUrnsSql(int minHop, int maxHop, String relationshipTable, String startTable,
+      LocalRelationshipFilter relationshipFilter, LocalRelationshipFilter startFilter) {
+    final RelationshipDirection direction = relationshipFilter.getDirection();
+
+    StringBuilder startUrnsSql = new StringBuilder(String.format("SELECT st.urn FROM %s st", startTable));
+    String startWhereClause = SQLStatementUtils.whereClause(_supportedConditions, new Pair<>(startFilter, "st"));
+    if (startWhereClause != null) {
+      startUrnsSql.append(" WHERE ").append(startWhereClause);
+    }
+    startUrnsSql.append(" ORDER BY st.urn LIMIT ").append(_maxFrontierSize);
+
+    final String relationshipWhereClause = SQLStatementUtils.whereClause(_supportedConditions, new Pair<>(relationshipFilter, "rt"));
+
+    final List<String> hops = new ArrayList<>();
+    hops.add(String.format("hop0 (urn) AS (%s)", startUrnsSql));
+    for (int hop = 1; hop <= maxHop; hop++) {
+      final String previousHop = "hop" + (hop - 1);
+      final List<String> steps = new ArrayList<>();
+      if (direction != RelationshipDirection.INCOMING) {
+        steps.add(hopSql("source", "destination", relationshipTable, previousHop, relationshipWhereClause));
+      }
+      if (direction != RelationshipDirection.OUTGOING) {
+        steps.add(hopSql("destination", "source", relationshipTable, previousHop, relationshipWhereClause));
+      }
+      hops.add(String.format("hop%d (urn) AS (%s ORDER BY urn LIMIT %d)", hop, String.join(" UNION ", steps), _maxFrontierSize));
+    }
+
+    final List<String> traversal = new ArrayList<>();
+    for (int hop = minHop; hop <= maxHop; hop++) {
+      traversal.add("SELECT urn FROM hop" + hop);
+    }
+    hops.add(String.format("traversal (urn) AS (%s)", String.join(" UNION ", traversal)));
+
+    return "WITH " + String.join(", ", hops);
+  }
+
+  /**
+   * Construct the step of one hop along one direction, from the urns of the previous hop.
+   */
+  @Nonnull
+  private String hopSql(@Nonnull String fromColumn, @Nonnull String toColumn, @Nonnull String relationshipTable,
+      @Nonnull String previousHop, @Nullable String relationshipWhereClause) {
+    StringBuilder sqlBuilder = new StringBuilder(String.format("SELECT DISTINCT rt.%s AS urn FROM %s rt INNER JOIN %s h ON rt.%s=h.urn",
+        toColumn, relationshipTable, previousHop, fromColumn));
+    if (relationshipWhereClause != null) {
+      sqlBuilder.append(" WHERE ").append(relationshipWhereClause);
+    }
+    return sqlBuilder.toString();
+  }
+
   /**
    * Construct a SQL query which finds URNs of entities that are one hop away for directed relationship.
    * Direction must be INCOMING or OUTGOING.
@@ -11,11 +11,10 @@ import com.linkedin.metadata.query.IndexSortCriterion;
 import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.SortOrder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import org.apache.commons.lang.StringEscapeUtils;
 
 import static com.linkedin.metadata.dao.utils.SQLSchemaUtils.*;
 import static com.linkedin.metadata.dao.utils.SQLStatementUtils.SOFT_DELETED_CHECK;
@@ -30,39 +29,6 @@ public class SQLIndexFilterUtils {
 
   }
 
-  /**
-   * Get value from {@link IndexValue} and convert into SQL syntax.
-   * @param indexValue {@link IndexValue} to be parsed.
-   * @return SQL syntax compatible representation of the Index Value
-   */
-  private static String parseIndexValue(@Nullable IndexValue indexValue) {
-    if (indexValue == null) {
-      return "NULL";
-    }
-    if (indexValue.isArray()) {
-      StringArray stringArray = indexValue.getArray();
-      return "(" + String.join(", ",
-          stringArray.stream().map(s -> "'" + StringEscapeUtils.escapeSql(s) + "'").collect(Collectors.toList())) + ")";
-    } else if (indexValue.isBoolean()) {
-      return indexValue.getBoolean().toString();
-    } else if (indexValue.isInt()) {
-      return String.valueOf(Long.valueOf(indexValue.getInt()));
-    } else if (indexValue.isDouble()) {
-      return String.valueOf(indexValue.getDouble());
-    } else if (indexValue.isFloat()) {
-      return String.valueOf(indexValue.getFloat().doubleValue());
-    } else if (indexValue.isLong()) {
-      return String.valueOf(indexValue.getLong());
-    } else if (indexValue.isString()) {
-      return StringEscapeUtils.escapeSql(indexValue.getString());
-    } else if (indexValue.isNull()) {
-      return "NULL";
-    } else {
-      throw new UnsupportedOperationException("Invalid index value: " + indexValue);
-    }
-  }
-
-
   /**
    * Parse {@link IndexSortCriterion} into SQL syntax.
    * @param indexSortCriterion filter sorting criterion
@@ -82,11 +48,12 @@ public class SQLIndexFilterUtils {
   }
 
   /**
-   * Parse {@link IndexFilter} into MySQL syntax.
+   * Parse {@link IndexFilter} into MySQL syntax, with index values as positional (?) parameters instead of literals.
    * @param indexFilter index filter
+   * @param parameters list to append the parameter values to, in the order they appear in the condition expression
    * @return translated SQL condition expression, e.g. WHERE ...
    */
-  public static String parseIndexFilter(@Nonnull IndexFilter indexFilter) {
+  public static String parseIndexFilter(@Nonnull IndexFilter indexFilter, @Nonnull List<Object> parameters) {
     List<String> sqlFilters = new ArrayList<>();
 
     for (IndexCriterion indexCriterion : indexFilter.getCriteria()) {
@@ -103,7 +70,7 @@ public class SQLIndexFilterUtils {
         validateConditionAndValue(indexCriterion);
         final Condition condition = pathParams.getCondition();
         final String indexColumn = getGeneratedColumnName(aspect, pathParams.getPath());
-        sqlFilters.add(parseSqlFilter(indexColumn, condition, pathParams.getValue()));
+        sqlFilters.add(parseSqlFilter(indexColumn, condition, pathParams.getValue(), parameters));
       }
     }
 
@@ -115,40 +82,76 @@ public class SQLIndexFilterUtils {
   }
 
   /**
-   * Parse condition expression.
+   * Get value from {@link IndexValue} as a parameter to bind. Strings are not escaped, since the driver takes care of it.
+   * @param indexValue {@link IndexValue} to be converted, must not be an array
+   * @return the value to bind, or null for a NULL value
+   */
+  @Nullable
+  private static Object toParameterValue(@Nullable IndexValue indexValue) {
+    if (indexValue == null || indexValue.isNull()) {
+      return null;
+    } else if (indexValue.isBoolean()) {
+      return indexValue.getBoolean();
+    } else if (indexValue.isInt()) {
+      return Long.valueOf(indexValue.getInt());
+    } else if (indexValue.isDouble()) {
+      return indexValue.getDouble();
+    } else if (indexValue.isFloat()) {
+      return indexValue.getFloat().doubleValue();
+    } else if (indexValue.isLong()) {
+      return indexValue.getLong();
+    } else if (indexValue.isString()) {
+      return indexValue.getString();
+    } else {
+      throw new UnsupportedOperationException("Invalid index value: " + indexValue);
+    }
+  }
+
+  /**
+   * Parse condition expression with the index value as positional parameters.
    * @param indexColumn the virtual generated column
    * @param condition {@link Condition} filter condition
    * @param indexValue {@link IndexValue} index value
+   * @param parameters list to append the parameter values to
    * @return SQL expression of the condition expression
    */
-  private static String parseSqlFilter(String indexColumn, Condition condition, IndexValue indexValue) {
+  private static String parseSqlFilter(String indexColumn, Condition condition, IndexValue indexValue,
+      List<Object> parameters) {
     switch (condition) {
       case CONTAIN:
-        return String.format("JSON_SEARCH(%s, 'one', '%s') IS NOT NULL", indexColumn, parseIndexValue(indexValue));
+        parameters.add(String.valueOf(toParameterValue(indexValue)));
+        return String.format("JSON_SEARCH(%s, 'one', ?) IS NOT NULL", indexColumn);
       case IN:
-        return indexColumn + " IN " + parseIndexValue(indexValue);
+        parameters.addAll(indexValue.getArray());
+        return indexColumn + " IN (" + String.join(", ", Collections.nCopies(indexValue.getArray().size(), "?")) + ")";
       case EQUAL:
         if (indexValue.isString() || indexValue.isBoolean()) {
-          return indexColumn + " = '" + parseIndexValue(indexValue) + "'";
+          // string comparison, same as the quoted literal
+          parameters.add(String.valueOf(toParameterValue(indexValue)));
+        } else if (indexValue.isArray()) {
+          parameters.add(convertToJsonArray(indexValue.getArray()));
+        } else {
+          parameters.add(toParameterValue(indexValue));
         }
-
-        if (indexValue.isArray()) {
-          return indexColumn + " = '" + convertToJsonArray(indexValue.getArray()) + "'";
-        }
-
-        return indexColumn + " = " + parseIndexValue(indexValue);
+        return indexColumn + " = ?";
       case START_WITH:
-        return indexColumn + " LIKE '" + parseIndexValue(indexValue) + "%'";
+        parameters.add(toParameterValue(indexValue) + "%");
+        return indexColumn + " LIKE ?";
       case END_WITH:
-        return indexColumn + " LIKE '%" + parseIndexValue(indexValue) + "'";
+        parameters.add("%" + toParameterValue(indexValue));
+        return indexColumn + " LIKE ?";
       case GREATER_THAN_OR_EQUAL_TO:
-        return indexColumn + " >= " + parseIndexValue(indexValue);
+        parameters.add(toParameterValue(indexValue));
+        return indexColumn + " >= ?";
       case GREATER_THAN:
-        return indexColumn + " > " + parseIndexValue(indexValue);
+        parameters.add(toParameterValue(indexValue));
+        return indexColumn + " > ?";
       case LESS_THAN_OR_EQUAL_TO:
-        return indexColumn + " <= " + parseIndexValue(indexValue);
+        parameters.add(toParameterValue(indexValue));
+        return indexColumn + " <= ?";
       case LESS_THAN:
-        return indexColumn + " < " + parseIndexValue(indexValue);
+        parameters.add(toParameterValue(indexValue));
+        return indexColumn + " < ?";
       default:
         throw new UnsupportedOperationException("Unsupported condition operation: " + condition);
     }
@@ -1,5 +1,6 @@
 package com.linkedin.metadata.dao.utils;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.escape.Escaper;
 import com.google.common.escape.Escapers;
 import com.linkedin.common.urn.Urn;
@@ -13,14 +14,20 @@ import com.linkedin.metadata.query.LocalRelationshipCriterion;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.LocalRelationshipValue;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import lombok.Value;
 import org.apache.commons.lang.StringEscapeUtils;
 import org.javatuples.Pair;
 
@@ -47,17 +54,27 @@ public class SQLStatementUtils {
           + "ON DUPLICATE KEY UPDATE %s = :metadata;";
 
   private static final String SQL_READ_ASPECT_TEMPLATE =
-      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby FROM %%s WHERE urn = '%%s' AND %s", SOFT_DELETED_CHECK);
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby FROM %%s WHERE urn IN (%%s) AND %s", SOFT_DELETED_CHECK);
 
   private static final String INDEX_GROUP_BY_CRITERION = "SELECT count(*) as COUNT, %s FROM %s";
   private static final String SQL_GROUP_BY_COLUMN_EXISTS_TEMPLATE =
       "SELECT * FROM information_schema.COLUMNS WHERE TABLE_NAME = '%s' AND COLUMN_NAME = '%s'";
 
-  private static final String SQL_URN_EXIST_TEMPLATE = "SELECT urn FROM %s WHERE urn = '%s'";
+  private static final String SQL_URN_EXIST_TEMPLATE = "SELECT urn FROM %s WHERE urn = ?";
 
-  private static final String INSERT_LOCAL_RELATIONSHIP = "INSERT INTO %s (metadata, source, destination, source_type, "
-      + "destination_type, lastmodifiedon, lastmodifiedby) VALUE (:metadata, :source, :destination, :source_type,"
-      + " :destination_type, :lastmodifiedon, :lastmodifiedby)";
+  private static final String INSERT_LOCAL_RELATIONSHIPS = "INSERT INTO %s (metadata, source, destination, source_type, "
+      + "destination_type, lastmodifiedon, lastmodifiedby) VALUES %s";
+
+  private static final String INSERT_LOCAL_RELATIONSHIPS_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String SELECT_BY_SOURCE = "SELECT id, metadata FROM %s WHERE source = :source";
+
+  private static final String SELECT_BY_DESTINATION = "SELECT id, metadata FROM %s WHERE destination = :destination";
+
+  private static final String SELECT_BY_SOURCE_AND_DESTINATION =
+      "SELECT id, metadata FROM %s WHERE destination = :destination AND source = :source";
+
+  private static final String DELETE_BY_IDS = "DELETE FROM %s WHERE id IN (:ids)";
 
   private static final String DELETE_BY_SOURCE = "DELETE FROM %s WHERE source = :source";
 
@@ -76,51 +93,127 @@ public class SQLStatementUtils {
   private static final String SQL_FILTER_TEMPLATE = "SELECT *, (%s) as _total_count FROM %s";
   private static final String SQL_BROWSE_ASPECT_TEMPLATE =
       String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, (SELECT COUNT(urn) FROM %%s) as _total_count "
-          + "FROM %%s WHERE %s LIMIT %%d OFFSET %%d", SOFT_DELETED_CHECK);
+          + "FROM %%s WHERE %s LIMIT ? OFFSET ?", SOFT_DELETED_CHECK);
+
+  private static final String SQL_SCAN_URN_TEMPLATE = "SELECT urn FROM %s ORDER BY urn LIMIT ?";
+  private static final String SQL_SCAN_URN_AFTER_TEMPLATE = "SELECT urn FROM %s WHERE urn > ? ORDER BY urn LIMIT ?";
+
+  /**
+   * The largest urn batch size bucket. Batches up to this size are padded to the next power of two, larger ones to the
+   * next multiple of it, so that read statements only come in a handful of shapes.
+   */
+  private static final int MAX_URN_BATCH_BUCKET = 512;
+
+  /**
+   * Statement texts that don't depend on the filter, keyed on their shape. The number of shapes is bounded by the
+   * number of tables, aspect columns, urn batch buckets and power of two insert row counts, so the cache doesn't need
+   * any eviction.
+   */
+  private static final Map<StatementShape, String> STATEMENT_TEMPLATE_CACHE = new ConcurrentHashMap<>();
+
+  /**
+   * A SQL statement with positional (?) parameters, and the values to bind to them in order.
+   */
+  @Value
+  public static class ParameterizedSql {
+    String sql;
+    List<Object> parameters;
+  }
+
+  /**
+   * Everything that determines the text of a cached statement.
+   */
+  @Value
+  private static class StatementShape {
+    String template;
+    List<String> tableNames;
+    String columnName;
+    int urnBatchBucket;
+  }
 
   private SQLStatementUtils() {
     // Util class
   }
 
   /**
-   * Create entity exist SQL statement.
+   * Create entity exist SQL statement. The urn is bound as a parameter so the statement text only depends on the table.
    * @param urn entity urn
    * @return entity exist sql
    */
-  public static String createExistSql(@Nonnull Urn urn) {
+  @Nonnull
+  public static ParameterizedSql createExistSql(@Nonnull Urn urn) {
     final String tableName = getTableName(urn);
-    return String.format(SQL_URN_EXIST_TEMPLATE, tableName, escapeReservedCharInUrn(urn.toString()));
+    final String sql = STATEMENT_TEMPLATE_CACHE.computeIfAbsent(
+        new StatementShape(SQL_URN_EXIST_TEMPLATE, Collections.singletonList(tableName), null, 1),
+        shape -> String.format(SQL_URN_EXIST_TEMPLATE, tableName));
+    return new ParameterizedSql(sql, Collections.singletonList(urn.toString()));
   }
 
   /**
    * Create read aspect SQL statement for one aspect class (but could include many urns). Essentially, this will query for a
    * single aspect column in the metadata entity tables. The query includes a filter for filtering out soft-deleted aspects.
    *
+   * <p>Urns are bound as parameters, one SELECT per table. The list of urns for each table is padded to a batch size
+   * bucket by repeating its last urn, so the statement text only depends on (tables, aspect column, bucket) and can be
+   * reused by the driver's and the server's prepared statement caches.
+   *
    * <p>Example:
-   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn = 'urn:1' AND aspect1 != '{"gma_deleted":true}'
-   * UNION ALL
-   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn = 'urn:2' AND aspect1 != '{"gma_deleted":true}'
+   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn IN (?, ?) AND JSON_EXTRACT(aspect1, '$.gma_deleted') IS NULL
    * UNION ALL
-   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_bar WHERE urn = 'urn:1' AND aspect1 != '{"gma_deleted":true}'
+   * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_bar WHERE urn IN (?) AND JSON_EXTRACT(aspect1, '$.gma_deleted') IS NULL
    * </p>
    * @param aspectClass aspect class to query for
    * @param urns a Set of Urns to query for
    * @param <ASPECT> aspect type
    * @return aspect read sql statement for a single aspect (across multiple tables and urns)
    */
-  public static <ASPECT extends RecordTemplate> String createAspectReadSql(@Nonnull Class<ASPECT> aspectClass,
+  @Nonnull
+  public static <ASPECT extends RecordTemplate> ParameterizedSql createAspectReadSql(@Nonnull Class<ASPECT> aspectClass,
       @Nonnull Set<Urn> urns) {
     if (urns.size() == 0) {
       throw new IllegalArgumentException("Need at least 1 urn to query.");
     }
     final String columnName = getAspectColumnName(aspectClass);
-    StringBuilder stringBuilder = new StringBuilder();
-    List<String> selectStatements = urns.stream().map(urn -> {
-          final String tableName = getTableName(urn);
-          return String.format(SQL_READ_ASPECT_TEMPLATE, columnName, tableName, escapeReservedCharInUrn(urn.toString()), columnName);
-        }).collect(Collectors.toList());
-    stringBuilder.append(String.join(" UNION ALL ", selectStatements));
-    return stringBuilder.toString();
+    final SortedMap<String, List<String>> urnsByTable = new TreeMap<>();
+    urns.forEach(urn -> urnsByTable.computeIfAbsent(getTableName(urn), unused -> new ArrayList<>()).add(urn.toString()));
+
+    final int bucket = getUrnBatchBucket(urnsByTable.values().stream().mapToInt(List::size).max().getAsInt());
+    final List<String> tableNames = new ArrayList<>(urnsByTable.keySet());
+    final String sql = STATEMENT_TEMPLATE_CACHE.computeIfAbsent(
+        new StatementShape(SQL_READ_ASPECT_TEMPLATE, tableNames, columnName, bucket), shape -> {
+          final String placeholders = String.join(", ", Collections.nCopies(bucket, "?"));
+          return tableNames.stream()
+              .map(tableName -> String.format(SQL_READ_ASPECT_TEMPLATE, columnName, tableName, placeholders, columnName))
+              .collect(Collectors.joining(" UNION ALL "));
+        });
+
+    final List<Object> parameters = new ArrayList<>(bucket * tableNames.size());
+    for (List<String> tableUrns : urnsByTable.values()) {
+      parameters.addAll(tableUrns);
+      parameters.addAll(Collections.nCopies(bucket - tableUrns.size(), tableUrns.get(tableUrns.size() - 1)));
+    }
+    return new ParameterizedSql(sql, parameters);
+  }
+
+  /**
+   * Rounds a urn batch size up to its bucket.
+   */
+  static int getUrnBatchBucket(int batchSize) {
+    if (batchSize <= 1) {
+      return 1;
+    }
+    if (batchSize > MAX_URN_BATCH_BUCKET) {
+      return (batchSize + MAX_URN_BATCH_BUCKET - 1) / MAX_URN_BATCH_BUCKET * MAX_URN_BATCH_BUCKET;
+    }
+    return Integer.highestOneBit(batchSize - 1) << 1;
+  }
+
+  /**
+   * Returns the number of statement texts that are cached.
+   */
+  @VisibleForTesting
+  static int getStatementTemplateCacheSize() {
+    return STATEMENT_TEMPLATE_CACHE.size();
   }
 
   /**
@@ -138,40 +231,82 @@ public class SQLStatementUtils {
   }
 
   /**
-   * Create filter SQL statement.
+   * Create filter SQL statement. Index values are bound as parameters, so the statement text only depends on the shape
+   * of the filter (aspects, paths, conditions, and the size of IN arrays).
    * @param tableName table name
    * @param indexFilter index filter
    * @param indexSortCriterion sorting criterion
-   * @return translated SQL where statement
+   * @return translated SQL where statement, with the parameters of both the count subquery and the where clause
    */
-  public static String createFilterSql(String tableName, @Nonnull IndexFilter indexFilter,
+  @Nonnull
+  public static ParameterizedSql createFilterSql(String tableName, @Nonnull IndexFilter indexFilter,
       @Nullable IndexSortCriterion indexSortCriterion) {
-    String whereClause = parseIndexFilter(indexFilter);
-    String totalCountSql = String.format("SELECT COUNT(urn) FROM %s %s", tableName, whereClause);
+    final List<Object> parameters = new ArrayList<>();
+    // the where clause is used twice, once in the count subquery and once in the outer query, so it's bound twice
+    final String totalCountSql = String.format("SELECT COUNT(urn) FROM %s %s", tableName, parseIndexFilter(indexFilter, parameters));
+    final String whereClause = parseIndexFilter(indexFilter, parameters);
     StringBuilder sb = new StringBuilder();
     sb.append(String.format(SQL_FILTER_TEMPLATE, totalCountSql, tableName));
     sb.append("\n");
     sb.append(whereClause);
-    return sb.toString();
+    return new ParameterizedSql(sb.toString(), parameters);
+  }
+
+  /**
+   * Similar to {@link #createFilterSql(String, IndexFilter, IndexSortCriterion)} but without the total count subquery.
+   * @param tableName table name
+   * @param indexFilter index filter
+   * @return translated SQL where statement
+   */
+  @Nonnull
+  public static ParameterizedSql createFilterSqlWithoutCount(String tableName, @Nonnull IndexFilter indexFilter) {
+    final List<Object> parameters = new ArrayList<>();
+    final String whereClause = parseIndexFilter(indexFilter, parameters);
+    return new ParameterizedSql(String.format("SELECT * FROM %s\n%s", tableName, whereClause), parameters);
+  }
+
+  /**
+   * Create the total count SQL statement of a filter, which returns a single _total_count column.
+   * @param tableName table name
+   * @param indexFilter index filter
+   * @param cap stop counting after this many rows, or null to count all of them
+   * @return total count SQL
+   */
+  @Nonnull
+  public static ParameterizedSql createFilterCountSql(String tableName, @Nonnull IndexFilter indexFilter,
+      @Nullable Integer cap) {
+    final List<Object> parameters = new ArrayList<>();
+    final String whereClause = parseIndexFilter(indexFilter, parameters);
+    if (cap == null) {
+      return new ParameterizedSql(String.format("SELECT COUNT(urn) as _total_count FROM %s %s", tableName, whereClause),
+          parameters);
+    }
+    // the derived table stops scanning once it has enough rows
+    parameters.add(cap);
+    return new ParameterizedSql(
+        String.format("SELECT COUNT(urn) as _total_count FROM (SELECT urn FROM %s %s LIMIT ?) capped", tableName, whereClause),
+        parameters);
   }
 
   /**
-   * Create index group by SQL statement.
+   * Create index group by SQL statement. Index values are bound as parameters.
    * @param tableName table name
    * @param indexFilter index filter
    * @param indexGroupByCriterion group by
    * @return translated group by SQL
    */
-  public static String createGroupBySql(String tableName, @Nonnull IndexFilter indexFilter,
+  @Nonnull
+  public static ParameterizedSql createGroupBySql(String tableName, @Nonnull IndexFilter indexFilter,
       @Nonnull IndexGroupByCriterion indexGroupByCriterion) {
     final String columnName = getGeneratedColumnName(indexGroupByCriterion.getAspect(), indexGroupByCriterion.getPath());
+    final List<Object> parameters = new ArrayList<>();
     StringBuilder sb = new StringBuilder();
     sb.append(String.format(INDEX_GROUP_BY_CRITERION, columnName, tableName));
     sb.append("\n");
-    sb.append(parseIndexFilter(indexFilter));
+    sb.append(parseIndexFilter(indexFilter, parameters));
     sb.append("\nGROUP BY ");
     sb.append(columnName);
-    return sb.toString();
+    return new ParameterizedSql(sb.toString(), parameters);
   }
 
   public static String createGroupByColumnExistsSql(String tableName, @Nonnull IndexGroupByCriterion indexGroupByCriterion) {
@@ -180,27 +315,85 @@ public class SQLStatementUtils {
   }
 
   /**
-   * Create aspect browse SQL statement.
+   * Create aspect browse SQL statement. The page size and offset are bound as parameters.
    * @param entityType entity type.
    * @param aspectClass aspect class
    * @param <ASPECT> {@link RecordTemplate}
    * @return aspect browse SQL.
    */
-  public static <ASPECT extends RecordTemplate> String createAspectBrowseSql(String entityType,
+  @Nonnull
+  public static <ASPECT extends RecordTemplate> ParameterizedSql createAspectBrowseSql(String entityType,
       Class<ASPECT> aspectClass, int offset, int pageSize) {
     final String tableName = getTableName(entityType);
     final String columnName = getAspectColumnName(aspectClass);
-    return String.format(SQL_BROWSE_ASPECT_TEMPLATE, columnName, tableName, tableName, columnName,
-        Math.max(pageSize, 0), Math.max(offset, 0));
+    final String sql = STATEMENT_TEMPLATE_CACHE.computeIfAbsent(
+        new StatementShape(SQL_BROWSE_ASPECT_TEMPLATE, Collections.singletonList(tableName), columnName, 1),
+        shape -> String.format(SQL_BROWSE_ASPECT_TEMPLATE, columnName, tableName, tableName, columnName));
+    return new ParameterizedSql(sql, Arrays.asList(Math.max(pageSize, 0), Math.max(offset, 0)));
+  }
+
+  /**
+   * Create urn scan SQL statement, which lists a page of urns after the last urn of the previous page. Unlike browse and
+   * filter statements, it seeks on the primary key instead of using an offset, and doesn't compute a total count.
+   * @param entityType entity type
+   * @param lastUrn last urn of the previous page, or null for the first page
+   * @param pageSize maximum number of urns to return
+   * @return urn scan SQL
+   */
+  @Nonnull
+  public static ParameterizedSql createUrnScanSql(@Nonnull String entityType, @Nullable Urn lastUrn, int pageSize) {
+    final String tableName = getTableName(entityType);
+    final String template = lastUrn == null ? SQL_SCAN_URN_TEMPLATE : SQL_SCAN_URN_AFTER_TEMPLATE;
+    final String sql = STATEMENT_TEMPLATE_CACHE.computeIfAbsent(
+        new StatementShape(template, Collections.singletonList(tableName), null, 1),
+        shape -> String.format(template, tableName));
+    return new ParameterizedSql(sql, lastUrn == null ? Collections.singletonList(Math.max(pageSize, 0))
+        : Arrays.asList(lastUrn.toString(), Math.max(pageSize, 0)));
   }
 
   /**
-   * Generate "Create Statement SQL" for local relation.
+   * Generate a multi-row insert statement for local relations, with positional parameters for the columns of each row in
+   * the order: metadata, source, destination, source_type, destination_type, lastmodifiedon, lastmodifiedby.
    * @param tableName Name of the table where the local relation metadata will be inserted.
-   * @return SQL statement for inserting local relation.
+   * @param rowCount Number of rows inserted by the statement, must be a power of two so that the number of cached
+   *                 statements stays bounded.
+   * @return SQL statement for inserting local relations.
+   */
+  @Nonnull
+  public static String insertLocalRelationshipsSQL(@Nonnull String tableName, int rowCount) {
+    if (rowCount <= 0 || Integer.bitCount(rowCount) != 1) {
+      throw new IllegalArgumentException("Row count must be a power of two: " + rowCount);
+    }
+    return STATEMENT_TEMPLATE_CACHE.computeIfAbsent(
+        new StatementShape(INSERT_LOCAL_RELATIONSHIPS, Collections.singletonList(tableName), null, rowCount),
+        shape -> String.format(INSERT_LOCAL_RELATIONSHIPS, tableName,
+            String.join(", ", Collections.nCopies(rowCount, INSERT_LOCAL_RELATIONSHIPS_ROW))));
+  }
+
+  /**
+   * Generate a statement selecting the id and metadata of the local relations that a removal option would delete, with
+   * the same named parameters as {@link #deleteLocaRelationshipSQL(String, BaseGraphWriterDAO.RemovalOption)}.
+   */
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  public static String selectLocalRelationshipSQL(final String tableName, final BaseGraphWriterDAO.RemovalOption removalOption) {
+    if (removalOption == BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE) {
+      return String.format(SELECT_BY_SOURCE, tableName);
+    } else if (removalOption == BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE_TO_DESTINATION) {
+      return String.format(SELECT_BY_SOURCE_AND_DESTINATION, tableName);
+    } else if (removalOption == BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_TO_DESTINATION) {
+      return String.format(SELECT_BY_DESTINATION, tableName);
+    }
+
+    throw new IllegalArgumentException(String.format("Removal option %s is not valid.", removalOption));
+  }
+
+  /**
+   * Generate a statement deleting local relations by id, with the ids bound to the named parameter "ids".
    */
-  public static String insertLocalRelationshipSQL(String tableName) {
-    return String.format(INSERT_LOCAL_RELATIONSHIP, tableName);
+  @Nonnull
+  public static String deleteLocalRelationshipsByIdSQL(@Nonnull String tableName) {
+    return String.format(DELETE_BY_IDS, tableName);
   }
 
   /**
@@ -19,6 +19,7 @@ import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.SortOrder;
+import com.linkedin.metadata.query.TotalCountMode;
 import com.linkedin.testing.AspectFoo;
 import com.linkedin.testing.BarSnapshot;
 import com.linkedin.testing.BarUrnArray;
@@ -145,6 +146,60 @@ public class EbeanLocalAccessTest {
     assertEquals(5, listUrns.getTotalPageCount());
   }
 
+  @Test
+  public void testListUrnsWithTotalCountModes() {
+
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    // When: finding urns where ids >= 25 and id < 50 sorting by ASC
+
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.GREATER_THAN_OR_EQUAL_TO,
+            IndexValue.create(25)),
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.LESS_THAN, IndexValue.create(50))));
+    IndexSortCriterion indexSortCriterion =
+        SQLIndexFilterUtils.createIndexSortCriterion(AspectFoo.class, "value", SortOrder.ASCENDING);
+
+    // exact count
+    ListResult<FooUrn> exact = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 5, 5, TotalCountMode.EXACT);
+    assertEquals(25, exact.getTotalCount());
+    assertFalse(exact.isTotalCountApproximate());
+
+    // no count, only what has been seen so far
+    ListResult<FooUrn> none = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 5, 5, TotalCountMode.NONE);
+    assertEquals(exact.getValues(), none.getValues());
+    assertEquals(10, none.getNextStart());
+    assertTrue(none.isHavingMore());
+    assertEquals(10, none.getTotalCount());
+    assertTrue(none.isTotalCountApproximate());
+
+    // the last page is exact even without a count
+    none = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 20, 5, TotalCountMode.NONE);
+    assertEquals(5, none.getValues().size());
+    assertFalse(none.isHavingMore());
+    assertEquals(ListResult.INVALID_NEXT_START, none.getNextStart());
+    assertEquals(25, none.getTotalCount());
+
+    // capped count
+    _ebeanLocalAccessFoo.setTotalCountCap(10);
+    ListResult<FooUrn> capped = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 0, 5, TotalCountMode.CAPPED);
+    assertEquals(5, capped.getValues().size());
+    assertEquals(10, capped.getTotalCount());
+    assertTrue(capped.isTotalCountApproximate());
+    _ebeanLocalAccessFoo.setTotalCountCap(100);
+    capped = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 0, 5, TotalCountMode.CAPPED);
+    assertEquals(25, capped.getTotalCount());
+    assertFalse(capped.isTotalCountApproximate());
+
+    // cached count, the second page reuses the count of the first one
+    ListResult<FooUrn> cached = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 0, 5, TotalCountMode.CACHED);
+    assertEquals(25, cached.getTotalCount());
+    assertFalse(cached.isTotalCountApproximate());
+    cached = _ebeanLocalAccessFoo.listUrns(indexFilter, indexSortCriterion, 5, 5, TotalCountMode.CACHED);
+    assertEquals(25, cached.getTotalCount());
+    assertTrue(cached.isTotalCountApproximate());
+    assertEquals(5, cached.getTotalPageCount());
+  }
+
   @Test
   public void testListUrnsWithLastUrn() throws URISyntaxException {
 
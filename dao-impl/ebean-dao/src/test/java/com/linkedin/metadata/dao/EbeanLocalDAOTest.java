@@ -11,11 +11,13 @@ import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.metadata.backfill.BackfillMode;
 import com.linkedin.metadata.dao.EbeanLocalDAO.SchemaConfig;
+import com.linkedin.metadata.dao.cache.InMemoryLatestAspectCache;
 import com.linkedin.metadata.dao.equality.AlwaysFalseEqualityTester;
 import com.linkedin.metadata.dao.equality.DefaultEqualityTester;
 import com.linkedin.metadata.dao.exception.InvalidMetadataType;
 import com.linkedin.metadata.dao.exception.RetryLimitReached;
 import com.linkedin.metadata.dao.localrelationship.SampleLocalRelationshipRegistryImpl;
+import com.linkedin.metadata.dao.producer.AspectAuditEvent;
 import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
 import com.linkedin.metadata.dao.retention.TimeBasedRetention;
 import com.linkedin.metadata.dao.retention.VersionBasedRetention;
@@ -58,7 +60,10 @@ import com.linkedin.testing.urn.FooUrn;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
 import io.ebean.EbeanServerFactory;
+import io.ebean.ExpressionList;
+import io.ebean.OrderBy;
 import io.ebean.PagedList;
+import io.ebean.Query;
 import io.ebean.SqlRow;
 import io.ebean.Transaction;
 import java.io.IOException;
@@ -72,17 +77,21 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.OptimisticLockException;
 import javax.persistence.RollbackException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
@@ -314,6 +323,139 @@ public class EbeanLocalDAOTest {
     assertNotNull(getMetadata(urn, aspectName, 0));
   }
 
+  @Test
+  public void testDeferredVersionBasedRetention() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setRetention(AspectFoo.class, new VersionBasedRetention(2));
+    dao.enableDeferredRetention(true);
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+    AspectFoo v0 = new AspectFoo().setValue("baz");
+    AspectFoo v1 = new AspectFoo().setValue("bar");
+    AspectFoo v2 = new AspectFoo().setValue("foo");
+
+    for (FooUrn urn : Arrays.asList(urn1, urn2)) {
+      dao.add(urn, v1, _dummyAuditStamp);
+      dao.add(urn, v2, _dummyAuditStamp);
+      dao.add(urn, v0, _dummyAuditStamp);
+    }
+
+    // old versions are kept until the sweep
+    assertNotNull(getMetadata(urn1, aspectName, 1));
+    assertEquals(dao.getPendingRetentionCount(), 2);
+
+    RetentionSweepResult result = dao.sweepRetention(10);
+
+    assertEquals(result.getSweptCount(), 2);
+    assertEquals(result.getPurgedCount(), 2);
+    for (FooUrn urn : Arrays.asList(urn1, urn2)) {
+      assertNull(getMetadata(urn, aspectName, 1));
+      assertNotNull(getMetadata(urn, aspectName, 2));
+      assertNotNull(getMetadata(urn, aspectName, 0));
+    }
+  }
+
+  @Test
+  public void testAuditEventOutbox() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.enableAuditEventOutbox(true);
+    dao.setEmitAspectSpecificAuditEvent(true);
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo v1 = new AspectFoo().setValue("foo");
+    AspectFoo v2 = new AspectFoo().setValue("bar");
+
+    dao.add(urn1, v1, _dummyAuditStamp);
+    dao.add(urn1, v2, _dummyAuditStamp);
+    dao.addMany(Collections.singletonMap(urn2, Collections.singletonList(v1)), _dummyAuditStamp);
+    // unchanged, so nothing is saved to the outbox
+    dao.add(urn1, v2, _dummyAuditStamp);
+
+    // nothing is produced until the outbox is relayed
+    verifyZeroInteractions(_mockProducer);
+
+    EbeanAuditEventRelay<FooUrn> relay = new EbeanAuditEventRelay<>(_server, _mockProducer, FooUrn.class, 2);
+    assertEquals(relay.relay(), 2);
+    assertEquals(relay.relay(), 1);
+    assertEquals(relay.relay(), 0);
+
+    // each batch is produced at once, in order
+    List<AspectAuditEvent<FooUrn, AspectFoo>> firstBatch =
+        Arrays.asList(new AspectAuditEvent<>(urn1, null, v1), new AspectAuditEvent<>(urn1, v1, v2));
+    List<AspectAuditEvent<FooUrn, AspectFoo>> secondBatch = Collections.singletonList(new AspectAuditEvent<>(urn2, null, v1));
+    InOrder inOrder = inOrder(_mockProducer);
+    inOrder.verify(_mockProducer, times(1)).produceMetadataAuditEvents(firstBatch);
+    inOrder.verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvents(firstBatch);
+    inOrder.verify(_mockProducer, times(1)).produceMetadataAuditEvents(secondBatch);
+    inOrder.verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvents(secondBatch);
+    verifyNoMoreInteractions(_mockProducer);
+  }
+
+  @Test
+  public void testAuditEventRelayKeepsFailedEvents() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.enableAuditEventOutbox(true);
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo v1 = new AspectFoo().setValue("foo");
+    AspectFoo v2 = new AspectFoo().setValue("bar");
+    dao.add(urn, v1, _dummyAuditStamp);
+    dao.add(urn, v2, _dummyAuditStamp);
+    List<AspectAuditEvent<FooUrn, AspectFoo>> batch =
+        Arrays.asList(new AspectAuditEvent<>(urn, null, v1), new AspectAuditEvent<>(urn, v1, v2));
+    doThrow(new IllegalStateException()).doNothing().when(_mockProducer).produceMetadataAuditEvents(batch);
+
+    EbeanAuditEventRelay<FooUrn> relay = new EbeanAuditEventRelay<>(_server, _mockProducer, FooUrn.class, 10);
+    expectThrows(IllegalStateException.class, relay::relay);
+
+    // the failed batch is kept and retried as a whole
+    assertEquals(relay.relay(), 2);
+    assertEquals(relay.relay(), 0);
+    verify(_mockProducer, times(2)).produceMetadataAuditEvents(batch);
+    verifyNoMoreInteractions(_mockProducer);
+  }
+
+  @Test
+  public void testAuditEventRelayDeadLettersUndecodableEvents() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.enableAuditEventOutbox(true);
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo v1 = new AspectFoo().setValue("foo");
+    _server.insert(new EbeanMetadataAuditEvent().setUrn(urn1.toString())
+        .setAspect("com.linkedin.testing.Unknown")
+        .setNewValue(RecordUtils.toJsonString(v1))
+        .setEmitAuditEvent(true)
+        .setCreatedOn(new Timestamp(_now)));
+    dao.add(urn1, v1, _dummyAuditStamp);
+    dao.add(urn2, v1, _dummyAuditStamp);
+    EbeanAuditEventRelay.MetricListener metricListener = mock(EbeanAuditEventRelay.MetricListener.class);
+
+    EbeanAuditEventRelay<FooUrn> relay = new EbeanAuditEventRelay<>(_server, _mockProducer, FooUrn.class, 10);
+    relay.addMetricListener(metricListener);
+
+    // the undecodable event holds the later event of its entity, but not the events of other entities
+    assertEquals(relay.relay(), 3);
+    assertEquals(relay.relay(), 0);
+    verify(_mockProducer, times(1)).produceMetadataAuditEvents(
+        Collections.singletonList(new AspectAuditEvent<>(urn2, null, v1)));
+    verifyNoMoreInteractions(_mockProducer);
+    verify(metricListener, times(1)).onDeadLettered(anyLong(), any(RuntimeException.class));
+    verify(metricListener, times(1)).onRelayed(eq(1), anyLong());
+
+    List<EbeanMetadataAuditEvent> remaining = _server.find(EbeanMetadataAuditEvent.class).orderBy().asc("id").findList();
+    assertEquals(remaining.size(), 2);
+    assertNotNull(remaining.get(0).getDeadLetter());
+    assertEquals(remaining.get(1).getUrn(), urn1.toString());
+    assertNull(remaining.get(1).getDeadLetter());
+
+    // once the dead-lettered event is removed, the held event is relayed
+    _server.delete(remaining.get(0));
+    assertEquals(relay.relay(), 1);
+    verify(_mockProducer, times(1)).produceMetadataAuditEvents(
+        Collections.singletonList(new AspectAuditEvent<>(urn1, null, v1)));
+  }
+
   @Test
   public void testTimeBasedRetention() {
     Clock mockClock = mock(Clock.class);
@@ -368,6 +510,53 @@ public class EbeanLocalDAOTest {
     dao.add(makeFooUrn(1), new AspectFoo().setValue("foo"), _dummyAuditStamp);
   }
 
+  @Test
+  public void testTransactionConflictCounters() {
+    EbeanServer server = mock(EbeanServer.class);
+    Transaction mockTransaction = mock(Transaction.class);
+    when(server.beginTransaction()).thenReturn(mockTransaction);
+    when(server.find(any(), any())).thenReturn(null);
+    doThrow(RollbackException.class).when(server).insert(any(EbeanMetadataAspect.class));
+    doThrow(RollbackException.class).when(server).createSqlUpdate(any());
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(server, FooUrn.class);
+    List<Long> backoffs = new ArrayList<>();
+    dao.addMetricListener(new EbeanLocalDAO.MetricListener() {
+      @Override
+      public void onTransactionConflict(Class<? extends RecordTemplate> aspectClass, int attempt, long backoffMs) {
+        assertEquals(aspectClass, AspectFoo.class);
+        assertEquals(attempt, backoffs.size() + 1);
+        backoffs.add(backoffMs);
+      }
+    });
+    dao.setTransactionRetryPolicy((retry, elapsedMillis) -> retry);
+
+    assertThrows(RetryLimitReached.class,
+        () -> dao.add(makeFooUrn(1), AspectFoo.class, ignored -> new AspectFoo().setValue("foo"), _dummyAuditStamp, 2));
+
+    // 3 attempts, the first 2 of which are retried
+    assertEquals(backoffs, Arrays.asList(1L, 2L, -1L));
+    assertEquals(dao.getTransactionConflictCount(AspectFoo.class), 3);
+    assertEquals(dao.getTransactionRetryCount(AspectFoo.class), 2);
+    assertEquals(dao.getTransactionConflictCount(AspectBar.class), 0);
+  }
+
+  @Test
+  public void testTransactionRetryPolicyGivesUp() {
+    EbeanServer server = mock(EbeanServer.class);
+    Transaction mockTransaction = mock(Transaction.class);
+    when(server.beginTransaction()).thenReturn(mockTransaction);
+    when(server.find(any(), any())).thenReturn(null);
+    doThrow(RollbackException.class).when(server).insert(any(EbeanMetadataAspect.class));
+    doThrow(RollbackException.class).when(server).createSqlUpdate(any());
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(server, FooUrn.class);
+    dao.setTransactionRetryPolicy((retry, elapsedMillis) -> -1);
+
+    assertThrows(RetryLimitReached.class, () -> dao.add(makeFooUrn(1), new AspectFoo().setValue("foo"), _dummyAuditStamp));
+
+    assertEquals(dao.getTransactionConflictCount(AspectFoo.class), 1);
+    assertEquals(dao.getTransactionRetryCount(AspectFoo.class), 0);
+  }
+
   @Test
   public void testAtomicMultipleUpdatesRollsbackOnFailure() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(_server, FooUrn.class);
@@ -412,6 +601,159 @@ public class EbeanLocalDAOTest {
     assertEquals(dao.get(AspectBar.class, fooUrn).map(AspectBar::getValue), Optional.of("bar"));
   }
 
+  @Test
+  public void testAddManyAcrossUrns() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setBatchWriteSize(2);
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+    AspectFoo v1 = new AspectFoo().setValue("foo");
+    AspectFoo v0 = new AspectFoo().setValue("bar");
+    AspectBar bar = new AspectBar().setValue("bar");
+    dao.add(urn1, v1, _dummyAuditStamp);
+
+    Map<FooUrn, List<? extends RecordTemplate>> aspectValues = new LinkedHashMap<>();
+    aspectValues.put(urn1, Arrays.asList(v1, v0));
+    aspectValues.put(urn2, Arrays.asList(v1, bar, v0));
+    dao.addMany(aspectValues, _dummyAuditStamp);
+
+    // urn1: unchanged v1 is skipped, v0 moves v1 to version 1
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn1, aspectName, 0).getMetadata()), v0);
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn1, aspectName, 1).getMetadata()), v1);
+    assertNull(getMetadata(urn1, aspectName, 2));
+
+    // urn2: v1 and v0 are written in different chunks
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn2, aspectName, 0).getMetadata()), v0);
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn2, aspectName, 1).getMetadata()), v1);
+    assertEquals(dao.get(AspectBar.class, urn2), Optional.of(bar));
+
+    InOrder inOrder = inOrder(_mockProducer);
+    inOrder.verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn1, null, v1);
+    // one batch of MAEs per chunk
+    inOrder.verify(_mockProducer, times(1)).produceMetadataAuditEvents(
+        Collections.singletonList(new AspectAuditEvent<>(urn1, v1, v0)));
+    inOrder.verify(_mockProducer, times(1)).produceMetadataAuditEvents(
+        Arrays.asList(new AspectAuditEvent<>(urn2, null, v1), new AspectAuditEvent<>(urn2, null, bar)));
+    inOrder.verify(_mockProducer, times(1)).produceMetadataAuditEvents(
+        Collections.singletonList(new AspectAuditEvent<>(urn2, v1, v0)));
+    verifyNoMoreInteractions(_mockProducer);
+  }
+
+  @Test
+  public void testAddManyAcrossUrnsSameAspectInOneChunk() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn urn = makeFooUrn(1);
+    String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+    AspectFoo v2 = new AspectFoo().setValue("foo");
+    AspectFoo v1 = new AspectFoo().setValue("bar");
+    AspectFoo v0 = new AspectFoo().setValue("baz");
+
+    Map<FooUrn, List<? extends RecordTemplate>> aspectValues = Collections.singletonMap(urn, Arrays.asList(v2, v1, v0));
+    dao.addMany(aspectValues, _dummyAuditStamp);
+
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn, aspectName, 0).getMetadata()), v0);
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn, aspectName, 1).getMetadata()), v2);
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn, aspectName, 2).getMetadata()), v1);
+  }
+
+  @Test
+  public void testAddManyAcrossUrnsMoreKeysThanOneVersionsQuery() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    int urnCount = EbeanLocalDAO.LARGEST_VERSIONS_QUERY_KEYS + 1;
+    dao.setBatchWriteSize(urnCount);
+    String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+    AspectFoo v1 = new AspectFoo().setValue("foo");
+    AspectFoo v0 = new AspectFoo().setValue("bar");
+
+    Map<FooUrn, List<? extends RecordTemplate>> initialValues = new LinkedHashMap<>();
+    Map<FooUrn, List<? extends RecordTemplate>> updatedValues = new LinkedHashMap<>();
+    for (int i = 0; i < urnCount; i++) {
+      initialValues.put(makeFooUrn(i), Collections.singletonList(v1));
+      updatedValues.put(makeFooUrn(i), Collections.singletonList(v0));
+    }
+    dao.addMany(initialValues, _dummyAuditStamp);
+    // the largest versions of all the existing rows are read in two queries, and their updates are batched
+    dao.addMany(updatedValues, _dummyAuditStamp);
+
+    for (FooUrn urn : Arrays.asList(makeFooUrn(0), makeFooUrn(urnCount - 1))) {
+      assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn, aspectName, 0).getMetadata()), v0);
+      assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn, aspectName, 1).getMetadata()), v1);
+      assertNull(getMetadata(urn, aspectName, 2));
+      assertEquals(dao.get(AspectFoo.class, urn), Optional.of(v0));
+    }
+  }
+
+  @Test
+  public void testAddManyAcrossUrnsCapsSensitivity() {
+    EbeanLocalDAO<EntityAspectUnion, BurgerUrn> dao = createDao(BurgerUrn.class);
+    BurgerUrn urn = makeBurgerUrn("urn:li:burger:CHEESEburger");
+    String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+    AspectFoo v2 = new AspectFoo().setValue("foo");
+    AspectFoo v1 = new AspectFoo().setValue("bar");
+    AspectFoo v0 = new AspectFoo().setValue("baz");
+    dao.add(urn, v2, _dummyAuditStamp);
+    dao.add(urn, v1, _dummyAuditStamp);
+
+    // the next version is read by the original URN
+    dao.addMany(Collections.singletonMap(urn, Collections.singletonList(v0)), _dummyAuditStamp);
+
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn, aspectName, 0).getMetadata()), v0);
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn, aspectName, 1).getMetadata()), v2);
+    assertEquals(RecordUtils.toRecordTemplate(AspectFoo.class, getMetadata(urn, aspectName, 2).getMetadata()), v1);
+  }
+
+  @Test
+  public void testGetThroughLatestAspectCache() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    InMemoryLatestAspectCache.MetricListener metricListener = mock(InMemoryLatestAspectCache.MetricListener.class);
+    InMemoryLatestAspectCache<FooUrn> cache = new InMemoryLatestAspectCache<>(10);
+    cache.addMetricListener(metricListener);
+    dao.setLatestAspectCache(cache);
+    dao.setCacheTtl(AspectFoo.class, 60000);
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectFoo bar = new AspectFoo().setValue("bar");
+    dao.add(urn, foo, _dummyAuditStamp);
+
+    // first read is a miss, second one is served from cache
+    assertEquals(dao.get(AspectFoo.class, urn), Optional.of(foo));
+    assertEquals(dao.get(AspectFoo.class, urn), Optional.of(foo));
+    // aspects without a TTL and older versions always go to storage
+    assertFalse(dao.get(AspectBar.class, urn).isPresent());
+    assertFalse(dao.get(AspectFoo.class, urn, 1).isPresent());
+    verify(metricListener, times(1)).onMisses(1);
+    verify(metricListener, times(1)).onHits(1);
+
+    // writes through the DAO invalidate the cached value
+    dao.add(urn, bar, _dummyAuditStamp);
+    assertEquals(dao.get(AspectFoo.class, urn), Optional.of(bar));
+    verify(metricListener, times(2)).onMisses(1);
+  }
+
+  @Test
+  public void testGetInTransactionBypassesLatestAspectCache() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    InMemoryLatestAspectCache.MetricListener metricListener = mock(InMemoryLatestAspectCache.MetricListener.class);
+    InMemoryLatestAspectCache<FooUrn> cache = new InMemoryLatestAspectCache<>(10);
+    cache.addMetricListener(metricListener);
+    dao.setLatestAspectCache(cache);
+    dao.setCacheTtl(AspectFoo.class, 60000);
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+
+    // the uncommitted value read within the transaction isn't cached
+    try (Transaction transaction = _server.beginTransaction()) {
+      dao.add(urn, foo, _dummyAuditStamp);
+      assertEquals(dao.get(AspectFoo.class, urn), Optional.of(foo));
+      transaction.rollback();
+    }
+    verifyZeroInteractions(metricListener);
+
+    assertFalse(dao.get(AspectFoo.class, urn).isPresent());
+    verify(metricListener, times(1)).onMisses(1);
+  }
+
   @Test
   public void testGetNonExisting() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -651,11 +993,13 @@ public class EbeanLocalDAOTest {
         dao.backfill(Collections.singleton(AspectFoo.class), new HashSet<>(urns));
 
     // then
-    for (Urn urn : urns) {
+    Set<AspectAuditEvent<?, ?>> expectedAuditEvents = new HashSet<>();
+    for (FooUrn urn : urns) {
       RecordTemplate aspect = aspects.get(urn).get(AspectFoo.class);
       assertEquals(backfilledAspects.get(urn).get(AspectFoo.class).get(), aspect);
-      verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn, aspect, aspect);
+      expectedAuditEvents.add(new AspectAuditEvent<>(urn, aspect, aspect));
     }
+    assertEquals(verifyBackfillAuditEvents(1), expectedAuditEvents);
   }
 
   @Test
@@ -679,11 +1023,13 @@ public class EbeanLocalDAOTest {
         dao.backfill(ImmutableSet.of(AspectFoo.class, AspectBar.class), Collections.singleton(urns.get(0)));
 
     // then
+    Set<AspectAuditEvent<?, ?>> expectedAuditEvents = new HashSet<>();
     for (Class<? extends RecordTemplate> clazz : aspects.get(urns.get(0)).keySet()) {
       RecordTemplate aspect = aspects.get(urns.get(0)).get(clazz);
       assertEquals(backfilledAspects.get(urns.get(0)).get(clazz).get(), aspect);
-      verify(_mockProducer, times(1)).produceMetadataAuditEvent(urns.get(0), aspect, aspect);
+      expectedAuditEvents.add(new AspectAuditEvent<>(urns.get(0), aspect, aspect));
     }
+    assertEquals(verifyBackfillAuditEvents(1), expectedAuditEvents);
   }
 
   @Test
@@ -710,14 +1056,15 @@ public class EbeanLocalDAOTest {
         dao.backfill(ImmutableSet.of(AspectFoo.class, AspectBar.class), new HashSet<>(urns));
 
     // then
-    for (Urn urn : urns) {
+    Set<AspectAuditEvent<?, ?>> expectedAuditEvents = new HashSet<>();
+    for (FooUrn urn : urns) {
       for (Class<? extends RecordTemplate> clazz : aspects.get(urn).keySet()) {
         RecordTemplate aspect = aspects.get(urn).get(clazz);
         assertEquals(backfilledAspects.get(urn).get(clazz).get(), aspect);
-        verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn, aspect, aspect);
-        verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvent(urn, aspect, aspect);
+        expectedAuditEvents.add(new AspectAuditEvent<>(urn, aspect, aspect));
       }
     }
+    assertEquals(verifyBackfillAuditEvents(1), expectedAuditEvents);
     verifyNoMoreInteractions(_mockProducer);
   }
 
@@ -753,8 +1100,8 @@ public class EbeanLocalDAOTest {
       Urn urn = urns.get(index);
       RecordTemplate aspect = aspects.get(urn).get(AspectFoo.class);
       assertEquals(backfilledAspects.get(urn).get(AspectFoo.class).get(), aspect);
-      verify(_mockProducer, times(0)).produceMetadataAuditEvent(urn, aspect, aspect);
     }
+    verifyZeroInteractions(_mockProducer);
     IndexFilter indexFilter = new IndexFilter().setCriteria(
         new IndexCriterionArray(new IndexCriterion().setAspect(AspectFoo.class.getCanonicalName())));
     assertEquals(dao.listUrns(indexFilter, null, 3).size(), 3);
@@ -762,13 +1109,15 @@ public class EbeanLocalDAOTest {
     // Backfill in MAE_ONLY mode
     backfilledAspects =
         dao.backfill(BackfillMode.MAE_ONLY, Collections.singleton(AspectBar.class), FooUrn.class, null, 3);
+    Set<AspectAuditEvent<?, ?>> expectedAuditEvents = new HashSet<>();
     for (int index = 0; index < 3; index++) {
-      Urn urn = urns.get(index);
+      FooUrn urn = urns.get(index);
       RecordTemplate aspect = aspects.get(urn).get(AspectBar.class);
       assertEquals(backfilledAspects.get(urn).get(AspectBar.class).get(), aspect);
-      verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn, aspect, aspect);
-      verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvent(urn, aspect, aspect);
+      expectedAuditEvents.add(new AspectAuditEvent<>(urn, aspect, aspect));
     }
+    assertEquals(verifyBackfillAuditEvents(1), expectedAuditEvents);
+    verifyNoMoreInteractions(_mockProducer);
     clearInvocations(_mockProducer);
 
     indexFilter = new IndexFilter().setCriteria(
@@ -782,9 +1131,8 @@ public class EbeanLocalDAOTest {
       Urn urn = urns.get(index);
       RecordTemplate aspect = aspects.get(urn).get(AspectBar.class);
       assertEquals(backfilledAspects.get(urn).get(AspectBar.class).get(), aspect);
-      verify(_mockProducer, times(1)).produceMetadataAuditEvent(urn, aspect, aspect);
-      verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvent(urn, aspect, aspect);
     }
+    assertEquals(verifyBackfillAuditEvents(1), expectedAuditEvents);
     verifyNoMoreInteractions(_mockProducer);
     assertEquals(dao.listUrns(indexFilter, null, 3).size(), 3);
   }
@@ -1004,6 +1352,20 @@ public class EbeanLocalDAOTest {
     assertEquals(urns2, Collections.singletonList(urn1));
   }
 
+  @Test
+  public void testSetTotalCountSettings() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      dao.setTotalCountCap(100);
+      dao.setTotalCountCacheTtl(1000);
+    } else {
+      // urns are listed from the old schema, which ignores total count modes
+      assertThrows(UnsupportedOperationException.class, () -> dao.setTotalCountCap(100));
+      assertThrows(UnsupportedOperationException.class, () -> dao.setTotalCountCacheTtl(1000));
+    }
+  }
+
   @Test
   public void testGetFieldColumn() {
     // 1. string corresponds to string column
@@ -1551,6 +1913,60 @@ public class EbeanLocalDAOTest {
     assertEquals(id3, 1);
   }
 
+  @Test
+  void testNewNumericIdWithIdBlocks() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao1 = createDao(FooUrn.class);
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao2 = createDao(FooUrn.class);
+    dao1.setIdBlockSize(3);
+    dao2.setIdBlockSize(3);
+    List<Integer> reservedBlockSizes = new ArrayList<>();
+    dao1.addMetricListener(new EbeanLocalDAO.MetricListener() {
+      @Override
+      public void onIdBlockReserved(@Nonnull String namespace, int blockSize, long reservationTimeMs, int retries) {
+        reservedBlockSizes.add(blockSize);
+      }
+    });
+
+    // dao1 reserves [1, 3], dao2 reserves [4, 6], then dao1 reserves [7, 9] once its first block is used up
+    List<Long> ids = Arrays.asList(dao1.newNumericId("namespace"), dao2.newNumericId("namespace"),
+        dao1.newNumericId("namespace"), dao1.newNumericId("namespace"), dao1.newNumericId("namespace"),
+        dao2.newNumericId("namespace"));
+
+    assertEquals(ids, Arrays.asList(1L, 4L, 2L, 3L, 7L, 5L));
+    assertEquals(reservedBlockSizes, Arrays.asList(3, 3));
+
+    // single ID allocation never hands out a reserved ID
+    assertEquals(createDao(FooUrn.class).newNumericId("namespace"), 10);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testNewNumericIdLocksOnlyForIdBlocks() {
+    EbeanServer server = mock(EbeanServer.class);
+    Query<EbeanMetadataId> query = mock(Query.class);
+    ExpressionList<EbeanMetadataId> expressionList = mock(ExpressionList.class);
+    OrderBy<EbeanMetadataId> orderBy = mock(OrderBy.class);
+    when(server.beginTransaction()).thenReturn(mock(Transaction.class));
+    when(server.find(EbeanMetadataId.class)).thenReturn(query);
+    when(query.where()).thenReturn(expressionList);
+    when(expressionList.eq(anyString(), any())).thenReturn(expressionList);
+    when(expressionList.orderBy()).thenReturn(orderBy);
+    when(orderBy.desc(anyString())).thenReturn(query);
+    when(query.setMaxRows(anyInt())).thenReturn(query);
+    when(query.forUpdate()).thenReturn(query);
+    when(query.findOneOrEmpty()).thenReturn(Optional.empty());
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(server, FooUrn.class);
+
+    // single IDs keep the plain read
+    assertEquals(dao.newNumericId("namespace"), 1);
+    verify(query, never()).forUpdate();
+
+    // blocks lock the largest ID
+    dao.setIdBlockSize(3);
+    assertEquals(dao.newNumericId("namespace"), 1);
+    verify(query, times(1)).forUpdate();
+  }
+
   @Test
   void testSaveSingleEntryToLocalIndex() {
     EbeanLocalDAO<EntityAspectUnion, BarUrn> dao = createDao(BarUrn.class);
@@ -1832,6 +2248,36 @@ public class EbeanLocalDAOTest {
     assertEquals(fooRecord8.getStringVal(), "val3");
   }
 
+  @Test
+  void testUpdateAspectInLocalIndexOnlyWritesChangedRows() {
+    if (_schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY) {
+      // SCSI is not supported by the new schema
+      return;
+    }
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = new EbeanLocalDAO<>(_mockProducer, _server, EmbeddedMariaInstance.SERVER_CONFIG,
+        makeLocalDAOStorageConfig(AspectFooEvolved.class, Arrays.asList("/value", "/newValue")), FooUrn.class, _schemaConfig);
+    dao.enableLocalSecondaryIndex(true);
+    dao.setUrnPathExtractor(new FooUrnPathExtractor());
+    FooUrn urn = makeFooUrn(1);
+    String aspectName = AspectFooEvolved.class.getCanonicalName();
+
+    dao.updateLocalIndex(urn, new AspectFooEvolved().setValue("val1").setNewValue("newVal1"), 0);
+    Map<String, EbeanMetadataIndex> records1 = getAllRecordsFromLocalIndex(urn).stream()
+        .filter(record -> record.getAspect().equals(aspectName))
+        .collect(Collectors.toMap(EbeanMetadataIndex::getPath, Function.identity()));
+
+    dao.updateLocalIndex(urn, new AspectFooEvolved().setValue("val1").setNewValue("newVal2"), 1);
+    Map<String, EbeanMetadataIndex> records2 = getAllRecordsFromLocalIndex(urn).stream()
+        .filter(record -> record.getAspect().equals(aspectName))
+        .collect(Collectors.toMap(EbeanMetadataIndex::getPath, Function.identity()));
+
+    // the unchanged row is kept as is, the changed one is replaced
+    assertEquals(records2.size(), 2);
+    assertEquals(records2.get("/value").getId(), records1.get("/value").getId());
+    assertNotEquals(records2.get("/newValue").getId(), records1.get("/newValue").getId());
+    assertEquals(records2.get("/newValue").getStringVal(), "newVal2");
+  }
+
   @Test
   void testUpdateLocalIndex() {
     EbeanLocalDAO<EntityAspectUnion, BarUrn> dao = createDao(BarUrn.class);
@@ -2163,6 +2609,35 @@ public class EbeanLocalDAOTest {
     assertEquals(urns2, Collections.singletonList(urn4));
   }
 
+  @Test
+  void testScanUrns() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.enableLocalSecondaryIndex(true);
+    dao.setUrnPathExtractor(new FooUrnPathExtractor());
+
+    List<FooUrn> urns = Arrays.asList(makeFooUrn(1), makeFooUrn(2), makeFooUrn(3));
+    AspectFoo aspectFoo = new AspectFoo().setValue("foo");
+    urns.forEach(urn -> dao.add(urn, aspectFoo, _dummyAuditStamp));
+    clearInvocations(_mockProducer);
+
+    // pages of 2 urns, the second page is short
+    assertEquals(dao.scanUrns(FooUrn.class, null, 2).collect(Collectors.toList()), urns);
+    assertEquals(dao.scanUrns(FooUrn.class, urns.get(0), 2).collect(Collectors.toList()), urns.subList(1, 3));
+    assertEquals(dao.scanUrns(FooUrn.class, urns.get(2), 2).count(), 0);
+
+    List<UrnAspectEntry<FooUrn>> entries = dao.scan(Collections.singleton(AspectFoo.class), FooUrn.class, null, 2)
+        .collect(Collectors.toList());
+    assertEquals(entries.size(), 3);
+    entries.forEach(entry -> assertEquals(entry.getAspects(), Collections.singletonList(aspectFoo)));
+
+    // backfill all entities, one page at a time
+    assertEquals(dao.backfillAll(BackfillMode.MAE_ONLY, Collections.singleton(AspectFoo.class), FooUrn.class, null, 2), 3);
+    // one batch of MAEs per page
+    assertEquals(verifyBackfillAuditEvents(2),
+        urns.stream().map(urn -> new AspectAuditEvent<>(urn, aspectFoo, aspectFoo)).collect(Collectors.toSet()));
+    verifyNoMoreInteractions(_mockProducer);
+  }
+
   @Test
   void testGetUrn() {
     // case 1: valid urn
@@ -2626,6 +3101,29 @@ public class EbeanLocalDAOTest {
     assertEquals(records.size(), 2);
   }
 
+  @Test
+  public void testIndexRecords() {
+    // given
+    FooUrn fooUrn = makeFooUrn(1);
+    EbeanMetadataAspect foo0 = getMetadata(fooUrn, AspectFoo.class.getCanonicalName(), 0, new AspectFoo().setValue("foo"));
+    EbeanMetadataAspect foo1 = getMetadata(fooUrn, AspectFoo.class.getCanonicalName(), 1, new AspectFoo().setValue("bar"));
+    EbeanMetadataAspect duplicate = getMetadata(fooUrn, AspectFoo.class.getCanonicalName(), 0, new AspectFoo().setValue("baz"));
+    EbeanMetadataAspect upperCase = getMetadata(makeBurgerUrn("urn:li:burger:CHEESEburger"),
+        AspectFoo.class.getCanonicalName(), 0, new AspectFoo().setValue("cheese"));
+
+    // when
+    Map<EbeanLocalDAO.AspectLookupKey, EbeanMetadataAspect> index =
+        EbeanLocalDAO.indexRecords(Arrays.asList(foo0, foo1, duplicate, upperCase));
+
+    // then
+    assertEquals(index.size(), 3);
+    assertSame(index.get(EbeanLocalDAO.toLookupKey(new AspectKey<>(AspectFoo.class, fooUrn, 0L))), foo0);
+    assertSame(index.get(EbeanLocalDAO.toLookupKey(new AspectKey<>(AspectFoo.class, fooUrn, 1L))), foo1);
+    assertSame(index.get(EbeanLocalDAO.toLookupKey(
+        new AspectKey<>(AspectFoo.class, makeBurgerUrn("urn:li:burger:cheeseburger"), 0L))), upperCase);
+    assertNull(index.get(EbeanLocalDAO.toLookupKey(new AspectKey<>(AspectBar.class, fooUrn, 0L))));
+  }
+
   @Test
   public void testCountAggregate() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -2839,6 +3337,59 @@ public class EbeanLocalDAOTest {
     testGetWithQuerySize(1000);
   }
 
+  @Test
+  public void testGetWithParallelPages() {
+    // given
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys = new HashSet<>();
+    for (int i = 0; i < 5; i++) {
+      FooUrn fooUrn = makeFooUrn(i);
+      addMetadata(fooUrn, AspectFoo.class.getCanonicalName(), 0, new AspectFoo().setValue("foo" + i));
+      keys.add(new AspectKey<>(AspectFoo.class, fooUrn, 0L));
+    }
+    List<Integer> pageKeysCounts = Collections.synchronizedList(new ArrayList<>());
+    dao.addMetricListener(new EbeanLocalDAO.MetricListener() {
+      @Override
+      public void onBatchGetPage(int keysCount, int resultCount, long queryTimeMs, boolean parallel) {
+        assertTrue(parallel);
+        pageKeysCounts.add(keysCount);
+      }
+    });
+    dao.setQueryKeysCount(2);
+    dao.setBatchGetParallelism(2);
+
+    // when
+    Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> records = dao.get(keys);
+
+    // then
+    assertEquals(records.size(), 5);
+    for (int i = 0; i < 5; i++) {
+      assertEquals(records.get(new AspectKey<>(AspectFoo.class, makeFooUrn(i), 0L)),
+          Optional.of(new AspectFoo().setValue("foo" + i)));
+    }
+    // 5 keys with 2 keys per sub query
+    assertEquals(pageKeysCounts.size(), 3);
+    assertEquals(pageKeysCounts.stream().mapToInt(Integer::intValue).sum(), 5);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNegativeBatchGetParallelism() {
+    createDao(FooUrn.class).setBatchGetParallelism(-1);
+  }
+
+  @Test
+  public void testCallerOwnedBatchGetExecutorIsNotShutDown() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    ExecutorService executor = mock(ExecutorService.class);
+    dao.setBatchGetParallelism(2);
+
+    dao.setBatchGetExecutor(executor);
+    dao.setBatchGetParallelism(0);
+
+    verify(executor, never()).shutdown();
+    verify(executor, never()).shutdownNow();
+  }
+
   @Test(expectedExceptions = OptimisticLockException.class)
   public void testOptimisticLockException() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -3043,6 +3594,24 @@ public class EbeanLocalDAOTest {
     }
   }
 
+  /**
+   * Verifies that backfill produced both kinds of MAEs in {@code batchCount} batches with the same events, and returns
+   * the events of all batches. Events within a batch are in no particular order.
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private Set<AspectAuditEvent<?, ?>> verifyBackfillAuditEvents(int batchCount) {
+    ArgumentCaptor<List> auditEvents = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<List> aspectSpecificAuditEvents = ArgumentCaptor.forClass(List.class);
+    verify(_mockProducer, times(batchCount)).produceMetadataAuditEvents(auditEvents.capture());
+    verify(_mockProducer, times(batchCount)).produceAspectSpecificMetadataAuditEvents(aspectSpecificAuditEvents.capture());
+    assertEquals(aspectSpecificAuditEvents.getAllValues(), auditEvents.getAllValues());
+
+    Set<AspectAuditEvent<?, ?>> events = new HashSet<>();
+    auditEvents.getAllValues().forEach(events::addAll);
+    return events;
+  }
+
   @Nonnull
   private EbeanMetadataAspect getMetadata(Urn urn, String aspectName, long version, @Nullable RecordTemplate metadata) {
     EbeanMetadataAspect aspect = new EbeanMetadataAspect();
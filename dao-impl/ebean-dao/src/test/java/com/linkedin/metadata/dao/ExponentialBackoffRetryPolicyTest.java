@@ -0,0 +1,38 @@
+package com.linkedin.metadata.dao;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class ExponentialBackoffRetryPolicyTest {
+
+  @Test
+  public void testBackoffIsBounded() {
+    ExponentialBackoffRetryPolicy policy = new ExponentialBackoffRetryPolicy(10, 50, 10_000);
+
+    for (int i = 0; i < 100; i++) {
+      long first = policy.getBackoffMillis(1, 0);
+      assertTrue(first >= 0 && first <= 10, "first backoff out of bounds: " + first);
+
+      long third = policy.getBackoffMillis(3, 0);
+      assertTrue(third >= 0 && third <= 40, "third backoff out of bounds: " + third);
+
+      long capped = policy.getBackoffMillis(64, 0);
+      assertTrue(capped >= 0 && capped <= 50, "capped backoff out of bounds: " + capped);
+    }
+  }
+
+  @Test
+  public void testGivesUpAtDeadline() {
+    ExponentialBackoffRetryPolicy policy = new ExponentialBackoffRetryPolicy(10, 50, 100);
+
+    assertEquals(policy.getBackoffMillis(1, 101), -1);
+    assertTrue(policy.getBackoffMillis(1, 90) >= 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidBackoff() {
+    new ExponentialBackoffRetryPolicy(10, 5, 100);
+  }
+}
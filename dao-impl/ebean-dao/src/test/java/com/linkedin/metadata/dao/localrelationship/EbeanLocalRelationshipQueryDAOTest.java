@@ -353,6 +353,134 @@ public class EbeanLocalRelationshipQueryDAOTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  public void testFindEntitiesMultiHops() throws Exception {
+    FooUrn alice = new FooUrn(1);
+    FooUrn bob = new FooUrn(2);
+    FooUrn jack = new FooUrn(3);
+
+    // Add Alice, Bob and Jack into entity tables.
+    _fooUrnEBeanLocalAccess.add(alice, new AspectFoo().setValue("Alice"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(bob, new AspectFoo().setValue("Bob"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(jack, new AspectFoo().setValue("Jack"), AspectFoo.class, new AuditStamp());
+
+    // Jack reports to Bob, Bob reports to Alice.
+    _localRelationshipWriterDAO.addRelationship(new ReportsTo().setSource(jack).setDestination(bob));
+    _localRelationshipWriterDAO.addRelationship(new ReportsTo().setSource(bob).setDestination(alice));
+
+    LocalRelationshipFilter aliceFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray(
+        new LocalRelationshipCriterion()
+            .setField(fooValueField())
+            .setValue(LocalRelationshipValue.create("Alice"))
+            .setCondition(Condition.EQUAL)));
+    LocalRelationshipFilter emptyFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray());
+    LocalRelationshipFilter incoming = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray())
+        .setDirection(RelationshipDirection.INCOMING);
+
+    // Alice's direct and indirect reports.
+    List<RecordTemplate> reports = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incoming, 1, 2, 0, 10);
+    assertEquals(toFooUrns(reports), ImmutableSet.of(bob, jack));
+
+    // Alice's indirect reports only.
+    reports = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incoming, 2, 2, 0, 10);
+    assertEquals(toFooUrns(reports), ImmutableSet.of(jack));
+
+    // Alice also reports to Jack, the traversal must stop at max hops despite the cycle.
+    _localRelationshipWriterDAO.addRelationship(new ReportsTo().setSource(alice).setDestination(jack));
+    reports = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incoming, 1, 10, 0, 10);
+    assertEquals(toFooUrns(reports), ImmutableSet.of(alice, bob, jack));
+
+    // Managers of Alice's managers, following the relationship in the outgoing direction.
+    LocalRelationshipFilter outgoing = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray())
+        .setDirection(RelationshipDirection.OUTGOING);
+    List<RecordTemplate> managers = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, aliceFilter,
+        FooSnapshot.class, emptyFilter, ReportsTo.class, outgoing, 2, 2, 0, 10);
+    assertEquals(toFooUrns(managers), ImmutableSet.of(bob));
+  }
+
+  @Test
+  public void testFindEntitiesMultiHopsUndirected() throws Exception {
+    FooUrn alice = new FooUrn(1);
+    FooUrn bob = new FooUrn(2);
+    FooUrn jack = new FooUrn(3);
+    FooUrn john = new FooUrn(4);
+
+    _fooUrnEBeanLocalAccess.add(alice, new AspectFoo().setValue("Alice"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(bob, new AspectFoo().setValue("Bob"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(jack, new AspectFoo().setValue("Jack"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(john, new AspectFoo().setValue("John"), AspectFoo.class, new AuditStamp());
+
+    // Alice --> Jack, Bob --> Jack, Bob --> John.
+    _localRelationshipWriterDAO.addRelationship(new PairsWith().setSource(alice).setDestination(jack));
+    _localRelationshipWriterDAO.addRelationship(new PairsWith().setSource(bob).setDestination(jack));
+    _localRelationshipWriterDAO.addRelationship(new PairsWith().setSource(bob).setDestination(john));
+
+    LocalRelationshipFilter aliceFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray(
+        new LocalRelationshipCriterion()
+            .setField(fooValueField())
+            .setValue(LocalRelationshipValue.create("Alice"))
+            .setCondition(Condition.EQUAL)));
+
+    // Persons three pairs away from Alice, regardless of the pair direction: Alice - Jack - Bob - (Jack, John).
+    List<RecordTemplate> persons = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, aliceFilter,
+        FooSnapshot.class, new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()), PairsWith.class,
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.UNDIRECTED),
+        3, 3, 0, 10);
+    assertEquals(toFooUrns(persons), ImmutableSet.of(jack, john));
+  }
+
+  @Test
+  public void testFindEntitiesMultiHopsCapsEachHop() throws Exception {
+    FooUrn alice = new FooUrn(1);
+    FooUrn bob = new FooUrn(2);
+    FooUrn jack = new FooUrn(3);
+    FooUrn john = new FooUrn(4);
+    FooUrn mary = new FooUrn(5);
+
+    _fooUrnEBeanLocalAccess.add(alice, new AspectFoo().setValue("Alice"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(bob, new AspectFoo().setValue("Bob"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(jack, new AspectFoo().setValue("Jack"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(john, new AspectFoo().setValue("John"), AspectFoo.class, new AuditStamp());
+    _fooUrnEBeanLocalAccess.add(mary, new AspectFoo().setValue("Mary"), AspectFoo.class, new AuditStamp());
+
+    // Bob and Jack report to Alice, John reports to Bob, Mary reports to Jack.
+    _localRelationshipWriterDAO.addRelationship(new ReportsTo().setSource(bob).setDestination(alice));
+    _localRelationshipWriterDAO.addRelationship(new ReportsTo().setSource(jack).setDestination(alice));
+    _localRelationshipWriterDAO.addRelationship(new ReportsTo().setSource(john).setDestination(bob));
+    _localRelationshipWriterDAO.addRelationship(new ReportsTo().setSource(mary).setDestination(jack));
+
+    LocalRelationshipFilter aliceFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray(
+        new LocalRelationshipCriterion()
+            .setField(fooValueField())
+            .setValue(LocalRelationshipValue.create("Alice"))
+            .setCondition(Condition.EQUAL)));
+    LocalRelationshipFilter emptyFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray());
+    LocalRelationshipFilter incoming = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray())
+        .setDirection(RelationshipDirection.INCOMING);
+
+    List<RecordTemplate> reports = _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incoming, 1, 2, 0, 10);
+    assertEquals(toFooUrns(reports), ImmutableSet.of(bob, jack, john, mary));
+
+    // With one entity per hop, only Bob is kept on the first hop, and only his report on the second one.
+    EbeanLocalRelationshipQueryDAO cappedQueryDAO = new EbeanLocalRelationshipQueryDAO(_server);
+    cappedQueryDAO.setMaxFrontierSize(1);
+    reports = cappedQueryDAO.findEntities(FooSnapshot.class, emptyFilter,
+        FooSnapshot.class, aliceFilter, ReportsTo.class, incoming, 1, 2, 0, 10);
+    assertEquals(toFooUrns(reports), ImmutableSet.of(bob, john));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testFindEntitiesWithInvalidHops() {
+    LocalRelationshipFilter emptyFilter = new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray());
+    _localRelationshipQueryDAO.findEntities(FooSnapshot.class, emptyFilter, FooSnapshot.class, emptyFilter, ReportsTo.class,
+        new LocalRelationshipFilter().setCriteria(new LocalRelationshipCriterionArray()).setDirection(RelationshipDirection.INCOMING),
+        3, 2, 0, 10);
+  }
+
   @Test
   public void testFindOneEntityWithInCondition() throws URISyntaxException {
     // Ingest data
@@ -412,4 +540,16 @@ public class EbeanLocalRelationshipQueryDAOTest {
       assertEquals(ex.getMessage(), "Relationship direction cannot be null or UNKNOWN.");
     }
   }
+
+  private LocalRelationshipCriterion.Field fooValueField() {
+    LocalRelationshipCriterion.Field field = new LocalRelationshipCriterion.Field();
+    field.setAspectField(new AspectField().setAspect(AspectFoo.class.getCanonicalName()).setPath("/value"));
+    return field;
+  }
+
+  private Set<FooUrn> toFooUrns(List<RecordTemplate> snapshots) {
+    return snapshots.stream()
+        .map(snapshot -> makeFooUrn(snapshot.data().get("urn").toString()))
+        .collect(Collectors.toSet());
+  }
 }
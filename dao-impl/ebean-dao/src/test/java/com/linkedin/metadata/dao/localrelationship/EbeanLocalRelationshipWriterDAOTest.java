@@ -161,6 +161,94 @@ public class EbeanLocalRelationshipWriterDAOTest {
     _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_versionof"));
   }
 
+  @Test
+  public void testAddRelationshipsInBatches() throws URISyntaxException {
+    EbeanLocalRelationshipWriterDAO writerDAO = new EbeanLocalRelationshipWriterDAO(_server);
+    writerDAO.setInsertBatchSize(2);
+
+    AspectFooBar aspectFooBar = new AspectFooBar().setBars(new BarUrnArray(
+        BarUrn.createFromString("urn:li:bar:123"),
+        BarUrn.createFromString("urn:li:bar:456"),
+        BarUrn.createFromString("urn:li:bar:789")));
+
+    List<BaseLocalRelationshipBuilder<AspectFooBar>.LocalRelationshipUpdates> updates = new ReportsToLocalRelationshipBuilder(AspectFooBar.class)
+        .buildRelationships(FooUrn.createFromString("urn:li:foo:123"), aspectFooBar);
+
+    writerDAO.processLocalRelationshipUpdates(updates);
+
+    List<SqlRow> after = _server.createSqlQuery("select * from metadata_relationship_reportsto order by source").findList();
+    assertEquals(after.size(), 3);
+    assertEquals(after.get(0).getString("source"), "urn:li:bar:123");
+    assertEquals(after.get(0).getString("source_type"), "bar");
+    assertEquals(after.get(0).getString("destination"), "urn:li:foo:123");
+    assertEquals(after.get(0).getString("destination_type"), "foo");
+    assertEquals(after.get(2).getString("source"), "urn:li:bar:789");
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_reportsto"));
+  }
+
+  @Test
+  public void testAddRelationshipsWithBatchSizeNotPowerOfTwo() throws URISyntaxException {
+    EbeanLocalRelationshipWriterDAO writerDAO = new EbeanLocalRelationshipWriterDAO(_server);
+    // rounded down to 2, so the relationships are inserted by a statement of 2 rows and one of 1 row
+    writerDAO.setInsertBatchSize(3);
+
+    AspectFooBar aspectFooBar = new AspectFooBar().setBars(new BarUrnArray(
+        BarUrn.createFromString("urn:li:bar:123"),
+        BarUrn.createFromString("urn:li:bar:456"),
+        BarUrn.createFromString("urn:li:bar:789")));
+
+    writerDAO.processLocalRelationshipUpdates(new ReportsToLocalRelationshipBuilder(AspectFooBar.class)
+        .buildRelationships(FooUrn.createFromString("urn:li:foo:123"), aspectFooBar));
+
+    List<SqlRow> after = _server.createSqlQuery("select * from metadata_relationship_reportsto order by source").findList();
+    assertEquals(after.size(), 3);
+    assertEquals(after.get(0).getString("source"), "urn:li:bar:123");
+    assertEquals(after.get(1).getString("source"), "urn:li:bar:456");
+    assertEquals(after.get(2).getString("source"), "urn:li:bar:789");
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_reportsto"));
+  }
+
+  @Test
+  public void testAddRelationshipWithDiffMode() throws URISyntaxException {
+    EbeanLocalRelationshipWriterDAO writerDAO = new EbeanLocalRelationshipWriterDAO(_server);
+    writerDAO.setDiffMode(true);
+
+    // an existing edge that isn't produced by the aspect
+    _server.execute(Ebean.createSqlUpdate(insertRelationships("metadata_relationship_belongsto", "urn:li:bar:000",
+        "bar", "urn:li:foo:123", "foo")));
+
+    AspectFooBar aspectFooBar = new AspectFooBar().setBars(new BarUrnArray(
+        BarUrn.createFromString("urn:li:bar:123"),
+        BarUrn.createFromString("urn:li:bar:456")));
+    writerDAO.processLocalRelationshipUpdates(new BelongsToLocalRelationshipBuilder(AspectFooBar.class)
+        .buildRelationships(FooUrn.createFromString("urn:li:foo:123"), aspectFooBar));
+
+    List<SqlRow> before = _server.createSqlQuery("select * from metadata_relationship_belongsto order by source").findList();
+    assertEquals(before.size(), 2);
+    assertEquals(before.get(0).getString("source"), "urn:li:bar:123");
+    assertEquals(before.get(1).getString("source"), "urn:li:bar:456");
+
+    aspectFooBar = new AspectFooBar().setBars(new BarUrnArray(
+        BarUrn.createFromString("urn:li:bar:456"),
+        BarUrn.createFromString("urn:li:bar:789")));
+    writerDAO.processLocalRelationshipUpdates(new BelongsToLocalRelationshipBuilder(AspectFooBar.class)
+        .buildRelationships(FooUrn.createFromString("urn:li:foo:123"), aspectFooBar));
+
+    // bar:123 is deleted, bar:456 is kept as is and bar:789 is inserted
+    List<SqlRow> after = _server.createSqlQuery("select * from metadata_relationship_belongsto order by source").findList();
+    assertEquals(after.size(), 2);
+    assertEquals(after.get(0).getString("source"), "urn:li:bar:456");
+    assertEquals(after.get(0).getLong("id"), before.get(1).getLong("id"));
+    assertEquals(after.get(1).getString("source"), "urn:li:bar:789");
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_belongsto"));
+  }
+
   private String insertRelationships(String table, String sourceUrn, String sourceType, String destinationUrn, String destinationType) {
     String insertTemplate = "INSERT INTO %s (metadata, source, source_type, destination, destination_type, lastmodifiedon, lastmodifiedby)"
         + " VALUES ('{\"metadata\": true}', '%s', '%s', '%s', '%s', '1970-01-01 00:00:01', 'unknown')";
@@ -1,5 +1,6 @@
 package com.linkedin.metadata.dao.utils;
 
+import com.linkedin.data.template.StringArray;
 import com.linkedin.metadata.query.Condition;
 import com.linkedin.metadata.query.IndexCriterion;
 import com.linkedin.metadata.query.IndexCriterionArray;
@@ -8,6 +9,10 @@ import com.linkedin.metadata.query.IndexSortCriterion;
 import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.SortOrder;
 import com.linkedin.testing.AspectFoo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.*;
@@ -39,7 +44,25 @@ public class SQLIndexFilterUtilsTest {
     indexCriterionArray.add(indexCriterion);
     indexFilter.setCriteria(indexCriterionArray);
 
-    String sql = SQLIndexFilterUtils.parseIndexFilter(indexFilter);
-    assertEquals(sql, "WHERE a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo$id < 12");
+    List<Object> parameters = new ArrayList<>();
+    String sql = SQLIndexFilterUtils.parseIndexFilter(indexFilter, parameters);
+    assertEquals(sql, "WHERE a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo$id < ?");
+    assertEquals(parameters, Collections.singletonList(12L));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testParseIndexFilterWithParameters() {
+    IndexCriterion lessThan =
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "id", Condition.LESS_THAN, IndexValue.create(12L));
+    IndexCriterion in = SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.IN,
+        IndexValue.create(new StringArray("a", "b'c")));
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(lessThan, in));
+
+    List<Object> parameters = new ArrayList<>();
+    String sql = SQLIndexFilterUtils.parseIndexFilter(indexFilter, parameters);
+
+    assertEquals(sql, "WHERE a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo$id < ?"
+        + "\nAND a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo$value IN (?, ?)");
+    assertEquals(parameters, Arrays.asList(12L, "a", "b'c"));
+  }
+}
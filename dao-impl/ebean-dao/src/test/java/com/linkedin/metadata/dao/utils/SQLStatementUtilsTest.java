@@ -17,6 +17,7 @@ import com.linkedin.metadata.query.SortOrder;
 import com.linkedin.metadata.query.UrnField;
 import com.linkedin.testing.AspectFoo;
 import com.linkedin.testing.urn.FooUrn;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -51,10 +52,76 @@ public class SQLStatementUtilsTest {
     set.add(fooUrn1);
     set.add(fooUrn2);
     String expectedSql =
-        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn = 'urn:li:foo:1' "
-            + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL UNION ALL SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby "
-            + "FROM metadata_entity_foo WHERE urn = 'urn:li:foo:2' AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL";
-    assertEquals(SQLStatementUtils.createAspectReadSql(AspectFoo.class, set), expectedSql);
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn IN (?, ?) "
+            + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL";
+    SQLStatementUtils.ParameterizedSql sql = SQLStatementUtils.createAspectReadSql(AspectFoo.class, set);
+    assertEquals(sql.getSql(), expectedSql);
+    assertEquals(new HashSet<>(sql.getParameters()), new HashSet<>(Arrays.asList("urn:li:foo:1", "urn:li:foo:2")));
+  }
+
+  @Test
+  public void testCreateAspectReadSqlPadsToBucket() {
+    Set<Urn> set = new HashSet<>();
+    for (int i = 1; i <= 3; i++) {
+      set.add(makeFooUrn(i));
+    }
+
+    SQLStatementUtils.ParameterizedSql sql = SQLStatementUtils.createAspectReadSql(AspectFoo.class, set);
+
+    // 3 urns are padded to a bucket of 4 by repeating the last one
+    assertEquals(sql.getSql(), "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn IN (?, ?, ?, ?) "
+        + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL");
+    assertEquals(sql.getParameters().size(), 4);
+    assertEquals(sql.getParameters().get(3), sql.getParameters().get(2));
+    assertEquals(new HashSet<>(sql.getParameters()), new HashSet<>(Arrays.asList("urn:li:foo:1", "urn:li:foo:2", "urn:li:foo:3")));
+  }
+
+  @Test
+  public void testCreateAspectReadSqlReusesStatementText() {
+    Set<Urn> set1 = new HashSet<>(Arrays.asList(makeFooUrn(1), makeFooUrn(2), makeFooUrn(3)));
+    Set<Urn> set2 = new HashSet<>(Arrays.asList(makeFooUrn(4), makeFooUrn(5), makeFooUrn(6), makeFooUrn(7)));
+
+    String sql1 = SQLStatementUtils.createAspectReadSql(AspectFoo.class, set1).getSql();
+    int cacheSize = SQLStatementUtils.getStatementTemplateCacheSize();
+    String sql2 = SQLStatementUtils.createAspectReadSql(AspectFoo.class, set2).getSql();
+
+    assertSame(sql2, sql1);
+    assertEquals(SQLStatementUtils.getStatementTemplateCacheSize(), cacheSize);
+  }
+
+  @Test
+  public void testGetUrnBatchBucket() {
+    assertEquals(SQLStatementUtils.getUrnBatchBucket(1), 1);
+    assertEquals(SQLStatementUtils.getUrnBatchBucket(2), 2);
+    assertEquals(SQLStatementUtils.getUrnBatchBucket(3), 4);
+    assertEquals(SQLStatementUtils.getUrnBatchBucket(100), 128);
+    assertEquals(SQLStatementUtils.getUrnBatchBucket(512), 512);
+    assertEquals(SQLStatementUtils.getUrnBatchBucket(513), 1024);
+    assertEquals(SQLStatementUtils.getUrnBatchBucket(1500), 1536);
+  }
+
+  @Test
+  public void testInsertLocalRelationshipsSQL() {
+    assertEquals(SQLStatementUtils.insertLocalRelationshipsSQL("metadata_relationship_foo", 2),
+        "INSERT INTO metadata_relationship_foo (metadata, source, destination, source_type, destination_type, "
+            + "lastmodifiedon, lastmodifiedby) VALUES (?, ?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?, ?)");
+    expectThrows(IllegalArgumentException.class,
+        () -> SQLStatementUtils.insertLocalRelationshipsSQL("metadata_relationship_foo", 3));
+  }
+
+  @Test
+  public void testCreateExistSql() {
+    SQLStatementUtils.ParameterizedSql sql = SQLStatementUtils.createExistSql(makeFooUrn(1));
+    assertEquals(sql.getSql(), "SELECT urn FROM metadata_entity_foo WHERE urn = ?");
+    assertEquals(sql.getParameters(), Collections.singletonList("urn:li:foo:1"));
+  }
+
+  @Test
+  public void testCreateAspectBrowseSql() {
+    SQLStatementUtils.ParameterizedSql sql = SQLStatementUtils.createAspectBrowseSql("foo", AspectFoo.class, 10, 5);
+    assertEquals(sql.getSql(), "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, (SELECT COUNT(urn) FROM metadata_entity_foo) "
+        + "as _total_count FROM metadata_entity_foo WHERE JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL LIMIT ? OFFSET ?");
+    assertEquals(sql.getParameters(), Arrays.asList(5, 10));
   }
 
   @Test
@@ -73,17 +140,37 @@ public class SQLStatementUtilsTest {
     indexCriterionArray.add(indexCriterion2);
     indexFilter.setCriteria(indexCriterionArray);
 
-    String sql = SQLStatementUtils.createFilterSql("metadata_entity_foo", indexFilter,
+    SQLStatementUtils.ParameterizedSql sql = SQLStatementUtils.createFilterSql("metadata_entity_foo", indexFilter,
         SQLIndexFilterUtils.createIndexSortCriterion(AspectFoo.class, "value", SortOrder.ASCENDING));
     String expectedSql = "SELECT *, (SELECT COUNT(urn) FROM metadata_entity_foo WHERE a_aspectfoo IS NOT NULL\n"
-        + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n" + "AND i_aspectfoo$value >= 25\n"
+        + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n" + "AND i_aspectfoo$value >= ?\n"
         + "AND a_aspectfoo IS NOT NULL\n" + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n"
-        + "AND i_aspectfoo$value < 50) as _total_count FROM metadata_entity_foo\n" + "WHERE a_aspectfoo IS NOT NULL\n"
-        + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n" + "AND i_aspectfoo$value >= 25\n"
+        + "AND i_aspectfoo$value < ?) as _total_count FROM metadata_entity_foo\n" + "WHERE a_aspectfoo IS NOT NULL\n"
+        + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n" + "AND i_aspectfoo$value >= ?\n"
         + "AND a_aspectfoo IS NOT NULL\n" + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n"
-        + "AND i_aspectfoo$value < 50";
+        + "AND i_aspectfoo$value < ?";
 
-    assertEquals(sql, expectedSql);
+    assertEquals(sql.getSql(), expectedSql);
+    assertEquals(sql.getParameters(), Arrays.asList(25L, 50L, 25L, 50L));
+  }
+
+  @Test
+  public void testCreateFilterCountSql() {
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.LESS_THAN, IndexValue.create(50))));
+    String whereClause = "WHERE a_aspectfoo IS NOT NULL\nAND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\nAND i_aspectfoo$value < ?";
+
+    SQLStatementUtils.ParameterizedSql sql = SQLStatementUtils.createFilterCountSql("metadata_entity_foo", indexFilter, null);
+    assertEquals(sql.getSql(), "SELECT COUNT(urn) as _total_count FROM metadata_entity_foo " + whereClause);
+    assertEquals(sql.getParameters(), Collections.singletonList(50L));
+
+    sql = SQLStatementUtils.createFilterCountSql("metadata_entity_foo", indexFilter, 1000);
+    assertEquals(sql.getSql(),
+        "SELECT COUNT(urn) as _total_count FROM (SELECT urn FROM metadata_entity_foo " + whereClause + " LIMIT ?) capped");
+    assertEquals(sql.getParameters(), Arrays.asList(50L, 1000));
+
+    sql = SQLStatementUtils.createFilterSqlWithoutCount("metadata_entity_foo", indexFilter);
+    assertEquals(sql.getSql(), "SELECT * FROM metadata_entity_foo\n" + whereClause);
   }
 
   @Test
@@ -105,12 +192,14 @@ public class SQLStatementUtilsTest {
     indexGroupByCriterion.setAspect(AspectFoo.class.getCanonicalName());
     indexGroupByCriterion.setPath("/value");
 
-    String sql = SQLStatementUtils.createGroupBySql("metadata_entity_foo", indexFilter, indexGroupByCriterion);
-    assertEquals(sql, "SELECT count(*) as COUNT, i_aspectfoo$value FROM metadata_entity_foo\n"
+    SQLStatementUtils.ParameterizedSql sql =
+        SQLStatementUtils.createGroupBySql("metadata_entity_foo", indexFilter, indexGroupByCriterion);
+    assertEquals(sql.getSql(), "SELECT count(*) as COUNT, i_aspectfoo$value FROM metadata_entity_foo\n"
         + "WHERE a_aspectfoo IS NOT NULL\n" + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n"
-        + "AND i_aspectfoo$value >= 25\n" + "AND a_aspectfoo IS NOT NULL\n"
-        + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n" + "AND i_aspectfoo$value < 50\n"
+        + "AND i_aspectfoo$value >= ?\n" + "AND a_aspectfoo IS NOT NULL\n"
+        + "AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL\n" + "AND i_aspectfoo$value < ?\n"
         + "GROUP BY i_aspectfoo$value");
+    assertEquals(sql.getParameters(), Arrays.asList(25L, 50L));
   }
 
   @Test
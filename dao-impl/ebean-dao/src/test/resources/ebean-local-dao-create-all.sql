@@ -4,6 +4,7 @@ DROP TABLE IF EXISTS metadata_entity_burger;
 DROP TABLE IF EXISTS metadata_aspect;
 DROP TABLE IF EXISTS metadata_id;
 DROP TABLE IF EXISTS metadata_index;
+DROP TABLE IF EXISTS metadata_audit_outbox;
 
 -- initialize foo entity table
 CREATE TABLE IF NOT EXISTS metadata_entity_foo (
@@ -72,6 +73,19 @@ CREATE TABLE metadata_index (
    CONSTRAINT pk_metadata_index PRIMARY KEY (id)
 );
 
+CREATE TABLE metadata_audit_outbox (
+   id BIGINT AUTO_INCREMENT NOT NULL,
+   urn VARCHAR(500) NOT NULL,
+   aspect VARCHAR(200) NOT NULL,
+   oldvalue LONGTEXT,
+   newvalue LONGTEXT NOT NULL,
+   emitauditevent BOOLEAN NOT NULL,
+   emitaspectspecificauditevent BOOLEAN NOT NULL,
+   createdon DATETIME(6) NOT NULL,
+   deadletter VARCHAR(1000),
+   CONSTRAINT pk_metadata_audit_outbox PRIMARY KEY (id)
+);
+
 ALTER TABLE metadata_entity_foo ADD a_urn JSON;
 ALTER TABLE metadata_entity_bar ADD a_urn JSON;
 
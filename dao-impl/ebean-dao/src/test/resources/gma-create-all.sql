@@ -26,6 +26,19 @@ create table metadata_index (
   constraint pk_metadata_index primary key (id)
 );
 
+create table metadata_audit_outbox (
+  id                            bigint auto_increment not null,
+  urn                           varchar(500) not null,
+  aspect                        varchar(200) not null,
+  oldvalue                      clob,
+  newvalue                      clob not null,
+  emitauditevent                boolean not null,
+  emitaspectspecificauditevent  boolean not null,
+  createdon                     timestamp not null,
+  deadletter                    varchar(1000),
+  constraint pk_metadata_audit_outbox primary key (id)
+);
+
 create index idx_long_val on metadata_index (aspect,path,longval,urn);
 create index idx_string_val on metadata_index (aspect,path,stringval,urn);
 create index idx_double_val on metadata_index (aspect,path,doubleval,urn);
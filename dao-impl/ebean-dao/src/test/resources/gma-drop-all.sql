@@ -4,6 +4,8 @@ drop table if exists metadata_aspect;
 
 drop table if exists metadata_index;
 
+drop table if exists metadata_audit_outbox;
+
 drop index if exists idx_long_val;
 drop index if exists idx_string_val;
 drop index if exists idx_double_val;
@@ -2,6 +2,7 @@ package com.linkedin.metadata.dao.browse;
 
 import com.linkedin.data.schema.RecordDataSchema;
 import com.linkedin.data.template.RecordTemplate;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 import javax.annotation.Nonnull;
@@ -78,5 +79,65 @@ public abstract class BaseBrowseConfig<DOCUMENT extends RecordTemplate> {
     return Collections.singleton("");
   }
 
+  /**
+   * Limitation on number of browse paths loaded into cache during DAO instantiation, or by
+   * {@link ESBrowseDAO#warmUpCache()}. Limitation needed to avoid traffic spike and slow DAO instantiation.
+   */
+  public int getEagerLoadLimit() {
+    return 5;
+  }
+
+  /**
+   * Maximum depth of the browse paths whose results are cached. Deeper paths are browsed directly.
+   */
+  public int getMaximumCachedDepth() {
+    return 2;
+  }
+
+  /**
+   * Maximum number of cached results. Larger number results in more memory consumption.
+   *
+   * <p>Only used if {@link #getMaximumCachedWeight()} isn't positive.
+   */
+  public long getMaximumCachedResults() {
+    return 100;
+  }
+
+  /**
+   * Maximum total weight of cached results, where the weight of a result is 1 plus its number of groups and entities.
+   * Bounds the memory of the cache better than {@link #getMaximumCachedResults()} if the size of results varies a lot.
+   *
+   * @return the maximum weight, or 0 to bound the cache by {@link #getMaximumCachedResults()} instead
+   */
+  public long getMaximumCachedWeight() {
+    return 0;
+  }
+
+  /**
+   * How long after being loaded a cached result is refreshed. The refresh is triggered by the first request after the
+   * interval and runs in the background, while the stale result is still served. Longer refresh interval will result
+   * in staleness in cache.
+   */
+  @Nonnull
+  public Duration getCacheRefreshInterval() {
+    return Duration.ofHours(1);
+  }
+
+  /**
+   * By default only the groups of a path are cached.
+   * @return whether the entities pages of a path are cached as well, keyed by their offset and size.
+   */
+  public boolean shouldCacheEntities() {
+    return false;
+  }
+
+  /**
+   * By default only browse requests without filters are cached.
+   * @return whether browse requests with filters are cached as well, keyed by their filters.
+   */
+  public boolean shouldCacheFilteredBrowse() {
+    return false;
+  }
+
   public abstract Class<DOCUMENT> getSearchDocument();
 }
@@ -0,0 +1,170 @@
+package com.linkedin.metadata.dao.browse;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import org.elasticsearch.action.search.SearchResponse;
+
+
+/**
+ * Cache of browse query responses of {@link ESBrowseDAO}, configured by {@link BaseBrowseConfig}.
+ *
+ * <p>Groups and entities responses share one cache, keyed by {@link Key}, so they're evicted against the same size or
+ * weight bound. The cache also keeps how often each path is browsed, and the hits and misses per path depth.
+ *
+ * <p>Responses are loaded through the cache, so concurrent lookups of a key that is being loaded wait for the same load
+ * instead of each querying Elasticsearch. Keys missing from one lookup are loaded together.
+ */
+class BrowseCache {
+
+  /**
+   * Maximum number of paths whose browse frequency is kept. Less frequent paths are forgotten first.
+   */
+  private static final int MAXIMUM_TRACKED_PATHS = 1000;
+
+  /**
+   * Key of a cached response. The filters are kept sorted, and groups keys always have 0 as from and size, as groups
+   * don't depend on the entities page.
+   */
+  @Value
+  static class Key {
+    ESBrowseDAO.QueryType queryType;
+    String path;
+    Map<String, String> filters;
+    int from;
+    int size;
+
+    @Nonnull
+    static Key groups(@Nonnull String path, @Nonnull Map<String, String> filters) {
+      return new Key(ESBrowseDAO.QueryType.GROUPS, path, normalize(filters), 0, 0);
+    }
+
+    @Nonnull
+    static Key entities(@Nonnull String path, @Nonnull Map<String, String> filters, int from, int size) {
+      return new Key(ESBrowseDAO.QueryType.ENTITIES, path, normalize(filters), from, size);
+    }
+
+    @Nonnull
+    private static Map<String, String> normalize(@Nonnull Map<String, String> filters) {
+      return filters.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new TreeMap<>(filters));
+    }
+  }
+
+  private final AsyncLoadingCache<Key, SearchResponse> _responses;
+  private final Cache<String, LongAdder> _pathFrequencies =
+      Caffeine.newBuilder().maximumSize(MAXIMUM_TRACKED_PATHS).build();
+  private final Map<Integer, LongAdder> _hits = new ConcurrentHashMap<>();
+  private final Map<Integer, LongAdder> _misses = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for BrowseCache.
+   *
+   * @param config browse config with the cache settings
+   * @param loader loads the responses of keys that aren't cached, or need to be refreshed, without blocking
+   * @param weigher weight of a response, used if {@link BaseBrowseConfig#getMaximumCachedWeight()} is positive
+   */
+  BrowseCache(@Nonnull BaseBrowseConfig config,
+      @Nonnull Function<List<Key>, CompletableFuture<Map<Key, SearchResponse>>> loader,
+      @Nonnull ToIntFunction<SearchResponse> weigher) {
+    final Caffeine<Object, Object> builder = Caffeine.newBuilder().refreshAfterWrite(config.getCacheRefreshInterval());
+    if (config.getMaximumCachedWeight() > 0) {
+      builder.maximumWeight(config.getMaximumCachedWeight())
+          .weigher((Key key, SearchResponse response) -> weigher.applyAsInt(response));
+    } else {
+      builder.maximumSize(config.getMaximumCachedResults());
+    }
+    _responses = builder.buildAsync(new AsyncCacheLoader<Key, SearchResponse>() {
+      @Override
+      @Nonnull
+      public CompletableFuture<SearchResponse> asyncLoad(@Nonnull Key key, @Nonnull Executor executor) {
+        return loader.apply(Collections.singletonList(key)).thenApply(responses -> responses.get(key));
+      }
+
+      @Override
+      @Nonnull
+      public CompletableFuture<Map<Key, SearchResponse>> asyncLoadAll(@Nonnull Iterable<? extends Key> keys,
+          @Nonnull Executor executor) {
+        final List<Key> keyList = new ArrayList<>();
+        keys.forEach(keyList::add);
+        return loader.apply(keyList);
+      }
+    });
+  }
+
+  /**
+   * Records a lookup of a key for the depth of the path, as a hit if its response is cached or being loaded.
+   *
+   * @return whether the lookup is a hit
+   */
+  boolean recordLookup(@Nonnull Key key, int depth) {
+    final boolean hit = _responses.getIfPresent(key) != null;
+    (hit ? _hits : _misses).computeIfAbsent(depth, d -> new LongAdder()).increment();
+    return hit;
+  }
+
+  /**
+   * Gets the responses of keys. The ones that aren't cached or being loaded yet are loaded together.
+   */
+  @Nonnull
+  CompletableFuture<Map<Key, SearchResponse>> getAll(@Nonnull Collection<Key> keys) {
+    return _responses.getAll(keys);
+  }
+
+  /**
+   * Loads the responses of the keys that aren't cached yet, blocking until they're loaded.
+   */
+  void load(@Nonnull Collection<Key> keys) {
+    getAll(keys).join();
+  }
+
+  /**
+   * Records that a path is browsed.
+   */
+  void recordBrowse(@Nonnull String path) {
+    _pathFrequencies.get(path, p -> new LongAdder()).increment();
+  }
+
+  /**
+   * Gets the most frequently browsed paths, most frequent first.
+   */
+  @Nonnull
+  List<String> getMostFrequentPaths(int limit) {
+    return _pathFrequencies.asMap()
+        .entrySet()
+        .stream()
+        .sorted((e1, e2) -> Long.compare(e2.getValue().sum(), e1.getValue().sum()))
+        .limit(limit)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Gets the ratio of lookups that were served from the cache for paths of a depth, or 0 if there weren't any.
+   */
+  double getHitRate(int depth) {
+    final long hits = sum(_hits, depth);
+    final long lookups = hits + sum(_misses, depth);
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  private static long sum(@Nonnull Map<Integer, LongAdder> counters, int depth) {
+    final LongAdder counter = counters.get(depth);
+    return counter == null ? 0 : counter.sum();
+  }
+}
@@ -1,9 +1,6 @@
 package com.linkedin.metadata.dao.browse;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.util.concurrent.MoreExecutors;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.dao.BaseBrowseDAO;
 import com.linkedin.metadata.dao.exception.ESQueryException;
@@ -16,9 +13,7 @@ import com.linkedin.metadata.query.BrowseResultGroup;
 import com.linkedin.metadata.query.BrowseResultGroupArray;
 import com.linkedin.metadata.query.BrowseResultMetadata;
 import com.linkedin.metadata.query.Filter;
-import java.io.IOException;
 import java.net.URISyntaxException;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,16 +21,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -60,36 +58,53 @@ import org.elasticsearch.search.sort.SortOrder;
  */
 @Slf4j
 public class ESBrowseDAO extends BaseBrowseDAO {
+
+  /**
+   * Type of the queries sent for a browse request.
+   */
+  public enum QueryType {
+    GROUPS, ENTITIES
+  }
+
+  /**
+   * Event listening interface to report browse cache metrics to some specific metric recording framework.
+   */
+  public interface MetricListener {
+    /**
+     * Event when a browse query is served from the cache.
+     *
+     * @param queryType type of the query
+     * @param depth depth of the browsed path
+     */
+    default void onCacheHit(@Nonnull QueryType queryType, int depth) {
+    }
+
+    /**
+     * Event when a cacheable browse query isn't in the cache, and is sent to Elasticsearch.
+     *
+     * @param queryType type of the query
+     * @param depth depth of the browsed path
+     */
+    default void onCacheMiss(@Nonnull QueryType queryType, int depth) {
+    }
+  }
+
   private final RestHighLevelClient _client;
   private final BaseBrowseConfig _config;
-  private LoadingCache<String, SearchResponse> _cache = null;
+  private BrowseCache _cache = null;
   private int _lowerBoundHits = Integer.MAX_VALUE;
-
-  private static final int THREAD_COUNT = 25;
-  private static final int TIME_BEFORE_SHUTDOWN = 1;
-  private static final ExecutorService EXECUTOR_SERVICE  =
-      MoreExecutors.getExitingExecutorService((ThreadPoolExecutor) Executors.newFixedThreadPool(THREAD_COUNT),
-          TIME_BEFORE_SHUTDOWN, TimeUnit.SECONDS);
+  private final List<MetricListener> _metricListeners = new CopyOnWriteArrayList<>();
 
   public ESBrowseDAO(@Nonnull RestHighLevelClient esClient, @Nonnull BaseBrowseConfig config) {
     this._client = esClient;
     this._config = config;
 
     if (config.enableCache()) {
-      _cache = Caffeine.newBuilder()
-          .maximumSize(CacheConfig.MAXIMUM_CACHED_RESULT)
-          .refreshAfterWrite(CacheConfig.REFRESH_INTERVAL)
-          .build(key -> sendGroupsSearchRequest(key, new HashMap<>()));
+      _cache = new BrowseCache(config, this::loadAsync, ESBrowseDAO::getWeight);
 
       // Pre-loading some browse paths search result into the cache upon instance instantiation.
       // Any exception occurred is catched and should not block instantiation.
-      try {
-        _cache.getAll((Set<String>) config.eagerLoadCachedBrowsePaths().stream()
-            .limit(CacheConfig.EAGER_LOAD_LIMITATION)
-            .collect(Collectors.toSet()));
-      } catch (Exception e) {
-        log.error("Pre-loading cache during ESBrowseDAO instantiation failed: " + e.getMessage());
-      }
+      loadGroups(((Set<String>) config.eagerLoadCachedBrowsePaths()).stream());
     }
   }
 
@@ -101,9 +116,61 @@ public class ESBrowseDAO extends BaseBrowseDAO {
     _lowerBoundHits = lowermost;
   }
 
+  /**
+   * Adds a {@link MetricListener} to receive browse cache metrics.
+   */
+  public void addMetricListener(@Nonnull MetricListener metricListener) {
+    _metricListeners.add(metricListener);
+  }
+
+  /**
+   * Gets the most frequently browsed paths among the cacheable browse requests, most frequent first. Can be persisted
+   * and returned by {@link BaseBrowseConfig#eagerLoadCachedBrowsePaths()} to warm up the cache on the next start.
+   *
+   * @param limit maximum number of paths returned
+   * @return the paths, or an empty list if cache is disabled
+   */
+  @Nonnull
+  public List<String> getMostFrequentBrowsePaths(int limit) {
+    return _cache == null ? Collections.emptyList() : _cache.getMostFrequentPaths(limit);
+  }
+
+  /**
+   * Loads the groups of the most frequently browsed paths into the cache, up to {@link BaseBrowseConfig#getEagerLoadLimit()}
+   * of them. Paths that are already cached are skipped. No-op if cache is disabled.
+   */
+  public void warmUpCache() {
+    if (_cache != null) {
+      loadGroups(_cache.getMostFrequentPaths(_config.getEagerLoadLimit()).stream());
+    }
+  }
+
+  /**
+   * Gets the ratio of cacheable browse queries for paths of the given depth that were served from the cache.
+   *
+   * @param depth depth of the browsed paths
+   * @return the hit rate, or 0 if there was no such query or cache is disabled
+   */
+  public double getCacheHitRate(int depth) {
+    return _cache == null ? 0 : _cache.getHitRate(depth);
+  }
+
+  private void loadGroups(@Nonnull Stream<String> paths) {
+    try {
+      _cache.load(paths.limit(_config.getEagerLoadLimit())
+          .map(path -> BrowseCache.Key.groups(path, Collections.emptyMap()))
+          .collect(Collectors.toSet()));
+    } catch (Exception e) {
+      log.error("Pre-loading browse cache failed: " + e.getMessage());
+    }
+  }
+
   /**
    * Gets a list of groups/entities that match given browse request.
    *
+   * <p>Cacheable groups and entities are loaded through the cache, and the others are fetched with a single multi
+   * search request.
+   *
    * @param path the path to be browsed
    * @param requestParams the request map with fields and values as filters
    * @param from index of the first entity located in path
@@ -116,21 +183,210 @@ public class ESBrowseDAO extends BaseBrowseDAO {
     final Map<String, String> requestMap = SearchUtils.getRequestMap(requestParams);
 
     try {
-      final Future<SearchResponse> groupsResponseFuture =
-          EXECUTOR_SERVICE.submit(() -> cachedGroupSearchResponse(path, requestMap));
-      final Future<SearchResponse> entitiesResponseFutre =
-          EXECUTOR_SERVICE.submit(() -> _client.search(constructEntitiesSearchRequest(path, requestMap, from, size), RequestOptions.DEFAULT));
-      final SearchResponse groupsResponse = groupsResponseFuture.get();
-      final SearchResponse entitiesResponse = entitiesResponseFutre.get();
-      final BrowseResult result = extractQueryResult(groupsResponse, entitiesResponse, path, from);
-      result.getMetadata().setPath(path);
-      return result;
+      return new BrowseQuery(path, requestMap, from, size).execute(this::multiSearch).join();
     } catch (Exception e) {
-      log.error("Browse query failed: " + e.getMessage());
-      throw new ESQueryException("Browse query failed: ", e);
+      final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+      log.error("Browse query failed: " + cause.getMessage());
+      throw new ESQueryException("Browse query failed: ", cause);
     }
   }
 
+  /**
+   * Same as {@link #browse(String, Filter, int, int)}, but sends the requests with the async client and returns without
+   * waiting for the responses. The browse result is extracted on the client's IO thread.
+   */
+  @Override
+  @Nonnull
+  public CompletableFuture<BrowseResult> browseAsync(@Nonnull String path, @Nullable Filter requestParams, int from,
+      int size) {
+    final CompletableFuture<BrowseResult> future = new CompletableFuture<>();
+    CompletableFuture<BrowseResult> result;
+    try {
+      final BrowseQuery query = new BrowseQuery(path, SearchUtils.getRequestMap(requestParams), from, size);
+      result = query.execute(this::multiSearchAsync);
+    } catch (Exception e) {
+      result = failedFuture(e);
+    }
+    result.whenComplete((browseResult, e) -> {
+      if (e == null) {
+        future.complete(browseResult);
+        return;
+      }
+      final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+      log.error("Browse query failed: " + cause.getMessage());
+      future.completeExceptionally(new ESQueryException("Browse query failed: ", cause));
+    });
+    return future;
+  }
+
+  /**
+   * The groups and entities queries of a browse request. The ones that are cacheable are loaded through the cache, and
+   * the others are fetched with one multi search request.
+   */
+  private final class BrowseQuery {
+    private final String _path;
+    private final Map<String, String> _requestMap;
+    private final int _from;
+    private final int _size;
+    private final BrowseCache.Key _groupsKey;
+    private final BrowseCache.Key _entitiesKey;
+
+    BrowseQuery(@Nonnull String path, @Nonnull Map<String, String> requestMap, int from, int size) {
+      _path = path;
+      _requestMap = requestMap;
+      _from = from;
+      _size = size;
+
+      /*
+       * If cache is null / not enabled, directly call ES.
+       * Or if request map is not empty and filtered browse isn't cached, directly call ES.
+       * Or if browse path is greater than the maximum cached depth, directly call ES. We don't want to cache too much
+       * data in-memory, only caching the slower requests is enough.
+       */
+      final int depth = getPathDepth(path);
+      if (_cache != null && depth <= _config.getMaximumCachedDepth()
+          && (requestMap.isEmpty() || _config.shouldCacheFilteredBrowse())) {
+        _cache.recordBrowse(path);
+        _groupsKey = BrowseCache.Key.groups(path, requestMap);
+        recordLookup(_groupsKey, depth);
+        _entitiesKey = _config.shouldCacheEntities() ? BrowseCache.Key.entities(path, requestMap, from, size) : null;
+        if (_entitiesKey != null) {
+          recordLookup(_entitiesKey, depth);
+        }
+      } else {
+        _groupsKey = null;
+        _entitiesKey = null;
+      }
+    }
+
+    /**
+     * Gets the browse result, sending the queries that aren't cacheable with the given multi search function.
+     */
+    @Nonnull
+    CompletableFuture<BrowseResult> execute(
+        @Nonnull Function<MultiSearchRequest, CompletableFuture<List<SearchResponse>>> multiSearch) {
+      final List<BrowseCache.Key> cacheKeys = Stream.of(_groupsKey, _entitiesKey)
+          .filter(key -> key != null)
+          .collect(Collectors.toList());
+      final CompletableFuture<Map<BrowseCache.Key, SearchResponse>> cachedFuture =
+          cacheKeys.isEmpty() ? CompletableFuture.completedFuture(Collections.emptyMap()) : _cache.getAll(cacheKeys);
+
+      final MultiSearchRequest request = new MultiSearchRequest();
+      if (_groupsKey == null) {
+        request.add(constructGroupsSearchRequest(_path, _requestMap));
+      }
+      if (_entitiesKey == null) {
+        request.add(constructEntitiesSearchRequest(_path, _requestMap, _from, _size));
+      }
+      final CompletableFuture<List<SearchResponse>> uncachedFuture = request.requests().isEmpty()
+          ? CompletableFuture.completedFuture(Collections.emptyList()) : multiSearch.apply(request);
+
+      return cachedFuture.thenCombine(uncachedFuture, (cached, uncached) -> {
+        int index = 0;
+        final SearchResponse groupsResponse = _groupsKey != null ? cached.get(_groupsKey) : uncached.get(index++);
+        final SearchResponse entitiesResponse = _entitiesKey != null ? cached.get(_entitiesKey) : uncached.get(index);
+        final BrowseResult result = extractQueryResult(groupsResponse, entitiesResponse, _path, _from);
+        result.getMetadata().setPath(_path);
+        return result;
+      });
+    }
+  }
+
+  private void recordLookup(@Nonnull BrowseCache.Key key, int depth) {
+    if (_cache.recordLookup(key, depth)) {
+      _metricListeners.forEach(listener -> listener.onCacheHit(key.getQueryType(), depth));
+    } else {
+      _metricListeners.forEach(listener -> listener.onCacheMiss(key.getQueryType(), depth));
+    }
+  }
+
+  /**
+   * Loads the responses of cache keys with one async multi search request.
+   */
+  @Nonnull
+  private CompletableFuture<Map<BrowseCache.Key, SearchResponse>> loadAsync(@Nonnull List<BrowseCache.Key> keys) {
+    final MultiSearchRequest request = new MultiSearchRequest();
+    keys.forEach(key -> request.add(constructSearchRequest(key)));
+    return multiSearchAsync(request).thenApply(responses -> {
+      final Map<BrowseCache.Key, SearchResponse> responseMap = new HashMap<>();
+      for (int i = 0; i < keys.size(); i++) {
+        responseMap.put(keys.get(i), responses.get(i));
+      }
+      return responseMap;
+    });
+  }
+
+  /**
+   * Sends a multi search request with the sync client, and returns a completed future of the responses.
+   */
+  @Nonnull
+  private CompletableFuture<List<SearchResponse>> multiSearch(@Nonnull MultiSearchRequest request) {
+    try {
+      return CompletableFuture.completedFuture(getResponses(_client.msearch(request, RequestOptions.DEFAULT)));
+    } catch (Exception e) {
+      return failedFuture(e);
+    }
+  }
+
+  /**
+   * Sends a multi search request with the async client, and returns a future of the responses.
+   */
+  @Nonnull
+  private CompletableFuture<List<SearchResponse>> multiSearchAsync(@Nonnull MultiSearchRequest request) {
+    final CompletableFuture<List<SearchResponse>> future = new CompletableFuture<>();
+    try {
+      _client.msearchAsync(request, RequestOptions.DEFAULT,
+          ActionListener.wrap(response -> future.complete(getResponses(response)), future::completeExceptionally));
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Gets the responses of a multi search in request order, or throws the failure of the first failed item.
+   */
+  @Nonnull
+  private static List<SearchResponse> getResponses(@Nonnull MultiSearchResponse multiSearchResponse) throws Exception {
+    final List<SearchResponse> responses = new ArrayList<>();
+    for (MultiSearchResponse.Item item : multiSearchResponse.getResponses()) {
+      if (item.isFailure()) {
+        throw item.getFailure();
+      }
+      responses.add(item.getResponse());
+    }
+    return responses;
+  }
+
+  @Nonnull
+  private static <T> CompletableFuture<T> failedFuture(@Nonnull Throwable throwable) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(throwable);
+    return future;
+  }
+
+  @Nonnull
+  private SearchRequest constructSearchRequest(@Nonnull BrowseCache.Key key) {
+    if (key.getQueryType() == QueryType.GROUPS) {
+      return constructGroupsSearchRequest(key.getPath(), key.getFilters());
+    }
+    return constructEntitiesSearchRequest(key.getPath(), key.getFilters(), key.getFrom(), key.getSize());
+  }
+
+  /**
+   * Gets the weight of a cached response, i.e. 1 plus its number of groups and entities.
+   */
+  private static int getWeight(@Nonnull SearchResponse response) {
+    int weight = 1;
+    if (response.getHits() != null) {
+      weight += response.getHits().getHits().length;
+    }
+    if (response.getAggregations() != null && response.getAggregations().get("groups") instanceof Terms) {
+      weight += ((Terms) response.getAggregations().get("groups")).getBuckets().size();
+    }
+    return weight;
+  }
+
   /**
    * Builds aggregations for search request.
    *
@@ -336,26 +592,6 @@ public class ESBrowseDAO extends BaseBrowseDAO {
     return StringUtils.countMatches(path, "/");
   }
 
-  @Nonnull
-  private SearchResponse cachedGroupSearchResponse(@Nonnull String path, @Nonnull Map<String, String> requestMap) throws Exception {
-    /*
-     * If cache is null / not enabled, directly call ES.
-     * Or if request map is not empty, directly call ES.
-     * Or if browse path is greater than MAXIMUM_CACHED_DEPTH, directly call ES. We don't want to cache too much
-     * data in-memory, only caching the slower requests is enough.
-     */
-    if (_cache == null || !requestMap.isEmpty() || getPathDepth(path) > CacheConfig.MAXIMUM_CACHED_DEPTH) {
-      return sendGroupsSearchRequest(path, requestMap);
-    }
-
-    return _cache.get(path);
-  }
-
-  @Nonnull
-  private SearchResponse sendGroupsSearchRequest(@Nonnull String path, @Nonnull Map<String, String> requestMap) throws IOException {
-    return _client.search(constructGroupsSearchRequest(path, requestMap), RequestOptions.DEFAULT);
-  }
-
   /**
    * Gets a list of paths for a given urn.
    *
@@ -384,27 +620,4 @@ public class ESBrowseDAO extends BaseBrowseDAO {
     }
     return (List<String>) sourceMap.get(_config.getBrowsePathFieldName());
   }
-
-  private static class CacheConfig {
-    /**
-     * Maximum level of browse path depth will be cached.
-     */
-    private static final int MAXIMUM_CACHED_DEPTH = 2;
-
-    /**
-     * Maximum number of results cached. Larger number results in more memory consumption.
-     */
-    private static final int MAXIMUM_CACHED_RESULT = 100;
-
-    /**
-     * How often cache is refreshed. Longer refresh time will result in staleness in cache.
-     */
-    private static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
-
-    /**
-     * Limitation on number of results loaded into cache during DAO instance initiation.
-     * Limitation needed to avoid traffic spike and slow DAO instantiation.
-     */
-    private static final int EAGER_LOAD_LIMITATION = 5;
-  }
 }
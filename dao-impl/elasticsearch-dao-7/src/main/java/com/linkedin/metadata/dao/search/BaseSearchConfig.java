@@ -43,4 +43,24 @@ public abstract class BaseSearchConfig<DOCUMENT extends RecordTemplate> {
 
   @Nonnull
   public abstract String getAutocompleteQueryTemplate();
+
+  /**
+   * Fields of the search document to return in the _source of search and filter hits, or null to return all of them.
+   * The urn field is always returned.
+   *
+   * <p>Documents of the search results only have the returned fields set, so this should only be used if callers
+   * don't need the other fields.
+   */
+  @Nullable
+  public Set<String> getSourceIncludes() {
+    return null;
+  }
+
+  /**
+   * Fields of the search document to leave out of the _source of search and filter hits, or null to not leave out any.
+   */
+  @Nullable
+  public Set<String> getSourceExcludes() {
+    return null;
+  }
 }
@@ -15,6 +15,7 @@ import com.linkedin.metadata.dao.tracking.DummyTrackingManager;
 import com.linkedin.metadata.dao.tracking.TrackingUtils;
 import com.linkedin.metadata.dao.utils.ESUtils;
 import com.linkedin.metadata.dao.utils.QueryUtils;
+import com.linkedin.metadata.dao.utils.SearchHitSourceDecoder;
 import com.linkedin.metadata.query.AggregationMetadata;
 import com.linkedin.metadata.query.AggregationMetadataArray;
 import com.linkedin.metadata.query.AutoCompleteResult;
@@ -35,16 +36,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.text.Text;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -165,6 +170,48 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
     }
   }
 
+  /**
+   * Sends a search request with the async client, so that no thread is blocked while Elasticsearch executes it.
+   *
+   * <p>The response is extracted on the client's IO thread, which completes the returned future. Failures, including
+   * the ones of building the request or extracting the response, complete the future with an {@link ESQueryException}.
+   */
+  @Nonnull
+  private <T> CompletableFuture<T> executeAsync(@Nonnull Supplier<SearchRequest> searchRequest,
+      @Nonnull Function<SearchResponse, T> extractor, @Nonnull byte[] id,
+      @Nonnull TrackingUtils.ProcessType endProcessType, @Nonnull TrackingUtils.ProcessType failProcessType,
+      @Nonnull String errorMessage) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    final ActionListener<SearchResponse> listener = new ActionListener<SearchResponse>() {
+      @Override
+      public void onResponse(SearchResponse searchResponse) {
+        final T result;
+        try {
+          result = extractor.apply(searchResponse);
+        } catch (Exception e) {
+          onFailure(e);
+          return;
+        }
+        _baseTrackingManager.trackRequest(id, endProcessType);
+        future.complete(result);
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        log.error(errorMessage + e.getMessage());
+        _baseTrackingManager.trackRequest(id, failProcessType);
+        future.completeExceptionally(new ESQueryException(errorMessage, e));
+      }
+    };
+
+    try {
+      _client.searchAsync(searchRequest.get(), RequestOptions.DEFAULT, listener);
+    } catch (Exception e) {
+      listener.onFailure(e);
+    }
+    return future;
+  }
+
   /**
    * TODO: This part will be replaced by searchTemplateAPI when the elastic is upgraded to 6.4 or later
    */
@@ -209,6 +256,27 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
     return searchResult;
   }
 
+  @Override
+  @Nonnull
+  public CompletableFuture<SearchResult<DOCUMENT>> searchAsync(@Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, int from, int size) {
+    return searchAsync(input, postFilters, sortCriterion, null, from, size);
+  }
+
+  /**
+   * Same as {@link #search(String, Filter, SortCriterion, String, int, int)}, but sends the request with the async
+   * client and returns without waiting for the response.
+   */
+  @Nonnull
+  public CompletableFuture<SearchResult<DOCUMENT>> searchAsync(@Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, @Nullable String preference, int from, int size) {
+    final byte[] id = getRandomTrackingId();
+    _baseTrackingManager.trackRequest(id, SEARCH_QUERY_START);
+    return executeAsync(() -> constructSearchQuery(input, postFilters, sortCriterion, preference, from, size),
+        searchResponse -> extractQueryResult(searchResponse, from, size), id, SEARCH_QUERY_END, SEARCH_QUERY_FAIL,
+        "Search query failed:");
+  }
+
   @Override
   @Nonnull
   public SearchResult<DOCUMENT> filter(@Nullable Filter filters, @Nullable SortCriterion sortCriterion, int from,
@@ -221,6 +289,17 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
     return searchResult;
   }
 
+  @Override
+  @Nonnull
+  public CompletableFuture<SearchResult<DOCUMENT>> filterAsync(@Nullable Filter filters,
+      @Nullable SortCriterion sortCriterion, int from, int size) {
+    final byte[] id = getRandomTrackingId();
+    _baseTrackingManager.trackRequest(id, FILTER_QUERY_START);
+    return executeAsync(() -> getFilteredSearchQuery(filters, sortCriterion, from, size),
+        searchResponse -> extractQueryResult(searchResponse, from, size), id, FILTER_QUERY_END, FILTER_QUERY_FAIL,
+        "Search query failed:");
+  }
+
   /**
    * Returns a {@link SearchRequest} given filters to be applied to search query and sort criterion to be applied to
    * search results.
@@ -249,6 +328,7 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
     searchSourceBuilder.query(boolQueryBuilder);
     searchSourceBuilder.from(from).size(size);
     ESUtils.buildSortOrder(searchSourceBuilder, sortCriterion);
+    buildSourceFilter(searchSourceBuilder);
     searchRequest.source(searchSourceBuilder);
 
     return searchRequest;
@@ -305,12 +385,37 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
     buildAggregations(searchSourceBuilder, filter);
     buildHighlights(searchSourceBuilder, _config.getFieldsToHighlightMatch());
     ESUtils.buildSortOrder(searchSourceBuilder, sortCriterion);
+    buildSourceFilter(searchSourceBuilder);
 
     searchRequest.source(searchSourceBuilder);
     log.debug("Search request is: " + searchRequest.toString());
     return searchRequest;
   }
 
+  /**
+   * Restricts the _source of search hits to the fields configured in {@link BaseSearchConfig#getSourceIncludes()} and
+   * {@link BaseSearchConfig#getSourceExcludes()}. The urn field is always included, as search results are built with it.
+   *
+   * @param searchSourceBuilder the builder to build search source for search request
+   */
+  private void buildSourceFilter(@Nonnull SearchSourceBuilder searchSourceBuilder) {
+    final Set<String> includes = _config.getSourceIncludes();
+    final Set<String> excludes = _config.getSourceExcludes();
+    if (includes == null && excludes == null) {
+      return;
+    }
+
+    String[] includeArray = null;
+    if (includes != null) {
+      final Set<String> includesWithUrn = new HashSet<>(includes);
+      includesWithUrn.add(URN_FIELD);
+      includeArray = includesWithUrn.toArray(new String[0]);
+    }
+    final String[] excludeArray = excludes == null ? null
+        : excludes.stream().filter(field -> !field.equals(URN_FIELD)).toArray(String[]::new);
+    searchSourceBuilder.fetchSource(includeArray, excludeArray);
+  }
+
   /**
    * Constructs the aggregations and sub-aggregations by adding other facets' filters if they are set in request.
    *
@@ -368,10 +473,19 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
     int totalCount = (int) searchResponse.getHits().getTotalHits().value;
     int totalPageCount = QueryUtils.getTotalPageCount(totalCount, size);
 
+    // decode the source of each hit only once, for both the documents and the urns
+    final List<DataMap> sources = decodeSources(searchResponse);
+    final UrnArray urns;
+    try {
+      urns = sources.stream().map(this::getUrnFromSource).collect(Collectors.toCollection(UrnArray::new));
+    } catch (NullPointerException e) {
+      throw new RuntimeException("Missing urn field in search document " + e);
+    }
+
     return SearchResult.<DOCUMENT>builder()
         // format
-        .documentList(getDocuments(searchResponse))
-        .searchResultMetadata(extractSearchResultMetadata(searchResponse))
+        .documentList(sources.stream().map(this::newDocument).collect(Collectors.toList()))
+        .searchResultMetadata(extractSearchResultMetadata(searchResponse, urns))
         .from(from)
         .pageSize(size)
         .havingMore(QueryUtils.hasMore(from, size, totalPageCount))
@@ -388,8 +502,32 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
    */
   @Nonnull
   List<DOCUMENT> getDocuments(@Nonnull SearchResponse searchResponse) {
-    return (Arrays.stream(searchResponse.getHits().getHits())).map(
-        hit -> newDocument(buildDocumentsDataMap(hit.getSourceAsMap()))).collect(Collectors.toList());
+    return decodeSources(searchResponse).stream().map(this::newDocument).collect(Collectors.toList());
+  }
+
+  @Nonnull
+  private List<DataMap> decodeSources(@Nonnull SearchResponse searchResponse) {
+    if (searchResponse.getHits() == null || searchResponse.getHits().getHits() == null) {
+      return new ArrayList<>();
+    }
+    return Arrays.stream(searchResponse.getHits().getHits()).map(this::decodeSource).collect(Collectors.toList());
+  }
+
+  /**
+   * Decodes the _source of a search hit into a data map. The raw source bytes are decoded with
+   * {@link SearchHitSourceDecoder} if the hit has them, otherwise the parsed source map of the hit is converted.
+   *
+   * @param hit the search hit
+   * @return a data map, which is empty if the hit has no source
+   */
+  @Nonnull
+  DataMap decodeSource(@Nonnull SearchHit hit) {
+    final BytesReference sourceRef = hit.getSourceRef();
+    if (sourceRef != null) {
+      return SearchHitSourceDecoder.decode(sourceRef);
+    }
+    final Map<String, Object> sourceMap = hit.getSourceAsMap();
+    return sourceMap == null ? new DataMap() : buildDocumentsDataMap(sourceMap);
   }
 
   /**
@@ -434,6 +572,18 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
     }
   }
 
+  @Override
+  @Nonnull
+  public CompletableFuture<AutoCompleteResult> autoCompleteAsync(@Nonnull String query, @Nullable String field,
+      @Nullable Filter requestParams, int limit) {
+    final byte[] id = getRandomTrackingId();
+    _baseTrackingManager.trackRequest(id, AUTOCOMPLETE_QUERY_START);
+    final String autoCompleteField = field == null ? _config.getDefaultAutocompleteField() : field;
+    return executeAsync(() -> constructAutoCompleteQuery(query, autoCompleteField, requestParams),
+        searchResponse -> extractAutoCompleteResult(searchResponse, query, autoCompleteField, limit), id,
+        AUTOCOMPLETE_QUERY_END, AUTOCOMPLETE_QUERY_FAIL, "Auto complete query failed:");
+  }
+
   @Nonnull
   public AutoCompleteResult extractAutoCompleteResult(@Nonnull SearchResponse searchResponse, @Nonnull String input,
       @Nonnull String field, int limit) {
@@ -454,19 +604,25 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
    */
   @Nonnull
   SearchResultMetadata extractSearchResultMetadata(@Nonnull SearchResponse searchResponse) {
-    final SearchResultMetadata searchResultMetadata =
-        new SearchResultMetadata().setSearchResultMetadatas(new AggregationMetadataArray()).setUrns(new UrnArray());
-
+    UrnArray urns = new UrnArray();
     try {
       // populate the urns from search response
       if (searchResponse.getHits() != null && searchResponse.getHits().getHits() != null) {
-        searchResultMetadata.setUrns(Arrays.stream(searchResponse.getHits().getHits())
+        urns = Arrays.stream(searchResponse.getHits().getHits())
             .map(this::getUrnFromSearchHit)
-            .collect(Collectors.toCollection(UrnArray::new)));
+            .collect(Collectors.toCollection(UrnArray::new));
       }
     } catch (NullPointerException e) {
       throw new RuntimeException("Missing urn field in search document " + e);
     }
+    return extractSearchResultMetadata(searchResponse, urns);
+  }
+
+  @Nonnull
+  private SearchResultMetadata extractSearchResultMetadata(@Nonnull SearchResponse searchResponse,
+      @Nonnull UrnArray urns) {
+    final SearchResultMetadata searchResultMetadata =
+        new SearchResultMetadata().setSearchResultMetadatas(new AggregationMetadataArray()).setUrns(urns);
 
     final Aggregations aggregations = searchResponse.getAggregations();
     if (aggregations != null) {
@@ -591,6 +747,15 @@ public class ESSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<
         .findFirst();
   }
 
+  @Nonnull
+  private Urn getUrnFromSource(@Nonnull DataMap source) {
+    try {
+      return Urn.createFromString(source.get(URN_FIELD).toString());
+    } catch (URISyntaxException e) {
+      throw new RuntimeException("Invalid urn in search document " + e);
+    }
+  }
+
   @Nonnull
   private Urn getUrnFromSearchHit(@Nonnull SearchHit hit) {
     try {
@@ -0,0 +1,105 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesReference;
+
+
+/**
+ * Decodes the _source of a search hit into a {@link DataMap}.
+ *
+ * <p>The source bytes are read with a streaming JSON parser straight into {@link DataMap} and {@link DataList}, instead
+ * of parsing them into a generic map first (i.e. {@link org.elasticsearch.search.SearchHit#getSourceAsMap()}) and
+ * copying that map into a {@link DataMap}. Fields with null values are left out, as they're not allowed in a
+ * {@link DataMap}.
+ */
+public class SearchHitSourceDecoder {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private SearchHitSourceDecoder() {
+  }
+
+  /**
+   * Decodes the _source of a search hit.
+   *
+   * @param source the _source bytes of the hit, encoded as a JSON object
+   * @return the decoded {@link DataMap}
+   * @throws ModelConversionException if the source isn't a valid JSON object
+   */
+  @Nonnull
+  public static DataMap decode(@Nonnull BytesReference source) {
+    final BytesRef bytes = source.toBytesRef();
+    try (JsonParser parser = JSON_FACTORY.createParser(bytes.bytes, bytes.offset, bytes.length)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new ModelConversionException("Search hit source is not a JSON object");
+      }
+      return readMap(parser);
+    } catch (IOException e) {
+      throw new ModelConversionException("Failed to decode search hit source", e);
+    }
+  }
+
+  @Nonnull
+  private static DataMap readMap(@Nonnull JsonParser parser) throws IOException {
+    final DataMap dataMap = new DataMap();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String field = parser.getCurrentName();
+      final Object value = readValue(parser, parser.nextToken());
+      if (value != null) {
+        dataMap.put(field, value);
+      }
+    }
+    return dataMap;
+  }
+
+  @Nonnull
+  private static DataList readList(@Nonnull JsonParser parser) throws IOException {
+    final DataList dataList = new DataList();
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      final Object value = readValue(parser, token);
+      if (value != null) {
+        dataList.add(value);
+      }
+    }
+    return dataList;
+  }
+
+  @Nullable
+  private static Object readValue(@Nonnull JsonParser parser, @Nullable JsonToken token) throws IOException {
+    if (token == null) {
+      throw new ModelConversionException("Unexpected end of search hit source");
+    }
+
+    switch (token) {
+      case START_OBJECT:
+        return readMap(parser);
+      case START_ARRAY:
+        return readList(parser);
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+        // same as the generic map of the source: ints if they fit, longs otherwise
+        return parser.getNumberType() == JsonParser.NumberType.INT ? parser.getIntValue() : parser.getLongValue();
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new ModelConversionException("Unexpected token in search hit source: " + token);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.linkedin.metadata.dao.browse;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.elasticsearch.action.search.SearchResponse;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class BrowseCacheTest {
+  private List<List<BrowseCache.Key>> _loadedKeys;
+  private List<CompletableFuture<Map<BrowseCache.Key, SearchResponse>>> _loads;
+  private BrowseCache _browseCache;
+
+  @BeforeMethod
+  public void setup() {
+    _loadedKeys = new ArrayList<>();
+    _loads = new ArrayList<>();
+    _browseCache = new BrowseCache(new TestBrowseConfig(), keys -> {
+      _loadedKeys.add(keys);
+      final CompletableFuture<Map<BrowseCache.Key, SearchResponse>> load = new CompletableFuture<>();
+      _loads.add(load);
+      return load;
+    }, response -> 1);
+  }
+
+  private void completeLoads() {
+    for (int i = 0; i < _loads.size(); i++) {
+      _loads.get(i)
+          .complete(_loadedKeys.get(i).stream().collect(Collectors.toMap(key -> key, key -> mock(SearchResponse.class))));
+    }
+  }
+
+  @Test
+  public void testKeyNormalizesFilters() {
+    BrowseCache.Key key1 = BrowseCache.Key.groups("/foo", ImmutableMap.of("a", "1", "b", "2"));
+    BrowseCache.Key key2 = BrowseCache.Key.groups("/foo", ImmutableMap.of("b", "2", "a", "1"));
+
+    assertEquals(key1, key2);
+    assertNotEquals(key1, BrowseCache.Key.entities("/foo", ImmutableMap.of("a", "1", "b", "2"), 0, 0));
+    assertNotEquals(BrowseCache.Key.entities("/foo", Collections.emptyMap(), 0, 10),
+        BrowseCache.Key.entities("/foo", Collections.emptyMap(), 10, 10));
+  }
+
+  @Test
+  public void testRecordLookupAndGetAll() {
+    BrowseCache.Key key = BrowseCache.Key.groups("/foo", Collections.emptyMap());
+
+    assertFalse(_browseCache.recordLookup(key, 1));
+    CompletableFuture<Map<BrowseCache.Key, SearchResponse>> responses = _browseCache.getAll(Collections.singleton(key));
+    completeLoads();
+    SearchResponse response = responses.join().get(key);
+    assertNotNull(response);
+
+    assertTrue(_browseCache.recordLookup(key, 1));
+    assertTrue(_browseCache.recordLookup(key, 1));
+    assertSame(_browseCache.getAll(Collections.singleton(key)).join().get(key), response);
+    assertEquals(_loadedKeys.size(), 1);
+
+    assertEquals(_browseCache.getHitRate(1), 2.0 / 3);
+    assertEquals(_browseCache.getHitRate(2), 0.0);
+  }
+
+  @Test
+  public void testConcurrentMissesShareOneLoad() {
+    BrowseCache.Key key1 = BrowseCache.Key.groups("/foo", Collections.emptyMap());
+    BrowseCache.Key key2 = BrowseCache.Key.entities("/foo", Collections.emptyMap(), 0, 10);
+
+    CompletableFuture<Map<BrowseCache.Key, SearchResponse>> responses1 =
+        _browseCache.getAll(Collections.singleton(key1));
+    // a lookup of a key that is being loaded is a hit, and waits for the same load
+    assertTrue(_browseCache.recordLookup(key1, 1));
+    CompletableFuture<Map<BrowseCache.Key, SearchResponse>> responses2 = _browseCache.getAll(Arrays.asList(key1, key2));
+
+    assertEquals(_loadedKeys, Arrays.asList(Collections.singletonList(key1), Collections.singletonList(key2)));
+    assertFalse(responses1.isDone());
+    assertFalse(responses2.isDone());
+
+    completeLoads();
+    assertSame(responses2.join().get(key1), responses1.join().get(key1));
+    assertNotNull(responses2.join().get(key2));
+  }
+
+  @Test
+  public void testFailedLoadIsNotCached() {
+    BrowseCache.Key key = BrowseCache.Key.groups("/foo", Collections.emptyMap());
+
+    CompletableFuture<Map<BrowseCache.Key, SearchResponse>> responses = _browseCache.getAll(Collections.singleton(key));
+    _loads.get(0).completeExceptionally(new RuntimeException("groups query failed"));
+    assertTrue(responses.isCompletedExceptionally());
+
+    assertFalse(_browseCache.recordLookup(key, 1));
+    _browseCache.getAll(Collections.singleton(key));
+    assertEquals(_loadedKeys.size(), 2);
+  }
+
+  @Test
+  public void testLoad() {
+    BrowseCache.Key key1 = BrowseCache.Key.groups("", Collections.emptyMap());
+    BrowseCache.Key key2 = BrowseCache.Key.groups("/foo", Collections.emptyMap());
+    _browseCache = new BrowseCache(new TestBrowseConfig(), keys -> CompletableFuture.completedFuture(
+        keys.stream().collect(Collectors.toMap(key -> key, key -> mock(SearchResponse.class)))), response -> 1);
+
+    _browseCache.load(Arrays.asList(key1, key2));
+
+    assertTrue(_browseCache.recordLookup(key1, 0));
+    assertTrue(_browseCache.recordLookup(key2, 1));
+  }
+
+  @Test
+  public void testGetMostFrequentPaths() {
+    _browseCache.recordBrowse("/foo");
+    _browseCache.recordBrowse("/bar");
+    _browseCache.recordBrowse("/bar");
+    _browseCache.recordBrowse("/baz");
+    _browseCache.recordBrowse("/baz");
+    _browseCache.recordBrowse("/baz");
+
+    assertEquals(_browseCache.getMostFrequentPaths(2), Arrays.asList("/baz", "/bar"));
+    assertEquals(_browseCache.getMostFrequentPaths(5), Arrays.asList("/baz", "/bar", "/foo"));
+  }
+}
@@ -1,20 +1,40 @@
 package com.linkedin.metadata.dao.browse;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.dao.exception.ESQueryException;
+import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.BrowseResultEntity;
+import com.linkedin.metadata.query.BrowseResultGroup;
 import com.linkedin.testing.TestUtils;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nonnull;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.terms.ParsedTerms;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import static com.linkedin.metadata.dao.utils.QueryUtils.newFilter;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.*;
 
@@ -23,12 +43,48 @@ public class BrowseDAOTest {
   private BaseBrowseConfig _browseConfig;
   private RestHighLevelClient _mockClient;
   private ESBrowseDAO _browseDAO;
+  private SearchResponse _groupsResponse;
+  private SearchResponse _entitiesResponse;
+
+  /**
+   * Browse config with cache enabled for groups and entities, and optionally for filtered browse.
+   */
+  private static class CachingBrowseConfig extends TestBrowseConfig {
+    private final boolean _cacheFilteredBrowse;
+
+    CachingBrowseConfig(boolean cacheFilteredBrowse) {
+      _cacheFilteredBrowse = cacheFilteredBrowse;
+    }
+
+    @Override
+    public boolean enableCache() {
+      return true;
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> eagerLoadCachedBrowsePaths() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public boolean shouldCacheEntities() {
+      return true;
+    }
+
+    @Override
+    public boolean shouldCacheFilteredBrowse() {
+      return _cacheFilteredBrowse;
+    }
+  }
 
   @BeforeMethod
   public void setup() {
     _browseConfig = new TestBrowseConfig();
     _mockClient = mock(RestHighLevelClient.class);
     _browseDAO = new ESBrowseDAO(_mockClient, _browseConfig);
+    _groupsResponse = makeGroupsResponse();
+    _entitiesResponse = makeEntitiesResponse();
   }
 
   @Test
@@ -100,4 +156,187 @@ public class BrowseDAOTest {
     assertEquals(_browseDAO.getBrowsePaths(dummyUrn).size(), 1);
     assertEquals(_browseDAO.getBrowsePaths(dummyUrn).get(0), "foo");
   }
+
+  @Test
+  public void testBrowseWithFailedMultiSearchItem() throws Exception {
+    MultiSearchResponse mockMultiSearchResponse = mock(MultiSearchResponse.class);
+    MultiSearchResponse.Item failedItem = new MultiSearchResponse.Item(null, new IOException("groups query failed"));
+    MultiSearchResponse.Item succeededItem = new MultiSearchResponse.Item(mock(SearchResponse.class), null);
+    when(mockMultiSearchResponse.getResponses()).thenReturn(new MultiSearchResponse.Item[]{failedItem, succeededItem});
+    when(_mockClient.msearch(any(), eq(RequestOptions.DEFAULT))).thenReturn(mockMultiSearchResponse);
+
+    assertThrows(ESQueryException.class, () -> _browseDAO.browse("/foo", null, 0, 10));
+    verify(_mockClient, never()).search(any(), any());
+  }
+
+  @Test
+  public void testBrowseAsync() {
+    respondToMultiSearchAsync();
+
+    BrowseResult result = _browseDAO.browseAsync("/foo", null, 0, 10).join();
+
+    assertEquals(result.getMetadata().getGroups().get(0), new BrowseResultGroup().setName("bar").setCount(3));
+    assertEquals(result.getEntities().get(0), new BrowseResultEntity().setName("baz").setUrn(TestUtils.makeUrn(1)));
+    assertEquals(result.getMetadata().getTotalNumEntities().longValue(), 4);
+    verify(_mockClient, times(1)).msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+    verify(_mockClient, never()).msearch(any(), any());
+  }
+
+  @Test
+  public void testBrowseAsyncFailure() {
+    IOException failure = new IOException("msearch failed");
+    doAnswer(invocation -> {
+      invocation.<ActionListener<MultiSearchResponse>>getArgument(2).onFailure(failure);
+      return null;
+    }).when(_mockClient).msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+
+    CompletableFuture<BrowseResult> result = _browseDAO.browseAsync("/foo", null, 0, 10);
+
+    ExecutionException exception = expectThrows(ExecutionException.class, result::get);
+    assertTrue(exception.getCause() instanceof ESQueryException);
+    assertEquals(exception.getCause().getCause(), failure);
+  }
+
+  @Test
+  public void testBrowseServesCachedGroupsAndEntities() {
+    ESBrowseDAO browseDAO = new ESBrowseDAO(_mockClient, new CachingBrowseConfig(false));
+    ESBrowseDAO.MetricListener listener = mock(ESBrowseDAO.MetricListener.class);
+    browseDAO.addMetricListener(listener);
+    respondToMultiSearchAsync();
+
+    BrowseResult result1 = browseDAO.browse("/foo", null, 0, 10);
+    verify(listener).onCacheMiss(ESBrowseDAO.QueryType.GROUPS, 1);
+    verify(listener).onCacheMiss(ESBrowseDAO.QueryType.ENTITIES, 1);
+
+    BrowseResult result2 = browseDAO.browse("/foo", null, 0, 10);
+    verify(listener).onCacheHit(ESBrowseDAO.QueryType.GROUPS, 1);
+    verify(listener).onCacheHit(ESBrowseDAO.QueryType.ENTITIES, 1);
+    verifyNoMoreInteractions(listener);
+
+    assertEquals(result2, result1);
+    assertEquals(result1.getMetadata().getGroups().get(0), new BrowseResultGroup().setName("bar").setCount(3));
+    assertEquals(result1.getEntities().get(0),
+        new BrowseResultEntity().setName("baz").setUrn(TestUtils.makeUrn(1)));
+    assertEquals(result1.getMetadata().getTotalNumEntities().longValue(), 4);
+    assertEquals(browseDAO.getCacheHitRate(1), 0.5);
+
+    // groups and entities are loaded with one multi search request, and then served from the cache
+    verify(_mockClient, times(1)).msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+    verify(_mockClient, never()).msearch(any(), any());
+
+    // another entities page misses the cache, but its groups are still cached
+    browseDAO.browse("/foo", null, 10, 10);
+    verify(listener, times(2)).onCacheHit(ESBrowseDAO.QueryType.GROUPS, 1);
+    verify(listener, times(2)).onCacheMiss(ESBrowseDAO.QueryType.ENTITIES, 1);
+    verify(_mockClient, times(2)).msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+  }
+
+  @Test
+  public void testFilteredBrowseIsCachedByFilters() {
+    ESBrowseDAO browseDAO = new ESBrowseDAO(_mockClient, new CachingBrowseConfig(true));
+    ESBrowseDAO.MetricListener listener = mock(ESBrowseDAO.MetricListener.class);
+    browseDAO.addMetricListener(listener);
+    respondToMultiSearchAsync();
+
+    browseDAO.browse("/foo", newFilter("removed", "false"), 0, 10);
+    browseDAO.browse("/foo", newFilter("removed", "false"), 0, 10);
+    verify(_mockClient, times(1)).msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+    verify(listener).onCacheHit(ESBrowseDAO.QueryType.GROUPS, 1);
+    verify(listener).onCacheHit(ESBrowseDAO.QueryType.ENTITIES, 1);
+
+    // other filters are cached under their own keys
+    browseDAO.browse("/foo", newFilter("removed", "true"), 0, 10);
+    verify(_mockClient, times(2)).msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+    verify(listener, times(2)).onCacheMiss(ESBrowseDAO.QueryType.GROUPS, 1);
+    verify(listener, times(2)).onCacheMiss(ESBrowseDAO.QueryType.ENTITIES, 1);
+  }
+
+  @Test
+  public void testFilteredBrowseIsNotCachedByDefault() throws Exception {
+    ESBrowseDAO browseDAO = new ESBrowseDAO(_mockClient, new CachingBrowseConfig(false));
+    ESBrowseDAO.MetricListener listener = mock(ESBrowseDAO.MetricListener.class);
+    browseDAO.addMetricListener(listener);
+    when(_mockClient.msearch(any(), eq(RequestOptions.DEFAULT))).thenAnswer(
+        invocation -> makeMultiSearchResponse(invocation.getArgument(0)));
+
+    browseDAO.browse("/foo", newFilter("removed", "false"), 0, 10);
+    browseDAO.browse("/foo", newFilter("removed", "false"), 0, 10);
+
+    verify(_mockClient, times(2)).msearch(any(), eq(RequestOptions.DEFAULT));
+    verify(_mockClient, never()).msearchAsync(any(), any(), any());
+    verifyZeroInteractions(listener);
+    assertEquals(browseDAO.getCacheHitRate(1), 0.0);
+  }
+
+  @Test
+  public void testConcurrentBrowseMissesShareOneQuery() {
+    ESBrowseDAO browseDAO = new ESBrowseDAO(_mockClient, new CachingBrowseConfig(false));
+    List<MultiSearchRequest> requests = new ArrayList<>();
+    List<ActionListener<MultiSearchResponse>> listeners = new ArrayList<>();
+    doAnswer(invocation -> {
+      requests.add(invocation.getArgument(0));
+      listeners.add(invocation.getArgument(2));
+      return null;
+    }).when(_mockClient).msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+
+    CompletableFuture<BrowseResult> result1 = browseDAO.browseAsync("/foo", null, 0, 10);
+    CompletableFuture<BrowseResult> result2 = browseDAO.browseAsync("/foo", null, 0, 10);
+    assertFalse(result1.isDone());
+    assertFalse(result2.isDone());
+    assertEquals(listeners.size(), 1);
+
+    listeners.get(0).onResponse(makeMultiSearchResponse(requests.get(0)));
+    assertEquals(result2.join(), result1.join());
+    assertEquals(browseDAO.getCacheHitRate(1), 0.5);
+  }
+
+  private void respondToMultiSearchAsync() {
+    doAnswer(invocation -> {
+      invocation.<ActionListener<MultiSearchResponse>>getArgument(2)
+          .onResponse(makeMultiSearchResponse(invocation.getArgument(0)));
+      return null;
+    }).when(_mockClient).msearchAsync(any(), eq(RequestOptions.DEFAULT), any());
+  }
+
+  /**
+   * Makes the response of a multi search with groups and entities requests, telling them apart by their aggregations.
+   */
+  @Nonnull
+  private MultiSearchResponse makeMultiSearchResponse(@Nonnull MultiSearchRequest request) {
+    MultiSearchResponse.Item[] items = request.requests()
+        .stream()
+        .map(searchRequest -> new MultiSearchResponse.Item(
+            searchRequest.source().aggregations() != null ? _groupsResponse : _entitiesResponse, null))
+        .toArray(MultiSearchResponse.Item[]::new);
+    return new MultiSearchResponse(items, 0L);
+  }
+
+  @Nonnull
+  private static SearchResponse makeGroupsResponse() {
+    Terms.Bucket bucket = mock(Terms.Bucket.class);
+    when(bucket.getKeyAsString()).thenReturn("/foo/bar");
+    when(bucket.getDocCount()).thenReturn(3L);
+    ParsedTerms groups = mock(ParsedTerms.class);
+    doReturn(Collections.singletonList(bucket)).when(groups).getBuckets();
+    Aggregations aggregations = mock(Aggregations.class);
+    when(aggregations.getAsMap()).thenReturn(Collections.<String, Aggregation>singletonMap("groups", groups));
+
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.getAggregations()).thenReturn(aggregations);
+    when(response.getHits()).thenReturn(
+        new SearchHits(new SearchHit[0], new TotalHits(3L, TotalHits.Relation.EQUAL_TO), 0));
+    return response;
+  }
+
+  @Nonnull
+  private static SearchResponse makeEntitiesResponse() {
+    SearchHit hit = new SearchHit(1);
+    hit.sourceRef(
+        new BytesArray("{\"urn\":\"" + TestUtils.makeUrn(1) + "\",\"browsePaths\":[\"/foo/baz\",\"/qux/baz\"]}"));
+
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.getHits()).thenReturn(
+        new SearchHits(new SearchHit[]{hit}, new TotalHits(1L, TotalHits.Relation.EQUAL_TO), 0));
+    return response;
+  }
 }
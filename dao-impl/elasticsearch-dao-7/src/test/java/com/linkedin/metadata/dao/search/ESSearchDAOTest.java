@@ -2,10 +2,13 @@ package com.linkedin.metadata.dao.search;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.UrnArray;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.dao.SearchResult;
+import com.linkedin.metadata.dao.exception.ESQueryException;
 import com.linkedin.metadata.dao.utils.QueryUtils;
 import com.linkedin.metadata.query.AggregationMetadataArray;
 import com.linkedin.metadata.query.Condition;
@@ -25,17 +28,25 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import org.apache.commons.io.IOUtils;
 import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.text.Text;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightField;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -43,11 +54,18 @@ import org.testng.annotations.Test;
 import static com.linkedin.metadata.dao.utils.QueryUtils.EMPTY_FILTER;
 import static com.linkedin.metadata.dao.utils.QueryUtils.newFilter;
 import static com.linkedin.testing.TestUtils.makeUrn;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
 
 
 public class ESSearchDAOTest {
@@ -122,6 +140,25 @@ public class ESSearchDAOTest {
     assertEquals(res.size(), 2);
   }
 
+  @Test
+  public void testExtractQueryResult() {
+    SearchHit hit1 = makeSearchHit(1);
+    SearchHit hit2 = makeSearchHit(2);
+    SearchResponse searchResponse = mock(SearchResponse.class);
+    when(searchResponse.getHits()).thenReturn(
+        new SearchHits(new SearchHit[]{hit1, hit2}, new TotalHits(3L, TotalHits.Relation.EQUAL_TO), 0));
+
+    SearchResult<EntityDocument> searchResult = _searchDAO.extractQueryResult(searchResponse, 0, 2);
+
+    assertEquals(searchResult.getDocumentList().size(), 2);
+    assertEquals(searchResult.getDocumentList().get(0).getUrn(), makeUrn(1));
+    assertEquals(searchResult.getDocumentList().get(0).data().get("name"), "test1");
+    assertEquals(searchResult.getDocumentList().get(1).getUrn(), makeUrn(2));
+    assertEquals(searchResult.getSearchResultMetadata().getUrns(), new UrnArray(Arrays.asList(makeUrn(1), makeUrn(2))));
+    assertEquals(searchResult.getTotalCount(), 3);
+    assertTrue(searchResult.isHavingMore());
+  }
+
   @Test
   public void testExtractSearchResultMetadata() throws Exception {
     // Test: no aggregations in search response
@@ -144,8 +181,8 @@ public class ESSearchDAOTest {
 
     // Test: urn field does not exist in one search document, exists in another
     SearchHits searchHits3 = mock(SearchHits.class);
-    SearchHit hit3 = mock(SearchHit.class);
-    when(hit3.getFields().get("urn")).thenReturn(null);
+    SearchHit hit3 = new SearchHit(3);
+    hit3.sourceRef(new BytesArray("{\"name\":\"test3\"}"));
     SearchHit hit4 = makeSearchHit(1);
     when(searchHits3.getHits()).thenReturn(new SearchHit[]{hit3, hit4});
     SearchResponse searchResponse3 = mock(SearchResponse.class);
@@ -233,6 +270,33 @@ public class ESSearchDAOTest {
     _searchDAO.setTrackTotalHits(Integer.MAX_VALUE);
   }
 
+  @Test
+  public void testSourceFilter() {
+    TestSearchConfig searchConfig = new TestSearchConfig() {
+      @Override
+      public Set<String> getSourceIncludes() {
+        return Collections.singleton("name");
+      }
+
+      @Override
+      public Set<String> getSourceExcludes() {
+        return ImmutableSet.of("description", "urn");
+      }
+    };
+    ESSearchDAO<EntityDocument> searchDAO = new ESSearchDAO<>(null, EntityDocument.class, searchConfig);
+
+    FetchSourceContext filterSource = searchDAO.getFilteredSearchQuery(EMPTY_FILTER, null, 0, 10).source().fetchSource();
+    assertEquals(ImmutableSet.copyOf(filterSource.includes()), ImmutableSet.of("name", "urn"));
+    assertEquals(filterSource.excludes(), new String[]{"description"});
+
+    FetchSourceContext searchSource =
+        searchDAO.constructSearchQuery("input", EMPTY_FILTER, null, null, 0, 10).source().fetchSource();
+    assertEquals(ImmutableSet.copyOf(searchSource.includes()), ImmutableSet.of("name", "urn"));
+
+    // no source filter by default
+    assertNull(_searchDAO.getFilteredSearchQuery(EMPTY_FILTER, null, 0, 10).source().fetchSource());
+  }
+
   @Test
   public void testFilteredQueryWithUrnValue() throws IOException {
     int from = 0;
@@ -339,21 +403,72 @@ public class ESSearchDAOTest {
   }
 
   private static SearchHit makeSearchHit(int id) {
-    SearchHit hit = mock(SearchHit.class);
-    Map<String, Object> sourceMap = new HashMap<>();
-    sourceMap.put("urn", makeUrn(id).toString());
-    sourceMap.put("name", "test" + id);
-    when(hit.getSourceAsMap()).thenReturn(sourceMap);
-    return hit;
+    return makeSearchHit(id, Collections.emptyMap());
+  }
+
+  @Test
+  public void testFilterAsync() throws Exception {
+    SearchHits searchHits = mock(SearchHits.class);
+    when(searchHits.getHits()).thenReturn(new SearchHit[0]);
+    when(searchHits.getTotalHits()).thenReturn(new TotalHits(0L, TotalHits.Relation.EQUAL_TO));
+    SearchResponse searchResponse = mock(SearchResponse.class);
+    when(searchResponse.getHits()).thenReturn(searchHits);
+    RestHighLevelClient client = mock(RestHighLevelClient.class);
+    doAnswer(invocation -> {
+      invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(searchResponse);
+      return null;
+    }).when(client).searchAsync(any(), eq(RequestOptions.DEFAULT), any());
+    ESSearchDAO<EntityDocument> searchDAO = new ESSearchDAO<>(client, EntityDocument.class, _testSearchConfig);
+
+    SearchResult<EntityDocument> searchResult = searchDAO.filterAsync(EMPTY_FILTER, null, 0, 10).get();
+
+    assertEquals(searchResult.getDocumentList().size(), 0);
+    assertEquals(searchResult.getTotalCount(), 0);
+  }
+
+  @Test
+  public void testSearchAsync() throws Exception {
+    SearchHit hit = new SearchHit(1);
+    hit.sourceRef(new BytesArray("{\"urn\":\"" + makeUrn(1) + "\",\"value\":\"foo\"}"));
+    SearchResponse searchResponse = mock(SearchResponse.class);
+    when(searchResponse.getHits()).thenReturn(
+        new SearchHits(new SearchHit[]{hit}, new TotalHits(1L, TotalHits.Relation.EQUAL_TO), 0));
+    RestHighLevelClient client = mock(RestHighLevelClient.class);
+    doAnswer(invocation -> {
+      invocation.<ActionListener<SearchResponse>>getArgument(2).onResponse(searchResponse);
+      return null;
+    }).when(client).searchAsync(any(), eq(RequestOptions.DEFAULT), any());
+    ESSearchDAO<EntityDocument> searchDAO = new ESSearchDAO<>(client, EntityDocument.class, _testSearchConfig);
+
+    SearchResult<EntityDocument> searchResult = searchDAO.searchAsync("foo", EMPTY_FILTER, null, 0, 10).get();
+
+    assertEquals(searchResult.getDocumentList(),
+        Collections.singletonList(new EntityDocument().setUrn(makeUrn(1)).setValue("foo")));
+    assertEquals(searchResult.getTotalCount(), 1);
+    assertEquals(searchResult.getSearchResultMetadata().getUrns(), new UrnArray(Collections.singletonList(makeUrn(1))));
+    verify(client, never()).search(any(), any());
+  }
+
+  @Test
+  public void testSearchAsyncFailure() {
+    RestHighLevelClient client = mock(RestHighLevelClient.class);
+    doAnswer(invocation -> {
+      invocation.<ActionListener<SearchResponse>>getArgument(2).onFailure(new IOException("search failed"));
+      return null;
+    }).when(client).searchAsync(any(), eq(RequestOptions.DEFAULT), any());
+    ESSearchDAO<EntityDocument> searchDAO = new ESSearchDAO<>(client, EntityDocument.class, _testSearchConfig);
+
+    CompletableFuture<SearchResult<EntityDocument>> future = searchDAO.searchAsync("input", EMPTY_FILTER, null, 0, 10);
+
+    assertTrue(future.isCompletedExceptionally());
+    ExecutionException exception = expectThrows(ExecutionException.class, future::get);
+    assertTrue(exception.getCause() instanceof ESQueryException);
   }
 
   private static SearchHit makeSearchHit(int id, Map<String, List<String>> highlightedFields) {
-    SearchHit hit = mock(SearchHit.class);
-    Map<String, Object> sourceMap = new HashMap<>();
-    sourceMap.put("urn", makeUrn(id).toString());
-    sourceMap.put("name", "test" + id);
-    when(hit.getSourceAsMap()).thenReturn(sourceMap);
-    when(hit.getHighlightFields()).thenReturn(highlightedFields.entrySet()
+    SearchHit hit = new SearchHit(id);
+    hit.sourceRef(new BytesArray(String.format("{\"urn\":\"%s\",\"name\":\"test%d\"}", makeUrn(id), id)));
+    hit.highlightFields(highlightedFields.entrySet()
         .stream()
         .collect(Collectors.toMap(Map.Entry::getKey, entry -> new HighlightField(entry.getKey(),
             entry.getValue().stream().map(Text::new).toArray(Text[]::new)))));
@@ -0,0 +1,45 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.dao.exception.ModelConversionException;
+import java.util.Arrays;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SearchHitSourceDecoderTest {
+
+  @Test
+  public void testDecode() {
+    String source = "{\"urn\":\"urn:li:entity:1\",\"count\":3,\"size\":10000000000,\"ratio\":0.5,\"removed\":false,"
+        + "\"owner\":null,\"tags\":[\"foo\",null,\"bar\"],\"nested\":{\"key\":\"value\"}}";
+
+    DataMap dataMap = SearchHitSourceDecoder.decode(new BytesArray(source));
+
+    DataMap expected = new DataMap();
+    expected.put("urn", "urn:li:entity:1");
+    expected.put("count", 3);
+    expected.put("size", 10000000000L);
+    expected.put("ratio", 0.5);
+    expected.put("removed", false);
+    expected.put("tags", new DataList(Arrays.asList("foo", "bar")));
+    DataMap nested = new DataMap();
+    nested.put("key", "value");
+    expected.put("nested", nested);
+    assertEquals(dataMap, expected);
+  }
+
+  @Test
+  public void testDecodeEmptySource() {
+    assertEquals(SearchHitSourceDecoder.decode(new BytesArray("{}")), new DataMap());
+  }
+
+  @Test
+  public void testDecodeInvalidSource() {
+    assertThrows(ModelConversionException.class, () -> SearchHitSourceDecoder.decode(new BytesArray("[1, 2]")));
+    assertThrows(ModelConversionException.class, () -> SearchHitSourceDecoder.decode(new BytesArray("{\"urn\":")));
+  }
+}
@@ -0,0 +1,30 @@
+package com.linkedin.metadata.dao;
+
+import java.util.List;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * An immutable value class that holds a page of a keyset paginated query, see
+ * {@link Neo4jQueryDAO#findEntitiesPage(Class, com.linkedin.metadata.query.Filter, List, String, int)}.
+ *
+ * <p>Unlike {@link ListResult}, the next page is located by a continuation token instead of an offset, so the query of
+ * the next page seeks directly to where this page ended instead of skipping over all the results before it.
+ *
+ * @param <T> the result type
+ */
+@Value
+public class KeysetResult<T> {
+
+  // A single page of results
+  List<T> values;
+
+  // Opaque token to pass to get the next page, or null if this is the last page
+  @Nullable
+  String continuationToken;
+
+  public boolean hasMore() {
+    return continuationToken != null;
+  }
+}
@@ -12,6 +12,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -30,6 +32,9 @@ import static com.linkedin.metadata.dao.Neo4jUtil.*;
  */
 public class Neo4jQueryDAO extends BaseQueryDAO {
 
+  // Wide enough for any non-negative long, so that zero padded IDs compare like the IDs
+  private static final String PATH_KEY_PADDING = "0000000000000000000";
+
   private final Driver _driver;
 
   public Neo4jQueryDAO(@Nonnull Driver driver) {
@@ -87,29 +92,47 @@ public class Neo4jQueryDAO extends BaseQueryDAO {
     }
     RelationshipValidator.validateRelationshipSchema(relationshipType);
 
-    final String srcType = getTypeOrEmptyString(sourceEntityClass);
-    final String srcCriteria = filterToCriteria(sourceEntityFilter);
-    final String destType = getTypeOrEmptyString(destinationEntityClass);
-    final String destCriteria = filterToCriteria(destinationEntityFilter);
-    final String edgeType = getType(relationshipType);
-    final String edgeCriteria = criterionToString(relationshipFilter.getCriteria());
+    final String statementString = "MATCH "
+        + buildMultiHopsPattern(sourceEntityClass, sourceEntityFilter, destinationEntityClass, destinationEntityFilter,
+            relationshipType, relationshipFilter, minHops, maxHops) + " RETURN dest";
 
-    final RelationshipDirection relationshipDirection = relationshipFilter.getDirection();
+    final Statement statement = buildStatement(statementString, offset, count);
 
-    String matchTemplate = "MATCH (src%s %s)-[r:%s*%d..%d %s]-(dest%s %s) RETURN dest";
-    if (relationshipDirection == RelationshipDirection.INCOMING) {
-      matchTemplate = "MATCH (src%s %s)<-[r:%s*%d..%d %s]-(dest%s %s) RETURN dest";
-    } else if (relationshipDirection == RelationshipDirection.OUTGOING) {
-      matchTemplate = "MATCH (src%s %s)-[r:%s*%d..%d %s]->(dest%s %s) RETURN dest";
-    }
+    return runQuery(statement, this::nodeRecordToEntity);
+  }
 
-    final String statementString =
-        String.format(matchTemplate, srcType, srcCriteria, edgeType, minHops, maxHops, edgeCriteria, destType,
-            destCriteria);
+  /**
+   * Keyset paginated version of
+   * {@link #findEntities(Class, Filter, Class, Filter, Class, RelationshipFilter, int, int, int, int)}.
+   *
+   * <p>The distinct destination entities are returned in urn order, and each page continues after the urn the previous
+   * page ended with, so getting a deep page costs the same as getting the first one.
+   *
+   * @param continuationToken the token of the previous page, see {@link KeysetResult#getContinuationToken()}, or null
+   *                          to get the first page
+   * @param count maximum number of entities in the page, must be positive
+   * @return a page of entities and the token to continue from
+   */
+  @Nonnull
+  public <SRC_ENTITY extends RecordTemplate, DEST_ENTITY extends RecordTemplate, RELATIONSHIP extends RecordTemplate> KeysetResult<RecordTemplate> findEntitiesPage(
+      @Nullable Class<SRC_ENTITY> sourceEntityClass, @Nonnull Filter sourceEntityFilter,
+      @Nullable Class<DEST_ENTITY> destinationEntityClass, @Nonnull Filter destinationEntityFilter,
+      @Nonnull Class<RELATIONSHIP> relationshipType, @Nonnull RelationshipFilter relationshipFilter, int minHops,
+      int maxHops, @Nullable String continuationToken, int count) {
 
-    final Statement statement = buildStatement(statementString, offset, count);
+    if (sourceEntityClass != null) {
+      EntityValidator.validateEntitySchema(sourceEntityClass);
+    }
+    if (destinationEntityClass != null) {
+      EntityValidator.validateEntitySchema(destinationEntityClass);
+    }
+    RelationshipValidator.validateRelationshipSchema(relationshipType);
 
-    return runQuery(statement, this::nodeRecordToEntity);
+    final String match = "MATCH "
+        + buildMultiHopsPattern(sourceEntityClass, sourceEntityFilter, destinationEntityClass, destinationEntityFilter,
+            relationshipType, relationshipFilter, minHops, maxHops);
+
+    return runKeysetQuery(buildKeysetStatement(match, "dest", continuationToken, count), count);
   }
 
   @Nonnull
@@ -122,6 +145,75 @@ public class Neo4jQueryDAO extends BaseQueryDAO {
       EntityValidator.validateEntitySchema(sourceEntityClass);
     }
 
+    final String statementString =
+        buildTraversePathsMatch(sourceEntityClass, sourceEntityFilter, traversePaths) + "RETURN dest"
+            + traversePaths.size();
+    final Statement statement = buildStatement(statementString, offset, count);
+
+    return runQuery(statement, this::nodeRecordToEntity);
+  }
+
+  /**
+   * Keyset paginated version of {@link #findEntities(Class, Filter, List, int, int)}.
+   *
+   * <p>The distinct entities at the end of the traverse paths are returned in urn order, and each page continues after
+   * the urn the previous page ended with, so getting a deep page costs the same as getting the first one.
+   *
+   * @param continuationToken the token of the previous page, see {@link KeysetResult#getContinuationToken()}, or null
+   *                          to get the first page
+   * @param count maximum number of entities in the page, must be positive
+   * @return a page of entities and the token to continue from
+   */
+  @Nonnull
+  public <SRC_ENTITY extends RecordTemplate, RELATIONSHIP extends RecordTemplate, INTER_ENTITY extends RecordTemplate> KeysetResult<RecordTemplate> findEntitiesPage(
+      @Nullable Class<SRC_ENTITY> sourceEntityClass, @Nonnull Filter sourceEntityFilter,
+      @Nonnull List<Triplet<Class<RELATIONSHIP>, RelationshipFilter, Class<INTER_ENTITY>>> traversePaths,
+      @Nullable String continuationToken, int count) {
+    if (sourceEntityClass != null) {
+      EntityValidator.validateEntitySchema(sourceEntityClass);
+    }
+
+    final String match = buildTraversePathsMatch(sourceEntityClass, sourceEntityFilter, traversePaths);
+
+    return runKeysetQuery(buildKeysetStatement(match, "dest" + traversePaths.size(), continuationToken, count), count);
+  }
+
+  /**
+   * Builds the pattern of the multi hops paths from src to dest, to complete into a MATCH clause.
+   */
+  @Nonnull
+  private <SRC_ENTITY extends RecordTemplate, DEST_ENTITY extends RecordTemplate, RELATIONSHIP extends RecordTemplate> String buildMultiHopsPattern(
+      @Nullable Class<SRC_ENTITY> sourceEntityClass, @Nonnull Filter sourceEntityFilter,
+      @Nullable Class<DEST_ENTITY> destinationEntityClass, @Nonnull Filter destinationEntityFilter,
+      @Nonnull Class<RELATIONSHIP> relationshipType, @Nonnull RelationshipFilter relationshipFilter, int minHops,
+      int maxHops) {
+    final String srcType = getTypeOrEmptyString(sourceEntityClass);
+    final String srcCriteria = filterToCriteria(sourceEntityFilter);
+    final String destType = getTypeOrEmptyString(destinationEntityClass);
+    final String destCriteria = filterToCriteria(destinationEntityFilter);
+    final String edgeType = getType(relationshipType);
+    final String edgeCriteria = criterionToString(relationshipFilter.getCriteria());
+
+    final RelationshipDirection relationshipDirection = relationshipFilter.getDirection();
+
+    String patternTemplate = "(src%s %s)-[r:%s*%d..%d %s]-(dest%s %s)";
+    if (relationshipDirection == RelationshipDirection.INCOMING) {
+      patternTemplate = "(src%s %s)<-[r:%s*%d..%d %s]-(dest%s %s)";
+    } else if (relationshipDirection == RelationshipDirection.OUTGOING) {
+      patternTemplate = "(src%s %s)-[r:%s*%d..%d %s]->(dest%s %s)";
+    }
+
+    return String.format(patternTemplate, srcType, srcCriteria, edgeType, minHops, maxHops, edgeCriteria, destType,
+        destCriteria);
+  }
+
+  /**
+   * Builds the MATCH clause of the traverse paths, with dest1, dest2, ... as the entities along the path.
+   */
+  @Nonnull
+  private <SRC_ENTITY extends RecordTemplate, RELATIONSHIP extends RecordTemplate, INTER_ENTITY extends RecordTemplate> String buildTraversePathsMatch(
+      @Nullable Class<SRC_ENTITY> sourceEntityClass, @Nonnull Filter sourceEntityFilter,
+      @Nonnull List<Triplet<Class<RELATIONSHIP>, RelationshipFilter, Class<INTER_ENTITY>>> traversePaths) {
     final String srcType = getTypeOrEmptyString(sourceEntityClass);
     final String srcCriteria = filterToCriteria(sourceEntityFilter);
 
@@ -151,14 +243,7 @@ public class Neo4jQueryDAO extends BaseQueryDAO {
       matchTemplate.append(subStatementString);
     }
 
-    // last INTER_ENTITY will be the Destination Entity
-    String lastEntity = String.format("dest%d", pathCounter);
-    matchTemplate.append("RETURN ").append(lastEntity);
-
-    final String statementString = String.format(matchTemplate.toString(), srcType, srcCriteria);
-    final Statement statement = buildStatement(statementString, offset, count);
-
-    return runQuery(statement, this::nodeRecordToEntity);
+    return String.format(matchTemplate.toString(), srcType, srcCriteria);
   }
 
   @Nonnull
@@ -210,29 +295,72 @@ public class Neo4jQueryDAO extends BaseQueryDAO {
     }
     RelationshipValidator.validateRelationshipSchema(relationshipType);
 
-    final String srcType = getTypeOrEmptyString(sourceEntityClass);
-    final String srcCriteria = filterToCriteria(sourceEntityFilter);
-    final String destType = getTypeOrEmptyString(destinationEntityClass);
-    final String destCriteria = filterToCriteria(destinationEntityFilter);
-    final String edgeType = getType(relationshipType);
-    final String edgeCriteria = criterionToString(relationshipFilter.getCriteria());
+    final String statementString = "MATCH p="
+        + buildMultiHopsPattern(sourceEntityClass, sourceEntityFilter, destinationEntityClass, destinationEntityFilter,
+            relationshipType, relationshipFilter, minHops, maxHops) + " RETURN p";
 
-    final RelationshipDirection relationshipDirection = relationshipFilter.getDirection();
+    final Statement statement = buildStatement(statementString, "length(p), dest.urn", offset, count);
 
-    String matchTemplate = "MATCH p=(src%s %s)-[r:%s*%d..%d %s]-(dest%s %s) RETURN p";
-    if (relationshipDirection == RelationshipDirection.INCOMING) {
-      matchTemplate = "MATCH p=(src%s %s)<-[r:%s*%d..%d %s]-(dest%s %s) RETURN p";
-    } else if (relationshipDirection == RelationshipDirection.OUTGOING) {
-      matchTemplate = "MATCH p=(src%s %s)-[r:%s*%d..%d %s]->(dest%s %s) RETURN p";
+    return runQuery(statement, this::pathRecordToPathList);
+  }
+
+  /**
+   * Keyset paginated version of
+   * {@link #findPaths(Class, Filter, Class, Filter, Class, RelationshipFilter, int, int, int, int)}.
+   *
+   * <p>Paths are returned by length, and then in the order of the internal IDs of their source node and relationships,
+   * which tell paths apart even when they share their nodes. Each page continues after the path the previous page ended
+   * with, so getting a deep page costs the same as getting the first one. The order is stable as long as the paths
+   * aren't deleted, but isn't the same as the order of the offset paginated version.
+   *
+   * @param continuationToken the token of the previous page, see {@link KeysetResult#getContinuationToken()}, or null
+   *                          to get the first page
+   * @param count maximum number of paths in the page, must be positive
+   * @return a page of paths, each of which is [Node1, Edge1, Node2, Edge2, ....], and the token to continue from
+   */
+  @Nonnull
+  public <SRC_ENTITY extends RecordTemplate, DEST_ENTITY extends RecordTemplate, RELATIONSHIP extends RecordTemplate>
+  KeysetResult<List<RecordTemplate>> findPathsPage(
+      @Nullable Class<SRC_ENTITY> sourceEntityClass, @Nonnull Filter sourceEntityFilter,
+      @Nullable Class<DEST_ENTITY> destinationEntityClass, @Nonnull Filter destinationEntityFilter,
+      @Nonnull Class<RELATIONSHIP> relationshipType, @Nonnull RelationshipFilter relationshipFilter,
+      int minHops, int maxHops, @Nullable String continuationToken, int count) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("count must be positive for keyset pagination");
     }
 
-    final String statementString =
-        String.format(matchTemplate, srcType, srcCriteria, edgeType, minHops, maxHops, edgeCriteria, destType,
-            destCriteria);
+    if (sourceEntityClass != null) {
+      EntityValidator.validateEntitySchema(sourceEntityClass);
+    }
+    if (destinationEntityClass != null) {
+      EntityValidator.validateEntitySchema(destinationEntityClass);
+    }
+    RelationshipValidator.validateRelationshipSchema(relationshipType);
 
-    final Statement statement = buildStatement(statementString, "length(p), dest.urn", offset, count);
+    // the length and the IDs of the path, zero padded so that the keys of paths sort like the paths
+    String statement = "MATCH p="
+        + buildMultiHopsPattern(sourceEntityClass, sourceEntityFilter, destinationEntityClass, destinationEntityFilter,
+            relationshipType, relationshipFilter, minHops, maxHops)
+        + " WITH p, reduce(key = '', x IN [length(p), id(src)] + [rel IN relationships(p) | id(rel)]"
+        + " | key + right('" + PATH_KEY_PADDING + "' + toString(x), " + PATH_KEY_PADDING.length() + ")) AS key";
+    final Map<String, Object> params = new HashMap<>();
+    if (continuationToken != null) {
+      statement += " WHERE key > $after";
+      params.put("after", continuationToken);
+    }
+    statement += " RETURN p, key ORDER BY key LIMIT $count";
+    params.put("count", count);
 
-    return runQuery(statement, this::pathRecordToPathList);
+    final List<Record> records = runQuery(new Statement(statement, params), Function.identity());
+    final List<List<RecordTemplate>> values =
+        records.stream().map(this::pathRecordToPathList).collect(Collectors.toList());
+
+    String nextToken = null;
+    if (!records.isEmpty() && records.size() >= count) {
+      nextToken = records.get(records.size() - 1).get("key").asString();
+    }
+
+    return new KeysetResult<>(values, nextToken);
   }
 
   /**
@@ -250,6 +378,49 @@ public class Neo4jQueryDAO extends BaseQueryDAO {
   }
 
 
+  /**
+   * Runs a query statement with parameters and streams the elements of its result.
+   *
+   * <p>Unlike {@link #findEntities(Class, Statement)} and other methods that return a list, the records are fetched
+   * from the server in batches of the driver's fetch size while the stream is consumed, so the whole result is never
+   * held in memory. The stream holds a session open until it is closed, so it must be closed after use, e.g. with
+   * try-with-resources.
+   *
+   * @param statement a statement with parameters to be executed
+   * @param mapperFunction lambda to transform query result
+   * @return stream of elements in the query result
+   */
+  @Nonnull
+  public <T> Stream<T> streamQuery(@Nonnull Statement statement, @Nonnull Function<Record, T> mapperFunction) {
+    final Session session = _driver.session();
+    try {
+      return session.run(statement.getCommandText(), statement.getParams())
+          .stream()
+          .map(mapperFunction)
+          .onClose(session::close);
+    } catch (RuntimeException e) {
+      session.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Runs a keyset paginated statement built by {@link #buildKeysetStatement(String, String, String, int)}, and uses
+   * the urn of the last entity of a full page as the continuation token.
+   */
+  @Nonnull
+  private KeysetResult<RecordTemplate> runKeysetQuery(@Nonnull Statement statement, int count) {
+    final List<Record> records = runQuery(statement, Function.identity());
+    final List<RecordTemplate> values = records.stream().map(this::nodeRecordToEntity).collect(Collectors.toList());
+
+    String continuationToken = null;
+    if (!records.isEmpty() && records.size() >= count) {
+      continuationToken = records.get(records.size() - 1).values().get(0).asNode().get("urn").asString();
+    }
+
+    return new KeysetResult<>(values, continuationToken);
+  }
+
   /**
    * Runs a free-form Cypher query.
    *
@@ -320,6 +491,29 @@ public class Neo4jQueryDAO extends BaseQueryDAO {
     return new Statement(orderStatement, params);
   }
 
+  /**
+   * Completes a MATCH clause into a keyset paginated statement, which returns the distinct nodes of a variable in urn
+   * order starting after the urn of the continuation token.
+   */
+  @Nonnull
+  private Statement buildKeysetStatement(@Nonnull String match, @Nonnull String node,
+      @Nullable String continuationToken, int count) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("count must be positive for keyset pagination");
+    }
+
+    String statement = match;
+    final Map<String, Object> params = new HashMap<>();
+    if (continuationToken != null) {
+      statement += String.format(" WHERE %s.urn > $after", node);
+      params.put("after", continuationToken);
+    }
+    statement += String.format(" RETURN DISTINCT %1$s ORDER BY %1$s.urn LIMIT $count", node);
+    params.put("count", count);
+
+    return new Statement(statement, params);
+  }
+
   @Nonnull
   <ENTITY extends RecordTemplate> ENTITY nodeRecordToEntity(@Nonnull Class<ENTITY> entityClass,
       @Nonnull Record nodeRecord) {
@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Query;
 import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Value;
 
 import static com.linkedin.metadata.dao.Neo4jUtil.*;
 
@@ -69,6 +70,17 @@ public class Neo4jGraphWriterDAO extends BaseGraphWriterDAO {
      *     success)
      */
     void onRelationshipsRemoved(int relationshipCount, long updateTimeMs, int retries);
+
+    /**
+     * Event for each chunk of a batched write (see {@link #setWriteChunkSize(int)}), once the transaction of the write
+     * succeeded.
+     *
+     * @param operation the write, i.e. addEntities, removeEntities, addRelationships or removeRelationships
+     * @param recordCount how many records were written by the chunk
+     * @param chunkTimeMs how long the query of the chunk took
+     */
+    default void onChunkWritten(@Nonnull String operation, int recordCount, long chunkTimeMs) {
+    }
   }
 
   private static final class DelegateMetricListener implements MetricListener {
@@ -105,11 +117,19 @@ public class Neo4jGraphWriterDAO extends BaseGraphWriterDAO {
         m.onRelationshipsRemoved(relationshipCount, updateTimeMs, retries);
       }
     }
+
+    @Override
+    public void onChunkWritten(@Nonnull String operation, int recordCount, long chunkTimeMs) {
+      for (MetricListener m : _metricListeners) {
+        m.onChunkWritten(operation, recordCount, chunkTimeMs);
+      }
+    }
   }
 
   private DelegateMetricListener _metricListener = new DelegateMetricListener();
   private final Neo4jQueriesTransformer _queriesTransformer;
   private final Neo4jQueryExecutor _queryExecutor;
+  private int _writeChunkSize = 0;
 
   private Neo4jGraphWriterDAO(@Nonnull Neo4jQueriesTransformer queriesTransformer,
       @Nonnull Neo4jQueryExecutor queryExecutor) {
@@ -140,15 +160,52 @@ public class Neo4jGraphWriterDAO extends BaseGraphWriterDAO {
     _metricListener.addMetricListener(metricListener);
   }
 
+  /**
+   * Enables batched writes. Instead of one query per entity or relationship, records of the same node or relationship
+   * type are written with {@code UNWIND} queries of up to chunkSize records each, in the same single transaction.
+   *
+   * @param chunkSize maximum number of records per query, or 0 to disable batched writes (the default)
+   */
+  public void setWriteChunkSize(int chunkSize) {
+    if (chunkSize < 0) {
+      throw new IllegalArgumentException("chunkSize must not be negative");
+    }
+    _writeChunkSize = chunkSize;
+  }
+
+  private boolean isBatched() {
+    return _writeChunkSize > 0;
+  }
+
+  /**
+   * Executes the queries of a batched write, and reports the timing of each chunk.
+   */
+  @Nonnull
+  private Neo4jQueryResult executeBatched(@Nonnull String operation, @Nonnull List<Query> queries) {
+    final Neo4jQueryResult result = _queryExecutor.executeAndTime(queries);
+    for (int i = 0; i < queries.size(); i++) {
+      final Value rows = queries.get(i).parameters().get(Neo4jQueriesTransformer.ROWS_PARAM);
+      if (!rows.isNull()) {
+        _metricListener.onChunkWritten(operation, rows.size(), result.getQueryTookMs().get(i));
+      }
+    }
+    return result;
+  }
+
   @Override
   public <ENTITY extends RecordTemplate> void addEntities(@Nonnull List<ENTITY> entities) {
-    final List<Query> list = new ArrayList<>();
+    final Neo4jQueryResult result;
+    if (isBatched()) {
+      result = executeBatched("addEntities", _queriesTransformer.addEntitiesQueries(entities, _writeChunkSize));
+    } else {
+      final List<Query> list = new ArrayList<>();
+
+      for (ENTITY entity : entities) {
+        list.add(_queriesTransformer.addEntityQuery(entity));
+      }
 
-    for (ENTITY entity : entities) {
-      list.add(_queriesTransformer.addEntityQuery(entity));
+      result = _queryExecutor.execute(list);
     }
-
-    final Neo4jQueryResult result = _queryExecutor.execute(list);
     log.trace("Added {} entities over {} retries, which took {} millis", entities.size(), result.getTookMs(),
         result.getRetries());
     _metricListener.onEntitiesAdded(entities.size(), result.getTookMs(), result.getRetries());
@@ -156,12 +213,17 @@ public class Neo4jGraphWriterDAO extends BaseGraphWriterDAO {
 
   @Override
   public <URN extends Urn> void removeEntities(@Nonnull List<URN> urns) {
-    final List<Query> list = new ArrayList<>();
-    for (URN urn : urns) {
-      list.add(_queriesTransformer.removeEntityQuery(urn));
-    }
+    final Neo4jQueryResult result;
+    if (isBatched()) {
+      result = executeBatched("removeEntities", _queriesTransformer.removeEntitiesQueries(urns, _writeChunkSize));
+    } else {
+      final List<Query> list = new ArrayList<>();
+      for (URN urn : urns) {
+        list.add(_queriesTransformer.removeEntityQuery(urn));
+      }
 
-    final Neo4jQueryResult result = _queryExecutor.execute(list);
+      result = _queryExecutor.execute(list);
+    }
     log.trace("Removed {} entities over {} retries, which took {} millis", urns.size(), result.getTookMs(),
         result.getRetries());
     _metricListener.onEntitiesRemoved(urns.size(), result.getTookMs(), result.getRetries());
@@ -180,11 +242,17 @@ public class Neo4jGraphWriterDAO extends BaseGraphWriterDAO {
 
     GraphUtils.checkSameUrn(relationships, removalOption, SOURCE_FIELD, DESTINATION_FIELD);
 
-    for (RELATIONSHIP relationship : relationships) {
-      list.add(_queriesTransformer.addRelationshipQuery(relationship));
-    }
+    final Neo4jQueryResult result;
+    if (isBatched()) {
+      list.addAll(_queriesTransformer.addRelationshipsQueries(relationships, _writeChunkSize));
+      result = executeBatched("addRelationships", list);
+    } else {
+      for (RELATIONSHIP relationship : relationships) {
+        list.add(_queriesTransformer.addRelationshipQuery(relationship));
+      }
 
-    final Neo4jQueryResult result = _queryExecutor.execute(list);
+      result = _queryExecutor.execute(list);
+    }
     log.trace("Added {} relationships over {} retries, which took {} millis", relationships.size(), result.getTookMs(),
         result.getRetries());
     _metricListener.onRelationshipsAdded(relationships.size(), result.getTookMs(), result.getRetries());
@@ -196,12 +264,18 @@ public class Neo4jGraphWriterDAO extends BaseGraphWriterDAO {
       return;
     }
 
-    final List<Query> list = new ArrayList<>();
-    for (RELATIONSHIP relationship : relationships) {
-      list.add(_queriesTransformer.removeEdge(relationship));
-    }
+    final Neo4jQueryResult result;
+    if (isBatched()) {
+      result =
+          executeBatched("removeRelationships", _queriesTransformer.removeEdgesQueries(relationships, _writeChunkSize));
+    } else {
+      final List<Query> list = new ArrayList<>();
+      for (RELATIONSHIP relationship : relationships) {
+        list.add(_queriesTransformer.removeEdge(relationship));
+      }
 
-    final Neo4jQueryResult result = _queryExecutor.execute(list);
+      result = _queryExecutor.execute(list);
+    }
     log.trace("Removed {} relationships over {} retries, which took {} millis", relationships.size(),
         result.getTookMs(), result.getRetries());
     _metricListener.onRelationshipsRemoved(relationships.size(), result.getTookMs(), result.getRetries());
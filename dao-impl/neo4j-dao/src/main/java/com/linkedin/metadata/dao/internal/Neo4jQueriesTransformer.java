@@ -4,10 +4,18 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.validator.EntityValidator;
 import com.linkedin.metadata.validator.RelationshipValidator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.neo4j.driver.Query;
 
@@ -21,6 +29,11 @@ import static com.linkedin.metadata.dao.utils.ModelUtils.*;
  * <p>This separates out transformation logic from query execution logic ({@link Neo4jGraphWriterDAO}).
  */
 public final class Neo4jQueriesTransformer {
+  /**
+   * Name of the parameter that holds the rows of a batched query, see {@link #addEntitiesQueries(List, int)}.
+   */
+  public static final String ROWS_PARAM = "rows";
+
   private static final Map<String, String> DEFAULT_URN_TO_ENTITY_MAP = buildUrnToEntityMap(getAllEntities());
   private final Map<String, String> _urnToEntityMap;
 
@@ -192,4 +205,121 @@ public final class Neo4jQueriesTransformer {
 
     return buildQuery(statement, params);
   }
+
+  /**
+   * Batched version of {@link #addEntityQuery(RecordTemplate)}.
+   *
+   * <p>Entities are grouped by node type, and each group is written with {@code UNWIND $rows AS row MERGE ...} queries
+   * of up to chunkSize entities each, instead of one query per entity. Entities of the same node type keep their order.
+   *
+   * @param entities the entities to add
+   * @param chunkSize maximum number of entities per query
+   * @return the queries, each with its entities in the {@link #ROWS_PARAM} parameter
+   */
+  @Nonnull
+  public List<Query> addEntitiesQueries(@Nonnull List<? extends RecordTemplate> entities, int chunkSize) {
+    final Map<String, Collection<Map<String, Object>>> rowsByStatement = new LinkedHashMap<>();
+    for (RecordTemplate entity : entities) {
+      EntityValidator.validateEntitySchema(entity.getClass());
+      final Urn urn = getUrnFromEntity(entity);
+      final String statement = String.format(
+          "UNWIND $%s AS row MERGE (node%s {urn: row.urn}) SET node += row.properties", ROWS_PARAM, getNodeType(urn));
+
+      final Map<String, Object> props = entityToNode(entity);
+      props.remove("urn");
+      final Map<String, Object> row = new HashMap<>();
+      row.put("urn", urn.toString());
+      row.put("properties", props);
+      rowsByStatement.computeIfAbsent(statement, k -> new ArrayList<>()).add(row);
+    }
+    return toChunkedQueries(rowsByStatement, chunkSize);
+  }
+
+  /**
+   * Batched version of {@link #removeEntityQuery(Urn)}, see {@link #addEntitiesQueries(List, int)}.
+   */
+  @Nonnull
+  public List<Query> removeEntitiesQueries(@Nonnull List<? extends Urn> urns, int chunkSize) {
+    final Map<String, Collection<Map<String, Object>>> rowsByStatement = new LinkedHashMap<>();
+    for (Urn urn : urns) {
+      final String statement = String.format("UNWIND $%s AS row MATCH (node%s {urn: row.urn}) DETACH DELETE node",
+          ROWS_PARAM, getNodeType(urn));
+      rowsByStatement.computeIfAbsent(statement, k -> new LinkedHashSet<>())
+          .add(Collections.singletonMap("urn", urn.toString()));
+    }
+    return toChunkedQueries(rowsByStatement, chunkSize);
+  }
+
+  /**
+   * Batched version of {@link #addRelationshipQuery(RecordTemplate)}, see {@link #addEntitiesQueries(List, int)}.
+   * Relationships are grouped by relationship type and the node types of their source and destination.
+   */
+  @Nonnull
+  public List<Query> addRelationshipsQueries(@Nonnull List<? extends RecordTemplate> relationships, int chunkSize) {
+    final Map<String, Collection<Map<String, Object>>> rowsByStatement = new LinkedHashMap<>();
+    for (RecordTemplate relationship : relationships) {
+      RelationshipValidator.validateRelationshipSchema(relationship.getClass());
+      final Urn srcUrn = getSourceUrnFromRelationship(relationship);
+      final Urn destUrn = getDestinationUrnFromRelationship(relationship);
+      final String statement = String.format(
+          "UNWIND $%s AS row MERGE (source%s {urn: row.sourceUrn}) MERGE (destination%s {urn: row.destinationUrn}) "
+              + "MERGE (source)-[r:%s]->(destination) SET r += row.properties", ROWS_PARAM, getNodeType(srcUrn),
+          getNodeType(destUrn), getType(relationship));
+
+      final Map<String, Object> row = new HashMap<>();
+      row.put("sourceUrn", srcUrn.toString());
+      row.put("destinationUrn", destUrn.toString());
+      row.put("properties", relationshipToEdge(relationship));
+      rowsByStatement.computeIfAbsent(statement, k -> new ArrayList<>()).add(row);
+    }
+    return toChunkedQueries(rowsByStatement, chunkSize);
+  }
+
+  /**
+   * Batched version of {@link #removeEdge(RecordTemplate)}, see {@link #addEntitiesQueries(List, int)}.
+   * Relationships are grouped by relationship type, the node types of their source and destination, and the names of
+   * their properties, which are all matched.
+   */
+  @Nonnull
+  public List<Query> removeEdgesQueries(@Nonnull List<? extends RecordTemplate> relationships, int chunkSize) {
+    final Map<String, Collection<Map<String, Object>>> rowsByStatement = new LinkedHashMap<>();
+    for (RecordTemplate relationship : relationships) {
+      final Urn sourceUrn = getSourceUrnFromRelationship(relationship);
+      final Urn destinationUrn = getDestinationUrnFromRelationship(relationship);
+      final Map<String, Object> properties = relationshipToEdge(relationship);
+      final String criteria = new TreeSet<>(properties.keySet()).stream()
+          .map(key -> String.format("relation.%s = row.properties.%s", key, key))
+          .collect(Collectors.joining(" AND ", " WHERE ", ""));
+      final String statement = String.format(
+          "UNWIND $%s AS row MATCH (source%s {urn: row.sourceUrn})-[relation:%s]->(destination%s {urn: row.destinationUrn})"
+              + "%s DELETE relation", ROWS_PARAM, getNodeType(sourceUrn), getType(relationship),
+          getNodeType(destinationUrn), properties.isEmpty() ? "" : criteria);
+
+      final Map<String, Object> row = new HashMap<>();
+      row.put("sourceUrn", sourceUrn.toString());
+      row.put("destinationUrn", destinationUrn.toString());
+      row.put("properties", properties);
+      // the same edge can't be deleted twice
+      rowsByStatement.computeIfAbsent(statement, k -> new LinkedHashSet<>()).add(row);
+    }
+    return toChunkedQueries(rowsByStatement, chunkSize);
+  }
+
+  @Nonnull
+  private static List<Query> toChunkedQueries(@Nonnull Map<String, Collection<Map<String, Object>>> rowsByStatement,
+      int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive");
+    }
+
+    final List<Query> queries = new ArrayList<>();
+    rowsByStatement.forEach((statement, rows) -> {
+      final List<Map<String, Object>> rowList = new ArrayList<>(rows);
+      for (int i = 0; i < rowList.size(); i += chunkSize) {
+        final List<Map<String, Object>> chunk = rowList.subList(i, Math.min(i + chunkSize, rowList.size()));
+        queries.add(new Query(statement, Collections.singletonMap(ROWS_PARAM, chunk)));
+      }
+    });
+    return queries;
+  }
 }
@@ -1,6 +1,7 @@
 package com.linkedin.metadata.dao.internal;
 
 import com.linkedin.metadata.dao.exception.RetryLimitReached;
+import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nonnull;
 import org.apache.commons.lang.time.StopWatch;
@@ -32,16 +33,41 @@ public final class Neo4jQueryExecutor {
    */
   @Nonnull
   public Neo4jQueryResult execute(@Nonnull List<Query> queries) {
+    return execute(queries, false);
+  }
+
+  /**
+   * Same as {@link #execute(List)}, but waits for each query to complete before running the next one, and records how
+   * long each query took in {@link Neo4jQueryResult#getQueryTookMs()}. Meant for a few large (e.g. batched) queries.
+   *
+   * @param queries List of queries with parameters to be executed in order
+   */
+  @Nonnull
+  public Neo4jQueryResult executeAndTime(@Nonnull List<Query> queries) {
+    return execute(queries, true);
+  }
+
+  @Nonnull
+  private Neo4jQueryResult execute(@Nonnull List<Query> queries, boolean timeQueries) {
     int retry = 0;
     final StopWatch stopWatch = new StopWatch();
     stopWatch.start();
+    final List<Long> queryTookMs = new ArrayList<>();
     Exception lastException;
     try (final Session session = _driver.session(_sessionConfig)) {
       do {
         try {
           session.writeTransaction(tx -> {
+            // only keep the timings of the attempt that succeeds
+            queryTookMs.clear();
             for (Query query : queries) {
-              tx.run(query);
+              if (timeQueries) {
+                final long start = System.nanoTime();
+                tx.run(query).consume();
+                queryTookMs.add((System.nanoTime() - start) / 1_000_000);
+              } else {
+                tx.run(query);
+              }
             }
             return null;
           });
@@ -59,6 +85,6 @@ public final class Neo4jQueryExecutor {
     }
 
     stopWatch.stop();
-    return Neo4jQueryResult.builder().tookMs(stopWatch.getTime()).retries(retry).build();
+    return Neo4jQueryResult.builder().tookMs(stopWatch.getTime()).retries(retry).queryTookMs(queryTookMs).build();
   }
 }
@@ -1,5 +1,7 @@
 package com.linkedin.metadata.dao.internal;
 
+import java.util.Collections;
+import java.util.List;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,4 +11,7 @@ import lombok.Data;
 public final class Neo4jQueryResult {
   private final long tookMs;
   private final int retries;
+  // how long each query took, only recorded by Neo4jQueryExecutor#executeAndTime
+  @Builder.Default
+  private final List<Long> queryTookMs = Collections.emptyList();
 }
@@ -19,9 +19,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.javatuples.Triplet;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
@@ -416,6 +418,101 @@ public class Neo4jQueryDAOTest {
     assertEquals(result6.get(1), entity2);
   }
 
+  @Test
+  public void testFindEntitiesPage() throws Exception {
+    FooUrn urn1 = makeFooUrn(1);
+    _writer.addEntity(new EntityFoo().setUrn(urn1).setValue("foo1"));
+    List<EntityFoo> entities = new ArrayList<>();
+    for (int i = 2; i <= 6; i++) {
+      EntityFoo entity = new EntityFoo().setUrn(makeFooUrn(i)).setValue("foo" + i);
+      _writer.addEntity(entity);
+      entities.add(entity);
+      createFooRelationship(urn1, entity.getUrn());
+    }
+    // urn6 is reachable in one and two hops, but returned only once
+    createFooRelationship(makeFooUrn(2), makeFooUrn(6));
+
+    Filter sourceFilter = newFilter("urn", urn1.toString());
+    RelationshipFilter relationshipFilter = newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.OUTGOING);
+
+    KeysetResult<RecordTemplate> page1 =
+        _dao.findEntitiesPage(EntityFoo.class, sourceFilter, EntityFoo.class, EMPTY_FILTER, RelationshipFoo.class,
+            relationshipFilter, 1, 2, null, 2);
+    assertEquals(page1.getValues(), entities.subList(0, 2));
+    assertTrue(page1.hasMore());
+
+    KeysetResult<RecordTemplate> page2 =
+        _dao.findEntitiesPage(EntityFoo.class, sourceFilter, EntityFoo.class, EMPTY_FILTER, RelationshipFoo.class,
+            relationshipFilter, 1, 2, page1.getContinuationToken(), 2);
+    assertEquals(page2.getValues(), entities.subList(2, 4));
+
+    KeysetResult<RecordTemplate> page3 =
+        _dao.findEntitiesPage(EntityFoo.class, sourceFilter, EntityFoo.class, EMPTY_FILTER, RelationshipFoo.class,
+            relationshipFilter, 1, 2, page2.getContinuationToken(), 2);
+    assertEquals(page3.getValues(), entities.subList(4, 5));
+    assertFalse(page3.hasMore());
+  }
+
+  @Test
+  public void testFindEntitiesPageViaTraversePaths() throws Exception {
+    FooUrn urn1 = makeFooUrn(1);
+    _writer.addEntity(new EntityFoo().setUrn(urn1).setValue("foo1"));
+    BarUrn urn2 = makeBarUrn(2);
+    EntityBar entity2 = new EntityBar().setUrn(urn2).setValue("bar2");
+    _writer.addEntity(entity2);
+    BarUrn urn3 = makeBarUrn(3);
+    EntityBar entity3 = new EntityBar().setUrn(urn3).setValue("bar3");
+    _writer.addEntity(entity3);
+    _writer.addRelationship(new RelationshipFoo().setSource(urn1).setDestination(urn2));
+    _writer.addRelationship(new RelationshipFoo().setSource(urn1).setDestination(urn3));
+
+    Filter sourceFilter = newFilter("urn", urn1.toString());
+    List paths = new ArrayList();
+    paths.add(
+        Triplet.with(RelationshipFoo.class, newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.OUTGOING),
+            EntityBar.class));
+
+    KeysetResult<RecordTemplate> page1 = _dao.findEntitiesPage(EntityFoo.class, sourceFilter, paths, null, 1);
+    assertEquals(page1.getValues(), Collections.singletonList(entity2));
+    assertEquals(page1.getContinuationToken(), urn2.toString());
+
+    KeysetResult<RecordTemplate> page2 =
+        _dao.findEntitiesPage(EntityFoo.class, sourceFilter, paths, page1.getContinuationToken(), 1);
+    assertEquals(page2.getValues(), Collections.singletonList(entity3));
+
+    KeysetResult<RecordTemplate> page3 =
+        _dao.findEntitiesPage(EntityFoo.class, sourceFilter, paths, page2.getContinuationToken(), 1);
+    assertEquals(page3.getValues(), Collections.emptyList());
+    assertFalse(page3.hasMore());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testFindEntitiesPageWithoutCount() {
+    _dao.findEntitiesPage(EntityFoo.class, EMPTY_FILTER, new ArrayList<>(), null, -1);
+  }
+
+  @Test
+  public void testStreamQuery() throws Exception {
+    List<EntityFoo> entities = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      EntityFoo entity = new EntityFoo().setUrn(makeFooUrn(i)).setValue("foo");
+      _writer.addEntity(entity);
+      entities.add(entity);
+    }
+
+    Statement statement = new Statement("MATCH (n {value: $value}) RETURN n ORDER BY n.urn",
+        Collections.singletonMap("value", "foo"));
+    try (Stream<EntityFoo> stream = _dao.streamQuery(statement, record -> _dao.nodeRecordToEntity(EntityFoo.class,
+        record))) {
+      assertEquals(stream.collect(Collectors.toList()), entities);
+    }
+
+    try (Stream<EntityFoo> stream = _dao.streamQuery(statement, record -> _dao.nodeRecordToEntity(EntityFoo.class,
+        record))) {
+      assertEquals(stream.limit(1).collect(Collectors.toList()), entities.subList(0, 1));
+    }
+  }
+
   @Test
   public void testFindRelationship() throws Exception {
     FooUrn urn1 = makeFooUrn(1);
@@ -524,6 +621,47 @@ public class Neo4jQueryDAOTest {
     assertEquals(paths.stream().filter(l -> l.size() == 5).collect(Collectors.toList()).size(), 0);
   }
 
+  @Test
+  public void testFindPathsPage() throws Exception {
+    for (int i = 1; i <= 5; i++) {
+      _writer.addEntity(new EntityFoo().setUrn(makeFooUrn(i)).setValue("foo" + i));
+    }
+    // 2 paths of one hop and 3 paths of two hops from urn1, urn5 is reached in one and in two hops
+    _writer.addRelationship(new RelationshipFoo().setSource(makeFooUrn(2)).setDestination(makeFooUrn(1)));
+    _writer.addRelationship(new RelationshipFoo().setSource(makeFooUrn(5)).setDestination(makeFooUrn(1)));
+    _writer.addRelationship(new RelationshipFoo().setSource(makeFooUrn(3)).setDestination(makeFooUrn(2)));
+    _writer.addRelationship(new RelationshipFoo().setSource(makeFooUrn(4)).setDestination(makeFooUrn(2)));
+    _writer.addRelationship(new RelationshipFoo().setSource(makeFooUrn(5)).setDestination(makeFooUrn(2)));
+
+    Filter sourceFilter = newFilter("urn", makeFooUrn(1).toString());
+    RelationshipFilter relationshipFilter = newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING);
+    List<List<RecordTemplate>> allPaths = _dao.findPaths(EntityFoo.class, sourceFilter, null, EMPTY_FILTER,
+        RelationshipFoo.class, relationshipFilter, 1, 2, -1, -1);
+
+    List<List<RecordTemplate>> pagedPaths = new ArrayList<>();
+    String continuationToken = null;
+    int pageCount = 0;
+    do {
+      KeysetResult<List<RecordTemplate>> page = _dao.findPathsPage(EntityFoo.class, sourceFilter, null, EMPTY_FILTER,
+          RelationshipFoo.class, relationshipFilter, 1, 2, continuationToken, 2);
+      assertTrue(page.getValues().size() <= 2);
+      pagedPaths.addAll(page.getValues());
+      continuationToken = page.getContinuationToken();
+      pageCount++;
+    } while (continuationToken != null);
+
+    assertEquals(pageCount, 3);
+    assertEquals(pagedPaths.size(), 5);
+    assertEquals(new HashSet<>(pagedPaths), new HashSet<>(allPaths));
+    assertEquals(pagedPaths.stream().map(List::size).collect(Collectors.toList()), Arrays.asList(3, 3, 5, 5, 5));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testFindPathsPageWithoutCount() {
+    _dao.findPathsPage(EntityFoo.class, EMPTY_FILTER, null, EMPTY_FILTER, RelationshipFoo.class,
+        newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING), 1, 2, null, 0);
+  }
+
   @Test
   public void testFindPaths() throws Exception {
     BarUrn srcUrn = makeBarUrn(0);
@@ -13,6 +13,7 @@ import com.linkedin.testing.EntityBar;
 import com.linkedin.testing.TestUtils;
 import com.linkedin.testing.urn.BarUrn;
 import com.linkedin.testing.urn.FooUrn;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -48,6 +49,7 @@ public class Neo4jGraphWriterDAOTest {
     int relationshipAddedEvents = 0;
     int relationshipsRemoved = 0;
     int relationshipRemovedEvents = 0;
+    List<Integer> chunkRecordCounts = new ArrayList<>();
 
     @Override
     public void onEntitiesAdded(int entityCount, long updateTimeMs, int retries) {
@@ -72,6 +74,11 @@ public class Neo4jGraphWriterDAOTest {
       relationshipRemovedEvents++;
       relationshipsRemoved += relationshipCount;
     }
+
+    @Override
+    public void onChunkWritten(@Nonnull String operation, int recordCount, long chunkTimeMs) {
+      chunkRecordCounts.add(recordCount);
+    }
   }
 
   @BeforeMethod
@@ -155,6 +162,56 @@ public class Neo4jGraphWriterDAOTest {
     assertEquals(_testMetricListener.entityRemovedEvents, 1);
   }
 
+  @Test
+  public void testAddRemoveEntitiesBatched() throws Exception {
+    _dao.setWriteChunkSize(2);
+    EntityFoo entity1 = new EntityFoo().setUrn(makeFooUrn(1)).setValue("foo");
+    EntityBar entity2 = new EntityBar().setUrn(makeBarUrn(2)).setValue("bar");
+    EntityFoo entity3 = new EntityFoo().setUrn(makeFooUrn(3)).setValue("baz");
+    EntityFoo entity4 = new EntityFoo().setUrn(makeFooUrn(4)).setValue("qux");
+
+    _dao.addEntities(Arrays.asList(entity1, entity2, entity3, entity4));
+    assertEntityFoo(_helper.getNode(entity1.getUrn()).get(), entity1);
+    assertEntityBar(_helper.getNode(entity2.getUrn()).get(), entity2);
+    assertEntityFoo(_helper.getNode(entity3.getUrn()).get(), entity3);
+    assertEntityFoo(_helper.getNode(entity4.getUrn()).get(), entity4);
+    assertEquals(_testMetricListener.entitiesAdded, 4);
+    assertEquals(_testMetricListener.entityAddedEvents, 1);
+    // foo entities in chunks of 2 and 1, then the bar entity
+    assertEquals(_testMetricListener.chunkRecordCounts, Arrays.asList(2, 1, 1));
+
+    _dao.removeEntities(Arrays.asList(entity1.getUrn(), entity2.getUrn()));
+    assertFalse(_helper.getNode(entity1.getUrn()).isPresent());
+    assertFalse(_helper.getNode(entity2.getUrn()).isPresent());
+    assertTrue(_helper.getNode(entity3.getUrn()).isPresent());
+    assertEquals(_testMetricListener.entitiesRemoved, 2);
+    assertEquals(_testMetricListener.entityRemovedEvents, 1);
+  }
+
+  @Test
+  public void testAddRemoveRelationshipsBatched() throws Exception {
+    _dao.setWriteChunkSize(10);
+    FooUrn urn1 = makeFooUrn(1);
+    BarUrn urn2 = makeBarUrn(2);
+    BarUrn urn3 = makeBarUrn(3);
+    RelationshipFoo relationship1 = new RelationshipFoo().setSource(urn1).setDestination(urn2);
+    RelationshipFoo relationship2 = new RelationshipFoo().setSource(urn1).setDestination(urn3).setType("foo");
+
+    _dao.addRelationships(Arrays.asList(relationship1, relationship2), REMOVE_NONE);
+    assertRelationshipFoo(_helper.getEdges(relationship1), 1);
+    assertEquals(_helper.getEdgesFromSource(urn1, RelationshipFoo.class).size(), 2);
+    assertEquals(_testMetricListener.relationshipsAdded, 2);
+    assertEquals(_testMetricListener.chunkRecordCounts, Collections.singletonList(2));
+
+    // the properties are matched as well, so this doesn't remove relationship2
+    _dao.removeRelationships(Collections.singletonList(new RelationshipFoo().setSource(urn1).setDestination(urn3).setType("bar")));
+    assertEquals(_helper.getEdgesFromSource(urn1, RelationshipFoo.class).size(), 2);
+
+    _dao.removeRelationships(Arrays.asList(relationship1, relationship2));
+    assertEquals(_helper.getEdgesFromSource(urn1, RelationshipFoo.class).size(), 0);
+    assertEquals(_testMetricListener.relationshipsRemoved, 3);
+  }
+
   @Test
   public void testAddRelationshipNodeNonExist() throws Exception {
     FooUrn urn1 = makeFooUrn(1);
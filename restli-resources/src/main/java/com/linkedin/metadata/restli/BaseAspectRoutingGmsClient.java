@@ -3,6 +3,8 @@ package com.linkedin.metadata.restli;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.restli.server.RestLiServiceException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -16,6 +18,24 @@ public abstract class BaseAspectRoutingGmsClient<ASPECT extends RecordTemplate>
    */
   public abstract <URN extends Urn> ASPECT get(URN urn) throws RestLiServiceException;
 
+  /**
+   * Retrieves the latest version of the routing aspect for a set of entities. Entities without the routing aspect are
+   * left out of the returned map.
+   *
+   * <p>The default implementation calls {@link #get(Urn)} for each urn. Clients should override it with a single batch
+   * call to the aspect GMS when one is available.
+   */
+  public <URN extends Urn> Map<URN, ASPECT> batchGet(Set<URN> urns) throws RestLiServiceException {
+    final Map<URN, ASPECT> aspects = new HashMap<>();
+    for (URN urn : urns) {
+      final ASPECT aspect = get(urn);
+      if (aspect != null) {
+        aspects.put(urn, aspect);
+      }
+    }
+    return aspects;
+  }
+
   /**
    * Backfill the routing aspect value for a given set of entity identified by the urns.
    */
@@ -20,12 +20,22 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -55,6 +65,13 @@ public abstract class BaseAspectRoutingResource<
     // @formatter:on
     extends BaseBrowsableEntityResource<KEY, VALUE, URN, SNAPSHOT, ASPECT_UNION, DOCUMENT> {
 
+  private static final int DEFAULT_ROUTING_THREAD_COUNT = 32;
+  private static final int DEFAULT_ROUTING_QUEUE_CAPACITY = 1000;
+
+  // Shared by all routing resources that don't provide their own executor, see getRoutingExecutor(). Once its threads
+  // and queue are full, further calls to the aspect GMS are rejected and their requests fail with 503.
+  private static final ThreadPoolExecutor DEFAULT_ROUTING_EXECUTOR = newDefaultRoutingExecutor();
+
   private final Class<ROUTING_ASPECT> _routingAspectClass;
   private final Class<VALUE> _valueClass;
   private final Class<ASPECT_UNION> _aspectUnionClass;
@@ -90,6 +107,18 @@ public abstract class BaseAspectRoutingResource<
    */
   public abstract BaseAspectRoutingGmsClient<ROUTING_ASPECT> getGmsClient();
 
+  /**
+   * Get the executor that calls to the aspect GMS run on, so that they overlap with the local DAO reads.
+   * Subclasses can override this to size the executor for their aspect GMS. By default, a bounded executor shared by
+   * all routing resources is used, with up to 32 threads. A request whose call is rejected by the executor fails with
+   * 503.
+   * @return Executor for calls to the aspect GMS.
+   */
+  @Nonnull
+  protected Executor getRoutingExecutor() {
+    return DEFAULT_ROUTING_EXECUTOR;
+  }
+
   /**
    * Retrieves the value for an entity that is made up of latest versions of specified aspects.
    */
@@ -99,28 +128,24 @@ public abstract class BaseAspectRoutingResource<
   public Task<VALUE> get(@Nonnull KEY id,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
 
-    return RestliUtils.toTask(() -> {
+    return toTask("get", () -> {
+      final URN urn = toUrn(id);
       final Set<Class<? extends RecordTemplate>> aspectClasses = parseAspectsParam(aspectNames);
 
       // Get entity from aspect GMS
       if (containsRoutingAspect(aspectClasses) && aspectClasses.size() == 1) {
-        return merge(null, getRoutingAspect(toUrn(id)));
-      }
-
-      // The assumption is main GMS must have this entity.
-      // If entity only has routing aspect, resourceNotFoundException will be thrown.
-      if (!getLocalDAO().exists(toUrn(id))) {
-        throw RestliUtils.resourceNotFoundException();
+        return merge(null, getRoutingAspect(urn));
       }
 
       // Get entity from local DAO
       if (!containsRoutingAspect(aspectClasses)) {
-        return getValueFromLocalDao(id, aspectClasses);
+        return getValueFromLocalDao(urn, aspectClasses);
       }
 
-      // Need to read from both aspect GMS and local DAO.
-      final VALUE valueFromLocalDao = getValueFromLocalDao(id, removeRoutingAspect(aspectClasses));
-      return merge(valueFromLocalDao, getRoutingAspect(toUrn(id)));
+      // Need to read from both aspect GMS and local DAO, so call the aspect GMS while reading from local DAO.
+      final CompletableFuture<ROUTING_ASPECT> routingAspectFuture = supplyRoutingAsync(() -> getRoutingAspect(urn));
+      final VALUE valueFromLocalDao = getValueFromLocalDao(urn, removeRoutingAspect(aspectClasses));
+      return merge(valueFromLocalDao, join(routingAspectFuture));
     });
   }
 
@@ -133,7 +158,7 @@ public abstract class BaseAspectRoutingResource<
   public Task<SNAPSHOT> getSnapshot(@ActionParam(PARAM_URN) @Nonnull String urnString,
       @ActionParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
 
-    return RestliUtils.toTask(() -> {
+    return toTask("getSnapshot", () -> {
       final URN urn = parseUrnParam(urnString);
       final Set<Class<? extends RecordTemplate>> aspectClasses = parseAspectsParam(aspectNames);
 
@@ -148,10 +173,10 @@ public abstract class BaseAspectRoutingResource<
           return ModelUtils.newSnapshot(_snapshotClass, urn, aspectUnions);
         } else {
           final Set<Class<? extends RecordTemplate>> withoutRoutingAspect = removeRoutingAspect(aspectClasses);
-          final List<ASPECT_UNION> aspectsFromGms = getAspectsFromGms(urn);
+          final CompletableFuture<List<ASPECT_UNION>> aspectsFromGmsFuture = supplyRoutingAsync(() -> getAspectsFromGms(urn));
           final List<ASPECT_UNION> aspectsFromLocalDao = getAspectsFromLocalDao(urn, withoutRoutingAspect);
           return ModelUtils.newSnapshot(_snapshotClass, urn,
-              Stream.concat(aspectsFromGms.stream(), aspectsFromLocalDao.stream()).collect(Collectors.toList()));
+              Stream.concat(join(aspectsFromGmsFuture).stream(), aspectsFromLocalDao.stream()).collect(Collectors.toList()));
         }
       }
     });
@@ -165,7 +190,7 @@ public abstract class BaseAspectRoutingResource<
   public Task<BackfillResult> backfill(@ActionParam(PARAM_URNS) @Nonnull String[] urns,
       @ActionParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
 
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("backfill", () -> {
       final Set<URN> urnSet = Arrays.stream(urns).map(this::parseUrnParam).collect(Collectors.toSet());
       final Set<Class<? extends RecordTemplate>> aspectClasses = parseAspectsParam(aspectNames);
       Map<URN, Map<Class<? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>>> urnToAspect = new HashMap<>();
@@ -180,11 +205,11 @@ public abstract class BaseAspectRoutingResource<
         return backfillWithDefault(urnSet);
       }
 
-      // Backfill needs both aspect GMS and local DAO.
+      // Backfill needs both aspect GMS and local DAO, so backfill the aspect GMS while backfilling local DAO.
+      final CompletableFuture<BackfillResult> gmsBackfillResultFuture = supplyRoutingAsync(() -> backfillWithDefault(urnSet));
       BackfillResult localDaoBackfillResult =
           RestliUtils.buildBackfillResult(getLocalDAO().backfill(removeRoutingAspect(aspectClasses), urnSet));
-      BackfillResult gmsBackfillResult = backfillWithDefault(urnSet);
-      return merge(localDaoBackfillResult, gmsBackfillResult);
+      return merge(localDaoBackfillResult, join(gmsBackfillResultFuture));
     });
   }
 
@@ -192,7 +217,7 @@ public abstract class BaseAspectRoutingResource<
   @Override
   protected Task<Void> ingestInternal(@Nonnull SNAPSHOT snapshot,
       @Nonnull Set<Class<? extends RecordTemplate>> aspectsToIgnore) {
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("ingest", () -> {
       final URN urn = (URN) ModelUtils.getUrnFromSnapshot(snapshot);
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
       ModelUtils.getAspectsFromSnapshot(snapshot).forEach(aspect -> {
@@ -212,6 +237,65 @@ public abstract class BaseAspectRoutingResource<
     });
   }
 
+  /**
+   * Gets the values of a set of entities, including the routing aspect if requested. The routing aspect of all entities
+   * is fetched from the aspect GMS with a single batch call, which runs while the other aspects are read from local DAO.
+   */
+  @Nonnull
+  @Override
+  protected Map<URN, VALUE> getInternal(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses) {
+    if (!containsRoutingAspect(aspectClasses)) {
+      return super.getInternal(urns, aspectClasses);
+    }
+    return getInternalWithRoutingAspect(urns, aspectClasses, false);
+  }
+
+  /**
+   * Similar to {@link #getInternal(Collection, Set)} but filter out {@link URN}s which have neither aspects in local DAO
+   * nor the routing aspect.
+   */
+  @Nonnull
+  @Override
+  protected Map<URN, VALUE> getInternalNonEmpty(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses) {
+    if (!containsRoutingAspect(aspectClasses)) {
+      return super.getInternalNonEmpty(urns, aspectClasses);
+    }
+    return getInternalWithRoutingAspect(urns, aspectClasses, true);
+  }
+
+  @Nonnull
+  @ParametersAreNonnullByDefault
+  private Map<URN, VALUE> getInternalWithRoutingAspect(Collection<URN> urns,
+      Set<Class<? extends RecordTemplate>> aspectClasses, boolean nonEmpty) {
+    final Set<URN> urnSet = new HashSet<>(urns);
+    final Set<Class<? extends RecordTemplate>> withoutRoutingAspect = removeRoutingAspect(aspectClasses);
+
+    final Map<URN, ROUTING_ASPECT> routingAspects;
+    final Map<URN, VALUE> valuesFromLocalDao;
+    if (withoutRoutingAspect.isEmpty()) {
+      routingAspects = batchGetRoutingAspects(urnSet);
+      valuesFromLocalDao = Collections.emptyMap();
+    } else {
+      final CompletableFuture<Map<URN, ROUTING_ASPECT>> routingAspectsFuture =
+          supplyRoutingAsync(() -> batchGetRoutingAspects(urnSet));
+      valuesFromLocalDao = nonEmpty ? super.getInternalNonEmpty(urnSet, withoutRoutingAspect)
+          : super.getInternal(urnSet, withoutRoutingAspect);
+      routingAspects = join(routingAspectsFuture);
+    }
+
+    final Map<URN, VALUE> values = new HashMap<>();
+    for (URN urn : urnSet) {
+      final VALUE valueFromLocalDao = valuesFromLocalDao.get(urn);
+      final ROUTING_ASPECT routingAspect = routingAspects.get(urn);
+      if (!nonEmpty || valueFromLocalDao != null || routingAspect != null) {
+        values.put(urn, merge(valueFromLocalDao, routingAspect));
+      }
+    }
+    return values;
+  }
+
   /**
    * Whether given set of aspect classes contains routing aspect class.
    * @param aspectClasses A set of aspect classes
@@ -232,19 +316,26 @@ public abstract class BaseAspectRoutingResource<
 
   /**
    * Get entity value from local DAO decorated with specified aspect classes.
-   * @param id identifier of the entity.
+   *
+   * <p>The assumption is main GMS must have this entity. If none of the specified aspects is in local DAO, falls back
+   * to checking whether the entity exists at all, and throws resourceNotFoundException if it doesn't.
+   * @param urn identifier of the entity.
    * @param aspectClasses Aspects to be decorated on the entity
    * @return Entity decorated with specified aspect classes.
    */
   @Nonnull
   @ParametersAreNonnullByDefault
-  private VALUE getValueFromLocalDao(KEY id, Set<Class<? extends RecordTemplate>> aspectClasses) {
-    final URN urn = toUrn(id);
-    final VALUE value = getInternal(Collections.singleton(urn), aspectClasses).get(urn);
-    if (value == null) {
+  private VALUE getValueFromLocalDao(URN urn, Set<Class<? extends RecordTemplate>> aspectClasses) {
+    final VALUE value = super.getInternalNonEmpty(Collections.singleton(urn), aspectClasses).get(urn);
+    if (value != null) {
+      return value;
+    }
+
+    if (!getLocalDAO().exists(urn)) {
       throw RestliUtils.resourceNotFoundException();
     }
-    return value;
+    // none of the aspects is set, so there's no need to read them again
+    return toValue(ModelUtils.newSnapshot(_snapshotClass, urn, Collections.emptyList()));
   }
 
   /**
@@ -361,6 +452,22 @@ public abstract class BaseAspectRoutingResource<
     }
   }
 
+  /**
+   * Gets the routing aspects of a set of entities from the aspect GMS. Unlike {@link #getRoutingAspect(Urn)}, a failure
+   * fails the request, as an empty result would make every entity look like it doesn't have the routing aspect.
+   */
+  @Nonnull
+  private Map<URN, ROUTING_ASPECT> batchGetRoutingAspects(@Nonnull Set<URN> urns) {
+    try {
+      return getGmsClient().batchGet(urns);
+    } catch (Exception exception) {
+      final String message = String.format("Couldn't get routing aspect %s for %s", _routingAspectClass.getSimpleName(),
+          String.join(",", urns.stream().map(Urn::toString).collect(Collectors.toSet())));
+      log.error(message, exception);
+      throw new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR, message, exception);
+    }
+  }
+
   @Nullable
   private ROUTING_ASPECT getRoutingAspect(@Nonnull URN urn) {
     try {
@@ -370,4 +477,45 @@ public abstract class BaseAspectRoutingResource<
       return null;
     }
   }
+
+  /**
+   * Runs a call to the aspect GMS on the routing executor, so that it overlaps with the local DAO calls of the request.
+   * Fails with 503 if the executor rejects the call.
+   */
+  @Nonnull
+  private <T> CompletableFuture<T> supplyRoutingAsync(@Nonnull Supplier<T> supplier) {
+    try {
+      return CompletableFuture.supplyAsync(supplier, getRoutingExecutor());
+    } catch (RejectedExecutionException e) {
+      log.warn("Call to aspect GMS rejected: " + e.getMessage());
+      throw new RestLiServiceException(HttpStatus.S_503_SERVICE_UNAVAILABLE,
+          String.format("Too many concurrent calls for routing aspect %s", _routingAspectClass.getSimpleName()));
+    }
+  }
+
+  /**
+   * Waits for a call to the aspect GMS, and rethrows its failure as is.
+   */
+  private static <T> T join(@Nonnull CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @Nonnull
+  private static ThreadPoolExecutor newDefaultRoutingExecutor() {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_ROUTING_THREAD_COUNT, DEFAULT_ROUTING_THREAD_COUNT,
+        60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(DEFAULT_ROUTING_QUEUE_CAPACITY), runnable -> {
+          final Thread thread = new Thread(runnable, "aspect-routing");
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
 }
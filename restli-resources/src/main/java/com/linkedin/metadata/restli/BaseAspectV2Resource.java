@@ -22,7 +22,6 @@ import com.linkedin.restli.server.annotations.Action;
 import com.linkedin.restli.server.annotations.PagingContextParam;
 import com.linkedin.restli.server.annotations.RestMethod;
 import com.linkedin.restli.server.annotations.ReturnEntity;
-import com.linkedin.restli.server.resources.CollectionResourceTaskTemplate;
 import java.time.Clock;
 import java.util.Optional;
 import java.util.Set;
@@ -44,7 +43,7 @@ import static com.linkedin.metadata.restli.RestliConstants.*;
 public abstract class BaseAspectV2Resource<
     URN extends Urn,
     ASPECT_UNION extends UnionTemplate,
-    ASPECT extends RecordTemplate> extends CollectionResourceTaskTemplate<URN, ASPECT> {
+    ASPECT extends RecordTemplate> extends BaseCollectionResource<URN, ASPECT> {
 
   private static final BaseRestliAuditor DUMMY_AUDITOR = new DummyRestliAuditor(Clock.systemUTC());
 
@@ -79,7 +78,7 @@ public abstract class BaseAspectV2Resource<
   @RestMethod.Get
   @Nonnull
   public Task<ASPECT> get(@Nonnull URN urn) {
-    return RestliUtils.toTask(() -> getLocalDAO().get(new AspectKey<>(_aspectClass, urn, LATEST_VERSION))
+    return toTask("get", () -> getLocalDAO().get(new AspectKey<>(_aspectClass, urn, LATEST_VERSION))
         .orElseThrow(RestliUtils::resourceNotFoundException));
   }
 
@@ -87,7 +86,7 @@ public abstract class BaseAspectV2Resource<
   @Nonnull
   public Task<CollectionResult<ASPECT, ListResultMetadata>> getAllWithMetadata(@Nonnull URN urn,
       @PagingContextParam @Nonnull PagingContext pagingContext) {
-    return RestliUtils.toTask(() -> {
+    return toTask("getAllWithMetadata", () -> {
 
       final ListResult<ASPECT> listResult =
           getLocalDAO().list(_aspectClass, urn, pagingContext.getStart(), pagingContext.getCount());
@@ -98,7 +97,7 @@ public abstract class BaseAspectV2Resource<
   @RestMethod.Create
   @Nonnull
   public Task<CreateResponse> create(@Nonnull URN urn, @Nonnull ASPECT aspect) {
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("create", () -> {
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
       getLocalDAO().add(urn, aspect, auditStamp);
       return new CreateResponse(HttpStatus.S_201_CREATED);
@@ -113,7 +112,7 @@ public abstract class BaseAspectV2Resource<
   @Nonnull
   public Task<CreateKVResponse<URN, ASPECT>> createAndGet(@Nonnull URN urn,
       @Nonnull Function<Optional<ASPECT>, ASPECT> createLambda) {
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("createAndGet", () -> {
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
       final ASPECT newValue = getLocalDAO().add(urn, _aspectClass, createLambda, auditStamp);
       return new CreateKVResponse<>(urn, newValue);
@@ -128,7 +127,7 @@ public abstract class BaseAspectV2Resource<
   @RestMethod.Delete
   @Nonnull
   public Task<UpdateResponse> delete(@Nonnull URN urn) {
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("delete", () -> {
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
       getLocalDAO().delete(urn, this._aspectClass, auditStamp);
       return new UpdateResponse(HttpStatus.S_200_OK);
@@ -143,7 +142,7 @@ public abstract class BaseAspectV2Resource<
   @Action(name = ACTION_BACKFILL_WITH_URNS)
   @Nonnull
   public Task<BackfillResult> backfillWithUrns(@Nonnull Set<URN> urns) {
-    return RestliUtils.toTask(() ->
+    return toWriteTask("backfillWithUrns", () ->
         RestliUtils.buildBackfillResult(getLocalDAO().backfill(ImmutableSet.of(_aspectClass), urns)));
   }
 }
\ No newline at end of file
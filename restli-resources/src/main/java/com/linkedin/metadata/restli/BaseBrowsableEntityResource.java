@@ -64,7 +64,7 @@ public abstract class BaseBrowsableEntityResource<
       @ActionParam(PARAM_LIMIT) int limit) {
 
     final Filter browseFilter = filter == null ? QueryUtils.EMPTY_FILTER : filter;
-    return RestliUtils.toTask(() -> getBrowseDAO().browse(path, browseFilter, start, limit));
+    return RestliUtils.toAsyncTask("browse", () -> getBrowseDAO().browseAsync(path, browseFilter, start, limit));
   }
 
   @Action(name = ACTION_GET_BROWSE_PATHS)
@@ -72,6 +72,6 @@ public abstract class BaseBrowsableEntityResource<
   public Task<StringArray> getBrowsePaths(
       @ActionParam(value = "urn", typeref = com.linkedin.common.Urn.class) @Nonnull Urn urn) {
 
-    return RestliUtils.toTask(() -> new StringArray(getBrowseDAO().getBrowsePaths(urn)));
+    return toTask("getBrowsePaths", () -> new StringArray(getBrowseDAO().getBrowsePaths(urn)));
   }
 }
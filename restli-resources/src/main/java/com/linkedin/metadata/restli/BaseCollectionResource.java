@@ -0,0 +1,56 @@
+package com.linkedin.metadata.restli;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.parseq.Task;
+import com.linkedin.restli.server.resources.CollectionResourceTaskTemplate;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A base class for collection rest.li resources whose methods can run their blocking calls on a {@link RestliBulkhead}.
+ *
+ * @param <KEY> the resource's key type
+ * @param <VALUE> the resource's value type
+ */
+public abstract class BaseCollectionResource<KEY, VALUE extends RecordTemplate>
+    extends CollectionResourceTaskTemplate<KEY, VALUE> {
+
+  /**
+   * Returns the {@link RestliBulkhead} that a resource method runs its blocking calls on, or null to run them on the
+   * request thread. Override this to move slow methods, e.g. backfill or countAggregate, off the threads that serve
+   * get and batchGet.
+   * @param methodName name of the resource method, e.g. "batchGet"
+   */
+  @Nullable
+  protected RestliBulkhead getBulkhead(@Nonnull String methodName) {
+    return null;
+  }
+
+  /**
+   * Converts the results of the supplier to a {@link Task}, running it on the bulkhead of the resource method if it has
+   * one. See {@link RestliUtils#toTask(Supplier)} and {@link RestliUtils#toTask(String, Supplier, RestliBulkhead)}.
+   */
+  @Nonnull
+  protected <T> Task<T> toTask(@Nonnull String methodName, @Nonnull Supplier<T> supplier) {
+    final RestliBulkhead bulkhead = getBulkhead(methodName);
+    if (bulkhead == null) {
+      return RestliUtils.toTask(supplier);
+    }
+    return RestliUtils.toTask(methodName, supplier, bulkhead);
+  }
+
+  /**
+   * Same as {@link #toTask(String, Supplier)}, but for methods that write, e.g. ingest or backfill. The write isn't
+   * bounded by the timeout of the bulkhead, see {@link RestliUtils#toWriteTask(String, Supplier, RestliBulkhead)}.
+   */
+  @Nonnull
+  protected <T> Task<T> toWriteTask(@Nonnull String methodName, @Nonnull Supplier<T> supplier) {
+    final RestliBulkhead bulkhead = getBulkhead(methodName);
+    if (bulkhead == null) {
+      return RestliUtils.toTask(supplier);
+    }
+    return RestliUtils.toWriteTask(methodName, supplier, bulkhead);
+  }
+}
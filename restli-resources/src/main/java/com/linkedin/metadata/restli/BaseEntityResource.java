@@ -19,6 +19,7 @@ import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
 import com.linkedin.metadata.query.ListResultMetadata;
 import com.linkedin.metadata.query.MapMetadata;
+import com.linkedin.metadata.query.TotalCountMode;
 import com.linkedin.parseq.Task;
 import com.linkedin.restli.common.EmptyRecord;
 import com.linkedin.restli.common.HttpStatus;
@@ -33,7 +34,6 @@ import com.linkedin.restli.server.annotations.Optional;
 import com.linkedin.restli.server.annotations.PagingContextParam;
 import com.linkedin.restli.server.annotations.QueryParam;
 import com.linkedin.restli.server.annotations.RestMethod;
-import com.linkedin.restli.server.resources.CollectionResourceTaskTemplate;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -72,7 +72,7 @@ public abstract class BaseEntityResource<
     SNAPSHOT extends RecordTemplate,
     ASPECT_UNION extends UnionTemplate>
     // @formatter:on
-    extends CollectionResourceTaskTemplate<KEY, VALUE> {
+    extends BaseCollectionResource<KEY, VALUE> {
 
   private static final BaseRestliAuditor DUMMY_AUDITOR = new DummyRestliAuditor(Clock.systemUTC());
 
@@ -147,7 +147,7 @@ public abstract class BaseEntityResource<
   public Task<VALUE> get(@Nonnull KEY id,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
 
-    return RestliUtils.toTask(() -> {
+    return toTask("get", () -> {
       final URN urn = toUrn(id);
       if (!getLocalDAO().exists(urn)) {
         throw RestliUtils.resourceNotFoundException();
@@ -172,7 +172,7 @@ public abstract class BaseEntityResource<
   public Task<Map<KEY, VALUE>> batchGet(
       @Nonnull Set<KEY> ids,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
-    return RestliUtils.toTask(() -> {
+    return toTask("batchGet", () -> {
       final Map<URN, KEY> urnMap =
           ids.stream().collect(Collectors.toMap(this::toUrn, Function.identity()));
       return getInternal(urnMap.keySet(), parseAspectsParam(aspectNames)).entrySet()
@@ -192,7 +192,7 @@ public abstract class BaseEntityResource<
   public Task<BatchResult<KEY, VALUE>> batchGetWithErrors(
       @Nonnull Set<KEY> ids,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
-    return RestliUtils.toTask(() -> {
+    return toTask("batchGetWithErrors", () -> {
       final Map<KEY, RestLiServiceException> errors = new HashMap<>();
       final Map<KEY, HttpStatus> statuses = new HashMap<>();
       final Map<URN, KEY> urnMap =
@@ -228,7 +228,7 @@ public abstract class BaseEntityResource<
   @Nonnull
   protected Task<Void> ingestInternal(@Nonnull SNAPSHOT snapshot,
       @Nonnull Set<Class<? extends RecordTemplate>> aspectsToIgnore) {
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("ingest", () -> {
       final URN urn = (URN) ModelUtils.getUrnFromSnapshot(snapshot);
       final AuditStamp auditStamp = getAuditor().requestAuditStamp(getContext().getRawRequestContext());
       ModelUtils.getAspectsFromSnapshot(snapshot).stream().forEach(aspect -> {
@@ -248,7 +248,7 @@ public abstract class BaseEntityResource<
   public Task<SNAPSHOT> getSnapshot(@ActionParam(PARAM_URN) @Nonnull String urnString,
       @ActionParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
 
-    return RestliUtils.toTask(() -> {
+    return toTask("getSnapshot", () -> {
       final URN urn = parseUrnParam(urnString);
       final Set<AspectKey<URN, ? extends RecordTemplate>> keys = parseAspectsParam(aspectNames).stream()
           .map(aspectClass -> new AspectKey<>(aspectClass, urn, LATEST_VERSION))
@@ -275,7 +275,7 @@ public abstract class BaseEntityResource<
   public Task<BackfillResult> backfill(@ActionParam(PARAM_URN) @Nonnull String urnString,
       @ActionParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
 
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("backfill", () -> {
       final URN urn = parseUrnParam(urnString);
       final List<String> backfilledAspects = parseAspectsParam(aspectNames).stream()
           .map(aspectClass -> getLocalDAO().backfill(aspectClass, urn))
@@ -296,7 +296,7 @@ public abstract class BaseEntityResource<
   public Task<BackfillResult> backfill(@ActionParam(PARAM_URNS) @Nonnull String[] urns,
                                        @ActionParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
 
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("backfill", () -> {
       final Set<URN> urnSet = Arrays.stream(urns).map(urnString -> parseUrnParam(urnString)).collect(Collectors.toSet());
       return RestliUtils.buildBackfillResult(getLocalDAO().backfill(parseAspectsParam(aspectNames), urnSet));
     });
@@ -310,7 +310,7 @@ public abstract class BaseEntityResource<
   public Task<BackfillResult> backfillEntityTables(@ActionParam(PARAM_URNS) @Nonnull String[] urns,
       @ActionParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames) {
 
-    return RestliUtils.toTask(() -> {
+    return toWriteTask("backfillEntityTables", () -> {
       final Set<URN> urnSet = Arrays.stream(urns).map(urnString -> parseUrnParam(urnString)).collect(Collectors.toSet());
       return RestliUtils.buildBackfillResult(getLocalDAO().backfillEntityTables(parseAspectsParam(aspectNames), urnSet));
     });
@@ -326,7 +326,7 @@ public abstract class BaseEntityResource<
       @ActionParam(PARAM_URN) @Optional @Nullable String lastUrn,
       @ActionParam(PARAM_LIMIT) int limit) {
 
-    return RestliUtils.toTask(() ->
+    return toWriteTask("backfill", () ->
             RestliUtils.buildBackfillResult(getLocalDAO().backfill(mode, parseAspectsParam(aspectNames),
                     _urnClass,
                     parseUrnParam(lastUrn),
@@ -364,7 +364,7 @@ public abstract class BaseEntityResource<
 
     final IndexFilter filter = indexFilter == null ? getDefaultIndexFilter() : indexFilter;
 
-    return RestliUtils.toTask(() ->
+    return toTask("listUrnsFromIndex", () ->
         getLocalDAO()
             .listUrns(filter, parseUrnParam(lastUrn), limit)
             .stream()
@@ -431,15 +431,17 @@ public abstract class BaseEntityResource<
    *
    * @param start defining the paging start
    * @param count defining the maximum number of values returned
+   * @param totalCountMode how the total count should be computed, or null to use the DAO's default
    * @return a {@link ListResult} containing a list of version numbers and other pagination information
    */
   @Nonnull
   private ListResult<VALUE> filterAspects(
       @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, @Nonnull IndexFilter filter,
-      @Nullable IndexSortCriterion indexSortCriterion, int start, int count) {
+      @Nullable IndexSortCriterion indexSortCriterion, int start, int count, @Nullable TotalCountMode totalCountMode) {
 
-    final ListResult<UrnAspectEntry<URN>> listResult =
-        getLocalDAO().getAspects(aspectClasses, filter, indexSortCriterion, start, count);
+    final ListResult<UrnAspectEntry<URN>> listResult = totalCountMode == null
+        ? getLocalDAO().getAspects(aspectClasses, filter, indexSortCriterion, start, count)
+        : getLocalDAO().getAspects(aspectClasses, filter, indexSortCriterion, start, count, totalCountMode);
     final List<UrnAspectEntry<URN>> urnAspectEntries = listResult.getValues();
     final List<VALUE> values = getUrnAspectValues(urnAspectEntries);
 
@@ -449,6 +451,7 @@ public abstract class BaseEntityResource<
         .nextStart(listResult.getNextStart())
         .havingMore(listResult.isHavingMore())
         .totalCount(listResult.getTotalCount())
+        .totalCountApproximate(listResult.isTotalCountApproximate())
         .totalPageCount(listResult.getTotalPageCount())
         .pageSize(listResult.getPageSize())
         .build();
@@ -481,13 +484,16 @@ public abstract class BaseEntityResource<
    *
    * @param start defining the paging start
    * @param count defining the maximum number of values returned
+   * @param totalCountMode how the total count should be computed, or null to use the DAO's default
    * @return a {@link ListResult} containing an ordered list of values of multiple entities and other pagination information
    */
   @Nonnull
   private ListResult<VALUE> filterUrns(@Nonnull IndexFilter filter, @Nullable IndexSortCriterion indexSortCriterion,
-      int start, int count) {
+      int start, int count, @Nullable TotalCountMode totalCountMode) {
 
-    final ListResult<URN> listResult = getLocalDAO().listUrns(filter, indexSortCriterion, start, count);
+    final ListResult<URN> listResult = totalCountMode == null
+        ? getLocalDAO().listUrns(filter, indexSortCriterion, start, count)
+        : getLocalDAO().listUrns(filter, indexSortCriterion, start, count, totalCountMode);
     final List<URN> urns = listResult.getValues();
     final List<VALUE> urnValues = urns.stream().map(urn -> toValue(newSnapshot(urn))).collect(Collectors.toList());
 
@@ -497,6 +503,7 @@ public abstract class BaseEntityResource<
         .nextStart(listResult.getNextStart())
         .havingMore(listResult.isHavingMore())
         .totalCount(listResult.getTotalCount())
+        .totalCountApproximate(listResult.isTotalCountApproximate())
         .totalPageCount(listResult.getTotalPageCount())
         .pageSize(listResult.getPageSize())
         .build();
@@ -529,7 +536,7 @@ public abstract class BaseEntityResource<
 
     final IndexFilter filter = indexFilter == null ? getDefaultIndexFilter() : indexFilter;
 
-    return RestliUtils.toTask(() -> {
+    return toTask("filter", () -> {
       final Set<Class<? extends RecordTemplate>> aspectClasses = parseAspectsParam(aspectNames);
       if (aspectClasses.isEmpty()) {
         return filterUrns(filter, indexSortCriterion, lastUrn, count);
@@ -574,15 +581,36 @@ public abstract class BaseEntityResource<
       @QueryParam(PARAM_SORT) @Optional @Nullable IndexSortCriterion indexSortCriterion,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames,
       @PagingContextParam @Nonnull PagingContext pagingContext) {
+    return filter(indexFilter, indexSortCriterion, aspectNames, null, pagingContext);
+  }
+
+  /**
+   * Similar to {@link #filter(IndexFilter, IndexSortCriterion, String[], PagingContext)} but lets the caller choose how
+   * the total count is computed. Counting all results can cost more than fetching the page itself on large entity tables.
+   *
+   * <p>Note: Only one of the filter finders should be implemented in your resource implementation.
+   *
+   * @param totalCountMode {@link TotalCountMode} how the total count should be computed. The DAO's default (exact) is
+   *                       used if it's not provided
+   */
+  @Finder(FINDER_FILTER)
+  @Nonnull
+  public Task<ListResult<VALUE>> filter(
+      @QueryParam(PARAM_FILTER) @Optional @Nullable IndexFilter indexFilter,
+      @QueryParam(PARAM_SORT) @Optional @Nullable IndexSortCriterion indexSortCriterion,
+      @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames,
+      @QueryParam(PARAM_TOTAL_COUNT_MODE) @Optional @Nullable TotalCountMode totalCountMode,
+      @PagingContextParam @Nonnull PagingContext pagingContext) {
 
     final IndexFilter filter = indexFilter == null ? getDefaultIndexFilter() : indexFilter;
 
-    return RestliUtils.toTask(() -> {
+    return toTask("filter", () -> {
       final Set<Class<? extends RecordTemplate>> aspectClasses = parseAspectsParam(aspectNames);
       if (aspectClasses.isEmpty()) {
-        return filterUrns(filter, indexSortCriterion, pagingContext.getStart(), pagingContext.getCount());
+        return filterUrns(filter, indexSortCriterion, pagingContext.getStart(), pagingContext.getCount(), totalCountMode);
       } else {
-        return filterAspects(aspectClasses, filter, indexSortCriterion, pagingContext.getStart(), pagingContext.getCount());
+        return filterAspects(aspectClasses, filter, indexSortCriterion, pagingContext.getStart(), pagingContext.getCount(),
+            totalCountMode);
       }
     });
   }
@@ -603,7 +631,7 @@ public abstract class BaseEntityResource<
   ) {
     final IndexFilter filter = indexFilter == null ? getDefaultIndexFilter() : indexFilter;
 
-    return RestliUtils.toTask(() -> {
+    return toTask("countAggregateFilter", () -> {
       Map<String, Long> countAggregateMap = getLocalDAO().countAggregate(filter, indexGroupByCriterion);
       MapMetadata mapMetadata = new MapMetadata().setLongMap(new LongMap(countAggregateMap));
       return new CollectionResult<EmptyRecord, MapMetadata>(new ArrayList<>(), mapMetadata);
@@ -626,7 +654,7 @@ public abstract class BaseEntityResource<
   ) {
     final IndexFilter filter = indexFilter == null ? getDefaultIndexFilter() : indexFilter;
 
-    return RestliUtils.toTask(() -> getLocalDAO().countAggregate(filter, indexGroupByCriterion));
+    return toTask("countAggregate", () -> getLocalDAO().countAggregate(filter, indexGroupByCriterion));
   }
 
   @Nonnull
@@ -63,10 +63,9 @@ public abstract class BaseSearchableAspectResource<
       @PagingContextParam @Nonnull PagingContext pagingContext) {
 
     final Filter searchFilter = filter != null ? filter : QueryUtils.EMPTY_FILTER;
-    final SearchResult<DOCUMENT> searchResult =
-        getSearchDAO().search(input, searchFilter, sortCriterion, pagingContext.getStart(), pagingContext.getCount());
-    return RestliUtils.toTask(
-        () -> getSearchQueryCollectionResult(searchResult));
+    return RestliUtils.toAsyncTask("search",
+        () -> getSearchDAO().searchAsync(input, searchFilter, sortCriterion, pagingContext.getStart(), pagingContext.getCount()))
+        .flatMap(searchResult -> toTask("search", () -> getSearchQueryCollectionResult(searchResult)));
   }
 
   @Nonnull
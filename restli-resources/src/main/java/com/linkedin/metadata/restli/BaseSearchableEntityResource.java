@@ -93,10 +93,9 @@ public abstract class BaseSearchableEntityResource<
     final Filter searchFilter = filter != null ? filter : QueryUtils.EMPTY_FILTER;
     final SortCriterion searchSortCriterion = sortCriterion != null ? sortCriterion
         : new SortCriterion().setField(DEFAULT_SORT_CRITERION_FIELD).setOrder(SortOrder.ASCENDING);
-    final SearchResult<DOCUMENT> filterResult =
-        getSearchDAO().filter(searchFilter, searchSortCriterion, pagingContext.getStart(), pagingContext.getCount());
-    return RestliUtils.toTask(
-        () -> getSearchQueryCollectionResult(filterResult, aspectNames).getElements());
+    return RestliUtils.toAsyncTask("getAll",
+        () -> getSearchDAO().filterAsync(searchFilter, searchSortCriterion, pagingContext.getStart(), pagingContext.getCount()))
+        .flatMap(filterResult -> toTask("getAll", () -> getSearchQueryCollectionResult(filterResult, aspectNames).getElements()));
   }
 
   @Finder(FINDER_SEARCH)
@@ -108,10 +107,9 @@ public abstract class BaseSearchableEntityResource<
       @PagingContextParam @Nonnull PagingContext pagingContext) {
 
     final Filter searchFilter = filter != null ? filter : QueryUtils.EMPTY_FILTER;
-    final SearchResult<DOCUMENT> searchResult =
-        getSearchDAO().search(input, searchFilter, sortCriterion, pagingContext.getStart(), pagingContext.getCount());
-    return RestliUtils.toTask(
-        () -> getSearchQueryCollectionResult(searchResult, aspectNames));
+    return RestliUtils.toAsyncTask("search",
+        () -> getSearchDAO().searchAsync(input, searchFilter, sortCriterion, pagingContext.getStart(), pagingContext.getCount()))
+        .flatMap(searchResult -> toTask("search", () -> getSearchQueryCollectionResult(searchResult, aspectNames)));
   }
 
   @Action(name = ACTION_AUTOCOMPLETE)
@@ -120,7 +118,7 @@ public abstract class BaseSearchableEntityResource<
       @ActionParam(PARAM_FIELD) @Optional @Nullable String field,
       @ActionParam(PARAM_FILTER) @Optional @Nullable Filter filter,
       @ActionParam(PARAM_LIMIT) int limit) {
-    return RestliUtils.toTask(() -> getSearchDAO().autoComplete(query, field, filter, limit));
+    return RestliUtils.toAsyncTask("autocomplete", () -> getSearchDAO().autoCompleteAsync(query, field, filter, limit));
   }
 
   @Nonnull
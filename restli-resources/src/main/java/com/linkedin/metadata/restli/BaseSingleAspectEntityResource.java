@@ -177,7 +177,7 @@ public abstract class BaseSingleAspectEntityResource<
           _aspectClass.getCanonicalName());
     }
 
-    return RestliUtils.toTask(() -> {
+    return toTask("getAllWithMetadata", () -> {
 
       final ListResult<ASPECT> aspects =
           getLocalDAO().list(_aspectClass, pagingContext.getStart(), pagingContext.getCount());
@@ -0,0 +1,130 @@
+package com.linkedin.metadata.restli;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+
+/**
+ * A bounded executor that blocking calls of resource methods can be offloaded to, see
+ * {@link RestliUtils#toTask(String, java.util.function.Supplier, RestliBulkhead)}.
+ *
+ * <p>Each bulkhead has a fixed number of threads and a bounded queue, so slow methods (e.g. backfill or count
+ * aggregation) given their own bulkhead can't take the threads that other methods (e.g. get) need. Calls that don't fit
+ * in the queue are rejected, and calls that run longer than the timeout of the bulkhead fail, except for writes, see
+ * {@link RestliUtils#toWriteTask(String, java.util.function.Supplier, RestliBulkhead)}.
+ */
+public class RestliBulkhead implements Executor {
+
+  /**
+   * Event listening interface to report bulkhead metrics to some specific metric recording framework.
+   */
+  public interface MetricListener {
+    /**
+     * Event when a call is submitted to the bulkhead.
+     *
+     * @param bulkheadName name of the bulkhead
+     * @param queueDepth number of calls waiting for a thread, including the one just submitted
+     */
+    default void onSubmitted(@Nonnull String bulkheadName, int queueDepth) {
+    }
+
+    /**
+     * Event when a call is rejected because the queue of the bulkhead is full.
+     *
+     * @param bulkheadName name of the bulkhead
+     * @param taskName name of the rejected call
+     */
+    default void onRejected(@Nonnull String bulkheadName, @Nonnull String taskName) {
+    }
+
+    /**
+     * Event when a call doesn't complete within its timeout.
+     *
+     * @param bulkheadName name of the bulkhead
+     * @param taskName name of the call that timed out
+     * @param timeoutMillis the timeout, in milliseconds
+     */
+    default void onTimeout(@Nonnull String bulkheadName, @Nonnull String taskName, long timeoutMillis) {
+    }
+  }
+
+  private final String _name;
+  private final long _timeoutMillis;
+  private final ThreadPoolExecutor _executor;
+  private final List<MetricListener> _metricListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Constructor for RestliBulkhead.
+   *
+   * @param name name of the bulkhead, used for its threads and reported with metrics
+   * @param threadCount maximum number of calls that run at the same time
+   * @param queueCapacity maximum number of calls that wait for a thread, further calls are rejected
+   * @param timeoutMillis how long (in milliseconds) a call can take, including the time it waits in the queue
+   */
+  public RestliBulkhead(@Nonnull String name, int threadCount, int queueCapacity, long timeoutMillis) {
+    if (threadCount <= 0 || queueCapacity <= 0 || timeoutMillis <= 0) {
+      throw new IllegalArgumentException("threadCount, queueCapacity and timeoutMillis must be positive");
+    }
+
+    final AtomicInteger threadNumber = new AtomicInteger();
+    _name = name;
+    _timeoutMillis = timeoutMillis;
+    _executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          final Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Adds a {@link MetricListener} to receive metrics of this bulkhead.
+   */
+  public void addMetricListener(@Nonnull MetricListener metricListener) {
+    _metricListeners.add(metricListener);
+  }
+
+  @Nonnull
+  public String getName() {
+    return _name;
+  }
+
+  public long getTimeoutMillis() {
+    return _timeoutMillis;
+  }
+
+  /**
+   * Returns the number of calls waiting for a thread.
+   */
+  public int getQueueDepth() {
+    return _executor.getQueue().size();
+  }
+
+  @Override
+  public void execute(@Nonnull Runnable command) {
+    _executor.execute(command);
+    final int queueDepth = getQueueDepth();
+    _metricListeners.forEach(listener -> listener.onSubmitted(_name, queueDepth));
+  }
+
+  /**
+   * Stops accepting new calls. Calls that are already submitted still run.
+   */
+  public void shutdown() {
+    _executor.shutdown();
+  }
+
+  void reportRejected(@Nonnull String taskName) {
+    _metricListeners.forEach(listener -> listener.onRejected(_name, taskName));
+  }
+
+  void reportTimeout(@Nonnull String taskName, long timeoutMillis) {
+    _metricListeners.forEach(listener -> listener.onTimeout(_name, taskName, timeoutMillis));
+  }
+}
@@ -34,4 +34,5 @@ public final class RestliConstants {
   public static final String PARAM_URN = "urn";
   public static final String PARAM_URNS = "urns";
   public static final String PARAM_MODE = "mode";
+  public static final String PARAM_TOTAL_COUNT_MODE = "totalCountMode";
 }
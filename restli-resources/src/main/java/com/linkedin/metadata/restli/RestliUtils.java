@@ -4,6 +4,8 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.parseq.Task;
+import com.linkedin.parseq.promise.Promises;
+import com.linkedin.parseq.promise.SettablePromise;
 import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.server.RestLiServiceException;
 import java.util.Comparator;
@@ -11,6 +13,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -34,18 +41,103 @@ public class RestliUtils {
     try {
       return Task.value(supplier.get());
     } catch (Throwable throwable) {
+      throw toRestLiServiceException(throwable);
+    }
+  }
 
-      // Convert IllegalArgumentException to BAD REQUEST
-      if (throwable instanceof IllegalArgumentException || throwable.getCause() instanceof IllegalArgumentException) {
-        throwable = badRequestException(throwable.getMessage());
-      }
+  /**
+   * Similar to {@link #toTask(Supplier)} but the supplier is executed asynchronously on the given bulkhead instead of
+   * the calling thread, and fails if it doesn't complete within the timeout of the bulkhead.
+   * @param name name of the task, reported with the bulkhead metrics
+   * @param supplier The supplier to execute
+   * @param bulkhead The bulkhead to execute the supplier on
+   * @return A parseq {@link Task}
+   */
+  @Nonnull
+  public static <T> Task<T> toTask(@Nonnull String name, @Nonnull Supplier<T> supplier, @Nonnull RestliBulkhead bulkhead) {
+    return toTask(name, supplier, bulkhead, bulkhead.getTimeoutMillis());
+  }
+
+  /**
+   * Similar to {@link #toTask(String, Supplier, RestliBulkhead)} but with a specific timeout.
+   *
+   * <p>A task rejected by a full bulkhead fails with 503, and a task that times out fails with 504. The supplier isn't
+   * interrupted on timeout, so it still holds its bulkhead thread until it returns, and its side effects still happen.
+   * Use {@link #toWriteTask(String, Supplier, RestliBulkhead)} for suppliers that write.
+   * @param name name of the task, reported with the bulkhead metrics
+   * @param supplier The supplier to execute
+   * @param bulkhead The bulkhead to execute the supplier on
+   * @param timeoutMillis how long (in milliseconds) the task can take, including the time it waits in the bulkhead queue
+   * @return A parseq {@link Task}
+   */
+  @Nonnull
+  public static <T> Task<T> toTask(@Nonnull String name, @Nonnull Supplier<T> supplier, @Nonnull RestliBulkhead bulkhead,
+      long timeoutMillis) {
+    return recoverBulkheadFailure(name,
+        Task.blocking(name, supplier::get, bulkhead).withTimeout(timeoutMillis, TimeUnit.MILLISECONDS), bulkhead,
+        timeoutMillis);
+  }
 
-      if (throwable instanceof RestLiServiceException) {
-        throw (RestLiServiceException) throwable;
+  /**
+   * Similar to {@link #toTask(String, Supplier, RestliBulkhead)} but without a timeout, for suppliers that write.
+   *
+   * <p>A write that timed out would still commit after its request failed with 504, as the supplier isn't interrupted.
+   * So a write task only fails if it's rejected by a full bulkhead, before anything is written, or if the supplier
+   * fails, and a failed write task means the write didn't complete.
+   * @param name name of the task, reported with the bulkhead metrics
+   * @param supplier The supplier to execute
+   * @param bulkhead The bulkhead to execute the supplier on
+   * @return A parseq {@link Task}
+   */
+  @Nonnull
+  public static <T> Task<T> toWriteTask(@Nonnull String name, @Nonnull Supplier<T> supplier,
+      @Nonnull RestliBulkhead bulkhead) {
+    return recoverBulkheadFailure(name, Task.blocking(name, supplier::get, bulkhead), bulkhead, 0);
+  }
+
+  @Nonnull
+  private static <T> Task<T> recoverBulkheadFailure(@Nonnull String name, @Nonnull Task<T> task,
+      @Nonnull RestliBulkhead bulkhead, long timeoutMillis) {
+    return task.recoverWith(throwable -> {
+      if (throwable instanceof RejectedExecutionException || throwable.getCause() instanceof RejectedExecutionException) {
+        bulkhead.reportRejected(name);
+        return Task.failure(new RestLiServiceException(HttpStatus.S_503_SERVICE_UNAVAILABLE,
+            String.format("Too many concurrent %s requests", name), throwable));
+      }
+      if (throwable instanceof TimeoutException) {
+        bulkhead.reportTimeout(name, timeoutMillis);
+        return Task.failure(new RestLiServiceException(HttpStatus.S_504_GATEWAY_TIMEOUT,
+            String.format("%s didn't complete within %d ms", name, timeoutMillis), throwable));
       }
+      return Task.failure(toRestLiServiceException(throwable));
+    });
+  }
 
-      throw new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR, throwable);
-    }
+  /**
+   * Converts the future returned by the supplier to a {@link Task} that completes with it, without blocking a thread
+   * while it's pending. Failures are wrapped in {@link RestLiServiceException} like in {@link #toTask(Supplier)}.
+   * @param name name of the task
+   * @param supplier The supplier of the future, e.g. an async search
+   * @return A parseq {@link Task}
+   */
+  @Nonnull
+  public static <T> Task<T> toAsyncTask(@Nonnull String name, @Nonnull Supplier<CompletableFuture<T>> supplier) {
+    return Task.async(name, () -> {
+      final SettablePromise<T> promise = Promises.settable();
+      try {
+        supplier.get().whenComplete((result, throwable) -> {
+          if (throwable == null) {
+            promise.done(result);
+          } else {
+            promise.fail(toRestLiServiceException(
+                throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable));
+          }
+        });
+      } catch (Throwable throwable) {
+        promise.fail(toRestLiServiceException(throwable));
+      }
+      return promise;
+    });
   }
 
   /**
@@ -59,6 +151,20 @@ public class RestliUtils {
     return toTask(() -> supplier.get().orElseThrow(RestliUtils::resourceNotFoundException));
   }
 
+  @Nonnull
+  private static RestLiServiceException toRestLiServiceException(@Nonnull Throwable throwable) {
+    // Convert IllegalArgumentException to BAD REQUEST
+    if (throwable instanceof IllegalArgumentException || throwable.getCause() instanceof IllegalArgumentException) {
+      throwable = badRequestException(throwable.getMessage());
+    }
+
+    if (throwable instanceof RestLiServiceException) {
+      return (RestLiServiceException) throwable;
+    }
+
+    return new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR, throwable);
+  }
+
   @Nonnull
   public static RestLiServiceException resourceNotFoundException() {
     return resourceNotFoundException(null);
@@ -14,7 +14,10 @@ import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.parseq.BaseEngineTest;
 import com.linkedin.restli.common.ComplexResourceKey;
 import com.linkedin.restli.common.EmptyRecord;
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.server.BatchResult;
 import com.linkedin.restli.server.ResourceContext;
+import com.linkedin.restli.server.RestLiServiceException;
 import com.linkedin.testing.AspectAttributes;
 import com.linkedin.testing.AspectBar;
 import com.linkedin.testing.AspectFoo;
@@ -33,6 +36,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
@@ -48,6 +55,7 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
   private BaseBrowseDAO _mockBrowseDAO;
   private BaseLocalDAO _mockLocalDAO;
   private BaseAspectRoutingGmsClient _mockGmsClient;
+  private Executor _routingExecutor;
   private BaseAspectRoutingResourceTest.TestResource _resource = new BaseAspectRoutingResourceTest.TestResource();
 
   class TestResource extends BaseAspectRoutingResource<
@@ -146,12 +154,19 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
     public ResourceContext getContext() {
       return mock(ResourceContext.class);
     }
+
+    @Nonnull
+    @Override
+    protected Executor getRoutingExecutor() {
+      return _routingExecutor != null ? _routingExecutor : super.getRoutingExecutor();
+    }
   }
 
   @BeforeMethod
   public void setup() {
     _mockGmsClient = mock(BaseAspectRoutingGmsClient.class);
     _mockLocalDAO = mock(BaseLocalDAO.class);
+    _routingExecutor = null;
   }
 
   @Test
@@ -174,6 +189,81 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
 
     assertTrue(value.hasBar());
     assertEquals(value.getBar(), bar);
+    verify(_mockLocalDAO, never()).exists(urn);
+  }
+
+  @Test
+  public void testGetNotFound() {
+    FooUrn urn = makeFooUrn(1234);
+    AspectKey<FooUrn, AspectBar> aspectBarKey = new AspectKey<>(AspectBar.class, urn, LATEST_VERSION);
+
+    when(_mockLocalDAO.exists(urn)).thenReturn(false);
+    when(_mockLocalDAO.get(new HashSet<>(Arrays.asList(aspectBarKey)))).thenReturn(
+        Collections.singletonMap(aspectBarKey, Optional.empty()));
+
+    try {
+      runAndWait(_resource.get(makeResourceKey(urn), new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}));
+      fail("Expected a 404 for an entity that's not in local DAO");
+    } catch (RestLiServiceException e) {
+      assertEquals(e.getStatus(), HttpStatus.S_404_NOT_FOUND);
+    }
+  }
+
+  @Test
+  public void testBatchGetWithRoutingAspect() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectBar bar2 = new AspectBar().setValue("bar2");
+
+    AspectKey<FooUrn, AspectBar> aspectBarKey1 = new AspectKey<>(AspectBar.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectBar> aspectBarKey2 = new AspectKey<>(AspectBar.class, urn2, LATEST_VERSION);
+    when(_mockLocalDAO.get(ImmutableSet.of(aspectBarKey1, aspectBarKey2))).thenReturn(
+        ImmutableMap.of(aspectBarKey1, Optional.empty(), aspectBarKey2, Optional.of(bar2)));
+    when(_mockGmsClient.batchGet(ImmutableSet.of(urn1, urn2))).thenReturn(Collections.singletonMap(urn1, foo1));
+
+    BatchResult<ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue> result = runAndWait(
+        _resource.batchGetWithErrors(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)),
+            new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}));
+
+    assertEquals(result.size(), 2);
+    assertEquals(result.get(makeResourceKey(urn1)), new EntityValue().setFoo(foo1));
+    assertEquals(result.get(makeResourceKey(urn2)), new EntityValue().setBar(bar2));
+    verify(_mockGmsClient, times(1)).batchGet(ImmutableSet.of(urn1, urn2));
+    verify(_mockGmsClient, never()).get(any());
+  }
+
+  @Test
+  public void testBatchGetFailsWhenGmsBatchGetFails() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectKey<FooUrn, AspectBar> aspectBarKey1 = new AspectKey<>(AspectBar.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectBar> aspectBarKey2 = new AspectKey<>(AspectBar.class, urn2, LATEST_VERSION);
+    when(_mockLocalDAO.get(ImmutableSet.of(aspectBarKey1, aspectBarKey2))).thenReturn(
+        ImmutableMap.of(aspectBarKey1, Optional.empty(), aspectBarKey2, Optional.empty()));
+    when(_mockGmsClient.batchGet(ImmutableSet.of(urn1, urn2))).thenThrow(new RuntimeException("aspect GMS is down"));
+
+    RestLiServiceException exception = runAndWaitException(
+        _resource.batchGetWithErrors(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)),
+            new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}),
+        RestLiServiceException.class);
+
+    assertEquals(exception.getStatus(), HttpStatus.S_500_INTERNAL_SERVER_ERROR);
+  }
+
+  @Test
+  public void testGetFailsWhenRoutingExecutorRejects() {
+    FooUrn urn = makeFooUrn(1);
+    _routingExecutor = runnable -> {
+      throw new RejectedExecutionException("routing executor is full");
+    };
+
+    RestLiServiceException exception = runAndWaitException(_resource.get(makeResourceKey(urn),
+        new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}),
+        RestLiServiceException.class);
+
+    assertEquals(exception.getStatus(), HttpStatus.S_503_SERVICE_UNAVAILABLE);
+    verifyZeroInteractions(_mockGmsClient);
   }
 
   @Test
@@ -230,6 +320,9 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
     assertTrue(value.hasFoo());
     assertEquals(value.getFoo(), foo);
     assertFalse(value.hasBar());
+    // the empty value isn't read again once the entity is known to exist
+    verify(_mockLocalDAO, times(1)).get(anySet());
+    verify(_mockLocalDAO, times(1)).exists(urn);
   }
 
   @Test
@@ -378,6 +471,31 @@ public class BaseAspectRoutingResourceTest extends BaseEngineTest {
     assertTrue(backfillResult.getEntities().get(1).getAspects().contains(AspectFoo.class.getCanonicalName()));
   }
 
+  @Test
+  public void testBackfillWithRoutingAspectBackfillsGmsConcurrently() {
+    FooUrn fooUrn1 = makeFooUrn(1);
+    AspectBar bar1 = new AspectBar().setValue("bar1");
+    CountDownLatch gmsBackfillStarted = new CountDownLatch(1);
+
+    when(_mockGmsClient.backfill(ImmutableSet.of(fooUrn1))).thenAnswer(invocation -> {
+      gmsBackfillStarted.countDown();
+      return new BackfillResult().setEntities(new BackfillResultEntityArray(
+          new BackfillResultEntity().setUrn(fooUrn1).setAspects(new StringArray(AspectFoo.class.getCanonicalName()))));
+    });
+    // the local backfill only completes if the aspect GMS is backfilled at the same time
+    when(_mockLocalDAO.backfill(Collections.singleton(AspectBar.class), ImmutableSet.of(fooUrn1))).thenAnswer(invocation -> {
+      assertTrue(gmsBackfillStarted.await(5, TimeUnit.SECONDS));
+      return Collections.singletonMap(fooUrn1, Collections.singletonMap(AspectBar.class, Optional.of(bar1)));
+    });
+
+    BackfillResult backfillResult = runAndWait(_resource.backfill(new String[]{fooUrn1.toString()},
+        new String[]{AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()}));
+
+    assertEquals(backfillResult.getEntities().size(), 1);
+    assertEquals(new HashSet<>(backfillResult.getEntities().get(0).getAspects()),
+        ImmutableSet.of(AspectFoo.class.getCanonicalName(), AspectBar.class.getCanonicalName()));
+  }
+
   @Test
   public void testBackfillWithoutRoutingAspect() {
     FooUrn fooUrn1 = makeFooUrn(1);
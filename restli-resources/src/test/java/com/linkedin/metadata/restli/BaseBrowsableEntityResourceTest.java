@@ -20,6 +20,7 @@ import com.linkedin.testing.EntitySnapshot;
 import com.linkedin.testing.EntityValue;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -111,7 +112,7 @@ public class BaseBrowsableEntityResourceTest extends BaseEngineTest {
         .setPageSize(2)
         .setNumEntities(3);
 
-    when(_mockBrowseDAO.browse("/foo", EMPTY_FILTER, 1, 2)).thenReturn(expected);
+    when(_mockBrowseDAO.browseAsync("/foo", EMPTY_FILTER, 1, 2)).thenReturn(CompletableFuture.completedFuture(expected));
 
     BrowseResult result = runAndWait(_resource.browse("/foo", EMPTY_FILTER, 1, 2));
 
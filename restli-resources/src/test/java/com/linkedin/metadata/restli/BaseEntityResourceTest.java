@@ -19,7 +19,9 @@ import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
 import com.linkedin.metadata.query.MapMetadata;
 import com.linkedin.metadata.query.SortOrder;
+import com.linkedin.metadata.query.TotalCountMode;
 import com.linkedin.parseq.BaseEngineTest;
+import com.linkedin.parseq.Task;
 import com.linkedin.restli.common.ComplexResourceKey;
 import com.linkedin.restli.common.EmptyRecord;
 import com.linkedin.restli.common.HttpStatus;
@@ -41,6 +43,7 @@ import com.linkedin.testing.localrelationship.AspectFooBar;
 import com.linkedin.testing.urn.BarUrn;
 import com.linkedin.testing.urn.FooUrn;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,6 +52,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
@@ -63,6 +68,7 @@ import static org.testng.Assert.*;
 public class BaseEntityResourceTest extends BaseEngineTest {
 
   private BaseLocalDAO<EntityAspectUnion, FooUrn> _mockLocalDAO;
+  private RestliBulkhead _bulkhead;
   private TestResource _resource = new TestResource();
 
   class TestResource extends BaseEntityResource<ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue, FooUrn, EntitySnapshot, EntityAspectUnion> {
@@ -138,11 +144,17 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     public ResourceContext getContext() {
       return mock(ResourceContext.class);
     }
+
+    @Override
+    protected RestliBulkhead getBulkhead(@Nonnull String methodName) {
+      return _bulkhead;
+    }
   }
 
   @BeforeMethod
   public void setup() {
     _mockLocalDAO = mock(BaseLocalDAO.class);
+    _bulkhead = null;
   }
 
   @Test
@@ -163,6 +175,105 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     assertFalse(value.hasBar());
   }
 
+  @Test
+  public void testGetOnBulkhead() {
+    FooUrn urn = makeFooUrn(1234);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectKey<FooUrn, AspectFoo> aspect1Key = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    List<String> threadNames = new ArrayList<>();
+    when(_mockLocalDAO.get(Collections.singleton(aspect1Key))).thenAnswer(invocation -> {
+      threadNames.add(Thread.currentThread().getName());
+      return Collections.singletonMap(aspect1Key, Optional.of(foo));
+    });
+    _bulkhead = new RestliBulkhead("entity-get", 1, 1, 10000);
+
+    EntityValue value = runAndWait(_resource.get(makeResourceKey(urn), new String[]{AspectFoo.class.getCanonicalName()}));
+
+    assertEquals(value.getFoo(), foo);
+    assertEquals(threadNames, Collections.singletonList("entity-get-1"));
+    _bulkhead.shutdown();
+  }
+
+  @Test
+  public void testBulkheadTimeout() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray());
+    IndexGroupByCriterion indexGroupByCriterion = new IndexGroupByCriterion().setAspect(AspectFoo.class.getCanonicalName())
+        .setPath("/value");
+    when(_mockLocalDAO.countAggregate(indexFilter, indexGroupByCriterion)).thenAnswer(invocation -> {
+      latch.await();
+      return Collections.emptyMap();
+    });
+    RestliBulkhead.MetricListener metricListener = mock(RestliBulkhead.MetricListener.class);
+    _bulkhead = new RestliBulkhead("count-aggregate", 1, 1, 100);
+    _bulkhead.addMetricListener(metricListener);
+
+    RestLiServiceException exception =
+        runAndWaitException(_resource.countAggregate(indexFilter, indexGroupByCriterion), RestLiServiceException.class);
+
+    assertEquals(exception.getStatus(), HttpStatus.S_504_GATEWAY_TIMEOUT);
+    verify(metricListener, times(1)).onTimeout("count-aggregate", "countAggregate", 100);
+    latch.countDown();
+    _bulkhead.shutdown();
+  }
+
+  @Test
+  public void testBulkheadRejection() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray());
+    IndexGroupByCriterion indexGroupByCriterion = new IndexGroupByCriterion().setAspect(AspectFoo.class.getCanonicalName())
+        .setPath("/value");
+    when(_mockLocalDAO.countAggregate(indexFilter, indexGroupByCriterion)).thenAnswer(invocation -> {
+      latch.await();
+      return Collections.emptyMap();
+    });
+    RestliBulkhead.MetricListener metricListener = mock(RestliBulkhead.MetricListener.class);
+    _bulkhead = new RestliBulkhead("count-aggregate", 1, 1, 10000);
+    _bulkhead.addMetricListener(metricListener);
+
+    // one call takes the only thread and another one takes the only queue slot
+    Task<Map<String, Long>> running = _resource.countAggregate(indexFilter, indexGroupByCriterion);
+    Task<Map<String, Long>> queued = _resource.countAggregate(indexFilter, indexGroupByCriterion);
+    getEngine().run(running);
+    getEngine().run(queued);
+    verify(metricListener, timeout(1000).times(1)).onSubmitted("count-aggregate", 1);
+
+    RestLiServiceException exception =
+        runAndWaitException(_resource.countAggregate(indexFilter, indexGroupByCriterion), RestLiServiceException.class);
+
+    assertEquals(exception.getStatus(), HttpStatus.S_503_SERVICE_UNAVAILABLE);
+    verify(metricListener, times(1)).onRejected("count-aggregate", "countAggregate");
+    latch.countDown();
+    assertTrue(running.await(1, TimeUnit.SECONDS));
+    assertTrue(queued.await(1, TimeUnit.SECONDS));
+    _bulkhead.shutdown();
+  }
+
+  @Test
+  public void testWriteOnBulkheadIsNotTimedOut() {
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    EntitySnapshot snapshot = ModelUtils.newSnapshot(EntitySnapshot.class, urn,
+        Collections.singletonList(ModelUtils.newAspectUnion(EntityAspectUnion.class, foo)));
+    List<String> threadNames = new ArrayList<>();
+    doAnswer(invocation -> {
+      threadNames.add(Thread.currentThread().getName());
+      Thread.sleep(300);
+      return foo;
+    }).when(_mockLocalDAO).add(eq(urn), eq(foo), any());
+    RestliBulkhead.MetricListener metricListener = mock(RestliBulkhead.MetricListener.class);
+    _bulkhead = new RestliBulkhead("entity-ingest", 1, 1, 100);
+    _bulkhead.addMetricListener(metricListener);
+
+    // the ingest takes longer than the timeout of the bulkhead, but isn't failed with 504 while it still commits
+    runAndWait(_resource.ingest(snapshot));
+
+    verify(_mockLocalDAO, times(1)).add(eq(urn), eq(foo), any());
+    assertEquals(threadNames, Collections.singletonList("entity-ingest-1"));
+    verify(metricListener, never()).onTimeout(any(), any(), anyLong());
+    _bulkhead.shutdown();
+  }
+
   @Test
   public void testGetUrnNotFound() {
     FooUrn urn = makeFooUrn(1234);
@@ -720,6 +831,25 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     assertEquals(listResultActual.getTotalCount(), urnsListResult.getTotalCount());
     assertEquals(listResultActual.getTotalPageCount(), urnsListResult.getTotalPageCount());
     assertEquals(listResultActual.getPageSize(), urnsListResult.getPageSize());
+
+    // case 5: offset pagination with a total count mode
+    ListResult<FooUrn> approximateListResult = ListResult.<FooUrn>builder()
+        .values(urns3)
+        .metadata(null)
+        .nextStart(2)
+        .havingMore(true)
+        .totalCount(2)
+        .totalCountApproximate(true)
+        .totalPageCount(1)
+        .pageSize(2)
+        .build();
+    when(_mockLocalDAO.listUrns(indexFilter2, indexSortCriterion, 0, 2, TotalCountMode.NONE)).thenReturn(approximateListResult);
+    listResultActual =
+        runAndWait(_resource.filter(null, indexSortCriterion, new String[0], TotalCountMode.NONE, new PagingContext(0, 2)));
+    assertEquals(listResultActual.getValues().size(), 2);
+    assertEquals(listResultActual.getNextStart(), 2);
+    assertTrue(listResultActual.isHavingMore());
+    assertTrue(listResultActual.isTotalCountApproximate());
   }
 
   @Test
@@ -23,6 +23,7 @@ import com.linkedin.testing.EntityDocument;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -79,8 +80,8 @@ public class BaseSearchableAspectResourceTest extends BaseEngineTest {
     SearchResultMetadata searchResultMetadata = makeSearchResultMetadata(new AggregationMetadata().setName("agg")
         .setAggregations(new LongMap(ImmutableMap.of("bucket1", 1L, "bucket2", 2L))));
 
-    when(_mockSearchDAO.search("bar", filter, null, 1, 2)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 10, searchResultMetadata));
+    when(_mockSearchDAO.searchAsync("bar", filter, null, 1, 2)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 10, searchResultMetadata)));
 
     when(_mockLocalDAO.get(AspectFoo.class, ImmutableSet.of(urn1, urn2))).thenReturn(
         ImmutableMap.of(urn1, Optional.of(foo1), urn2, Optional.of(foo2)));
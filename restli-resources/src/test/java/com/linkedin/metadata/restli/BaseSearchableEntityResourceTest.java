@@ -21,9 +21,11 @@ import com.linkedin.metadata.query.SortOrder;
 import com.linkedin.parseq.BaseEngineTest;
 import com.linkedin.restli.common.ComplexResourceKey;
 import com.linkedin.restli.common.EmptyRecord;
+import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.server.CollectionResult;
 import com.linkedin.restli.server.PagingContext;
 import com.linkedin.restli.server.ResourceContext;
+import com.linkedin.restli.server.RestLiServiceException;
 import com.linkedin.testing.AspectBar;
 import com.linkedin.testing.AspectFoo;
 import com.linkedin.testing.EntityAspectUnion;
@@ -36,6 +38,7 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -145,8 +148,8 @@ public class BaseSearchableEntityResourceTest extends BaseEngineTest {
     SearchResultMetadata searchResultMetadata = makeSearchResultMetadata(new AggregationMetadata().setName("agg")
         .setAggregations(new LongMap(ImmutableMap.of("bucket1", 1L, "bucket2", 2L))));
 
-    when(_mockSearchDAO.search("bar", EMPTY_FILTER, null, 1, 2)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 10, searchResultMetadata));
+    when(_mockSearchDAO.searchAsync("bar", EMPTY_FILTER, null, 1, 2)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 10, searchResultMetadata)));
 
     String[] aspectNames = new String[]{ModelUtils.getAspectName(AspectFoo.class)};
     when(_mockLocalDAO.get(ImmutableSet.of(aspectKey1, aspectKey2))).thenReturn(
@@ -179,8 +182,8 @@ public class BaseSearchableEntityResourceTest extends BaseEngineTest {
 
   @Test
   public void testAutocomplete() {
-    when(_mockSearchDAO.autoComplete("foo", "name", EMPTY_FILTER, 100)).thenReturn(
-        makeAutoCompleteResult("foo", ImmutableList.of("foo0", "foo1", "foo2")));
+    when(_mockSearchDAO.autoCompleteAsync("foo", "name", EMPTY_FILTER, 100)).thenReturn(CompletableFuture.completedFuture(
+        makeAutoCompleteResult("foo", ImmutableList.of("foo0", "foo1", "foo2"))));
 
     AutoCompleteResult result = runAndWait(_resource.autocomplete("foo", "name", EMPTY_FILTER, 100));
 
@@ -191,6 +194,20 @@ public class BaseSearchableEntityResourceTest extends BaseEngineTest {
     assertEquals(result.getSuggestions().get(2), "foo2");
   }
 
+  @Test
+  public void testSearchFailure() {
+    final CompletableFuture<SearchResult<EntityDocument>> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new RuntimeException("search failed"));
+    when(_mockSearchDAO.searchAsync("bar", EMPTY_FILTER, null, 1, 2)).thenReturn(failed);
+
+    RestLiServiceException exception = runAndWaitException(
+        _resource.search("bar", new String[0], EMPTY_FILTER, null, new PagingContext(1, 2)), RestLiServiceException.class);
+
+    assertEquals(exception.getStatus(), HttpStatus.S_500_INTERNAL_SERVER_ERROR);
+    assertEquals(exception.getCause().getMessage(), "search failed");
+    verifyZeroInteractions(_mockLocalDAO);
+  }
+
   @Test
   public void testGetAll() {
     Urn urn1 = makeUrn(1);
@@ -201,8 +218,8 @@ public class BaseSearchableEntityResourceTest extends BaseEngineTest {
 
     SortCriterion sortCriterion1 = new SortCriterion().setField("urn").setOrder(SortOrder.ASCENDING);
 
-    when(_mockSearchDAO.filter(EMPTY_FILTER, sortCriterion1, 1, 2)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 2, new SearchResultMetadata()));
+    when(_mockSearchDAO.filterAsync(EMPTY_FILTER, sortCriterion1, 1, 2)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 2, new SearchResultMetadata())));
 
     String[] aspectNames = new String[]{ModelUtils.getAspectName(AspectFoo.class)};
     when(_mockLocalDAO.get(ImmutableSet.of(aspectKey1, aspectKey2))).thenReturn(
@@ -220,8 +237,8 @@ public class BaseSearchableEntityResourceTest extends BaseEngineTest {
     // test with filter that contains removed = true, with non-null sort criterion
     Filter filter2 = newFilter("removed", "true");
     SortCriterion sortCriterion2 = new SortCriterion().setField("urn").setOrder(SortOrder.DESCENDING);
-    when(_mockSearchDAO.filter(filter2, sortCriterion2, 1, 2)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 2, new SearchResultMetadata()));
+    when(_mockSearchDAO.filterAsync(filter2, sortCriterion2, 1, 2)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 2, new SearchResultMetadata())));
     values =
         runAndWait(_resource.getAll(new PagingContext(1, 2), aspectNames, filter2, sortCriterion2));
     assertEquals(values.size(), 2);
@@ -233,8 +250,8 @@ public class BaseSearchableEntityResourceTest extends BaseEngineTest {
     // test the case when there is more results in the search index
     Urn urn3 = makeUrn(3);
     AspectKey<Urn, AspectFoo> aspectKey3 = new AspectKey<>(AspectFoo.class, urn3, BaseLocalDAO.LATEST_VERSION);
-    when(_mockSearchDAO.filter(EMPTY_FILTER, sortCriterion1, 1, 3)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2), makeDocument(urn3)), 3, new SearchResultMetadata()));
+    when(_mockSearchDAO.filterAsync(EMPTY_FILTER, sortCriterion1, 1, 3)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2), makeDocument(urn3)), 3, new SearchResultMetadata())));
     when(_mockLocalDAO.get(ImmutableSet.of(aspectKey1, aspectKey2, aspectKey3))).thenReturn(
         ImmutableMap.of(aspectKey1, Optional.of(foo), aspectKey2, Optional.empty()));
     values =
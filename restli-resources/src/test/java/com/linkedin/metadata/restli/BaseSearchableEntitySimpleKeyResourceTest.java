@@ -35,6 +35,7 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -68,8 +69,8 @@ public class BaseSearchableEntitySimpleKeyResourceTest extends BaseEngineTest {
     SearchResultMetadata searchResultMetadata = makeSearchResultMetadata(new AggregationMetadata().setName("agg")
         .setAggregations(new LongMap(ImmutableMap.of("bucket1", 1L, "bucket2", 2L))));
 
-    when(_mockSearchDAO.search("bar", filter, null, 1, 2)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 10, searchResultMetadata));
+    when(_mockSearchDAO.searchAsync("bar", filter, null, 1, 2)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 10, searchResultMetadata)));
 
     String[] aspectNames = new String[]{ModelUtils.getAspectName(AspectFoo.class)};
     when(_mockLocalDAO.get(ImmutableSet.of(aspectKey1, aspectKey2))).thenReturn(
@@ -104,8 +105,8 @@ public class BaseSearchableEntitySimpleKeyResourceTest extends BaseEngineTest {
   public void testAutocomplete() {
     Filter filter = new Filter().setCriteria(new CriterionArray());
 
-    when(_mockSearchDAO.autoComplete("foo", "name", filter, 100)).thenReturn(
-        makeAutoCompleteResult("foo", ImmutableList.of("foo0", "foo1", "foo2")));
+    when(_mockSearchDAO.autoCompleteAsync("foo", "name", filter, 100)).thenReturn(CompletableFuture.completedFuture(
+        makeAutoCompleteResult("foo", ImmutableList.of("foo0", "foo1", "foo2"))));
 
     AutoCompleteResult result = runAndWait(_resource.autocomplete("foo", "name", filter, 100));
 
@@ -127,8 +128,8 @@ public class BaseSearchableEntitySimpleKeyResourceTest extends BaseEngineTest {
     Filter filter1 = new Filter().setCriteria(new CriterionArray());
     SortCriterion sortCriterion1 = new SortCriterion().setField("urn").setOrder(SortOrder.ASCENDING);
 
-    when(_mockSearchDAO.filter(filter1, sortCriterion1, 1, 2)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 2, new SearchResultMetadata()));
+    when(_mockSearchDAO.filterAsync(filter1, sortCriterion1, 1, 2)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 2, new SearchResultMetadata())));
 
     String[] aspectNames = new String[]{ModelUtils.getAspectName(AspectFoo.class)};
     when(_mockLocalDAO.get(ImmutableSet.of(aspectKey1, aspectKey2))).thenReturn(
@@ -147,8 +148,8 @@ public class BaseSearchableEntitySimpleKeyResourceTest extends BaseEngineTest {
     Filter filter2 = new Filter().setCriteria(new CriterionArray());
     filter2.getCriteria().add(new Criterion().setField("removed").setValue("true"));
     SortCriterion sortCriterion2 = new SortCriterion().setField("urn").setOrder(SortOrder.DESCENDING);
-    when(_mockSearchDAO.filter(filter2, sortCriterion2, 1, 2)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 2, new SearchResultMetadata()));
+    when(_mockSearchDAO.filterAsync(filter2, sortCriterion2, 1, 2)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2)), 2, new SearchResultMetadata())));
     values =
         runAndWait(_resource.getAll(new PagingContext(1, 2), aspectNames, filter2, sortCriterion2));
     assertEquals(values.size(), 2);
@@ -160,8 +161,8 @@ public class BaseSearchableEntitySimpleKeyResourceTest extends BaseEngineTest {
     // test the case when there is more results in the search index
     Urn urn3 = makeUrn(3);
     AspectKey<Urn, AspectFoo> aspectKey3 = new AspectKey<>(AspectFoo.class, urn3, BaseLocalDAO.LATEST_VERSION);
-    when(_mockSearchDAO.filter(filter1, sortCriterion1, 1, 3)).thenReturn(
-        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2), makeDocument(urn3)), 3, new SearchResultMetadata()));
+    when(_mockSearchDAO.filterAsync(filter1, sortCriterion1, 1, 3)).thenReturn(CompletableFuture.completedFuture(
+        makeSearchResult(ImmutableList.of(makeDocument(urn1), makeDocument(urn2), makeDocument(urn3)), 3, new SearchResultMetadata())));
     when(_mockLocalDAO.get(ImmutableSet.of(aspectKey1, aspectKey2, aspectKey3))).thenReturn(
         ImmutableMap.of(aspectKey1, Optional.of(foo), aspectKey2, Optional.empty()));
     values =